@@ -0,0 +1,16 @@
+package com.property_pulse.backend.Model;
+
+import java.util.UUID;
+
+/**
+ * What controllers may rely on about the caller, whether the principal was loaded
+ * from the database ({@link User}) or rebuilt from token claims.
+ */
+public interface AuthenticatedUser {
+
+    UUID getId();
+
+    String getEmail();
+
+    Role getRole();
+}
@@ -0,0 +1,8 @@
+package com.property_pulse.backend.Model;
+
+public enum ListingStatus {
+    active,
+    pending,
+    sold,
+    off_market;
+}
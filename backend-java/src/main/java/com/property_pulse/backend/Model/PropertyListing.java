@@ -0,0 +1,108 @@
+package com.property_pulse.backend.Model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "property_listings")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyListing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "street_number", nullable = false)
+    private int streetNumber;
+
+    @Column(name = "street_name", nullable = false)
+    private String streetName;
+
+    @Column(name = "city_name", nullable = false)
+    private String cityName;
+
+    @Column(name = "state_name", nullable = false)
+    private String stateName;
+
+    @Column(name = "zip_code")
+    private String zipCode;
+
+    @Column(name = "latitude", nullable = false, precision = 10, scale = 8)
+    private BigDecimal latitude;
+
+    @Column(name = "longitude", nullable = false, precision = 11, scale = 8)
+    private BigDecimal longitude;
+
+    @Column(name = "bedrooms", nullable = false)
+    private int bedrooms;
+
+    @Column(name = "bathrooms", nullable = false)
+    private int bathrooms;
+
+    @Column(name = "sqft")
+    private Integer sqft;
+
+    @Column(name = "year_built")
+    private Integer yearBuilt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "property_type", nullable = false)
+    private PropertyType propertyType;
+
+    @Column(name = "image_url", nullable = false)
+    private String imageUrl;
+
+    @Column(name = "property_description")
+    private String propertyDescription;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "features")
+    private String[] features;
+
+    @Column(name = "price", nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "estimated_rent", precision = 10, scale = 2)
+    private BigDecimal estimatedRent;
+
+    @Column(name = "property_taxes_annual", precision = 10, scale = 2)
+    private BigDecimal propertyTaxesAnnual;
+
+    @Column(name = "is_published")
+    private boolean isPublished = true;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "listing_status")
+    private ListingStatus listingStatus = ListingStatus.active;
+
+    @Column(name = "days_on_market")
+    private int daysOnMarket;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private ZonedDateTime createdAt;
+
+    // Maintained by the update_property_listings_updated_at trigger
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private ZonedDateTime updatedAt;
+}
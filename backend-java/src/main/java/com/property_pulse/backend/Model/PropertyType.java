@@ -0,0 +1,11 @@
+package com.property_pulse.backend.Model;
+
+public enum PropertyType {
+    single_family,
+    condo,
+    townhouse,
+    duplex,
+    apartment,
+    commercial,
+    land;
+}
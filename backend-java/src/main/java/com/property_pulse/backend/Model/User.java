@@ -5,16 +5,22 @@ import jakarta.persistence.*;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.property_pulse.backend.security.UserSecurityChangeListener;
+
 @Entity
 @Table(name = "users")
-public class User implements UserDetails {
+@EntityListeners(UserSecurityChangeListener.class)
+public class User implements UserDetails, AuthenticatedUser {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -43,10 +49,32 @@ public class User implements UserDetails {
     @Column(name = "role", nullable = false)
     private Role role = Role.user;
 
+    // Bumped whenever access-relevant state changes so claims-only tokens can be revoked
+    @Column(name = "security_version", nullable = false)
+    private int securityVersion = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private ZonedDateTime createdAt;
 
+    // Maintained by the update_users_updated_at trigger and read back after every write
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private ZonedDateTime updatedAt;
+
+    // Security-relevant state as last read from / written to the database
+    @Transient
+    private String persistedEmail;
+
+    @Transient
+    private boolean persistedActive;
+
+    @Transient
+    private Role persistedRole;
+
+    @Transient
+    private String persistedPasswordHash;
+
     public User() {
     }
 
@@ -60,6 +88,31 @@ public class User implements UserDetails {
         this.isActive = true;
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void snapshotSecurityState() {
+        persistedEmail = email;
+        persistedActive = isActive;
+        persistedRole = role;
+        persistedPasswordHash = passwordHash;
+    }
+
+    /**
+     * True when the pending changes affect authentication. Entity listeners run before
+     * this entity's own @PostUpdate, so they still see the previous snapshot.
+     */
+    public boolean hasSecurityRelevantChanges() {
+        return persistedActive != isActive
+                || persistedRole != role
+                || !Objects.equals(persistedEmail, email)
+                || !Objects.equals(persistedPasswordHash, passwordHash);
+    }
+
+    public String getPersistedEmail() {
+        return persistedEmail;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
@@ -70,6 +123,10 @@ public class User implements UserDetails {
         return passwordHash;
     }
 
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -95,6 +152,7 @@ public class User implements UserDetails {
         return isActive;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -119,6 +177,7 @@ public class User implements UserDetails {
         this.last_name = lastName;
     }
 
+    @Override
     public String getEmail() {
         return email;
     }
@@ -140,17 +199,32 @@ public class User implements UserDetails {
     }
 
     public void setActive(boolean active) {
+        if (isActive != active) {
+            securityVersion++;
+        }
         isActive = active;
     }
 
+    @Override
     public Role getRole() {
         return role;
     }
 
     public void setRole(Role role) {
+        if (this.role != role) {
+            securityVersion++;
+        }
         this.role = role;
     }
 
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public void setSecurityVersion(int securityVersion) {
+        this.securityVersion = securityVersion;
+    }
+
     public ZonedDateTime getCreatedAt() {
         return createdAt;
     }
@@ -159,4 +233,8 @@ public class User implements UserDetails {
         this.createdAt = createdAt;
     }
 
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
 }
\ No newline at end of file
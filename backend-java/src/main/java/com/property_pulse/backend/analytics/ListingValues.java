@@ -0,0 +1,23 @@
+package com.property_pulse.backend.analytics;
+
+import java.math.BigDecimal;
+
+import com.property_pulse.backend.dto.PropertySummary;
+
+/**
+ * What one listing contributes to its market's statistics; NaN where it has no value.
+ *
+ * @param rentToPrice monthly estimated rent as a percentage of the price (the "1% rule" ratio)
+ */
+record ListingValues(double price, double pricePerSqft, double daysOnMarket, double rentToPrice) {
+
+    static ListingValues of(PropertySummary listing) {
+        BigDecimal listPrice = listing.getPrice();
+        double price = listPrice == null || listPrice.signum() <= 0 ? Double.NaN : listPrice.doubleValue();
+        Integer sqft = listing.getSqft();
+        double pricePerSqft = sqft == null || sqft <= 0 ? Double.NaN : price / sqft;
+        BigDecimal rent = listing.getEstimatedRent();
+        double rentToPrice = rent == null ? Double.NaN : rent.doubleValue() / price * 100;
+        return new ListingValues(price, pricePerSqft, listing.getDaysOnMarket(), rentToPrice);
+    }
+}
@@ -0,0 +1,307 @@
+package com.property_pulse.backend.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.dto.MarketDimension;
+import com.property_pulse.backend.dto.MarketStats;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.AppliedVersions;
+import com.property_pulse.backend.search.SearchIndexUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Price, price per sqft, days on market and rent-to-price statistics per market segment (state,
+ * city, zip code, property type), held in memory as {@link MarketSegments} so a dashboard read
+ * is a lookup instead of a GROUP BY over property_listings.
+ *
+ * Published listings that are not sold are counted. Kept current like the search index: a
+ * full read on start and every properties.analytics.full-reload-ms, incremental reads by
+ * updated_at in between, each changed listing moving its values within its fine segment. The
+ * sketches are snapshotted to properties.analytics.snapshot-path, so after a restart only
+ * rows changed since the last snapshot are re-read.
+ *
+ * It does not follow row-change notifications: a segment's statistics span many listings, so
+ * one counted a refresh late barely moves them, and a feed import would cost a read per
+ * listing instead of the one incremental read.
+ */
+@Slf4j
+@Component
+public class MarketAnalytics {
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final Duration overlap;
+    private final long fullReloadMs;
+    private final long refreshSeconds;
+    private final Path snapshotPath;
+    private final long snapshotMs;
+
+    private final Timer queryTimer;
+    private final Timer refreshTimer;
+
+    private volatile MarketSegments segments;
+    private volatile long snapshotBytes;
+    private Instant watermark;
+    private AppliedVersions appliedVersions;
+    private long lastFullLoadMillis;
+    private long lastSnapshotMillis;
+    private boolean dirty;
+
+    public MarketAnalytics(
+            PropertyListingRepository propertyListingRepository,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.analytics.enabled:true}") boolean enabled,
+            @Value("${properties.analytics.fetch-size:1000}") int fetchSize,
+            @Value("${properties.analytics.refresh-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.analytics.full-reload-ms:86400000}") long fullReloadMs,
+            @Value("${properties.analytics.refresh-ms:30000}") long refreshMs,
+            @Value("${properties.analytics.snapshot-path:}") String snapshotPath,
+            @Value("${properties.analytics.snapshot-ms:300000}") long snapshotMs) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.appliedVersions = new AppliedVersions(this.overlap);
+        this.fullReloadMs = fullReloadMs;
+        this.refreshSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(refreshMs));
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.snapshotMs = snapshotMs;
+
+        this.queryTimer = Timer.builder("analytics.query")
+                .description("Market analytics reads")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("analytics.refresh")
+                .description("Full loads and incremental refreshes of the market statistics")
+                .register(meterRegistry);
+        Gauge.builder("analytics.segments", this, analytics -> analytics.segments == null ? 0 : analytics.segments.segments())
+                .description("Market segments with listings, fine and composed")
+                .register(meterRegistry);
+        Gauge.builder("analytics.snapshot.bytes", this, analytics -> analytics.snapshotBytes)
+                .description("Size of the last market analytics snapshot written or read")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return segments != null;
+    }
+
+    /**
+     * Statistics of one segment; null filters are wildcards. A segment without listings comes
+     * back with zero counts.
+     *
+     * @throws SearchIndexUnavailableException if the statistics have not loaded yet
+     */
+    public MarketStats stats(String stateName, String cityName, String zipCode, String propertyType) {
+        MarketSegments current = loaded();
+        long start = System.nanoTime();
+        MarketSegment segment = new MarketSegment(stateName, cityName, zipCode, propertyType);
+        MarketStats stats = current.stats(segment);
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return stats != null ? stats : MarketSegments.empty(segment);
+    }
+
+    /**
+     * Statistics of each segment within the given one by groupBy, which must be a level the
+     * filters do not already fix. Segments without listings are left out.
+     *
+     * @throws SearchIndexUnavailableException if the statistics have not loaded yet
+     */
+    public List<MarketStats> breakdown(String stateName, String cityName, String zipCode, String propertyType,
+                                       MarketDimension groupBy) {
+        MarketSegments current = loaded();
+        long start = System.nanoTime();
+        List<MarketStats> breakdown = current.breakdown(new MarketSegment(stateName, cityName, zipCode, propertyType), groupBy);
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return breakdown;
+    }
+
+    @PostConstruct
+    void loadSnapshot() {
+        if (!enabled || snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            Instant savedWatermark = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            long savedFullLoadMillis = in.readLong();
+            MarketSegments loaded = MarketSegments.readFrom(in);
+
+            synchronized (this) {
+                segments = loaded;
+                watermark = savedWatermark;
+                lastFullLoadMillis = savedFullLoadMillis;
+                lastSnapshotMillis = System.currentTimeMillis();
+            }
+            snapshotBytes = Files.size(snapshotPath);
+            log.info("Market analytics restored {} listings in {} segments from {} in {}ms (watermark {})",
+                    loaded.listings(), loaded.segments(), snapshotPath, lastSnapshotMillis - start, savedWatermark);
+        } catch (IOException | RuntimeException e) {
+            // A stale or corrupt snapshot only costs a full load
+            log.warn("Ignoring market analytics snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${properties.analytics.refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTimer.record(() -> {
+                if (segments == null || System.currentTimeMillis() - lastFullLoadMillis >= fullReloadMs) {
+                    fullLoad();
+                } else {
+                    applyChanges();
+                }
+            });
+            if (dirty && System.currentTimeMillis() - lastSnapshotMillis >= snapshotMs) {
+                writeSnapshot();
+            }
+        } catch (Exception e) {
+            // Keep serving the last statistics; reads are 503 until the first load succeeds
+            log.error("Market analytics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (enabled && dirty) {
+            try {
+                writeSnapshot();
+            } catch (IOException e) {
+                log.warn("Could not write market analytics snapshot on shutdown: {}", e.getMessage());
+            }
+        }
+    }
+
+    private MarketSegments loaded() {
+        MarketSegments current = segments;
+        if (current == null) {
+            throw new SearchIndexUnavailableException("Market analytics are starting up. Please try again shortly.",
+                    refreshSeconds);
+        }
+        return current;
+    }
+
+    private void fullLoad() {
+        long start = System.currentTimeMillis();
+        MarketSegments loaded = new MarketSegments();
+        AppliedVersions loadedVersions = new AppliedVersions(overlap);
+        Instant[] latest = {Instant.EPOCH};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListings(null, fetchSize, (listing, published, updatedAt) -> {
+                    update(loaded, listing, published);
+                    loadedVersions.record(listing.getId(), updatedAt);
+                    latest[0] = later(latest[0], updatedAt);
+                }));
+        loaded.publish();
+
+        segments = loaded;
+        watermark = latest[0];
+        appliedVersions = loadedVersions;
+        dirty = true;
+        lastFullLoadMillis = System.currentTimeMillis();
+
+        log.info("Market analytics loaded {} listings into {} segments in {}ms",
+                loaded.listings(), loaded.segments(), lastFullLoadMillis - start);
+    }
+
+    private void applyChanges() {
+        MarketSegments current = segments;
+        Instant[] latest = {watermark};
+        int[] changes = {0};
+
+        // The overlap re-reads the newest rows every time; skip the versions already applied
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListings(watermark.minus(overlap), fetchSize,
+                        (listing, published, updatedAt) -> {
+                            latest[0] = later(latest[0], updatedAt);
+                            if (appliedVersions.isApplied(listing.getId(), updatedAt)) {
+                                return;
+                            }
+                            update(current, listing, published);
+                            appliedVersions.record(listing.getId(), updatedAt);
+                            changes[0]++;
+                        }));
+        if (changes[0] == 0) {
+            return;
+        }
+        current.publish();
+
+        watermark = latest[0];
+        dirty = true;
+        log.debug("Market analytics applied {} listing changes", changes[0]);
+    }
+
+    private static void update(MarketSegments segments, PropertySummary listing, boolean published) {
+        boolean counted = published && !ListingStatus.sold.name().equals(listing.getListingStatus());
+        MarketSegment segment = counted ? MarketSegment.of(listing) : null;
+        segments.update(listing.getId(), segment, segment != null ? ListingValues.of(listing) : null);
+    }
+
+    private void writeSnapshot() throws IOException {
+        if (snapshotPath == null || segments == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+
+        // Callers hold the monitor, so no refresh changes the sketches mid-write; readers keep going
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeLong(watermark.getEpochSecond());
+                out.writeInt(watermark.getNano());
+                out.writeLong(lastFullLoadMillis);
+                segments.writeTo(out);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        lastSnapshotMillis = System.currentTimeMillis();
+        snapshotBytes = Files.size(snapshotPath);
+        log.debug("Market analytics snapshot written to {} ({} bytes) in {}ms",
+                snapshotPath, snapshotBytes, lastSnapshotMillis - start);
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+}
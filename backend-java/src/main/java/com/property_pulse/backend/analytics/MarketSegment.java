@@ -0,0 +1,75 @@
+package com.property_pulse.backend.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.property_pulse.backend.dto.PropertySummary;
+
+/**
+ * A market: a location (everywhere, a state, a city within it or a zip code within that)
+ * optionally narrowed to a property type. Null fields are wildcards, so a listing belongs to
+ * exactly one fine segment, with every field set, and to the coarser segments above it.
+ */
+record MarketSegment(String stateName, String cityName, String zipCode, String propertyType) {
+
+    static final MarketSegment ALL = new MarketSegment(null, null, null, null);
+
+    static final int FINE_DEPTH = 3;
+
+    // zip_code is optional on a listing; those listings share one zip segment per city and type
+    static final String NO_ZIP_CODE = "";
+
+    /**
+     * The fine segment of a listing, null if it lacks its state, city or type.
+     */
+    static MarketSegment of(PropertySummary listing) {
+        if (listing.getStateName() == null || listing.getCityName() == null || listing.getPropertyType() == null) {
+            return null;
+        }
+        String zipCode = listing.getZipCode() == null || listing.getZipCode().isBlank() ? NO_ZIP_CODE : listing.getZipCode();
+        return new MarketSegment(listing.getStateName(), listing.getCityName(), zipCode, listing.getPropertyType());
+    }
+
+    /**
+     * 0 for everywhere, 1 for a state, 2 for a city, 3 for a zip code.
+     */
+    int depth() {
+        return stateName == null ? 0 : cityName == null ? 1 : zipCode == null ? 2 : 3;
+    }
+
+    boolean isFine() {
+        return depth() == FINE_DEPTH && propertyType != null;
+    }
+
+    /**
+     * The same type one location level up; only for depth() > 0.
+     */
+    MarketSegment locationParent() {
+        return switch (depth()) {
+            case 3 -> new MarketSegment(stateName, cityName, null, propertyType);
+            case 2 -> new MarketSegment(stateName, null, null, propertyType);
+            case 1 -> new MarketSegment(null, null, null, propertyType);
+            default -> throw new IllegalStateException("Everywhere has no parent location");
+        };
+    }
+
+    MarketSegment withoutType() {
+        return new MarketSegment(stateName, cityName, zipCode, null);
+    }
+
+    /**
+     * This segment and every coarser one it belongs to (eight for a fine segment).
+     */
+    List<MarketSegment> ancestors() {
+        List<MarketSegment> ancestors = new ArrayList<>(8);
+        for (MarketSegment location = this; ; location = location.locationParent()) {
+            ancestors.add(location);
+            if (location.propertyType() != null) {
+                ancestors.add(location.withoutType());
+            }
+            if (location.depth() == 0) {
+                return ancestors;
+            }
+        }
+    }
+}
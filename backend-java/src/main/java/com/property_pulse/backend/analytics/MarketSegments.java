@@ -0,0 +1,325 @@
+package com.property_pulse.backend.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.property_pulse.backend.dto.MarketDimension;
+import com.property_pulse.backend.dto.MarketDistribution;
+import com.property_pulse.backend.dto.MarketStats;
+
+/**
+ * Market statistics for every segment that has listings.
+ *
+ * Listing changes are applied to their fine segment only (add the new values, take out the
+ * old ones). {@link #publish} then recomposes each coarser segment that changed by merging the
+ * segments one level below it: a typed segment from its locations one level down, an untyped
+ * one from its types. Published segments are summarized up front, so a read is a map lookup
+ * and a breakdown a walk over the children. Writes must come from one thread at a time and
+ * end with {@link #publish}; reads of published statistics are safe from any thread.
+ */
+final class MarketSegments {
+
+    private record Contribution(MarketSegment segment, ListingValues values) {
+    }
+
+    private record Node(MarketStats stats, List<MarketSegment> locationChildren, List<MarketSegment> typeChildren) {
+    }
+
+    // Typed segments before the untyped ones made from them, finer before coarser
+    private static final Comparator<MarketSegment> COMPOSE_ORDER = Comparator
+            .comparing((MarketSegment segment) -> segment.propertyType() == null)
+            .thenComparing(MarketSegment::depth, Comparator.reverseOrder());
+
+    private static final int MAGIC = 0x50504D41;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final double[] QUANTILES = {0.25, 0.5, 0.75, 0.9};
+
+    private final Map<UUID, Contribution> listings = new HashMap<>();
+    private final Map<MarketSegment, MarketSegment> fineSegments = new HashMap<>();
+    private final Map<MarketSegment, SegmentStats> stats = new HashMap<>();
+    private final Map<MarketSegment, Set<MarketSegment>> locationChildren = new HashMap<>();
+    private final Map<MarketSegment, Set<MarketSegment>> typeChildren = new HashMap<>();
+    private final Set<MarketSegment> dirty = new HashSet<>();
+    private final Map<MarketSegment, Node> published = new ConcurrentHashMap<>();
+
+    /**
+     * Moves the listing into the fine segment with the given values, or takes it out of every
+     * segment when segment is null (unpublished, sold or deleted).
+     */
+    void update(UUID id, MarketSegment segment, ListingValues values) {
+        Contribution previous = listings.get(id);
+        if (previous != null && previous.segment().equals(segment) && previous.values().equals(values)) {
+            return;
+        }
+        if (previous != null) {
+            stats.get(previous.segment()).remove(previous.values());
+            dirty.addAll(previous.segment().ancestors());
+        }
+        if (segment == null) {
+            listings.remove(id);
+            return;
+        }
+
+        MarketSegment fine = fineSegments.get(segment);
+        if (fine == null) {
+            fine = segment;
+            fineSegments.put(fine, fine);
+            stats.put(fine, new SegmentStats());
+            link(fine);
+        }
+        stats.get(fine).add(values);
+        listings.put(id, new Contribution(fine, values));
+        dirty.addAll(fine.ancestors());
+    }
+
+    /**
+     * Recomposes and summarizes every segment changed since the last call and makes them
+     * visible to readers.
+     */
+    void publish() {
+        List<MarketSegment> order = new ArrayList<>(dirty);
+        order.sort(COMPOSE_ORDER);
+
+        for (MarketSegment segment : order) {
+            SegmentStats composed = segment.isFine() ? stats.get(segment) : compose(segment);
+            if (composed == null || composed.listings() == 0) {
+                drop(segment);
+                continue;
+            }
+            if (!segment.isFine()) {
+                stats.put(segment, composed);
+            }
+            published.put(segment, new Node(summarize(segment, composed),
+                    List.copyOf(locationChildren.getOrDefault(segment, Set.of())),
+                    List.copyOf(typeChildren.getOrDefault(segment, Set.of()))));
+        }
+        dirty.clear();
+    }
+
+    /**
+     * The segment's published statistics, null when it has no listings.
+     */
+    MarketStats stats(MarketSegment segment) {
+        Node node = published.get(segment);
+        return node == null ? null : node.stats();
+    }
+
+    /**
+     * Published statistics of every segment within the given one, one per value of groupBy.
+     * groupBy must be finer than the segment (a location level below it, or property_type for
+     * an untyped segment).
+     */
+    List<MarketStats> breakdown(MarketSegment within, MarketDimension groupBy) {
+        Node node = published.get(within);
+        if (node == null) {
+            return List.of();
+        }
+        if (groupBy == MarketDimension.property_type) {
+            return statsOf(node.typeChildren());
+        }
+
+        int depth = switch (groupBy) {
+            case state -> 1;
+            case city -> 2;
+            default -> 3;
+        };
+        List<MarketSegment> level = List.of(within);
+        for (int d = within.depth(); d < depth; d++) {
+            List<MarketSegment> next = new ArrayList<>();
+            for (MarketSegment segment : level) {
+                Node child = published.get(segment);
+                if (child != null) {
+                    next.addAll(child.locationChildren());
+                }
+            }
+            level = next;
+        }
+        return statsOf(level);
+    }
+
+    int listings() {
+        return listings.size();
+    }
+
+    int segments() {
+        return published.size();
+    }
+
+    /**
+     * Statistics of a segment without listings: zero counts and null values.
+     */
+    static MarketStats empty(MarketSegment segment) {
+        return summarize(segment, new SegmentStats());
+    }
+
+    /**
+     * Writes the fine segments' sketches and each listing's contribution; coarser segments are
+     * recomposed on load. Only consistent right after {@link #publish}.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeDouble(QuantileSketch.RELATIVE_ACCURACY);
+
+        Map<MarketSegment, Integer> ordinals = new HashMap<>();
+        out.writeInt(fineSegments.size());
+        for (MarketSegment segment : fineSegments.keySet()) {
+            ordinals.put(segment, ordinals.size());
+            out.writeUTF(segment.stateName());
+            out.writeUTF(segment.cityName());
+            out.writeUTF(segment.zipCode());
+            out.writeUTF(segment.propertyType());
+            stats.get(segment).writeTo(out);
+        }
+
+        out.writeInt(listings.size());
+        for (Map.Entry<UUID, Contribution> entry : listings.entrySet()) {
+            ListingValues values = entry.getValue().values();
+            out.writeLong(entry.getKey().getMostSignificantBits());
+            out.writeLong(entry.getKey().getLeastSignificantBits());
+            out.writeInt(ordinals.get(entry.getValue().segment()));
+            out.writeDouble(values.price());
+            out.writeDouble(values.pricePerSqft());
+            out.writeDouble(values.daysOnMarket());
+            out.writeDouble(values.rentToPrice());
+        }
+    }
+
+    /**
+     * Reads what {@link #writeTo} wrote and publishes it.
+     */
+    static MarketSegments readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                || in.readDouble() != QuantileSketch.RELATIVE_ACCURACY) {
+            throw new IOException("Unsupported market analytics snapshot format");
+        }
+
+        MarketSegments segments = new MarketSegments();
+        int fineCount = in.readInt();
+        List<MarketSegment> fine = new ArrayList<>(fineCount);
+        for (int i = 0; i < fineCount; i++) {
+            MarketSegment segment = new MarketSegment(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+            fine.add(segment);
+            segments.fineSegments.put(segment, segment);
+            segments.stats.put(segment, SegmentStats.readFrom(in));
+            segments.link(segment);
+            segments.dirty.addAll(segment.ancestors());
+        }
+
+        int listingCount = in.readInt();
+        for (int i = 0; i < listingCount; i++) {
+            UUID id = new UUID(in.readLong(), in.readLong());
+            MarketSegment segment = fine.get(in.readInt());
+            ListingValues values = new ListingValues(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+            segments.listings.put(id, new Contribution(segment, values));
+        }
+
+        segments.publish();
+        return segments;
+    }
+
+    private SegmentStats compose(MarketSegment segment) {
+        Set<MarketSegment> parts = segment.propertyType() != null
+                ? locationChildren.get(segment)
+                : typeChildren.get(segment);
+        if (parts == null) {
+            return null;
+        }
+        SegmentStats composed = new SegmentStats();
+        for (MarketSegment part : parts) {
+            SegmentStats partStats = stats.get(part);
+            if (partStats != null) {
+                composed.merge(partStats);
+            }
+        }
+        return composed;
+    }
+
+    private void link(MarketSegment fine) {
+        for (MarketSegment segment : fine.ancestors()) {
+            if (segment.propertyType() != null) {
+                typeChildren.computeIfAbsent(segment.withoutType(), k -> new HashSet<>()).add(segment);
+            }
+            if (segment.depth() > 0) {
+                locationChildren.computeIfAbsent(segment.locationParent(), k -> new HashSet<>()).add(segment);
+            }
+        }
+    }
+
+    // Children are dropped before their parents (COMPOSE_ORDER), so only the links up remain
+    private void drop(MarketSegment segment) {
+        stats.remove(segment);
+        published.remove(segment);
+        fineSegments.remove(segment);
+        locationChildren.remove(segment);
+        typeChildren.remove(segment);
+        if (segment.propertyType() != null) {
+            unlink(typeChildren, segment.withoutType(), segment);
+        }
+        if (segment.depth() > 0) {
+            unlink(locationChildren, segment.locationParent(), segment);
+        }
+    }
+
+    private static void unlink(Map<MarketSegment, Set<MarketSegment>> children, MarketSegment parent, MarketSegment child) {
+        Set<MarketSegment> siblings = children.get(parent);
+        if (siblings != null && siblings.remove(child) && siblings.isEmpty()) {
+            children.remove(parent);
+        }
+    }
+
+    private List<MarketStats> statsOf(List<MarketSegment> segments) {
+        List<MarketStats> result = new ArrayList<>(segments.size());
+        for (MarketSegment segment : segments) {
+            MarketStats segmentStats = stats(segment);
+            if (segmentStats != null) {
+                result.add(segmentStats);
+            }
+        }
+        return result;
+    }
+
+    static MarketStats summarize(MarketSegment segment, SegmentStats stats) {
+        return MarketStats.builder()
+                .stateName(segment.stateName())
+                .cityName(segment.cityName())
+                .zipCode(segment.zipCode())
+                .propertyType(segment.propertyType())
+                .listings(stats.listings())
+                .price(distribution(stats.price()))
+                .pricePerSqft(distribution(stats.pricePerSqft()))
+                .daysOnMarket(distribution(stats.daysOnMarket()))
+                .rentToPrice(distribution(stats.rentToPrice()))
+                .build();
+    }
+
+    private static MarketDistribution distribution(QuantileSketch sketch) {
+        Double[] quantiles = new Double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            quantiles[i] = round(sketch.quantile(QUANTILES[i]));
+        }
+        return MarketDistribution.builder()
+                .count(sketch.count())
+                .mean(round(sketch.mean()))
+                .p25(quantiles[0])
+                .median(quantiles[1])
+                .p75(quantiles[2])
+                .p90(quantiles[3])
+                .build();
+    }
+
+    private static Double round(double value) {
+        return Double.isNaN(value) ? null : Math.round(value * 100) / 100.0;
+    }
+}
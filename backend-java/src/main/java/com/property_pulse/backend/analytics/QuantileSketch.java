@@ -0,0 +1,216 @@
+package com.property_pulse.backend.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Streaming quantiles of non-negative values with a relative error bound, after DDSketch: each
+ * value is counted in a logarithmic bucket (γ^(i-1), γ^i] and a quantile is answered with the
+ * midpoint of the bucket holding it, at most {@link #RELATIVE_ACCURACY} away from the true value.
+ *
+ * Because a bucket is just a count, sketches merge exactly by adding counts and a value can be
+ * taken out again, which t-digest and KLL cannot do. The buckets span only the range of values
+ * seen, so a sketch of listing prices stays within a few hundred counters. Not thread-safe.
+ */
+final class QuantileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // Values this small are counted as zero rather than in a bucket of their own
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] counts = EMPTY;
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double sum;
+
+    /**
+     * Counts value; NaN, infinite and negative values are ignored.
+     */
+    void add(double value) {
+        if (!countable(value)) {
+            return;
+        }
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+        } else {
+            int index = index(value);
+            ensureRange(index, index);
+            counts[index - offset]++;
+        }
+        count++;
+        sum += value;
+    }
+
+    /**
+     * Takes back a value earlier passed to {@link #add}. A value that was never added is ignored.
+     */
+    void remove(double value) {
+        if (!countable(value)) {
+            return;
+        }
+        if (value < MIN_INDEXABLE) {
+            if (zeroCount == 0) {
+                return;
+            }
+            zeroCount--;
+        } else {
+            int slot = index(value) - offset;
+            if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+                return;
+            }
+            counts[slot]--;
+        }
+        count--;
+        sum = count == 0 ? 0 : sum - value;
+    }
+
+    /**
+     * Adds every value counted by other, as if they had been added here.
+     */
+    void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        int first = other.firstNonEmpty();
+        if (first >= 0) {
+            int last = other.lastNonEmpty();
+            ensureRange(other.offset + first, other.offset + last);
+            for (int i = first; i <= last; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Mean of the counted values, NaN when empty.
+     */
+    double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * The value at quantile q (0 to 1, 0.5 for the median), NaN when empty.
+     */
+    double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+            }
+        }
+        // Unreachable while the counts add up; the largest bucket is the safe answer
+        return 2 * Math.pow(GAMMA, offset + lastNonEmpty()) / (GAMMA + 1);
+    }
+
+    /**
+     * Writes the non-empty buckets as (index, count) pairs.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(zeroCount);
+        out.writeDouble(sum);
+        int nonEmpty = 0;
+        for (long bucket : counts) {
+            if (bucket != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(offset + i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    static QuantileSketch readFrom(DataInput in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.zeroCount = in.readLong();
+        sketch.count = sketch.zeroCount;
+        sketch.sum = in.readDouble();
+        int nonEmpty = in.readInt();
+        for (int n = 0; n < nonEmpty; n++) {
+            int index = in.readInt();
+            long bucket = in.readLong();
+            sketch.ensureRange(index, index);
+            sketch.counts[index - sketch.offset] += bucket;
+            sketch.count += bucket;
+        }
+        return sketch;
+    }
+
+    private static boolean countable(double value) {
+        return Double.isFinite(value) && value >= 0;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private void ensureRange(int low, int high) {
+        if (counts.length == 0) {
+            // Headroom on both sides so the next few values rarely resize
+            offset = low - 8;
+            counts = new long[high - low + 17];
+            return;
+        }
+        int newLow = Math.min(offset, low);
+        int newHigh = Math.max(offset + counts.length - 1, high);
+        if (newLow == offset && newHigh == offset + counts.length - 1) {
+            return;
+        }
+        // Grow by at least half again, towards the side that overflowed
+        int extra = counts.length / 2;
+        if (newLow < offset) {
+            newLow -= extra;
+        }
+        if (newHigh > offset + counts.length - 1) {
+            newHigh += extra;
+        }
+        long[] grown = new long[newHigh - newLow + 1];
+        System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+        counts = grown;
+        offset = newLow;
+    }
+
+    private int firstNonEmpty() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastNonEmpty() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.property_pulse.backend.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Listing count and one {@link QuantileSketch} per statistic for a market segment. Mergeable,
+ * so a coarse segment is the merge of the finer segments it covers. Not thread-safe.
+ */
+final class SegmentStats {
+
+    private long listings;
+    private final QuantileSketch price;
+    private final QuantileSketch pricePerSqft;
+    private final QuantileSketch daysOnMarket;
+    private final QuantileSketch rentToPrice;
+
+    SegmentStats() {
+        this(0, new QuantileSketch(), new QuantileSketch(), new QuantileSketch(), new QuantileSketch());
+    }
+
+    private SegmentStats(long listings, QuantileSketch price, QuantileSketch pricePerSqft,
+                         QuantileSketch daysOnMarket, QuantileSketch rentToPrice) {
+        this.listings = listings;
+        this.price = price;
+        this.pricePerSqft = pricePerSqft;
+        this.daysOnMarket = daysOnMarket;
+        this.rentToPrice = rentToPrice;
+    }
+
+    void add(ListingValues values) {
+        listings++;
+        price.add(values.price());
+        pricePerSqft.add(values.pricePerSqft());
+        daysOnMarket.add(values.daysOnMarket());
+        rentToPrice.add(values.rentToPrice());
+    }
+
+    void remove(ListingValues values) {
+        listings--;
+        price.remove(values.price());
+        pricePerSqft.remove(values.pricePerSqft());
+        daysOnMarket.remove(values.daysOnMarket());
+        rentToPrice.remove(values.rentToPrice());
+    }
+
+    void merge(SegmentStats other) {
+        listings += other.listings;
+        price.merge(other.price);
+        pricePerSqft.merge(other.pricePerSqft);
+        daysOnMarket.merge(other.daysOnMarket);
+        rentToPrice.merge(other.rentToPrice);
+    }
+
+    long listings() {
+        return listings;
+    }
+
+    QuantileSketch price() {
+        return price;
+    }
+
+    QuantileSketch pricePerSqft() {
+        return pricePerSqft;
+    }
+
+    QuantileSketch daysOnMarket() {
+        return daysOnMarket;
+    }
+
+    QuantileSketch rentToPrice() {
+        return rentToPrice;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(listings);
+        price.writeTo(out);
+        pricePerSqft.writeTo(out);
+        daysOnMarket.writeTo(out);
+        rentToPrice.writeTo(out);
+    }
+
+    static SegmentStats readFrom(DataInput in) throws IOException {
+        return new SegmentStats(in.readLong(), QuantileSketch.readFrom(in), QuantileSketch.readFrom(in),
+                QuantileSketch.readFrom(in), QuantileSketch.readFrom(in));
+    }
+}
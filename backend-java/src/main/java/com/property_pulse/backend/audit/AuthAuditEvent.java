@@ -0,0 +1,14 @@
+package com.property_pulse.backend.audit;
+
+import java.time.Instant;
+
+/**
+ * One security-relevant event. Immutable so it can be handed to the writer thread as-is.
+ */
+public record AuthAuditEvent(
+        AuthAuditEventType type,
+        String email,
+        String ipAddress,
+        String detail,
+        Instant occurredAt) {
+}
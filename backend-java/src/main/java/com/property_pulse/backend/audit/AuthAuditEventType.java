@@ -0,0 +1,12 @@
+package com.property_pulse.backend.audit;
+
+public enum AuthAuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    LOGIN_DISABLED_ACCOUNT,
+    REGISTRATION,
+    REGISTRATION_CONFLICT,
+    RATE_LIMITED,
+    INVALID_TOKEN,
+    REVOKED_TOKEN;
+}
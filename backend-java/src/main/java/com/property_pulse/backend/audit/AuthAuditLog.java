@@ -0,0 +1,148 @@
+package com.property_pulse.backend.audit;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous audit trail for authentication events.
+ *
+ * {@link #record} only offers the event to a bounded ring buffer and never blocks: when the
+ * buffer is full the event is dropped and counted (auth.audit.dropped). A single background
+ * writer drains the buffer in batches into the append-only auth_audit_events table.
+ */
+@Slf4j
+@Component
+public class AuthAuditLog {
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO auth_audit_events (event_type, email, ip_address, detail, occurred_at)
+            VALUES (?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ArrayBlockingQueue<AuthAuditEvent> buffer;
+    private final Counter dropped;
+    private final Counter written;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuthAuditLog(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${audit.batch-size:256}") int batchSize,
+            @Value("${audit.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.dropped = Counter.builder("auth.audit.dropped")
+                .description("Audit events dropped because the buffer was full or the write failed")
+                .register(meterRegistry);
+        this.written = Counter.builder("auth.audit.written")
+                .description("Audit events persisted")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.buffered", buffer, ArrayBlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void record(AuthAuditEventType type, String email, String ipAddress, String detail) {
+        if (!enabled) {
+            return;
+        }
+        if (!buffer.offer(new AuthAuditEvent(type, email, ipAddress, detail, Instant.now()))) {
+            dropped.increment();
+        }
+    }
+
+    public void record(AuthAuditEventType type, String email, String ipAddress) {
+        record(type, email, ipAddress, null);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Whatever is still buffered gets one last flush
+        flushRemaining();
+    }
+
+    private void drainLoop() {
+        List<AuthAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuthAuditEvent first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<AuthAuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuthAuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.type().name());
+                ps.setString(2, event.email());
+                ps.setString(3, event.ipAddress());
+                ps.setString(4, event.detail());
+                ps.setTimestamp(5, Timestamp.from(event.occurredAt()));
+            });
+            written.increment(batch.size());
+        } catch (Exception e) {
+            dropped.increment(batch.size());
+            log.error("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+}
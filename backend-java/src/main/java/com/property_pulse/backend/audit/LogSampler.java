@@ -0,0 +1,27 @@
+package com.property_pulse.backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Lets one in every N hot-path diagnostics through at DEBUG, so turning DEBUG on
+ * in production shows a representative trickle instead of a line per request.
+ */
+public final class LogSampler {
+
+    private final Logger logger;
+    private final long everyN;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(Logger logger, long everyN) {
+        this.logger = logger;
+        this.everyN = Math.max(1, everyN);
+    }
+
+    public void debug(String format, Object... arguments) {
+        if (logger.isDebugEnabled() && counter.getAndIncrement() % everyN == 0) {
+            logger.debug(format, arguments);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.property_pulse.backend.changes;
+
+import org.springframework.stereotype.Component;
+
+import com.property_pulse.backend.favorites.FavoritesStore;
+import com.property_pulse.backend.search.PropertyLeaderboards;
+import com.property_pulse.backend.search.PropertySearchIndex;
+import com.property_pulse.backend.security.UserDetailsCache;
+import com.property_pulse.backend.service.PropertyDetailsService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Which local cache each table's changes evict. Entries are dropped rather than reloaded,
+ * so a change to a row nobody is looking at costs nothing. PropertySearchIndex and the
+ * leaderboards instead queue a changed listing they hold and re-read each burst of them in one
+ * query, so an unpublished, deleted or (for the leaderboards) sold one is gone within half a
+ * second; every other change to them waits for their incremental refresh.
+ *
+ * The other in-memory listing views only poll updated_at:
+ * <ul>
+ * <li>PropertyTextIndex and InvestmentMetricsEngine: every hit they return is checked against
+ * PropertySearchIndex, so a listing that left the index is already hidden. Until their refresh
+ * (10s and 30s) only relevance or metrics of an edited listing lag.</li>
+ * <li>MarketAnalytics: segment statistics over many listings. One listing arriving up to 30s
+ * late barely moves them, and the incremental refresh already reads a feed import's changes
+ * in one pass.</li>
+ * <li>Prediction changes reach the leaderboards through their refresh-ms poll. The node that
+ * stored the predictions applies them immediately.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheEvictionSubscriptions {
+
+    private final ChangeBus changeBus;
+    private final PropertyDetailsService propertyDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final FavoritesStore favoritesStore;
+    private final PropertyLeaderboards propertyLeaderboards;
+    private final PropertySearchIndex propertySearchIndex;
+
+    @PostConstruct
+    void subscribe() {
+        changeBus.subscribe(RowChange.USERS, userDetailsCache::invalidateUser, userDetailsCache::invalidateAll);
+        changeBus.subscribe(RowChange.PROPERTY_LISTINGS,
+                propertyDetailsService::invalidate, propertyDetailsService::invalidateAll);
+        // A sold or unpublished listing leaves the leaderboards before the next refresh
+        changeBus.subscribe(RowChange.PROPERTY_LISTINGS,
+                propertyLeaderboards::listingChanged, propertyLeaderboards::reloadOnNextRefresh);
+        // Hard deletes never show up in the index's updated_at refresh
+        changeBus.subscribe(RowChange.PROPERTY_LISTINGS,
+                propertySearchIndex::listingChanged, propertySearchIndex::reloadOnNextRefresh);
+        // Detail pages embed the latest prediction; its change arrives keyed by listing id
+        changeBus.subscribe(RowChange.AI_PREDICTIONS,
+                propertyDetailsService::invalidate, propertyDetailsService::invalidateAll);
+        // Keyed by user id; this node's own flushes come back too and just cost a reload
+        changeBus.subscribe(RowChange.USER_FAVORITES, favoritesStore::invalidate, favoritesStore::invalidateAll);
+    }
+}
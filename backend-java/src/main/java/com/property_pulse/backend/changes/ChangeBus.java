@@ -0,0 +1,147 @@
+package com.property_pulse.backend.changes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps this node's caches in step with writes made by any node. Caches subscribe per table
+ * with what to do when one row changed and when they can no longer tell which rows did; the
+ * bus feeds them from the {@link ChangeTransport}.
+ *
+ * Whenever the transport (re)starts listening, the bus replays everything changed since it
+ * last was, less an overlap: row timestamps are taken at transaction start, so a long
+ * transaction can commit well after the time it stamps. When more rows changed than
+ * properties.changes.max-catch-up-rows, or the catch-up query fails, subscribers drop
+ * everything instead.
+ *
+ * Starts once the application is ready, so every subscription made during startup is in place.
+ */
+@Slf4j
+@Component
+public class ChangeBus implements ChangeTransport.Listener {
+
+    private record Subscriber(Consumer<UUID> onChange, Runnable onReset) {
+    }
+
+    private final ChangeTransport transport;
+    private final ChangeCatchUp catchUp;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration overlap;
+    private final int maxCatchUpRows;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Counter replays;
+    private final Counter resets;
+
+    public ChangeBus(
+            ChangeTransport transport,
+            ChangeCatchUp catchUp,
+            MeterRegistry meterRegistry,
+            @Value("${properties.changes.enabled:true}") boolean enabled,
+            @Value("${properties.changes.catch-up-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.changes.max-catch-up-rows:10000}") int maxCatchUpRows) {
+        this.transport = transport;
+        this.catchUp = catchUp;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.maxCatchUpRows = maxCatchUpRows;
+        this.replays = Counter.builder("row.changes.catch_ups").tag("result", "replayed")
+                .description("Reconnects whose missed changes were replayed row by row")
+                .register(meterRegistry);
+        this.resets = Counter.builder("row.changes.catch_ups").tag("result", "reset")
+                .description("Reconnects after which subscribers dropped everything")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param onChange called with the id of a changed row (for ai_predictions, the listing's id)
+     * @param onReset called when changes may have been missed and can't be told apart
+     */
+    public void subscribe(String table, Consumer<UUID> onChange, Runnable onReset) {
+        subscribers.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(new Subscriber(onChange, onReset));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            transport.start(this);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (enabled) {
+            transport.stop();
+        }
+    }
+
+    @Override
+    public void onChange(RowChange change) {
+        List<Subscriber> tableSubscribers = subscribers.get(change.table());
+        if (tableSubscribers == null) {
+            return;
+        }
+        meterRegistry.counter("row.changes.received", "table", change.table()).increment();
+        for (Subscriber subscriber : tableSubscribers) {
+            try {
+                subscriber.onChange().accept(change.id());
+            } catch (RuntimeException e) {
+                log.error("Subscriber to {} failed on change of {}", change.table(), change.id(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onListening(Instant since) {
+        List<RowChange> missed;
+        try {
+            missed = catchUp.changedSince(since.minus(overlap), maxCatchUpRows + 1);
+        } catch (RuntimeException e) {
+            log.warn("Could not catch up on row changes since {}, resetting caches: {}", since, e.getMessage());
+            resetAll();
+            return;
+        }
+
+        if (missed.size() > maxCatchUpRows) {
+            log.info("More than {} rows changed since {}, resetting caches", maxCatchUpRows, since);
+            resetAll();
+            return;
+        }
+        for (RowChange change : missed) {
+            onChange(change);
+        }
+        replays.increment();
+        log.debug("Replayed {} row changes since {}", missed.size(), since);
+    }
+
+    private void resetAll() {
+        resets.increment();
+        subscribers.forEach((table, tableSubscribers) -> {
+            for (Subscriber subscriber : tableSubscribers) {
+                try {
+                    subscriber.onReset().run();
+                } catch (RuntimeException e) {
+                    log.error("Subscriber to {} failed to reset", table, e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.property_pulse.backend.changes;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rows of the cached tables changed since a point in time, for replaying the notifications
+ * a node missed while it wasn't listening. Row timestamps are what tells: updated_at on
+ * users and property_listings, and created_at on ai_predictions, which the prediction
+ * import re-stamps on every upsert, and on user_favorites. Deleted rows leave nothing to
+ * find; their cache entries age out by TTL.
+ *
+ * Runs only after a reconnect, so no index backs it beyond the ones the tables have.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeCatchUp {
+
+    private static final String CHANGED_SINCE = """
+            SELECT 'users' AS table_name, id FROM users WHERE updated_at > :since
+            UNION ALL
+            SELECT 'property_listings', id FROM property_listings WHERE updated_at > :since
+            UNION ALL
+            SELECT DISTINCT 'ai_predictions', property_id FROM ai_predictions
+            WHERE created_at > :since AND property_id IS NOT NULL
+            UNION ALL
+            SELECT DISTINCT 'user_favorites', user_id FROM user_favorites
+            WHERE created_at > :since AND user_id IS NOT NULL
+            LIMIT :limit""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * At most {@code limit} changes; a full list means there may be more.
+     */
+    public List<RowChange> changedSince(Instant since, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", Timestamp.from(since))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CHANGED_SINCE, params,
+                (rs, rowNum) -> new RowChange(rs.getString("table_name"), rs.getObject("id", UUID.class)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.property_pulse.backend.changes;
+
+import java.time.Instant;
+
+/**
+ * Delivers row changes committed by any node to this one. {@link PostgresChangeTransport}
+ * listens on the database; {@link InMemoryChangeTransport} is fed by hand, for tests and
+ * single-node setups. Selected by properties.changes.transport.
+ */
+public interface ChangeTransport {
+
+    interface Listener {
+
+        void onChange(RowChange change);
+
+        /**
+         * Called each time the transport starts (or resumes) receiving. Changes committed
+         * after {@code since} may not have been delivered; before it, all were.
+         */
+        void onListening(Instant since);
+    }
+
+    /**
+     * Starts delivering to the listener, on a thread of the transport's choosing.
+     */
+    void start(Listener listener);
+
+    void stop();
+}
@@ -0,0 +1,56 @@
+package com.property_pulse.backend.changes;
+
+import java.time.Instant;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transport without a database: changes are handed to {@link #publish} and delivered on the
+ * caller's thread. {@link #disconnect} and {@link #reconnect} mimic a dropped LISTEN
+ * connection, so changes published in between are lost and left to the catch-up.
+ *
+ * Nothing publishes to it in production, so it only suits a single node, whose own writes
+ * already evict its caches.
+ */
+@Component
+@ConditionalOnProperty(name = "properties.changes.transport", havingValue = "memory")
+public class InMemoryChangeTransport implements ChangeTransport {
+
+    private Listener listener;
+    private boolean connected;
+    private Instant connectedThrough;
+
+    @Override
+    public synchronized void start(Listener listener) {
+        this.listener = listener;
+        this.connectedThrough = Instant.now();
+        reconnect();
+    }
+
+    @Override
+    public synchronized void stop() {
+        disconnect();
+        listener = null;
+    }
+
+    public synchronized void publish(RowChange change) {
+        if (connected) {
+            listener.onChange(change);
+        }
+    }
+
+    public synchronized void disconnect() {
+        if (connected) {
+            connected = false;
+            connectedThrough = Instant.now();
+        }
+    }
+
+    public synchronized void reconnect() {
+        if (!connected && listener != null) {
+            connected = true;
+            listener.onListening(connectedThrough);
+        }
+    }
+}
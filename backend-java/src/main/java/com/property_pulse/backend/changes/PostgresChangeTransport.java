@@ -0,0 +1,155 @@
+package com.property_pulse.backend.changes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives the row changes the notify_row_change trigger publishes on channel
+ * {@value #CHANNEL} (see database/migrations/007_row_change_notifications.sql).
+ *
+ * LISTEN needs a session of its own for as long as the node runs, so this opens one
+ * connection straight from the driver rather than holding one of the pool's. A single daemon
+ * thread waits for notifications and, between waits, reads the database clock: that doubles
+ * as a liveness check (a dead socket only shows on a query) and records how far delivery is
+ * known to be complete. When the connection fails it reconnects after a pause, LISTENs again
+ * and reports that time to the listener, which catches up on what it missed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "properties.changes.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresChangeTransport implements ChangeTransport {
+
+    static final String CHANNEL = "row_changes";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final int pollMs;
+    private final long reconnectMs;
+
+    private volatile boolean running;
+    private Thread receiver;
+
+    public PostgresChangeTransport(
+            DataSourceProperties dataSourceProperties,
+            @Value("${properties.changes.poll-ms:5000}") int pollMs,
+            @Value("${properties.changes.reconnect-ms:5000}") long reconnectMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollMs = pollMs;
+        this.reconnectMs = reconnectMs;
+    }
+
+    @Override
+    public synchronized void start(Listener listener) {
+        if (running) {
+            return;
+        }
+        running = true;
+        receiver = new Thread(() -> receiveLoop(listener), "row-change-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (receiver != null) {
+            receiver.interrupt();
+            try {
+                receiver.join(pollMs + TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void receiveLoop(Listener listener) {
+        // Nothing is cached before startup, so the first connection only covers the time it took
+        Instant receivedThrough = Instant.now();
+        while (running) {
+            try (Connection connection = connect()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                Instant listeningSince = databaseNow(connection);
+                log.info("Listening for row changes on channel {}", CHANNEL);
+                listener.onListening(receivedThrough);
+                receivedThrough = listeningSince;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    Instant now = databaseNow(connection);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(listener, notification.getParameter());
+                        }
+                    }
+                    receivedThrough = now;
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Row change connection lost, reconnecting in {}ms: {}", reconnectMs, e.getMessage());
+                    pause();
+                }
+            } catch (RuntimeException e) {
+                // A failing listener must not end the loop; the catch-up on reconnect covers what it missed
+                log.error("Row change delivery failed, reconnecting in {}ms", reconnectMs, e);
+                pause();
+            }
+        }
+    }
+
+    private static void deliver(Listener listener, String payload) {
+        RowChange change;
+        try {
+            change = RowChange.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring notification on {}: {}", CHANNEL, e.getMessage());
+            return;
+        }
+        listener.onChange(change);
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("ApplicationName", "property-pulse-row-changes");
+        // Bounds the clock query, so a half-open socket is noticed instead of waited on forever
+        properties.setProperty("socketTimeout", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(pollMs) + 30));
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private static Instant databaseNow(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT now()")) {
+            rs.next();
+            return rs.getTimestamp(1).toInstant();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
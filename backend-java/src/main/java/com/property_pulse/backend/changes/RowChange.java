@@ -0,0 +1,33 @@
+package com.property_pulse.backend.changes;
+
+import java.util.UUID;
+
+/**
+ * One committed change to a cached table, as announced by the notify_row_change trigger:
+ * the table name and the id caches key that table's rows by. For ai_predictions that is the
+ * listing's id (property_id), not the prediction's; for user_favorites it is the user's (user_id).
+ *
+ * On the wire it is the NOTIFY payload {@code table:id}.
+ */
+public record RowChange(String table, UUID id) {
+
+    public static final String USERS = "users";
+    public static final String PROPERTY_LISTINGS = "property_listings";
+    public static final String AI_PREDICTIONS = "ai_predictions";
+    public static final String USER_FAVORITES = "user_favorites";
+
+    /**
+     * @throws IllegalArgumentException if the payload is not {@code table:uuid}
+     */
+    public static RowChange parse(String payload) {
+        int colon = payload == null ? -1 : payload.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Not a row change: " + payload);
+        }
+        return new RowChange(payload.substring(0, colon), UUID.fromString(payload.substring(colon + 1)));
+    }
+
+    public String payload() {
+        return table + ":" + id;
+    }
+}
@@ -0,0 +1,70 @@
+package com.property_pulse.backend.columnar;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Serves listing results as {@value #MEDIA_TYPE_VALUE}: CBOR laid out column by column by
+ * {@link ColumnarListingWriter}. Write-only, and only for the bodies that writer supports;
+ * other endpoints answer such an Accept header with 406.
+ *
+ * Register it after the JSON converter, so clients that accept anything still get JSON.
+ */
+public class ColumnarListingHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.property-pulse.columns+cbor";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final CBORFactory factory = new CBORFactory();
+
+    public ColumnarListingHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && ColumnarListingWriter.supports(type != null ? type : clazz);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ColumnarListingWriter.supports(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            new ColumnarListingWriter(generator).write(body, type != null ? type : body.getClass());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is a response format only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is a response format only", inputMessage);
+    }
+}
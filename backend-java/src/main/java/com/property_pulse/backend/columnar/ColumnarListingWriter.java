@@ -0,0 +1,213 @@
+package com.property_pulse.backend.columnar;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.core.ResolvableType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.property_pulse.backend.dto.MapCluster;
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.dto.RankedListing;
+
+/**
+ * Writes listing results column by column: each list of listings becomes one map from field
+ * name to an array holding that field for every row, so a name is sent once per response
+ * instead of once per listing. Written field by field to the generator; nothing is built in
+ * between.
+ *
+ * Field names are the JSON ones. Values are encoded compactly: ids as 16-byte byte strings
+ * (most significant half first), timestamps as epoch milliseconds, whole-number decimals as
+ * integers and other decimals as doubles. Missing values are null.
+ */
+final class ColumnarListingWriter {
+
+    @FunctionalInterface
+    private interface FieldWriter<T> {
+
+        void write(ColumnarListingWriter writer, T row) throws IOException;
+    }
+
+    private record Column<T>(String name, FieldWriter<T> field) {
+
+        <R> Column<R> of(Function<R, T> part) {
+            return new Column<>(name, (writer, row) -> field.write(writer, part.apply(row)));
+        }
+    }
+
+    private static final List<Column<PropertySummary>> SUMMARY_COLUMNS = List.of(
+            new Column<>("id", (w, s) -> w.writeUuid(s.getId())),
+            new Column<>("title", (w, s) -> w.writeString(s.getTitle())),
+            new Column<>("street_number", (w, s) -> w.generator.writeNumber(s.getStreetNumber())),
+            new Column<>("street_name", (w, s) -> w.writeString(s.getStreetName())),
+            new Column<>("city_name", (w, s) -> w.writeString(s.getCityName())),
+            new Column<>("state_name", (w, s) -> w.writeString(s.getStateName())),
+            new Column<>("zip_code", (w, s) -> w.writeString(s.getZipCode())),
+            new Column<>("latitude", (w, s) -> w.writeDecimal(s.getLatitude())),
+            new Column<>("longitude", (w, s) -> w.writeDecimal(s.getLongitude())),
+            new Column<>("bedrooms", (w, s) -> w.generator.writeNumber(s.getBedrooms())),
+            new Column<>("bathrooms", (w, s) -> w.generator.writeNumber(s.getBathrooms())),
+            new Column<>("sqft", (w, s) -> w.writeInteger(s.getSqft())),
+            new Column<>("property_type", (w, s) -> w.writeString(s.getPropertyType())),
+            new Column<>("image_url", (w, s) -> w.writeString(s.getImageUrl())),
+            new Column<>("price", (w, s) -> w.writeDecimal(s.getPrice())),
+            new Column<>("estimated_rent", (w, s) -> w.writeDecimal(s.getEstimatedRent())),
+            new Column<>("listing_status", (w, s) -> w.writeString(s.getListingStatus())),
+            new Column<>("days_on_market", (w, s) -> w.generator.writeNumber(s.getDaysOnMarket())),
+            new Column<>("created_at", (w, s) -> w.writeTimestamp(s.getCreatedAt())));
+
+    private static final List<Column<NearbyListing>> NEARBY_COLUMNS = withSummary(NearbyListing::getListing,
+            new Column<>("distance_miles", (w, l) -> w.generator.writeNumber(l.getDistanceMiles())));
+
+    private static final List<Column<RankedListing>> RANKED_COLUMNS = withSummary(RankedListing::getListing,
+            new Column<>("score", (w, l) -> w.generator.writeNumber(l.getScore())));
+
+    private static final List<Column<MapCluster>> CLUSTER_COLUMNS = List.of(
+            new Column<>("latitude", (w, c) -> w.generator.writeNumber(c.getLatitude())),
+            new Column<>("longitude", (w, c) -> w.generator.writeNumber(c.getLongitude())),
+            new Column<>("count", (w, c) -> w.generator.writeNumber(c.getCount())),
+            new Column<>("min_price", (w, c) -> w.writeDecimal(c.getMinPrice())),
+            new Column<>("listing_id", (w, c) -> w.writeUuid(c.getListingId())));
+
+    // Row types a List body may hold, with the columns it is written as
+    private static final Map<Class<?>, List<? extends Column<?>>> LIST_COLUMNS = Map.of(
+            PropertySummary.class, SUMMARY_COLUMNS,
+            NearbyListing.class, NEARBY_COLUMNS,
+            RankedListing.class, RANKED_COLUMNS);
+
+    private final JsonGenerator generator;
+    private final byte[] uuid = new byte[16];
+
+    ColumnarListingWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * True for the bodies this format covers: search and map responses and lists of listings.
+     */
+    static boolean supports(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> raw = resolved.resolve();
+        if (raw == PropertySearchResponse.class || raw == MapSearchResponse.class) {
+            return true;
+        }
+        return raw != null && List.class.isAssignableFrom(raw)
+                && LIST_COLUMNS.containsKey(resolved.asCollection().resolveGeneric(0));
+    }
+
+    /**
+     * @param type the declared body type, which {@link #supports} accepted
+     */
+    @SuppressWarnings("unchecked")
+    void write(Object body, Type type) throws IOException {
+        if (body instanceof PropertySearchResponse response) {
+            generator.writeStartObject(response, 4);
+            generator.writeNumberField("limit", response.getLimit());
+            generator.writeBooleanField("has_more", response.isHasMore());
+            generator.writeFieldName("next_cursor");
+            writeString(response.getNextCursor());
+            generator.writeFieldName("properties");
+            writeColumns(response.getProperties(), SUMMARY_COLUMNS);
+            generator.writeEndObject();
+
+        } else if (body instanceof MapSearchResponse response) {
+            generator.writeStartObject(response, 4);
+            generator.writeNumberField("total_matches", response.getTotalMatches());
+            generator.writeBooleanField("clustered", response.isClustered());
+            generator.writeFieldName("properties");
+            writeColumns(response.getProperties(), NEARBY_COLUMNS);
+            generator.writeFieldName("clusters");
+            writeColumns(response.getClusters(), CLUSTER_COLUMNS);
+            generator.writeEndObject();
+
+        } else {
+            Class<?> rowType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+            writeColumns((List<Object>) body, (List<Column<Object>>) LIST_COLUMNS.get(rowType));
+        }
+    }
+
+    private <T> void writeColumns(List<T> rows, List<Column<T>> columns) throws IOException {
+        if (rows == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(rows, columns.size());
+        for (Column<T> column : columns) {
+            generator.writeFieldName(column.name());
+            generator.writeStartArray(rows, rows.size());
+            for (T row : rows) {
+                column.field().write(this, row);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private void writeInteger(Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private void writeDecimal(BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.stripTrailingZeros().scale() <= 0) {
+            // 325000.00 goes out as a 5-byte integer instead of a 9-byte double
+            generator.writeNumber(value.longValue());
+        } else {
+            generator.writeNumber(value.doubleValue());
+        }
+    }
+
+    private void writeTimestamp(ZonedDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.toInstant().toEpochMilli());
+        }
+    }
+
+    private void writeUuid(UUID value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        long most = value.getMostSignificantBits();
+        long least = value.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            uuid[i] = (byte) (most >>> (56 - 8 * i));
+            uuid[8 + i] = (byte) (least >>> (56 - 8 * i));
+        }
+        generator.writeBinary(uuid, 0, uuid.length);
+    }
+
+    private static <T> List<Column<T>> withSummary(Function<T, PropertySummary> summary, Column<T> extra) {
+        List<Column<T>> columns = new ArrayList<>(SUMMARY_COLUMNS.size() + 1);
+        for (Column<PropertySummary> column : SUMMARY_COLUMNS) {
+            columns.add(column.of(summary));
+        }
+        columns.add(extra);
+        return List.copyOf(columns);
+    }
+}
@@ -1,12 +1,17 @@
 package com.property_pulse.backend.config;
 
+import com.property_pulse.backend.audit.LogSampler;
 import com.property_pulse.backend.repository.UserRepository;
+import com.property_pulse.backend.security.CalibratedPasswordEncoder;
 import com.property_pulse.backend.security.JwtAuthenticationFilter;
+import com.property_pulse.backend.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -16,7 +21,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -32,15 +36,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final LogSampler SAMPLED = new LogSampler(log, 100);
+
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    @Value("${security.password-hashing.target-ms:250}")
+    private long passwordHashTargetMs;
+
+    @Value("${security.password-hashing.min-strength:10}")
+    private int passwordHashMinStrength;
+
+    @Value("${security.password-hashing.max-strength:14}")
+    private int passwordHashMaxStrength;
+
+    // 0 calibrates at startup; a cost pins it on every node
+    @Value("${security.password-hashing.strength:0}")
+    private int passwordHashStrength;
 
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
-            log.info("Loading user by username: {}", username);
-            return userRepository.findByEmail(username)
+            SAMPLED.debug("Loading user by username: {}", username);
+            return userDetailsCache.get(username, userRepository::findByEmail)
                     .orElseThrow(() -> {
-                        log.error("User not found: {}", username);
+                        log.debug("User not found: {}", username);
                         return new UsernameNotFoundException("User not found: " + username);
                     });
         };
@@ -61,7 +81,10 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        if (passwordHashStrength > 0) {
+            return CalibratedPasswordEncoder.fixed(passwordHashStrength);
+        }
+        return CalibratedPasswordEncoder.calibrate(passwordHashTargetMs, passwordHashMinStrength, passwordHashMaxStrength);
     }
 
     @Bean
@@ -74,6 +97,7 @@ public class SecurityConfig {
             "Cache-Control", 
             "Content-Type",
             "Accept", 
+            "If-None-Match", 
             "X-Requested-With", 
             "Access-Control-Allow-Origin", 
             "Access-Control-Allow-Headers",
@@ -81,7 +105,8 @@ public class SecurityConfig {
         ));
         configuration.setExposedHeaders(List.of(
             "Access-Control-Allow-Origin", 
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "ETag"
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
@@ -115,6 +140,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/login").permitAll()
                 .requestMatchers("/api/keepalive").permitAll()
                 .requestMatchers("/api/auth/register").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/properties/**").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("admin")
+                .requestMatchers("/actuator/prometheus", "/actuator/metrics/**").hasRole("admin")
                 .anyRequest().authenticated();
                 
                 log.info("Authorization rules configured");
@@ -0,0 +1,32 @@
+package com.property_pulse.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transaction templates for programmatic transactions. The read-only one is for the in-memory
+ * indexes and exports that stream listings: Postgres needs a transaction to fetch a result set
+ * in chunks, and read-only tells the driver and Hibernate that nothing is written.
+ */
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Declared here because defining any other TransactionTemplate makes Spring Boot's own back off.
+     */
+    @Bean
+    @Primary
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Bean
+    public TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,58 @@
+package com.property_pulse.backend.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refuses to start in virtual-thread mode when the connection pool is no larger than the
+ * password hashing pool.
+ *
+ * With virtual threads nothing caps the number of requests in flight except these two pools.
+ * A login loads the user before it hashes, and the request keeps that connection (open session
+ * in view) while it waits for a hashing thread. If every connection can be held by a request
+ * waiting on hashing, a burst of logins starves every other endpoint of the database until
+ * connection-timeout, so the connection pool needs headroom beyond the hashing threads.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPoolCheck {
+
+    private final DataSource dataSource;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final boolean virtualThreads;
+
+    public VirtualThreadPoolCheck(
+            DataSource dataSource,
+            PasswordHashingExecutor passwordHashingExecutor,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dataSource = dataSource;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    void check() throws SQLException {
+        if (!virtualThreads || !dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+
+        int connections = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        int hashingThreads = passwordHashingExecutor.getPoolSize();
+        if (connections <= hashingThreads) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size (" + connections
+                    + ") must be larger than the password hashing pool (" + hashingThreads
+                    + " threads) when spring.threads.virtual.enabled=true; raise the former or set security.password-hashing.threads");
+        }
+        log.info("Virtual threads enabled: {} database connections, {} password hashing threads", connections, hashingThreads);
+    }
+}
@@ -0,0 +1,36 @@
+package com.property_pulse.backend.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.property_pulse.backend.columnar.ColumnarListingHttpMessageConverter;
+
+/**
+ * Response formats besides JSON, picked by the Accept header: application/cbor on every
+ * endpoint, and the columnar listing format on the listing endpoints.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Replaces Spring's default CBOR converter so CBOR bodies follow the same Jackson settings
+     * as JSON ones (ISO-8601 dates and so on); it keeps its place after the JSON converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Last, so Accept: */* still gets JSON
+        converters.add(new ColumnarListingHttpMessageConverter());
+    }
+}
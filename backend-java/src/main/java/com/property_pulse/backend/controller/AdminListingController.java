@@ -0,0 +1,52 @@
+package com.property_pulse.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.property_pulse.backend.dto.ListingImportStatus;
+import com.property_pulse.backend.service.ListingImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/listings")
+@RequiredArgsConstructor
+public class AdminListingController {
+
+    private final ListingImportService listingImportService;
+
+    /**
+     * Starts (or resumes) importing a listing feed from the server's feed directory. The import
+     * runs in the background; poll GET /import for its progress.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ListingImportStatus> importListings(@RequestParam("file") String file) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(listingImportService.start(file));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Listing import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+        } catch (Exception e) {
+            log.error("Unexpected error starting listing import", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/import")
+    public ResponseEntity<ListingImportStatus> importStatus() {
+        ListingImportStatus status = listingImportService.status();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.property_pulse.backend.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.property_pulse.backend.dto.PredictionImportResult;
+import com.property_pulse.backend.service.PredictionImportService;
+import com.property_pulse.backend.service.PredictionImportService.Format;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/predictions")
+@RequiredArgsConstructor
+public class AdminPredictionController {
+
+    private final PredictionImportService predictionImportService;
+
+    /**
+     * Upserts a model run's predictions, one per line, as NDJSON or CSV with a header row.
+     * The body is streamed, never buffered whole.
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<PredictionImportResult> importPredictions(HttpServletRequest request) {
+        try {
+            Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? Format.NDJSON
+                    : Format.CSV;
+            return ResponseEntity.ok(predictionImportService.importPredictions(request.getInputStream(), format));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Prediction import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            log.error("Unexpected error during prediction import", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.property_pulse.backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.property_pulse.backend.dto.UserImportResult;
+import com.property_pulse.backend.security.PasswordHashingRejectedException;
+import com.property_pulse.backend.service.UserImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * Bulk-imports a JSON array of users (same fields as /api/auth/register).
+     * The body is streamed, never buffered whole.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResult> importUsers(HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(userImportService.importUsers(request.getInputStream()));
+
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            log.warn("User import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (PasswordHashingRejectedException e) {
+            log.warn("User import rejected, password hashing pool saturated");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+
+        } catch (Exception e) {
+            log.error("Unexpected error during user import", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
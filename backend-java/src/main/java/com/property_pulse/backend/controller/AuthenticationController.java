@@ -1,11 +1,19 @@
 package com.property_pulse.backend.controller;
 
+import com.property_pulse.backend.audit.AuthAuditEventType;
+import com.property_pulse.backend.audit.AuthAuditLog;
+import com.property_pulse.backend.audit.LogSampler;
 import com.property_pulse.backend.dto.AuthResponse;
 import com.property_pulse.backend.dto.LoginRequest;
 import com.property_pulse.backend.dto.RegisterRequest;
+import com.property_pulse.backend.security.AuthRateLimiter;
+import com.property_pulse.backend.security.PasswordHashingRejectedException;
 import com.property_pulse.backend.service.AuthenticationService;
+import com.property_pulse.backend.service.EmailAlreadyRegisteredException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -18,27 +26,52 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
+    private static final LogSampler SAMPLED = new LogSampler(log, 100);
+
     private final AuthenticationService authenticationService;
+    private final AuthRateLimiter authRateLimiter;
+    private final AuthAuditLog authAuditLog;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        AuthRateLimiter.Decision decision = authRateLimiter.check(
+            AuthRateLimiter.Endpoint.register, httpRequest.getRemoteAddr(), request.getEmail());
+        if (!decision.admitted()) {
+            authAuditLog.record(AuthAuditEventType.RATE_LIMITED, request.getEmail(), httpRequest.getRemoteAddr(), "register");
+            return tooManyRequests(decision);
+        }
+
         try {
-            log.info("Registration attempt for email: {}", request.getEmail());
+            SAMPLED.debug("Registration attempt for email: {}", request.getEmail());
             AuthResponse response = authenticationService.register(request);
-            log.info("Registration successful for email: {}", request.getEmail());
+            authAuditLog.record(AuthAuditEventType.REGISTRATION, request.getEmail(), httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
             
         } catch (IllegalArgumentException e) {
             // Validation errors - 400 Bad Request
-            log.warn("Registration validation failed: {}", e.getMessage());
+            log.debug("Registration validation failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
                 .body(AuthResponse.builder()
                     .token(null)
                     .message(e.getMessage())
                     .build());
                     
+        } catch (PasswordHashingRejectedException e) {
+            // Hashing pool saturated - 503 Service Unavailable
+            log.debug("Registration rejected, password hashing pool saturated");
+            return serviceUnavailable(e);
+
+        } catch (EmailAlreadyRegisteredException e) {
+            // Email already taken - 409 Conflict
+            authAuditLog.record(AuthAuditEventType.REGISTRATION_CONFLICT, request.getEmail(), httpRequest.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(AuthResponse.builder()
+                    .token(null)
+                    .message(e.getMessage())
+                    .build());
+
         } catch (RuntimeException e) {
-            // Business logic errors (like email already exists) - 409 Conflict
+            // Business logic errors - 409 Conflict
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(AuthResponse.builder()
@@ -58,16 +91,24 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> authenticate(@RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> authenticate(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // Throttle before any database lookup or password hashing
+        AuthRateLimiter.Decision decision = authRateLimiter.check(
+            AuthRateLimiter.Endpoint.login, httpRequest.getRemoteAddr(), request.getEmail());
+        if (!decision.admitted()) {
+            authAuditLog.record(AuthAuditEventType.RATE_LIMITED, request.getEmail(), httpRequest.getRemoteAddr(), "login");
+            return tooManyRequests(decision);
+        }
+
         try {
-            log.info("Login attempt for email: {}", request.getEmail());
+            SAMPLED.debug("Login attempt for email: {}", request.getEmail());
             AuthResponse response = authenticationService.authenticate(request);
-            log.info("Login successful for email: {}", request.getEmail());
+            authAuditLog.record(AuthAuditEventType.LOGIN_SUCCESS, request.getEmail(), httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
             
         } catch (IllegalArgumentException e) {
             // Validation errors (missing email/password) - 400 Bad Request
-            log.warn("Login validation failed: {}", e.getMessage());
+            log.debug("Login validation failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
                 .body(AuthResponse.builder()
                     .token(null)
@@ -76,7 +117,7 @@ public class AuthenticationController {
                     
         } catch (BadCredentialsException e) {
             // Invalid credentials - 401 Unauthorized (NOT 403!)
-            log.warn("Invalid credentials for email: {}", request.getEmail());
+            authAuditLog.record(AuthAuditEventType.LOGIN_FAILURE, request.getEmail(), httpRequest.getRemoteAddr());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(AuthResponse.builder()
                     .token(null)
@@ -85,13 +126,18 @@ public class AuthenticationController {
                     
         } catch (DisabledException e) {
             // Account disabled - 401 Unauthorized
-            log.warn("Login attempt for disabled account: {}", request.getEmail());
+            authAuditLog.record(AuthAuditEventType.LOGIN_DISABLED_ACCOUNT, request.getEmail(), httpRequest.getRemoteAddr());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(AuthResponse.builder()
                     .token(null)
                     .message("Account is disabled. Please contact support.")
                     .build());
                     
+        } catch (PasswordHashingRejectedException e) {
+            // Hashing pool saturated - 503 Service Unavailable
+            log.debug("Login rejected, password hashing pool saturated");
+            return serviceUnavailable(e);
+
         } catch (RuntimeException e) {
             // Other business logic errors - 401 Unauthorized
             log.error("Authentication failed: {}", e.getMessage());
@@ -111,4 +157,22 @@ public class AuthenticationController {
                     .build());
         }
     }
+
+    private ResponseEntity<AuthResponse> tooManyRequests(AuthRateLimiter.Decision decision) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+            .body(AuthResponse.builder()
+                .token(null)
+                .message("Too many attempts. Please try again later.")
+                .build());
+    }
+
+    private ResponseEntity<AuthResponse> serviceUnavailable(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(AuthResponse.builder()
+                .token(null)
+                .message(e.getMessage())
+                .build());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.property_pulse.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong entity tags for conditional GETs. A tag hashes whatever the response body is derived
+ * from (ids, updated_at values, an index generation), so it can be checked against
+ * If-None-Match before the body is loaded or serialized.
+ *
+ * The same resource has a different body per negotiated format (JSON, CBOR, columnar), and a
+ * strong tag must tell those apart, so callers include the Accept header among the parts and
+ * tagged responses carry Vary: Accept. They also set Cache-Control themselves; otherwise
+ * Spring Security's default no-store applies and clients never revalidate.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part).append('|');
+        }
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * True if an If-None-Match value lists the tag. If-None-Match uses the weak comparison, so a
+     * W/ prefix the client or a proxy added is ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity.BodyBuilder ok(String etag, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT)
+            .build();
+    }
+}
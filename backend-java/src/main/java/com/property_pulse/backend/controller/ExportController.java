@@ -0,0 +1,98 @@
+package com.property_pulse.backend.controller;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.property_pulse.backend.dto.PropertyFilterParams;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.export.RowWriters.Format;
+import com.property_pulse.backend.service.ExportCapacityException;
+import com.property_pulse.backend.service.ListingExportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ListingExportService listingExportService;
+
+    /**
+     * Every published listing matching the search filters, with its latest AI prediction.
+     * CSV unless Accept prefers application/x-ndjson; gzip when Accept-Encoding allows it.
+     */
+    @GetMapping("/listings")
+    public ResponseEntity<StreamingResponseBody> exportListings(
+            @ModelAttribute PropertyFilterParams filters,
+            @RequestParam(name = "sort", defaultValue = "newest") PropertySort sort,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            Format format = prefersNdjson(accept) ? Format.NDJSON : Format.CSV;
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+            StreamingResponseBody body = listingExportService.export(filters.toCriteria(sort), format, gzip);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(format == Format.NDJSON ? MediaType.APPLICATION_NDJSON : TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(format == Format.NDJSON ? "listings.ndjson" : "listings.csv")
+                            .build().toString())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Listing export rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (ExportCapacityException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+
+        } catch (Exception e) {
+            log.error("Unexpected error starting listing export", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static boolean prefersNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isWildcardType()) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(TEXT_CSV)) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,117 @@
+package com.property_pulse.backend.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.property_pulse.backend.Model.AuthenticatedUser;
+import com.property_pulse.backend.dto.FavoriteStatus;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.service.FavoritesService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/favorites")
+@RequiredArgsConstructor
+public class FavoritesController {
+
+    private final FavoritesService favoritesService;
+
+    // Per user, so only the client itself may keep it, and only with revalidation
+    private static final CacheControl FAVORITES_CACHE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * The caller's favorite listings, tagged with a combined validator over all of them so a
+     * matching If-None-Match is answered 304 without reading the listings.
+     */
+    @GetMapping
+    public ResponseEntity<List<PropertySummary>> getFavorites(
+            Authentication authentication,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+            String etag = ETags.of(accept, principal.getId(), favoritesService.favoritesVersion(principal.getId()));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag, FAVORITES_CACHE);
+            }
+            return ETags.ok(etag, FAVORITES_CACHE).body(favoritesService.favoriteListings(principal.getId()));
+
+        } catch (Exception e) {
+            log.error("Error fetching favorites", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * The subset of property_id values the caller has favorited, for marking a page of search results.
+     */
+    @GetMapping("/check")
+    public ResponseEntity<List<UUID>> checkFavorites(
+            Authentication authentication,
+            @RequestParam(name = "property_id", required = false) List<UUID> propertyIds) {
+        try {
+            AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+            return ResponseEntity.ok(favoritesService.favoritedAmong(
+                    principal.getId(), propertyIds != null ? propertyIds : List.of()));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Favorite check rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            log.error("Error checking favorites", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Adds the listing to the caller's favorites. Idempotent, so a retry is safe.
+     */
+    @PutMapping("/{propertyId}")
+    public ResponseEntity<FavoriteStatus> addFavorite(Authentication authentication, @PathVariable UUID propertyId) {
+        return setFavorite(authentication, propertyId, true);
+    }
+
+    /**
+     * Removes the listing from the caller's favorites. Idempotent, so a retry is safe.
+     */
+    @DeleteMapping("/{propertyId}")
+    public ResponseEntity<FavoriteStatus> removeFavorite(Authentication authentication, @PathVariable UUID propertyId) {
+        return setFavorite(authentication, propertyId, false);
+    }
+
+    private ResponseEntity<FavoriteStatus> setFavorite(Authentication authentication, UUID propertyId, boolean favorited) {
+        try {
+            AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+            favoritesService.setFavorite(principal.getId(), propertyId, favorited);
+            return ResponseEntity.ok(FavoriteStatus.builder()
+                    .propertyId(propertyId)
+                    .favorited(favorited)
+                    .build());
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Favorite change rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            log.error("Error updating favorite {}", propertyId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.property_pulse.backend.controller;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.FinancingParams;
+import com.property_pulse.backend.dto.InvestmentMetric;
+import com.property_pulse.backend.dto.InvestmentMetricsResponse;
+import com.property_pulse.backend.dto.LeaderboardEntry;
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.MarketAnalyticsResponse;
+import com.property_pulse.backend.dto.MarketDimension;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.dto.PropertyFilterParams;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.RankedListing;
+import com.property_pulse.backend.search.GeoBounds;
+import com.property_pulse.backend.search.SearchIndexUnavailableException;
+import com.property_pulse.backend.service.InvestmentMetricsService;
+import com.property_pulse.backend.service.MarketAnalyticsService;
+import com.property_pulse.backend.service.PropertyDetailsService;
+import com.property_pulse.backend.service.PropertyGeoSearchService;
+import com.property_pulse.backend.service.PropertyLeaderboardService;
+import com.property_pulse.backend.service.PropertySearchService;
+import com.property_pulse.backend.service.PropertyTextSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/properties")
+@RequiredArgsConstructor
+public class PropertyController {
+
+    // Clients may keep tagged responses but must revalidate them before each use
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private final PropertySearchService propertySearchService;
+    private final PropertyDetailsService propertyDetailsService;
+    private final PropertyGeoSearchService propertyGeoSearchService;
+    private final PropertyTextSearchService propertyTextSearchService;
+    private final PropertyLeaderboardService propertyLeaderboardService;
+    private final InvestmentMetricsService investmentMetricsService;
+    private final MarketAnalyticsService marketAnalyticsService;
+
+    /**
+     * Published listings matching the filters. Pass next_cursor from the previous response
+     * as cursor to page forward.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PropertySearchResponse> search(
+            @ModelAttribute PropertyFilterParams filters,
+            @RequestParam(name = "sort", defaultValue = "newest") PropertySort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            PropertySearchCriteria criteria = filters.toCriteria(sort);
+
+            // Only pages served by the index have a version to tag; Postgres-served pages go untagged
+            String etag = propertySearchService.resultVersion(criteria)
+                .map(version -> ETags.of(accept, version, criteria, cursor, limit))
+                .orElse(null);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ETags.notModified(etag, REVALIDATE);
+            }
+
+            PropertySearchResponse response = propertySearchService.search(criteria, cursor, limit);
+            return etag == null
+                ? ResponseEntity.ok(response)
+                : ETags.ok(etag, REVALIDATE).body(response);
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Property search rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            log.error("Unexpected error during property search", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Published listings whose title, description or features contain every word of q, most
+     * relevant first. With prefix=true the last word may be partial (type-ahead).
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<List<RankedListing>> searchText(
+            @ModelAttribute PropertyFilterParams filters,
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "prefix", defaultValue = "false") boolean prefix,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(propertyTextSearchService.search(
+                    filters.toCriteria(PropertySort.newest), query, prefix, limit));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Text search rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error during text search", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Published listings within radius_miles of (lat, lng), nearest first.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyListing>> nearby(
+            @ModelAttribute PropertyFilterParams filters,
+            @RequestParam(name = "lat") double latitude,
+            @RequestParam(name = "lng") double longitude,
+            @RequestParam(name = "radius_miles", defaultValue = "10") double radiusMiles,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(propertyGeoSearchService.nearby(
+                    filters.toCriteria(PropertySort.newest), latitude, longitude, radiusMiles, limit));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Nearby search rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error during nearby search", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Published listings inside the map viewport; clustered into pins when too many match.
+     */
+    @GetMapping("/map")
+    public ResponseEntity<MapSearchResponse> map(
+            @ModelAttribute PropertyFilterParams filters,
+            @RequestParam(name = "min_lat") double minLatitude,
+            @RequestParam(name = "min_lng") double minLongitude,
+            @RequestParam(name = "max_lat") double maxLatitude,
+            @RequestParam(name = "max_lng") double maxLongitude) {
+        try {
+            GeoBounds bounds = new GeoBounds(minLatitude, minLongitude, maxLatitude, maxLongitude);
+            return ResponseEntity.ok(propertyGeoSearchService.inViewport(filters.toCriteria(PropertySort.newest), bounds));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Map search rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error during map search", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Best-ranked published, unsold listings by their latest prediction score, optionally within
+     * a state, a city (with its state) and/or a property type.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> leaderboard(
+            @RequestParam(name = "score", defaultValue = "investment") LeaderboardScore score,
+            @RequestParam(name = "state_name", required = false) String stateName,
+            @RequestParam(name = "city_name", required = false) String cityName,
+            @RequestParam(name = "property_type", required = false) PropertyType propertyType,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(propertyLeaderboardService.top(score, stateName, cityName, propertyType, limit));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Leaderboard request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error loading leaderboard", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Best listings by an investment metric, recomputed for the whole catalog under the given
+     * financing assumptions (defaults for any omitted).
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<InvestmentMetricsResponse> metrics(
+            @ModelAttribute FinancingParams financing,
+            @RequestParam(name = "sort", defaultValue = "cash_flow") InvestmentMetric sort,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(investmentMetricsService.rank(financing, sort, limit));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Metrics request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error computing investment metrics", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Price, price per sqft, days on market and rent-to-price statistics of a market, optionally
+     * broken down by one more dimension (group_by).
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<MarketAnalyticsResponse> analytics(
+            @RequestParam(name = "state_name", required = false) String stateName,
+            @RequestParam(name = "city_name", required = false) String cityName,
+            @RequestParam(name = "zip_code", required = false) String zipCode,
+            @RequestParam(name = "property_type", required = false) PropertyType propertyType,
+            @RequestParam(name = "group_by", required = false) MarketDimension groupBy) {
+        try {
+            return ResponseEntity.ok(marketAnalyticsService.analyze(stateName, cityName, zipCode, propertyType, groupBy));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Market analytics request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (SearchIndexUnavailableException e) {
+            return indexUnavailable(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error loading market analytics", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Full listing with its images and latest AI prediction. Unpublished listings are 404.
+     * Tagged with the listing's version, so a matching If-None-Match is answered 304 from the
+     * version alone.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PropertyDetails> getProperty(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            if (ifNoneMatch != null) {
+                Optional<ListingVersion> version = propertyDetailsService.getVersion(id);
+                if (version.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                String etag = ETags.of(accept, version.get());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ETags.notModified(etag, REVALIDATE);
+                }
+            }
+
+            return propertyDetailsService.getDetails(id)
+                .map(details -> ETags.ok(ETags.of(accept, ListingVersion.of(details)), REVALIDATE).body(details))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+
+        } catch (Exception e) {
+            log.error("Unexpected error loading property {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static <T> ResponseEntity<T> indexUnavailable(SearchIndexUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .build();
+    }
+}
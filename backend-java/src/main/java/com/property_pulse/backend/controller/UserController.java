@@ -1,25 +1,66 @@
 package com.property_pulse.backend.controller;
 
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
 import org.springframework.security.core.Authentication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.property_pulse.backend.Model.AuthenticatedUser;
 import com.property_pulse.backend.Model.User;
 import com.property_pulse.backend.dto.UserProfile;
+import com.property_pulse.backend.repository.UserRepository;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/user")
+@RequiredArgsConstructor
 public class UserController {
 
+    private final UserRepository userRepository;
+
+    // Per user, so only the client itself may keep it, and only with revalidation
+    private static final CacheControl PROFILE_CACHE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * The caller's profile, tagged with its id and updated_at. Unless the principal is a loaded
+     * User, a matching If-None-Match is answered 304 after reading updated_at alone.
+     */
     @GetMapping("/profile")
-    public ResponseEntity<UserProfile> getUserProfile(Authentication authentication) {
+    public ResponseEntity<UserProfile> getUserProfile(
+            Authentication authentication,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            User user = (User) authentication.getPrincipal();
+            AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
             
-            log.debug("Fetching profile for user: {}", user.getEmail());
+            log.debug("Fetching profile for user: {}", principal.getEmail());
+
+            if (ifNoneMatch != null && !(principal instanceof User)) {
+                String etag = userRepository.findUpdatedAtById(principal.getId())
+                        .map(updatedAt -> profileTag(accept, principal.getId(), updatedAt))
+                        .orElse(null);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ETags.notModified(etag, PROFILE_CACHE);
+                }
+            }
+
+            // Token claims and cached snapshots carry no profile fields, so load the entity here only
+            User user = principal instanceof User loaded
+                    ? loaded
+                    : userRepository.findById(principal.getId()).orElse(null);
+
+            if (user == null) {
+                log.warn("Profile requested for missing user: {}", principal.getEmail());
+                return ResponseEntity.notFound().build();
+            }
             
             UserProfile response = UserProfile.builder()
                     .id(user.getId())
@@ -30,11 +71,15 @@ public class UserController {
                     .role(user.getRole().toString())
                     .build();
                     
-            return ResponseEntity.ok(response);
+            return ETags.ok(profileTag(accept, user.getId(), user.getUpdatedAt()), PROFILE_CACHE).body(response);
             
         } catch (Exception e) {
             log.error("Error fetching user profile", e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    private static String profileTag(String accept, UUID id, ZonedDateTime updatedAt) {
+        return ETags.of(accept, id, updatedAt != null ? updatedAt.toInstant() : null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ai_predictions row, as shown on the property detail page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AiPrediction {
+
+    private UUID id;
+    private UUID propertyId;
+    private BigDecimal investmentScore;
+    private BigDecimal cashFlowScore;
+    private BigDecimal appreciationScore;
+    private BigDecimal riskScore;
+    private BigDecimal predictedRent;
+    private BigDecimal predictedAppreciation;
+    private BigDecimal predictedCashFlow;
+    private BigDecimal predictedCapRate;
+    private String modelVersion;
+    private BigDecimal confidenceLevel;
+    private String predictionNotes;
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One listing of an MLS-style feed, as written to property_listings. images, when given,
+ * replaces the listing's property_images, the first one primary.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class FeedListing {
+
+    private String title;
+    private Integer streetNumber;
+    private String streetName;
+    private String cityName;
+    private String stateName;
+    private String zipCode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Integer sqft;
+    private Integer yearBuilt;
+    private String propertyType;
+    private String imageUrl;
+    private String propertyDescription;
+    private List<String> features;
+    private BigDecimal price;
+    private BigDecimal estimatedRent;
+    private BigDecimal propertyTaxesAnnual;
+    private Boolean isPublished;
+    private String listingStatus;
+    private Integer daysOnMarket;
+    private List<String> images;
+}
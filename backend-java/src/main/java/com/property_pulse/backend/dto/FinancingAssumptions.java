@@ -0,0 +1,58 @@
+package com.property_pulse.backend.dto;
+
+/**
+ * Purchase and operating assumptions the investment metrics are computed under. Percentages
+ * are whole numbers (6.5 means 6.5%).
+ *
+ * @param propertyTaxPercent annual tax as a share of price, used only for listings without property_taxes_annual
+ */
+public record FinancingAssumptions(
+        double interestRatePercent,
+        double downPaymentPercent,
+        int loanTermYears,
+        double vacancyPercent,
+        double operatingExpensePercent,
+        double propertyTaxPercent) {
+
+    /**
+     * @throws IllegalArgumentException when a value is outside its sensible range
+     */
+    public FinancingAssumptions {
+        requireRange("interest_rate", interestRatePercent, 0, 30);
+        requireRange("down_payment", downPaymentPercent, 0, 100);
+        requireRange("loan_term_years", loanTermYears, 1, 50);
+        requireRange("vacancy", vacancyPercent, 0, 100);
+        requireRange("operating_expense", operatingExpensePercent, 0, 100);
+        requireRange("property_tax", propertyTaxPercent, 0, 10);
+    }
+
+    /**
+     * Share of gross rent left after vacancy and operating expenses; taxes are taken separately.
+     */
+    public double incomeFactor() {
+        return (1 - vacancyPercent / 100) * (1 - operatingExpensePercent / 100);
+    }
+
+    /**
+     * Monthly principal and interest per dollar of purchase price (standard amortization).
+     */
+    public double debtServiceFactor() {
+        double loanShare = 1 - downPaymentPercent / 100;
+        int payments = loanTermYears * 12;
+        double monthlyRate = interestRatePercent / 100 / 12;
+        double perDollarBorrowed = monthlyRate == 0
+                ? 1.0 / payments
+                : monthlyRate / (1 - Math.pow(1 + monthlyRate, -payments));
+        return loanShare * perDollarBorrowed;
+    }
+
+    public double taxRate() {
+        return propertyTaxPercent / 100;
+    }
+
+    private static void requireRange(String name, double value, double min, double max) {
+        if (!(value >= min && value <= max)) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.property_pulse.backend.dto;
+
+import org.springframework.web.bind.annotation.BindParam;
+
+/**
+ * Financing assumptions as query parameters. Bound with @ModelAttribute; anything omitted
+ * falls back to the configured defaults.
+ */
+public record FinancingParams(
+        @BindParam("interest_rate") Double interestRate,
+        @BindParam("down_payment") Double downPayment,
+        @BindParam("loan_term_years") Integer loanTermYears,
+        @BindParam("vacancy") Double vacancy,
+        @BindParam("operating_expense") Double operatingExpense,
+        @BindParam("property_tax") Double propertyTax) {
+
+    /**
+     * @throws IllegalArgumentException when a value is outside its sensible range
+     */
+    public FinancingAssumptions toAssumptions(FinancingAssumptions defaults) {
+        return new FinancingAssumptions(
+                interestRate != null ? interestRate : defaults.interestRatePercent(),
+                downPayment != null ? downPayment : defaults.downPaymentPercent(),
+                loanTermYears != null ? loanTermYears : defaults.loanTermYears(),
+                vacancy != null ? vacancy : defaults.vacancyPercent(),
+                operatingExpense != null ? operatingExpense : defaults.operatingExpensePercent(),
+                propertyTax != null ? propertyTax : defaults.propertyTaxPercent());
+    }
+}
@@ -0,0 +1,27 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one stage of a listing import. busy_ms is time spent working, waiting_ms time
+ * spent blocked on the queues around the stage; the stage with the least waiting is the
+ * bottleneck.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ImportStageThroughput {
+    private String stage;
+    private long rows;
+    private long rowsPerSecond;
+    private long busyMs;
+    private long waitingMs;
+}
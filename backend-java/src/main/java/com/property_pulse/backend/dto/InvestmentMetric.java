@@ -0,0 +1,15 @@
+package com.property_pulse.backend.dto;
+
+/**
+ * Metrics the investment ranking can sort by. Price per sqft ranks lowest first, the others highest first.
+ */
+public enum InvestmentMetric {
+    cash_flow,
+    cap_rate,
+    gross_yield,
+    price_per_sqft;
+
+    public boolean lowestFirst() {
+        return this == price_per_sqft;
+    }
+}
@@ -0,0 +1,32 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Best listings by one metric, after computing every metric for the whole catalog.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class InvestmentMetricsResponse {
+
+    private List<ListingMetrics> properties;
+
+    // Listings the sort metric could be computed for
+    private int evaluated;
+    private int positiveCashFlow;
+    private Double averageCapRate;
+
+    private long computeMicros;
+    private String kernel;
+}
@@ -0,0 +1,27 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search result card with its place on a leaderboard and the prediction score it was ranked by.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class LeaderboardEntry {
+
+    @JsonUnwrapped
+    private PropertySummary listing;
+
+    private int rank;
+    private double score;
+}
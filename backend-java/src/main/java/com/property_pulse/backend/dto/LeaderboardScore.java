@@ -0,0 +1,15 @@
+package com.property_pulse.backend.dto;
+
+/**
+ * The ai_predictions scores a leaderboard can rank by. Risk ranks lowest first, the others highest first.
+ */
+public enum LeaderboardScore {
+    investment,
+    cash_flow,
+    appreciation,
+    risk;
+
+    public boolean lowestFirst() {
+        return this == risk;
+    }
+}
@@ -0,0 +1,40 @@
+package com.property_pulse.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a listing feed import stands. Counts include rows written before a resume; errors and
+ * stages cover the current run only.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ListingImportStatus {
+
+    public enum State { running, completed, failed }
+
+    private String file;
+    private State state;
+    private Instant startedAt;
+    private long resumedFromLine;
+    private long lines;
+    private long received;
+    private long upserted;
+    private long duplicates;
+    private long rejected;
+    private long elapsedMs;
+    private List<ImportStageThroughput> stages;
+    private List<String> errors;
+    private String failure;
+}
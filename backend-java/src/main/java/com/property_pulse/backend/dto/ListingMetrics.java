@@ -0,0 +1,30 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search result card with its investment metrics under the requested assumptions.
+ * Yields and cap rate are percentages; a metric is null when the listing lacks the inputs.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ListingMetrics {
+
+    @JsonUnwrapped
+    private PropertySummary listing;
+
+    private Double grossYield;
+    private Double capRate;
+    private Double monthlyCashFlow;
+    private Double pricePerSqft;
+}
@@ -0,0 +1,32 @@
+package com.property_pulse.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What a listing's detail response changes with: the listing row's updated_at (bumped by the
+ * update_property_listings_updated_at trigger), its latest prediction (re-stamped when a model
+ * run is uploaded again) and its image ids (images are replaced, never edited). Two equal
+ * versions stand for the same {@link PropertyDetails}.
+ *
+ * @param imageIds sorted, so versions read from the database and from cached details compare equal
+ */
+public record ListingVersion(UUID id, Instant updatedAt, UUID predictionId, Instant predictionCreatedAt,
+                             List<UUID> imageIds) {
+
+    public ListingVersion {
+        imageIds = imageIds.stream().sorted().toList();
+    }
+
+    public static ListingVersion of(PropertyDetails details) {
+        AiPrediction prediction = details.getAiPredictions();
+        List<PropertyImage> images = details.getPropertyImages() != null ? details.getPropertyImages() : List.of();
+        return new ListingVersion(
+                details.getId(),
+                details.getUpdatedAt() != null ? details.getUpdatedAt().toInstant() : null,
+                prediction != null ? prediction.getId() : null,
+                prediction != null && prediction.getCreatedAt() != null ? prediction.getCreatedAt().toInstant() : null,
+                images.stream().map(PropertyImage::getId).toList());
+    }
+}
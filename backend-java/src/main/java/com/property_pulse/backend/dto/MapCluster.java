@@ -0,0 +1,32 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One map pin standing for every matching listing in a cell of the viewport.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MapCluster {
+
+    // Centroid of the listings in the cluster
+    private double latitude;
+    private double longitude;
+    private int count;
+    private BigDecimal minPrice;
+
+    // Set only when the cluster is a single listing
+    private UUID listingId;
+}
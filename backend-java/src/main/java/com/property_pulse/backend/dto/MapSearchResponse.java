@@ -0,0 +1,28 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Listings inside a map viewport: individual listings (nearest to the center first) when few
+ * enough match, otherwise clusters. Exactly one of the two lists is populated.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MapSearchResponse {
+
+    private int totalMatches;
+    private boolean clustered;
+    private List<NearbyListing> properties;
+    private List<MapCluster> clusters;
+}
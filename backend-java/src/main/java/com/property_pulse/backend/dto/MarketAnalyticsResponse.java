@@ -0,0 +1,26 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of the requested market and, when a group_by was given, of each segment within
+ * it, largest first.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MarketAnalyticsResponse {
+
+    private MarketStats market;
+    private List<MarketStats> breakdown;
+}
@@ -0,0 +1,12 @@
+package com.property_pulse.backend.dto;
+
+/**
+ * What a market analytics breakdown groups by. A city is grouped within its state and a zip
+ * code within its city.
+ */
+public enum MarketDimension {
+    state,
+    city,
+    zip_code,
+    property_type
+}
@@ -0,0 +1,29 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of one statistic over a market's listings. Quantiles are approximate (within 1%);
+ * every value is null when no listing has the statistic.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MarketDistribution {
+
+    // Listings the statistic could be computed for
+    private long count;
+    private Double mean;
+    private Double p25;
+    private Double median;
+    private Double p75;
+    private Double p90;
+}
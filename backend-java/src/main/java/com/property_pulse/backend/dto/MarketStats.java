@@ -0,0 +1,33 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Market statistics of one segment. The location and type fields name the segment; a null
+ * field covers every value.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MarketStats {
+
+    private String stateName;
+    private String cityName;
+    private String zipCode;
+    private String propertyType;
+
+    private long listings;
+    private MarketDistribution price;
+    private MarketDistribution pricePerSqft;
+    private MarketDistribution daysOnMarket;
+    // Monthly estimated rent as a percentage of price
+    private MarketDistribution rentToPrice;
+}
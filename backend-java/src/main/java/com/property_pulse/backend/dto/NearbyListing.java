@@ -0,0 +1,26 @@
+package com.property_pulse.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search result card plus its distance from the query point (or the viewport center).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class NearbyListing {
+
+    @JsonUnwrapped
+    private PropertySummary listing;
+
+    private double distanceMiles;
+}
@@ -0,0 +1,25 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PredictionImportResult {
+    private int received;
+    private int upserted;
+    private int rejected;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<String> errors;
+}
@@ -0,0 +1,56 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the property detail page shows: the full listing, its images (primary first)
+ * and its most recent AI prediction, if any.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PropertyDetails {
+
+    private UUID id;
+    private String title;
+    private int streetNumber;
+    private String streetName;
+    private String cityName;
+    private String stateName;
+    private String zipCode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private int bedrooms;
+    private int bathrooms;
+    private Integer sqft;
+    private Integer yearBuilt;
+    private String propertyType;
+    private String imageUrl;
+    private String propertyDescription;
+    private List<String> features;
+    private BigDecimal price;
+    private BigDecimal estimatedRent;
+    private BigDecimal propertyTaxesAnnual;
+    private Boolean isPublished;
+    private String listingStatus;
+    private int daysOnMarket;
+    private UUID createdBy;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime updatedAt;
+
+    private AiPrediction aiPredictions;
+    private List<PropertyImage> propertyImages;
+}
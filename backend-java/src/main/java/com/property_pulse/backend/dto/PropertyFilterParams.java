@@ -0,0 +1,46 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.BindParam;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+
+/**
+ * Listing filters as query parameters, named after PropertySearchFilters on the client.
+ * Bound with @ModelAttribute; property_type and listing_status may repeat.
+ */
+public record PropertyFilterParams(
+        @BindParam("city_name") String cityName,
+        @BindParam("state_name") String stateName,
+        @BindParam("zip_code") String zipCode,
+        @BindParam("property_type") List<PropertyType> propertyTypes,
+        @BindParam("min_price") BigDecimal minPrice,
+        @BindParam("max_price") BigDecimal maxPrice,
+        @BindParam("bedrooms") Integer minBedrooms,
+        @BindParam("bathrooms") Integer minBathrooms,
+        @BindParam("min_sqft") Integer minSqft,
+        @BindParam("max_sqft") Integer maxSqft,
+        @BindParam("listing_status") List<ListingStatus> listingStatuses,
+        @BindParam("min_investment_score") BigDecimal minInvestmentScore) {
+
+    public PropertySearchCriteria toCriteria(PropertySort sort) {
+        return PropertySearchCriteria.builder()
+                .cityName(cityName)
+                .stateName(stateName)
+                .zipCode(zipCode)
+                .propertyTypes(propertyTypes)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minBedrooms(minBedrooms)
+                .minBathrooms(minBathrooms)
+                .minSqft(minSqft)
+                .maxSqft(maxSqft)
+                .listingStatuses(listingStatuses)
+                .minInvestmentScore(minInvestmentScore)
+                .sort(sort)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.property_pulse.backend.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PropertyImage {
+
+    private UUID id;
+    private UUID propertyId;
+    private String imageUrl;
+    private Boolean isPrimary;
+    private ZonedDateTime uploadedAt;
+}
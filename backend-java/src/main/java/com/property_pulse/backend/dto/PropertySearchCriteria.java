@@ -0,0 +1,35 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PropertySearchCriteria {
+
+    private String cityName;
+    private String stateName;
+    private String zipCode;
+    private List<PropertyType> propertyTypes;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBedrooms;
+    private Integer minBathrooms;
+    private Integer minSqft;
+    private Integer maxSqft;
+    private List<ListingStatus> listingStatuses;
+    private BigDecimal minInvestmentScore;
+
+    @Builder.Default
+    private PropertySort sort = PropertySort.newest;
+}
@@ -0,0 +1,49 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a search page: its sort key and id.
+ * The next page seeks past it with a row comparison instead of an OFFSET.
+ *
+ * @param sortKey the price for the price sorts, the creation instant for newest
+ */
+public record PropertySearchCursor(PropertySort sort, Object sortKey, UUID id) {
+
+    public static PropertySearchCursor after(PropertySummary last, PropertySort sort) {
+        Object sortKey = sort == PropertySort.newest ? last.getCreatedAt().toInstant() : last.getPrice();
+        return new PropertySearchCursor(sort, sortKey, last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    public static PropertySearchCursor decode(String encoded, PropertySort expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (parts.length != 3 || !expectedSort.name().equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            Object sortKey = expectedSort == PropertySort.newest ? Instant.parse(parts[1]) : new BigDecimal(parts[1]);
+            return new PropertySearchCursor(expectedSort, sortKey, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PropertySearchResponse {
+
+    private List<PropertySummary> properties;
+    private int limit;
+    private boolean hasMore;
+
+    // Opaque; pass back as ?cursor= to fetch the next page. Null on the last page.
+    private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.property_pulse.backend.dto;
+
+/**
+ * Orderings supported by the property search. Each one is paired with the listing id
+ * as a tie-breaker so keyset pagination is stable.
+ */
+public enum PropertySort {
+    price_asc,
+    price_desc,
+    newest;
+}
@@ -0,0 +1,44 @@
+package com.property_pulse.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The columns a search result card needs - no description, features or audit columns.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PropertySummary {
+
+    private UUID id;
+    private String title;
+    private int streetNumber;
+    private String streetName;
+    private String cityName;
+    private String stateName;
+    private String zipCode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private int bedrooms;
+    private int bathrooms;
+    private Integer sqft;
+    private String propertyType;
+    private String imageUrl;
+    private BigDecimal price;
+    private BigDecimal estimatedRent;
+    private String listingStatus;
+    private int daysOnMarket;
+    private ZonedDateTime createdAt;
+}
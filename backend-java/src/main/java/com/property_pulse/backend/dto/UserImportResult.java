@@ -0,0 +1,23 @@
+package com.property_pulse.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResult {
+    private int received;
+    private int imported;
+    private int duplicates;
+    private int rejected;
+    private long elapsedMs;
+    private List<String> errors;
+    // Why the import stopped before the end of the array; null when it read all of it
+    private String failure;
+}
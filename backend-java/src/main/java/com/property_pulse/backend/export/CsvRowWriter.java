@@ -0,0 +1,85 @@
+package com.property_pulse.backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row. Missing values are empty fields and arrays are joined with
+ * "; ". Text starting with a formula character gets a leading apostrophe so a listing title
+ * cannot run as a formula when the file is opened in a spreadsheet.
+ */
+final class CsvRowWriter implements RowWriter {
+
+    private final OutputStream target;
+    private final Writer writer;
+
+    CsvRowWriter(OutputStream target, List<String> columns) throws IOException {
+        this.target = target;
+        this.writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), RowWriters.BUFFER_BYTES);
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+        RowWriters.finish(target);
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            writer.write(value.toString());
+        } else if (value instanceof Object[] array) {
+            StringBuilder joined = new StringBuilder();
+            for (Object element : array) {
+                if (!joined.isEmpty()) {
+                    joined.append("; ");
+                }
+                joined.append(element);
+            }
+            writeText(joined.toString());
+        } else {
+            writeText(value.toString());
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,20 @@
+package com.property_pulse.backend.export;
+
+import java.io.IOException;
+
+/**
+ * Writes rows of one export, one call per row, buffering only a fixed number of bytes.
+ */
+public interface RowWriter {
+
+    /**
+     * Writes one row; values follow the columns the writer was opened with.
+     */
+    void write(Object[] values) throws IOException;
+
+    /**
+     * Flushes what is buffered and ends the stream (the gzip trailer, if any). Does not close
+     * the underlying stream.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.property_pulse.backend.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens a {@link RowWriter} in the requested format over a response stream.
+ */
+public final class RowWriters {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    static final int BUFFER_BYTES = 1 << 16;
+
+    private RowWriters() {
+    }
+
+    /**
+     * Writes the header, if the format has one, and returns the writer for the rows.
+     *
+     * @param gzip compress on the fly; the caller sets Content-Encoding
+     */
+    public static RowWriter open(Format format, OutputStream out, List<String> columns, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : out;
+        return switch (format) {
+            case CSV -> new CsvRowWriter(target, columns);
+            case NDJSON -> new NdjsonRowWriter(target, columns);
+        };
+    }
+
+    /**
+     * Ends a gzip stream with its trailer but leaves the servlet's stream open.
+     */
+    static void finish(OutputStream target) throws IOException {
+        if (target instanceof DeflaterOutputStream deflater) {
+            deflater.finish();
+        }
+        target.flush();
+    }
+}
@@ -0,0 +1,108 @@
+package com.property_pulse.backend.favorites;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, sorted set of property ids stored as interleaved (msb, lsb) longs: 16 bytes per
+ * favorite and a binary search per membership check. Updates return a new set, so readers
+ * never lock; users have at most a few hundred favorites, which keeps the copy cheap.
+ */
+final class FavoriteSet {
+
+    static final FavoriteSet EMPTY = new FavoriteSet(new long[0]);
+
+    private final long[] ids;
+
+    private FavoriteSet(long[] ids) {
+        this.ids = ids;
+    }
+
+    static FavoriteSet of(Collection<UUID> propertyIds) {
+        FavoriteSet set = EMPTY;
+        for (UUID id : propertyIds) {
+            set = set.with(id);
+        }
+        return set;
+    }
+
+    int size() {
+        return ids.length / 2;
+    }
+
+    boolean contains(UUID propertyId) {
+        return indexOf(propertyId) >= 0;
+    }
+
+    FavoriteSet with(UUID propertyId) {
+        int index = indexOf(propertyId);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -(index + 1) * 2;
+        long[] next = new long[ids.length + 2];
+        System.arraycopy(ids, 0, next, 0, insertAt);
+        next[insertAt] = propertyId.getMostSignificantBits();
+        next[insertAt + 1] = propertyId.getLeastSignificantBits();
+        System.arraycopy(ids, insertAt, next, insertAt + 2, ids.length - insertAt);
+        return new FavoriteSet(next);
+    }
+
+    FavoriteSet without(UUID propertyId) {
+        int index = indexOf(propertyId);
+        if (index < 0) {
+            return this;
+        }
+        int removeAt = index * 2;
+        long[] next = new long[ids.length - 2];
+        System.arraycopy(ids, 0, next, 0, removeAt);
+        System.arraycopy(ids, removeAt + 2, next, removeAt, ids.length - removeAt - 2);
+        return new FavoriteSet(next);
+    }
+
+    List<UUID> toList() {
+        List<UUID> list = new ArrayList<>(size());
+        for (int i = 0; i < ids.length; i += 2) {
+            list.add(new UUID(ids[i], ids[i + 1]));
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FavoriteSet set && Arrays.equals(ids, set.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    /**
+     * Entry index if present, else -(insertion point) - 1, like Arrays.binarySearch.
+     */
+    private int indexOf(UUID propertyId) {
+        long msb = propertyId.getMostSignificantBits();
+        long lsb = propertyId.getLeastSignificantBits();
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = Long.compare(ids[mid * 2], msb);
+            if (compare == 0) {
+                compare = Long.compare(ids[mid * 2 + 1], lsb);
+            }
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
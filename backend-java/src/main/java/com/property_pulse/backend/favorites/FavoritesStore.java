@@ -0,0 +1,242 @@
+package com.property_pulse.backend.favorites;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user favorites held in memory, written behind to user_favorites.
+ *
+ * A user's set is loaded with one query on first use and then answers membership checks
+ * for whole result pages without touching the database. Changes carry the state the user
+ * asked for rather than a flip of what this node has cached, so a stale set can't invert
+ * them: the set is updated at once and the end state per (user, property) goes into a
+ * pending map, where repeated changes of the same pair coalesce into one write. A scheduled
+ * flush moves pending entries to an in-flight map, writes them in batches, and only then
+ * forgets them; a set loaded in the meantime overlays both maps on what it read, so no
+ * change is lost to a reload.
+ *
+ * Other nodes write the same table. Their changes arrive as user_favorites row changes
+ * (see CacheEvictionSubscriptions), which drop the user's set so the next read reloads it;
+ * sets are also reloaded favorites.cache.ttl-ms after they were built, which bounds how long
+ * a missed notification can leave one stale.
+ *
+ * Writes are idempotent (ON CONFLICT ON CONSTRAINT unique_favorite DO NOTHING, plain
+ * DELETE), so a retried batch is harmless. Changes not yet flushed when the process dies are
+ * lost; a graceful shutdown flushes them.
+ */
+@Slf4j
+@Component
+public class FavoritesStore {
+
+    private static final String LOAD_FAVORITES = "SELECT property_id FROM user_favorites WHERE user_id = ?";
+
+    // The EXISTS guard skips listings deleted since the change instead of failing the whole batch on the FK
+    private static final String INSERT_FAVORITE = """
+            INSERT INTO user_favorites (user_id, property_id)
+            SELECT ?, ? WHERE EXISTS (SELECT 1 FROM property_listings WHERE id = ?)
+            ON CONFLICT ON CONSTRAINT unique_favorite DO NOTHING""";
+
+    private static final String DELETE_FAVORITE = "DELETE FROM user_favorites WHERE user_id = ? AND property_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Cache<UUID, FavoriteSet> sets;
+    private final Map<FavoriteKey, Boolean> pending = new ConcurrentHashMap<>();
+    private final Map<FavoriteKey, Boolean> inFlight = new ConcurrentHashMap<>();
+    private final Counter written;
+    private final Counter failed;
+
+    public FavoritesStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${favorites.cache.max-users:50000}") long maxUsers,
+            @Value("${favorites.cache.idle-ms:3600000}") long idleMs,
+            @Value("${favorites.cache.ttl-ms:300000}") long ttlMs,
+            @Value("${favorites.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.sets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMillis(idleMs))
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sets, "favorites");
+        Gauge.builder("favorites.pending", pending, Map::size)
+                .description("Favorite changes waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("favorites.written")
+                .description("Favorite inserts and deletes written to user_favorites")
+                .register(meterRegistry);
+        this.failed = Counter.builder("favorites.write.failures")
+                .description("Favorite write batches that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    record FavoriteKey(UUID userId, UUID propertyId) {
+    }
+
+    public boolean isFavorite(UUID userId, UUID propertyId) {
+        return set(userId).contains(propertyId);
+    }
+
+    /**
+     * The subset of propertyIds the user has favorited, in the given order.
+     */
+    public List<UUID> favoritesAmong(UUID userId, List<UUID> propertyIds) {
+        FavoriteSet set = set(userId);
+        return propertyIds.stream().filter(set::contains).toList();
+    }
+
+    public List<UUID> favorites(UUID userId) {
+        return set(userId).toList();
+    }
+
+    public int count(UUID userId) {
+        return set(userId).size();
+    }
+
+    /**
+     * Makes the property a favorite or not. Visible to reads immediately, persisted on the
+     * next flush; the write is queued even when the cached set already agrees, since another
+     * node may have changed the row since this one loaded it.
+     */
+    public void setFavorite(UUID userId, UUID propertyId, boolean favorited) {
+        FavoriteSet loaded = set(userId);
+
+        // Set update and pending write happen together under the entry's lock, so two
+        // concurrent changes for the same user are applied and recorded in the same order
+        sets.asMap().compute(userId, (id, current) -> {
+            FavoriteSet base = current != null ? current : loaded;
+            pending.put(new FavoriteKey(userId, propertyId), favorited);
+            return favorited ? base.with(propertyId) : base.without(propertyId);
+        });
+    }
+
+    /**
+     * Drops the user's set, for a change another node made; the next read reloads it.
+     */
+    public void invalidate(UUID userId) {
+        sets.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        sets.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${favorites.flush-ms:2000}")
+    public void flush() {
+        flushPending();
+    }
+
+    @PreDestroy
+    void stop() {
+        flushPending();
+        if (!pending.isEmpty()) {
+            log.error("{} favorite changes could not be written before shutdown", pending.size());
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private synchronized void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Copy into in-flight before removing from pending: a concurrent load, which reads pending
+        // first, always sees the entry in one of them
+        List<Map.Entry<FavoriteKey, Boolean>> batch = new ArrayList<>(pending.entrySet());
+        for (Map.Entry<FavoriteKey, Boolean> entry : batch) {
+            inFlight.put(entry.getKey(), entry.getValue());
+            // Conditional: a change that landed since the copy stays pending for the next flush
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+
+        List<FavoriteKey> inserts = new ArrayList<>();
+        List<FavoriteKey> deletes = new ArrayList<>();
+        batch.forEach(entry -> (entry.getValue() ? inserts : deletes).add(entry.getKey()));
+
+        try {
+            for (int from = 0; from < inserts.size(); from += batchSize) {
+                List<FavoriteKey> chunk = inserts.subList(from, Math.min(inserts.size(), from + batchSize));
+                jdbcTemplate.batchUpdate(INSERT_FAVORITE, chunk, chunk.size(), (ps, key) -> {
+                    ps.setObject(1, key.userId());
+                    ps.setObject(2, key.propertyId());
+                    ps.setObject(3, key.propertyId());
+                });
+            }
+            for (int from = 0; from < deletes.size(); from += batchSize) {
+                List<FavoriteKey> chunk = deletes.subList(from, Math.min(deletes.size(), from + batchSize));
+                jdbcTemplate.batchUpdate(DELETE_FAVORITE, chunk, chunk.size(), (ps, key) -> {
+                    ps.setObject(1, key.userId());
+                    ps.setObject(2, key.propertyId());
+                });
+            }
+            written.increment(batch.size());
+        } catch (Exception e) {
+            // Put back whatever a newer change has not superseded; writes are idempotent so retrying is safe
+            batch.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+            failed.increment();
+            log.error("Failed to write {} favorite changes, will retry: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.forEach(entry -> inFlight.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private FavoriteSet set(UUID userId) {
+        FavoriteSet cached = sets.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loaded outside the cache's compute lock, as in UserDetailsCache. Unwritten changes are
+        // captured before the read so one flushed in between is still in the table or in-flight.
+        // pending is read first: a flush copies an entry to in-flight before removing it from
+        // pending, so reading in that same order always finds it in one of the two.
+        Map<UUID, Boolean> unwritten = new HashMap<>();
+        pending.forEach((key, favorited) -> {
+            if (key.userId().equals(userId)) {
+                unwritten.put(key.propertyId(), favorited);
+            }
+        });
+        // An entry in both was changed again after the copy; the pending value is the newer one
+        inFlight.forEach((key, favorited) -> {
+            if (key.userId().equals(userId)) {
+                unwritten.putIfAbsent(key.propertyId(), favorited);
+            }
+        });
+
+        FavoriteSet loaded = FavoriteSet.of(jdbcTemplate.queryForList(LOAD_FAVORITES, UUID.class, userId));
+        for (Map.Entry<UUID, Boolean> change : unwritten.entrySet()) {
+            loaded = change.getValue() ? loaded.with(change.getKey()) : loaded.without(change.getKey());
+        }
+
+        // A change may have installed a set while we were loading; that one is newer
+        FavoriteSet existing = sets.asMap().putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
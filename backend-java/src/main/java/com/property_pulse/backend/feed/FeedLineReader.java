@@ -0,0 +1,103 @@
+package com.property_pulse.backend.feed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a UTF-8 feed file line by line through one fixed buffer, keeping track of the byte
+ * offset after the last line returned so an import can checkpoint it and later {@link #seek}
+ * back to it. Accepts LF and CRLF line ends and skips a leading byte order mark.
+ */
+final class FeedLineReader implements Closeable {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] line = new byte[1024];
+    private long offset;
+
+    FeedLineReader(Path file, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(bufferBytes).flip();
+    }
+
+    /**
+     * Byte offset just past the last line returned.
+     */
+    long offset() {
+        return offset;
+    }
+
+    void seek(long position) throws IOException {
+        channel.position(position);
+        buffer.clear().flip();
+        offset = position;
+    }
+
+    /**
+     * The next line without its line end, or null at the end of the file.
+     */
+    String readLine() throws IOException {
+        long lineStart = offset;
+        int length = 0;
+        boolean any = false;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read <= 0) {
+                    return any ? decode(lineStart, length) : null;
+                }
+            }
+            any = true;
+
+            byte[] bytes = buffer.array();
+            int start = buffer.position();
+            int limit = buffer.limit();
+            int end = start;
+            while (end < limit && bytes[end] != '\n') {
+                end++;
+            }
+
+            int count = end - start;
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+            }
+            System.arraycopy(bytes, start, line, length, count);
+            length += count;
+            offset += count;
+
+            if (end < limit) {
+                buffer.position(end + 1);
+                offset++;
+                return decode(lineStart, length);
+            }
+            buffer.position(limit);
+        }
+    }
+
+    private String decode(long lineStart, int length) {
+        int from = 0;
+        if (lineStart == 0 && length >= BOM.length && Arrays.equals(line, 0, BOM.length, BOM, 0, BOM.length)) {
+            from = BOM.length;
+        }
+        if (length > from && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, from, length - from, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
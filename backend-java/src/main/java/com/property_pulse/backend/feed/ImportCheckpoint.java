@@ -0,0 +1,61 @@
+package com.property_pulse.backend.feed;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * How far a listing import got: every line before offset is written (or rejected). Identifies
+ * the feed by size and modification time so a checkpoint is never applied to a different file.
+ */
+record ImportCheckpoint(String feed, long feedSize, long feedModifiedMillis, long offset, long lines,
+                        long received, long upserted, long duplicates, long rejected) {
+
+    private static final int MAGIC = 0x50504C49; // "PPLI"
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Reads a checkpoint, or returns null if there is none.
+     */
+    static ImportCheckpoint read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("not a listing import checkpoint");
+            }
+            return new ImportCheckpoint(in.readUTF(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                    in.readLong(), in.readLong(), in.readLong(), in.readLong());
+        }
+    }
+
+    boolean matches(Path feedPath) throws IOException {
+        return Files.size(feedPath) == feedSize && Files.getLastModifiedTime(feedPath).toMillis() == feedModifiedMillis;
+    }
+
+    /**
+     * Replaces the checkpoint at path, atomically so a crash mid-write leaves the previous one.
+     */
+    void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(feed);
+            out.writeLong(feedSize);
+            out.writeLong(feedModifiedMillis);
+            out.writeLong(offset);
+            out.writeLong(lines);
+            out.writeLong(received);
+            out.writeLong(upserted);
+            out.writeLong(duplicates);
+            out.writeLong(rejected);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
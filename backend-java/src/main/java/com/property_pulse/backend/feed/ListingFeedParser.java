@@ -0,0 +1,290 @@
+package com.property_pulse.backend.feed;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.service.PredictionImportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns feed lines into validated {@link FeedListing}s. Validation mirrors the property_listings
+ * constraints (the NOT NULL columns, the property_type and listing_status CHECKs, NUMERIC
+ * precision) so a bad row is rejected on its own instead of failing a batch. Thread-safe.
+ */
+@Slf4j
+final class ListingFeedParser {
+
+    private static final BigDecimal MAX_LATITUDE = BigDecimal.valueOf(90);
+    private static final BigDecimal MAX_LONGITUDE = BigDecimal.valueOf(180);
+    private static final BigDecimal MAX_PRICE = BigDecimal.TEN.pow(10);   // NUMERIC(12, 2)
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.TEN.pow(8);   // NUMERIC(10, 2)
+
+    private static final Map<String, BiConsumer<FeedListing, String>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("title", FeedListing::setTitle);
+        CSV_COLUMNS.put("street_number", (l, v) -> l.setStreetNumber(Integer.valueOf(v)));
+        CSV_COLUMNS.put("street_name", FeedListing::setStreetName);
+        CSV_COLUMNS.put("city_name", FeedListing::setCityName);
+        CSV_COLUMNS.put("state_name", FeedListing::setStateName);
+        CSV_COLUMNS.put("zip_code", FeedListing::setZipCode);
+        CSV_COLUMNS.put("latitude", (l, v) -> l.setLatitude(new BigDecimal(v)));
+        CSV_COLUMNS.put("longitude", (l, v) -> l.setLongitude(new BigDecimal(v)));
+        CSV_COLUMNS.put("bedrooms", (l, v) -> l.setBedrooms(Integer.valueOf(v)));
+        CSV_COLUMNS.put("bathrooms", (l, v) -> l.setBathrooms(Integer.valueOf(v)));
+        CSV_COLUMNS.put("sqft", (l, v) -> l.setSqft(Integer.valueOf(v)));
+        CSV_COLUMNS.put("year_built", (l, v) -> l.setYearBuilt(Integer.valueOf(v)));
+        CSV_COLUMNS.put("property_type", FeedListing::setPropertyType);
+        CSV_COLUMNS.put("image_url", FeedListing::setImageUrl);
+        CSV_COLUMNS.put("property_description", FeedListing::setPropertyDescription);
+        CSV_COLUMNS.put("features", (l, v) -> l.setFeatures(splitList(v)));
+        CSV_COLUMNS.put("price", (l, v) -> l.setPrice(new BigDecimal(v)));
+        CSV_COLUMNS.put("estimated_rent", (l, v) -> l.setEstimatedRent(new BigDecimal(v)));
+        CSV_COLUMNS.put("property_taxes_annual", (l, v) -> l.setPropertyTaxesAnnual(new BigDecimal(v)));
+        CSV_COLUMNS.put("is_published", (l, v) -> l.setIsPublished(parseBoolean(v)));
+        CSV_COLUMNS.put("listing_status", FeedListing::setListingStatus);
+        CSV_COLUMNS.put("days_on_market", (l, v) -> l.setDaysOnMarket(Integer.valueOf(v)));
+        CSV_COLUMNS.put("images", (l, v) -> l.setImages(splitList(v)));
+    }
+
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of(
+            "title", "street_number", "street_name", "city_name", "state_name", "latitude", "longitude",
+            "bedrooms", "bathrooms", "property_type", "price");
+
+    private final ObjectReader listingReader;
+    private final List<BiConsumer<FeedListing, String>> columns;
+
+    private ListingFeedParser(ObjectReader listingReader, List<BiConsumer<FeedListing, String>> columns) {
+        this.listingReader = listingReader;
+        this.columns = columns;
+    }
+
+    static ListingFeedParser ndjson(ObjectReader listingReader) {
+        return new ListingFeedParser(listingReader, null);
+    }
+
+    /**
+     * A parser for CSV rows under the given header. Columns the feed has but property_listings
+     * does not are skipped.
+     *
+     * @throws IllegalArgumentException if the header lacks a required column
+     */
+    static ListingFeedParser csv(String header) {
+        if (header == null || header.isBlank()) {
+            throw new IllegalArgumentException("Expected a CSV header row");
+        }
+
+        List<BiConsumer<FeedListing, String>> columns = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (String name : PredictionImportService.splitCsvLine(header)) {
+            String column = name.trim().toLowerCase(Locale.ROOT);
+            BiConsumer<FeedListing, String> setter = CSV_COLUMNS.get(column);
+            if (setter == null) {
+                skipped.add(name);
+            }
+            columns.add(setter);
+            names.add(column);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!names.contains(required)) {
+                throw new IllegalArgumentException("Missing CSV column: " + required);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            log.info("Listing feed columns not imported: {}", skipped);
+        }
+        return new ListingFeedParser(null, columns);
+    }
+
+    FeedListing parse(String line) {
+        FeedListing listing = columns != null ? parseCsv(line) : parseJson(line);
+        validate(listing);
+        return listing;
+    }
+
+    private FeedListing parseJson(String line) {
+        FeedListing listing;
+        try {
+            listing = listingReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        }
+        if (listing == null) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        return listing;
+    }
+
+    private FeedListing parseCsv(String line) {
+        List<String> values = PredictionImportService.splitCsvLine(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns, got " + values.size());
+        }
+
+        FeedListing listing = new FeedListing();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            BiConsumer<FeedListing, String> column = columns.get(i);
+            if (column != null && !value.isEmpty()) {
+                // NumberFormatException is an IllegalArgumentException
+                column.accept(listing, value);
+            }
+        }
+        return listing;
+    }
+
+    /**
+     * Checks a listing against the property_listings constraints, trimming text and filling in
+     * the column defaults (published, active, 0 days on market).
+     */
+    static void validate(FeedListing listing) {
+        listing.setTitle(require("title", listing.getTitle()));
+        listing.setStreetName(require("street_name", listing.getStreetName()));
+        listing.setCityName(require("city_name", listing.getCityName()));
+        listing.setStateName(require("state_name", listing.getStateName()));
+        listing.setZipCode(clean(listing.getZipCode()));
+        listing.setPropertyDescription(clean(listing.getPropertyDescription()));
+
+        requireNonNegative("street_number", listing.getStreetNumber(), true);
+        requireNonNegative("bedrooms", listing.getBedrooms(), true);
+        requireNonNegative("bathrooms", listing.getBathrooms(), true);
+        requireNonNegative("sqft", listing.getSqft(), false);
+        requireNonNegative("year_built", listing.getYearBuilt(), false);
+        requireWithin("latitude", listing.getLatitude(), MAX_LATITUDE);
+        requireWithin("longitude", listing.getLongitude(), MAX_LONGITUDE);
+
+        if (listing.getPrice() == null || listing.getPrice().signum() <= 0 || listing.getPrice().compareTo(MAX_PRICE) >= 0) {
+            throw new IllegalArgumentException("price must be positive and below 10,000,000,000");
+        }
+        requireAmount("estimated_rent", listing.getEstimatedRent());
+        requireAmount("property_taxes_annual", listing.getPropertyTaxesAnnual());
+
+        listing.setPropertyType(requireOneOf("property_type", listing.getPropertyType(), PropertyType.values()));
+        listing.setListingStatus(listing.getListingStatus() == null || listing.getListingStatus().isBlank()
+                ? ListingStatus.active.name()
+                : requireOneOf("listing_status", listing.getListingStatus(), ListingStatus.values()));
+        if (listing.getIsPublished() == null) {
+            listing.setIsPublished(true);
+        }
+        if (listing.getDaysOnMarket() == null) {
+            listing.setDaysOnMarket(0);
+        }
+        requireNonNegative("days_on_market", listing.getDaysOnMarket(), true);
+
+        listing.setFeatures(cleanList(listing.getFeatures()));
+        listing.setImages(cleanList(listing.getImages()));
+        String imageUrl = clean(listing.getImageUrl());
+        if (imageUrl == null && listing.getImages() != null && !listing.getImages().isEmpty()) {
+            imageUrl = listing.getImages().get(0);
+        }
+        listing.setImageUrl(require("image_url", imageUrl));
+    }
+
+    /**
+     * Street address identifying a listing, the key of idx_property_address. Two feed rows
+     * with the same key are the same listing.
+     */
+    static String addressKey(FeedListing listing) {
+        return listing.getStreetNumber() + "|" + listing.getStreetName().toLowerCase(Locale.ROOT)
+                + "|" + listing.getCityName().toLowerCase(Locale.ROOT)
+                + "|" + listing.getStateName().toLowerCase(Locale.ROOT)
+                + "|" + (listing.getZipCode() == null ? "" : listing.getZipCode());
+    }
+
+    private static String require(String field, String value) {
+        String cleaned = clean(value);
+        if (cleaned == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return cleaned;
+    }
+
+    /**
+     * Trims and collapses runs of whitespace, so "12  Main St " and "12 Main St" dedupe; blank is null.
+     */
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String cleaned = value.strip().replaceAll("\\s+", " ");
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+
+    private static List<String> cleanList(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> cleaned = new ArrayList<>(values.size());
+        for (String value : values) {
+            String item = clean(value);
+            if (item != null) {
+                cleaned.add(item);
+            }
+        }
+        return cleaned;
+    }
+
+    private static void requireNonNegative(String field, Integer value, boolean required) {
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+        } else if (value < 0) {
+            throw new IllegalArgumentException(field + " must not be negative");
+        }
+    }
+
+    private static void requireWithin(String field, BigDecimal value, BigDecimal limit) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.abs().compareTo(limit) > 0) {
+            throw new IllegalArgumentException(field + " must be between -" + limit + " and " + limit);
+        }
+    }
+
+    private static void requireAmount(String field, BigDecimal value) {
+        if (value != null && (value.signum() < 0 || value.compareTo(MAX_AMOUNT) >= 0)) {
+            throw new IllegalArgumentException(field + " is out of range");
+        }
+    }
+
+    private static String requireOneOf(String field, String value, Enum<?>[] allowed) {
+        String normalized = value == null ? null : value.strip().toLowerCase(Locale.ROOT);
+        for (Enum<?> constant : allowed) {
+            if (constant.name().equals(normalized)) {
+                return normalized;
+            }
+        }
+        throw new IllegalArgumentException(field + " must be one of " + Arrays.toString(allowed));
+    }
+
+    /**
+     * Splits a multi-valued CSV field on ';', the separator listing exports use.
+     */
+    private static List<String> splitList(String value) {
+        return Arrays.asList(value.split(";"));
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "t", "yes", "y", "1" -> true;
+            case "false", "f", "no", "n", "0" -> false;
+            default -> throw new IllegalArgumentException("expected true or false, got " + value);
+        };
+    }
+}
@@ -0,0 +1,534 @@
+package com.property_pulse.backend.feed;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.dto.ImportStageThroughput;
+import com.property_pulse.backend.dto.ListingImportStatus;
+import com.property_pulse.backend.dto.ListingImportStatus.State;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One run of a listing feed (CSV with a header row, or NDJSON) into property_listings.
+ *
+ * Three stages joined by bounded queues: one thread reads the file in chunks of batch-size
+ * lines, parse-threads threads parse and validate chunks in parallel, and the calling thread
+ * upserts them in feed order, one JDBC batch per chunk. The reader stops once queue-capacity
+ * chunks wait on each queue, so a slow database slows the reader instead of filling the heap.
+ *
+ * After each chunk is written the byte offset past it goes to a checkpoint file. A run that
+ * crashes or is cancelled resumes from there; the chunk in flight is written again, which is
+ * harmless because rows are upserted on their address. The checkpoint is removed once the feed
+ * is fully imported.
+ *
+ * Ids of listings a chunk marked sold or unpublished go to onDelisted once the chunk is written,
+ * so in-memory rankings drop them without waiting for their next refresh.
+ */
+@Slf4j
+public class ListingImport {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long PROGRESS_LOG_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final RawChunk END_OF_FEED = new RawChunk(-1, 0, List.of(), 0);
+    private static final ParsedChunk PARSER_DONE = new ParsedChunk(-1, 0, 0, List.of(), List.of(), List.of(), 0);
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final Consumer<List<UUID>> onDelisted;
+    private final Path feedPath;
+    private final Path checkpointPath;
+    private final ListingFeedParser parser;
+    private final int batchSize;
+    private final int parseThreads;
+    private final long feedSize;
+    private final long feedModifiedMillis;
+    private final long startOffset;
+    private final long resumedFromLine;
+
+    private final BlockingQueue<RawChunk> parseQueue;
+    private final BlockingQueue<ParsedChunk> writeQueue;
+    // Chunks anywhere between reader and writer, including ones parsed ahead of a slower chunk
+    private final Semaphore inFlight;
+
+    private final Stage read;
+    private final Stage parse;
+    private final Stage write;
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicReference<String> failure = new AtomicReference<>();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private volatile ExecutorService workers;
+    private volatile State state = State.running;
+    private volatile long finishedNanos;
+
+    // Written by the writer only
+    private volatile long lines;
+    private volatile long received;
+    private volatile long upserted;
+    private volatile long duplicates;
+    private volatile long rejected;
+    private long writtenOffset;
+    private long lastProgressLogNanos = startNanos;
+
+    /**
+     * Prepares the run, picking up the feed's checkpoint if it has one.
+     *
+     * @throws IllegalArgumentException if a CSV feed's header lacks a required column
+     */
+    public ListingImport(PropertyListingRepository propertyListingRepository, ObjectReader listingReader,
+                         MeterRegistry meterRegistry, Path feedPath, Format format, Path checkpointPath,
+                         int batchSize, int parseThreads, int queueCapacity,
+                         Consumer<List<UUID>> onDelisted) throws IOException {
+        this.propertyListingRepository = propertyListingRepository;
+        this.onDelisted = onDelisted;
+        this.feedPath = feedPath;
+        this.checkpointPath = checkpointPath;
+        this.batchSize = batchSize;
+        this.parseThreads = parseThreads;
+        this.feedSize = Files.size(feedPath);
+        this.feedModifiedMillis = Files.getLastModifiedTime(feedPath).toMillis();
+
+        long dataStart = 0;
+        if (format == Format.CSV) {
+            try (FeedLineReader reader = new FeedLineReader(feedPath, READ_BUFFER_BYTES)) {
+                this.parser = ListingFeedParser.csv(reader.readLine());
+                dataStart = reader.offset();
+            }
+            lines = 1;
+        } else {
+            this.parser = ListingFeedParser.ndjson(listingReader);
+        }
+
+        ImportCheckpoint checkpoint = ImportCheckpoint.read(checkpointPath);
+        if (checkpoint != null && !checkpoint.matches(feedPath)) {
+            log.warn("Listing feed {} changed since its checkpoint at line {}, importing it from the start",
+                    feedPath.getFileName(), checkpoint.lines());
+            checkpoint = null;
+        }
+        if (checkpoint != null) {
+            this.startOffset = checkpoint.offset();
+            this.resumedFromLine = checkpoint.lines();
+            lines = checkpoint.lines();
+            received = checkpoint.received();
+            upserted = checkpoint.upserted();
+            duplicates = checkpoint.duplicates();
+            rejected = checkpoint.rejected();
+            writtenOffset = checkpoint.offset();
+        } else {
+            this.startOffset = dataStart;
+            this.resumedFromLine = 0;
+        }
+
+        this.parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writeQueue = new ArrayBlockingQueue<>(queueCapacity + parseThreads);
+        this.inFlight = new Semaphore(2 * queueCapacity + parseThreads);
+        this.read = new Stage("read", meterRegistry);
+        this.parse = new Stage("parse", meterRegistry);
+        this.write = new Stage("write", meterRegistry);
+    }
+
+    /**
+     * Format by file extension: .csv, or .ndjson / .jsonl / .json for one JSON object per line.
+     *
+     * @throws IllegalArgumentException for any other extension
+     */
+    public static Format formatOf(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Feed files must be .csv, .ndjson, .jsonl or .json");
+    }
+
+    /**
+     * Runs the import to the end of the feed, a database outage, or {@link #cancel()}. Rows the
+     * database rejects (constraint violations) are skipped; any other database error stops the
+     * run with the checkpoint at the last chunk written.
+     */
+    public void run() {
+        if (resumedFromLine > 0) {
+            log.info("Resuming listing import of {} after line {}", feedPath.getFileName(), resumedFromLine);
+        } else {
+            log.info("Starting listing import of {} ({} bytes, {} parse threads)", feedPath.getFileName(), feedSize, parseThreads);
+        }
+
+        workers = Executors.newFixedThreadPool(parseThreads + 1, Thread.ofPlatform().name("listing-import-", 0).daemon().factory());
+        workers.execute(this::readChunks);
+        for (int i = 0; i < parseThreads; i++) {
+            workers.execute(this::parseChunks);
+        }
+
+        try {
+            writeChunks();
+        } catch (IOException | RuntimeException e) {
+            log.error("Listing import of {} failed at line {}", feedPath.getFileName(), lines, e);
+            fail(e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (failure.get() == null) {
+            try {
+                Files.deleteIfExists(checkpointPath);
+            } catch (IOException e) {
+                log.warn("Could not remove listing import checkpoint {}: {}", checkpointPath, e.getMessage());
+            }
+        }
+        finishedNanos = System.nanoTime();
+        state = failure.get() == null ? State.completed : State.failed;
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(finishedNanos - startNanos);
+        log.info("Listing import of {} {}: {} received, {} upserted, {} duplicates, {} rejected in {}ms ({})",
+                feedPath.getFileName(), state, received, upserted, duplicates, rejected, elapsedMs, throughputSummary());
+    }
+
+    /**
+     * Stops the run at the next chunk boundary. The checkpoint is kept, so it can be resumed.
+     */
+    public void cancel() {
+        fail("cancelled");
+        ExecutorService current = workers;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    public boolean isRunning() {
+        return state == State.running;
+    }
+
+    public ListingImportStatus status() {
+        long elapsedNanos = (state == State.running ? System.nanoTime() : finishedNanos) - startNanos;
+        return ListingImportStatus.builder()
+                .file(feedPath.getFileName().toString())
+                .state(state)
+                .startedAt(startedAt)
+                .resumedFromLine(resumedFromLine)
+                .lines(lines)
+                .received(received)
+                .upserted(upserted)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .stages(List.of(read.throughput(elapsedNanos), parse.throughput(elapsedNanos), write.throughput(elapsedNanos)))
+                .errors(List.copyOf(errors))
+                .failure(failure.get())
+                .build();
+    }
+
+    public int queuedChunks() {
+        return parseQueue.size() + writeQueue.size();
+    }
+
+    private void readChunks() {
+        try (FeedLineReader reader = new FeedLineReader(feedPath, READ_BUFFER_BYTES)) {
+            reader.seek(startOffset);
+            long sequence = 0;
+            long firstLine = lines + 1;
+
+            while (true) {
+                long busyStart = System.nanoTime();
+                List<String> chunk = new ArrayList<>(batchSize);
+                String line;
+                while (chunk.size() < batchSize && (line = reader.readLine()) != null) {
+                    chunk.add(line);
+                }
+                read.busy(chunk.size(), System.nanoTime() - busyStart);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                long waitStart = System.nanoTime();
+                inFlight.acquire();
+                parseQueue.put(new RawChunk(sequence++, firstLine, chunk, reader.offset()));
+                read.waited(System.nanoTime() - waitStart);
+                firstLine += chunk.size();
+            }
+        } catch (IOException e) {
+            fail("Reading " + feedPath.getFileName() + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            for (int i = 0; i < parseThreads; i++) {
+                parseQueue.put(END_OF_FEED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parseChunks() {
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                RawChunk chunk = parseQueue.take();
+                parse.waited(System.nanoTime() - waitStart);
+                if (chunk == END_OF_FEED) {
+                    break;
+                }
+
+                long busyStart = System.nanoTime();
+                ParsedChunk parsed = parse(chunk);
+                parse.busy(chunk.lines().size(), System.nanoTime() - busyStart);
+
+                waitStart = System.nanoTime();
+                writeQueue.put(parsed);
+                parse.waited(System.nanoTime() - waitStart);
+            }
+            writeQueue.put(PARSER_DONE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Listing import parser failed", e);
+            fail("Parsing failed: " + e.getMessage());
+        }
+    }
+
+    private ParsedChunk parse(RawChunk chunk) {
+        List<FeedListing> listings = new ArrayList<>(chunk.lines().size());
+        List<Long> lineNumbers = new ArrayList<>(chunk.lines().size());
+        List<String> chunkErrors = new ArrayList<>();
+        int chunkRejected = 0;
+
+        for (int i = 0; i < chunk.lines().size(); i++) {
+            String line = chunk.lines().get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            long lineNumber = chunk.firstLine() + i;
+            try {
+                listings.add(parser.parse(line));
+                lineNumbers.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                chunkRejected++;
+                if (chunkErrors.size() < MAX_REPORTED_ERRORS) {
+                    chunkErrors.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ParsedChunk(chunk.sequence(), chunk.lines().size(), chunkRejected, listings, lineNumbers,
+                chunkErrors, chunk.endOffset());
+    }
+
+    private void writeChunks() throws IOException {
+        Map<Long, ParsedChunk> pending = new HashMap<>();
+        long next = 0;
+        int parsersDone = 0;
+
+        while (parsersDone < parseThreads && failure.get() == null) {
+            long waitStart = System.nanoTime();
+            ParsedChunk chunk;
+            try {
+                chunk = writeQueue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+                break;
+            }
+            write.waited(System.nanoTime() - waitStart);
+            if (chunk == null) {
+                continue;
+            }
+            if (chunk == PARSER_DONE) {
+                parsersDone++;
+                continue;
+            }
+
+            // Chunks are written in feed order, so the checkpoint always covers a prefix of the file
+            pending.put(chunk.sequence(), chunk);
+            for (ParsedChunk ready = pending.remove(next); ready != null; ready = pending.remove(++next)) {
+                write(ready);
+                inFlight.release();
+            }
+            logProgress();
+        }
+    }
+
+    private void write(ParsedChunk chunk) throws IOException {
+        long busyStart = System.nanoTime();
+
+        // The last row for an address wins, as it would had each row been upserted on its own
+        Map<String, Integer> latest = new LinkedHashMap<>();
+        int chunkDuplicates = 0;
+        for (int i = 0; i < chunk.listings().size(); i++) {
+            String key = ListingFeedParser.addressKey(chunk.listings().get(i));
+            if (latest.remove(key) != null) {
+                chunkDuplicates++;
+            }
+            latest.put(key, i);
+        }
+        List<FeedListing> batch = new ArrayList<>(latest.size());
+        List<Long> batchLines = new ArrayList<>(latest.size());
+        for (int i : latest.values()) {
+            batch.add(chunk.listings().get(i));
+            batchLines.add(chunk.lineNumbers().get(i));
+        }
+
+        int chunkRejected = chunk.rejected();
+        List<String> chunkErrors = new ArrayList<>(chunk.errors());
+        List<FeedListing> writtenListings = batch;
+        try {
+            propertyListingRepository.upsertFeedListings(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Nothing from the batch was written. Replay it row by row to keep the rows the database accepts.
+            log.warn("Listing batch of {} failed, retrying row by row: {}", batch.size(), e.getMostSpecificCause().getMessage());
+            writtenListings = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    propertyListingRepository.upsertFeedListings(List.of(batch.get(i)));
+                    writtenListings.add(batch.get(i));
+                } catch (DataIntegrityViolationException rowError) {
+                    chunkRejected++;
+                    chunkErrors.add("Line " + batchLines.get(i) + ": " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        int written = writtenListings.size();
+        announceDelisted(writtenListings);
+
+        lines += chunk.lineCount();
+        received += chunk.listings().size() + chunk.rejected();
+        upserted += written;
+        duplicates += chunkDuplicates;
+        rejected += chunkRejected;
+        for (String error : chunkErrors) {
+            if (errors.size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            errors.add(error);
+        }
+
+        writtenOffset = chunk.endOffset();
+        new ImportCheckpoint(feedPath.getFileName().toString(), feedSize, feedModifiedMillis, chunk.endOffset(), lines,
+                received, upserted, duplicates, rejected).write(checkpointPath);
+        write.busy(written, System.nanoTime() - busyStart);
+    }
+
+    private void logProgress() {
+        long now = System.nanoTime();
+        if (now - lastProgressLogNanos >= PROGRESS_LOG_NANOS) {
+            lastProgressLogNanos = now;
+            log.info("Listing import of {} at line {} ({}% of the file): {}", feedPath.getFileName(), lines,
+                    feedSize == 0 ? 100 : writtenOffset * 100 / feedSize, throughputSummary());
+        }
+    }
+
+    private String throughputSummary() {
+        long elapsedNanos = Math.max(1, (finishedNanos > 0 ? finishedNanos : System.nanoTime()) - startNanos);
+        StringBuilder summary = new StringBuilder();
+        for (Stage stage : List.of(read, parse, write)) {
+            ImportStageThroughput throughput = stage.throughput(elapsedNanos);
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(stage.name).append(' ').append(throughput.getRowsPerSecond()).append(" rows/s");
+        }
+        return summary.toString();
+    }
+
+    private void fail(String reason) {
+        failure.compareAndSet(null, reason == null ? "failed" : reason);
+    }
+
+    private record RawChunk(long sequence, long firstLine, List<String> lines, long endOffset) {
+    }
+
+    private record ParsedChunk(long sequence, int lineCount, int rejected, List<FeedListing> listings,
+                               List<Long> lineNumbers, List<String> errors, long endOffset) {
+    }
+
+    /**
+     * Rows through one stage, time spent on them, and time blocked on the queues around it.
+     */
+    private void announceDelisted(List<FeedListing> writtenListings) {
+        List<FeedListing> delisted = writtenListings.stream()
+                .filter(listing -> !Boolean.TRUE.equals(listing.getIsPublished())
+                        || ListingStatus.sold.name().equals(listing.getListingStatus()))
+                .toList();
+        if (delisted.isEmpty()) {
+            return;
+        }
+        try {
+            onDelisted.accept(propertyListingRepository.findIdsByAddress(delisted));
+        } catch (RuntimeException e) {
+            // The rows are written; rankings still drop them on their next refresh
+            log.warn("Could not announce {} delisted listings: {}", delisted.size(), e.getMessage());
+        }
+    }
+
+    private static final class Stage {
+
+        private final String name;
+        private final Counter rowCounter;
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        Stage(String name, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.rowCounter = Counter.builder("listing.import.rows")
+                    .description("Feed lines read and parsed, and listings written, by listing imports")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        void busy(long count, long nanos) {
+            rows.add(count);
+            rowCounter.increment(count);
+            busyNanos.add(nanos);
+        }
+
+        void waited(long nanos) {
+            waitNanos.add(nanos);
+        }
+
+        ImportStageThroughput throughput(long elapsedNanos) {
+            long count = rows.sum();
+            return ImportStageThroughput.builder()
+                    .stage(name)
+                    .rows(count)
+                    .rowsPerSecond(elapsedNanos <= 0 ? 0 : count * 1_000_000_000L / elapsedNanos)
+                    .busyMs(TimeUnit.NANOSECONDS.toMillis(busyNanos.sum()))
+                    .waitingMs(TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()))
+                    .build();
+        }
+    }
+}
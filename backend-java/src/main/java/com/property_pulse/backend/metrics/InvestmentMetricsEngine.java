@@ -0,0 +1,286 @@
+package com.property_pulse.backend.metrics;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+import com.property_pulse.backend.dto.InvestmentMetric;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.SearchIndexUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Investment metrics (gross yield, cap rate, monthly cash flow, price per sqft) for every
+ * eligible listing under caller-supplied financing assumptions.
+ *
+ * The inputs are held in memory as {@link ListingFinancials} columns and a request recomputes
+ * the whole catalog in one pass, a {@link MetricChunk} at a time, with the best {@link MetricsKernel}
+ * this JVM supports, keeping only the requested top listings. Loading follows the search index:
+ * a full read on start and every properties.metrics.full-reload-ms, incremental reads by updated_at in between.
+ *
+ * It does not follow row-change notifications: results are filtered through the search index,
+ * which drops unpublished and deleted listings within half a second, so only an edited
+ * listing's metrics lag, by one refresh at most.
+ */
+@Slf4j
+@Component
+public class InvestmentMetricsEngine {
+
+    /**
+     * A listing's metrics; NaN where an input was missing.
+     */
+    public record ListingResult(UUID id, double grossYield, double capRate, double monthlyCashFlow, double pricePerSqft) {
+    }
+
+    /**
+     * @param evaluated        listings the sort metric could be computed for
+     * @param positiveCashFlow listings with a monthly cash flow above zero
+     * @param averageCapRate   mean cap rate over listings that have one, NaN if none do
+     */
+    public record Ranking(List<ListingResult> top, int evaluated, int positiveCashFlow, double averageCapRate,
+                          long computeNanos) {
+    }
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MetricsKernel kernel;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final Duration overlap;
+    private final long fullReloadMs;
+    private final long refreshSeconds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer computeTimer;
+    private final Timer refreshTimer;
+
+    private volatile ListingFinancials financials;
+    private Instant watermark;
+    private long lastFullLoadMillis;
+
+    public InvestmentMetricsEngine(
+            PropertyListingRepository propertyListingRepository,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.metrics.enabled:true}") boolean enabled,
+            @Value("${properties.metrics.vectorize:true}") boolean vectorize,
+            @Value("${properties.metrics.fetch-size:1000}") int fetchSize,
+            @Value("${properties.metrics.refresh-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.metrics.full-reload-ms:3600000}") long fullReloadMs,
+            @Value("${properties.metrics.refresh-ms:30000}") long refreshMs) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.kernel = MetricsKernels.select(vectorize);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.fullReloadMs = fullReloadMs;
+        this.refreshSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(refreshMs));
+
+        this.computeTimer = Timer.builder("metrics.compute")
+                .description("Full-catalog investment metric passes")
+                .tag("kernel", kernel.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("metrics.refresh")
+                .description("Full loads and incremental refreshes of the metric inputs")
+                .register(meterRegistry);
+        Gauge.builder("metrics.listings", this, engine -> engine.financials == null ? 0 : engine.financials.size())
+                .description("Listings the investment metrics are computed for")
+                .register(meterRegistry);
+
+        log.info("Investment metrics use the {} kernel", kernel.name());
+    }
+
+    public String kernelName() {
+        return kernel.name();
+    }
+
+    /**
+     * Computes every metric for the whole catalog and returns the best {@code limit} listings by sortBy.
+     *
+     * @throws SearchIndexUnavailableException if the inputs have not loaded yet
+     */
+    public Ranking rank(FinancingAssumptions assumptions, InvestmentMetric sortBy, int limit) {
+        long start = System.nanoTime();
+        ToDoubleFunction<ListingResult> metric = switch (sortBy) {
+            case cash_flow -> ListingResult::monthlyCashFlow;
+            case cap_rate -> ListingResult::capRate;
+            case gross_yield -> ListingResult::grossYield;
+            case price_per_sqft -> ListingResult::pricePerSqft;
+        };
+        // Worst first, so the root is the one to drop when a better listing turns up
+        Comparator<ListingResult> worstFirst = sortBy.lowestFirst()
+                ? Comparator.comparingDouble(metric).reversed()
+                : Comparator.comparingDouble(metric);
+        PriorityQueue<ListingResult> best = new PriorityQueue<>(limit + 1, worstFirst);
+
+        int evaluated = 0;
+        int positiveCashFlow = 0;
+        int withCapRate = 0;
+        double capRateSum = 0;
+
+        lock.readLock().lock();
+        try {
+            ListingFinancials current = financials;
+            if (current == null) {
+                throw new SearchIndexUnavailableException("Investment metrics are starting up. Please try again shortly.",
+                        refreshSeconds);
+            }
+
+            MetricChunk chunk = new MetricChunk();
+            double[] sortValues = switch (sortBy) {
+                case cash_flow -> chunk.cashFlow;
+                case cap_rate -> chunk.capRate;
+                case gross_yield -> chunk.grossYield;
+                case price_per_sqft -> chunk.pricePerSqft;
+            };
+
+            for (int from = 0; from < current.slots(); from += MetricChunk.SIZE) {
+                int to = Math.min(current.slots(), from + MetricChunk.SIZE);
+                kernel.compute(current.price(), current.monthlyRent(), current.annualTaxes(), current.sqft(),
+                        from, to, assumptions, chunk);
+
+                for (int o = 0; o < to - from; o++) {
+                    double capRate = chunk.capRate[o];
+                    if (!Double.isNaN(capRate)) {
+                        withCapRate++;
+                        capRateSum += capRate;
+                    }
+                    if (chunk.cashFlow[o] > 0) {
+                        positiveCashFlow++;
+                    }
+
+                    double value = sortValues[o];
+                    if (Double.isNaN(value)) {
+                        continue;
+                    }
+                    evaluated++;
+                    if (best.size() == limit && !beats(value, metric.applyAsDouble(best.peek()), sortBy)) {
+                        continue;
+                    }
+                    best.add(new ListingResult(current.id(from + o), chunk.grossYield[o], capRate,
+                            chunk.cashFlow[o], chunk.pricePerSqft[o]));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ListingResult> top = new ArrayList<>(best);
+        top.sort(worstFirst.reversed());
+        long elapsed = System.nanoTime() - start;
+        computeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return new Ranking(top, evaluated, positiveCashFlow, withCapRate == 0 ? Double.NaN : capRateSum / withCapRate,
+                elapsed);
+    }
+
+    private static boolean beats(double value, double worstKept, InvestmentMetric sortBy) {
+        return sortBy.lowestFirst() ? value < worstKept : value > worstKept;
+    }
+
+    @Scheduled(fixedDelayString = "${properties.metrics.refresh-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTimer.record(() -> {
+                if (financials == null || System.currentTimeMillis() - lastFullLoadMillis >= fullReloadMs) {
+                    fullLoad();
+                } else {
+                    applyChanges();
+                }
+            });
+        } catch (Exception e) {
+            // Keep serving the last inputs; requests are 503 until the first load succeeds
+            log.error("Investment metrics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void fullLoad() {
+        long start = System.currentTimeMillis();
+        ListingFinancials loaded = new ListingFinancials(financials != null ? financials.size() : 1024);
+        Instant[] latest = {Instant.EPOCH};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListingFinancials(null, fetchSize,
+                        (id, eligible, price, rent, taxes, sqft, updatedAt) -> {
+                            loaded.upsert(id, price, rent, taxes, sqft);
+                            latest[0] = later(latest[0], updatedAt);
+                        }));
+
+        lock.writeLock().lock();
+        try {
+            financials = loaded;
+            watermark = latest[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastFullLoadMillis = System.currentTimeMillis();
+
+        log.info("Investment metric inputs loaded for {} listings in {}ms", loaded.size(), lastFullLoadMillis - start);
+    }
+
+    private void applyChanges() {
+        record Change(UUID id, boolean eligible, BigDecimal price, BigDecimal rent,
+                      BigDecimal taxes, Integer sqft) {
+        }
+        List<Change> changes = new ArrayList<>();
+        Instant[] latest = {watermark};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListingFinancials(watermark.minus(overlap), fetchSize,
+                        (id, eligible, price, rent, taxes, sqft, updatedAt) -> {
+                            changes.add(new Change(id, eligible, price, rent, taxes, sqft));
+                            latest[0] = later(latest[0], updatedAt);
+                        }));
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Rows inside the overlap window are re-applied; upsert and remove are idempotent
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                if (change.eligible()) {
+                    financials.upsert(change.id(), change.price(), change.rent(), change.taxes(), change.sqft());
+                } else {
+                    financials.remove(change.id());
+                }
+            }
+            watermark = latest[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,112 @@
+package com.property_pulse.backend.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The inputs of the investment metrics for every eligible listing, one primitive column per
+ * field so a kernel streams through them sequentially.
+ *
+ * Missing values are stored as NaN, which the kernels propagate. A removed listing keeps its
+ * slot until it is reused, with a NaN price so every metric it produces is NaN and skipped;
+ * the columns therefore never need compacting. Not thread-safe.
+ */
+final class ListingFinancials {
+
+    private UUID[] ids;
+    private double[] price;
+    private double[] monthlyRent;
+    private double[] annualTaxes;
+    private double[] sqft;
+    private int slots;
+
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    ListingFinancials(int expectedListings) {
+        int capacity = Math.max(16, expectedListings);
+        ids = new UUID[capacity];
+        price = new double[capacity];
+        monthlyRent = new double[capacity];
+        annualTaxes = new double[capacity];
+        sqft = new double[capacity];
+    }
+
+    void upsert(UUID id, BigDecimal listPrice, BigDecimal estimatedRent, BigDecimal propertyTaxesAnnual, Integer squareFeet) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+            slotById.put(id, slot);
+            ids[slot] = id;
+        }
+        // Zero or negative price or area would turn into an infinite metric rather than a missing one
+        price[slot] = positiveOrNaN(listPrice);
+        monthlyRent[slot] = estimatedRent == null ? Double.NaN : estimatedRent.doubleValue();
+        annualTaxes[slot] = propertyTaxesAnnual == null ? Double.NaN : propertyTaxesAnnual.doubleValue();
+        sqft[slot] = squareFeet == null || squareFeet <= 0 ? Double.NaN : squareFeet;
+    }
+
+    void remove(UUID id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = null;
+        price[slot] = Double.NaN;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Slots in use or free; kernels run over [0, slots()).
+     */
+    int slots() {
+        return slots;
+    }
+
+    UUID id(int slot) {
+        return ids[slot];
+    }
+
+    double[] price() {
+        return price;
+    }
+
+    double[] monthlyRent() {
+        return monthlyRent;
+    }
+
+    double[] annualTaxes() {
+        return annualTaxes;
+    }
+
+    double[] sqft() {
+        return sqft;
+    }
+
+    private int nextSlot() {
+        if (slots == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            price = Arrays.copyOf(price, capacity);
+            monthlyRent = Arrays.copyOf(monthlyRent, capacity);
+            annualTaxes = Arrays.copyOf(annualTaxes, capacity);
+            sqft = Arrays.copyOf(sqft, capacity);
+        }
+        return slots++;
+    }
+
+    private static double positiveOrNaN(BigDecimal value) {
+        return value == null || value.signum() <= 0 ? Double.NaN : value.doubleValue();
+    }
+}
@@ -0,0 +1,15 @@
+package com.property_pulse.backend.metrics;
+
+/**
+ * Kernel output for one stretch of listings, reused across stretches so a full pass allocates
+ * nothing per listing. Index 0 is the first listing of the stretch.
+ */
+final class MetricChunk {
+
+    static final int SIZE = 4096;
+
+    final double[] grossYield = new double[SIZE];
+    final double[] capRate = new double[SIZE];
+    final double[] cashFlow = new double[SIZE];
+    final double[] pricePerSqft = new double[SIZE];
+}
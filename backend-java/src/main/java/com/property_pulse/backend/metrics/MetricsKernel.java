@@ -0,0 +1,20 @@
+package com.property_pulse.backend.metrics;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+
+/**
+ * Computes every investment metric for listings [from, to) of the input columns into out.
+ * Inputs use NaN for missing values and outputs are NaN wherever an input they need is missing;
+ * a missing tax falls back to the assumed tax rate. {@code to - from} is at most {@link MetricChunk#SIZE}.
+ *
+ * Per listing, with rent monthly and taxes annual:
+ * gross yield = 12 rent / price, NOI = 12 rent * incomeFactor - taxes, cap rate = NOI / price,
+ * monthly cash flow = NOI / 12 - price * debtServiceFactor, price per sqft = price / sqft.
+ */
+interface MetricsKernel {
+
+    String name();
+
+    void compute(double[] price, double[] monthlyRent, double[] annualTaxes, double[] sqft, int from, int to,
+                 FinancingAssumptions assumptions, MetricChunk out);
+}
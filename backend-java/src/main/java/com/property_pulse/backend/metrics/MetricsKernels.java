@@ -0,0 +1,27 @@
+package com.property_pulse.backend.metrics;
+
+/**
+ * Picks the metrics kernel for this JVM. The Vector API is an incubator module, so it is only
+ * present when the JVM was started with --add-modules jdk.incubator.vector (the Maven build and
+ * spring-boot:run pass it); without it the scalar kernel is used.
+ */
+final class MetricsKernels {
+
+    private MetricsKernels() {
+    }
+
+    static boolean vectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    static MetricsKernel select(boolean preferVector) {
+        if (preferVector && vectorAvailable()) {
+            try {
+                return new VectorMetricsKernel();
+            } catch (LinkageError e) {
+                // Module present but unusable on this platform
+            }
+        }
+        return new ScalarMetricsKernel();
+    }
+}
@@ -0,0 +1,45 @@
+package com.property_pulse.backend.metrics;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+
+/**
+ * Plain loop over the columns. Used when the Vector API is not available, and for the tail
+ * of each stretch the vector kernel cannot fill a whole vector with.
+ */
+final class ScalarMetricsKernel implements MetricsKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void compute(double[] price, double[] monthlyRent, double[] annualTaxes, double[] sqft, int from, int to,
+                        FinancingAssumptions assumptions, MetricChunk out) {
+        computeRange(price, monthlyRent, annualTaxes, sqft, from, to, from,
+                assumptions.incomeFactor(), assumptions.debtServiceFactor(), assumptions.taxRate(), out);
+    }
+
+    /**
+     * @param base the input index that lands at out[0]
+     */
+    static void computeRange(double[] price, double[] monthlyRent, double[] annualTaxes, double[] sqft,
+                             int from, int to, int base, double incomeFactor, double debtServiceFactor,
+                             double taxRate, MetricChunk out) {
+        for (int i = from; i < to; i++) {
+            double p = price[i];
+            double annualRent = monthlyRent[i] * 12;
+            double taxes = annualTaxes[i];
+            if (Double.isNaN(taxes)) {
+                taxes = p * taxRate;
+            }
+            double noi = annualRent * incomeFactor - taxes;
+
+            int o = i - base;
+            out.grossYield[o] = annualRent / p * 100;
+            out.capRate[o] = noi / p * 100;
+            out.cashFlow[o] = noi / 12 - p * debtServiceFactor;
+            out.pricePerSqft[o] = p / sqft[i];
+        }
+    }
+}
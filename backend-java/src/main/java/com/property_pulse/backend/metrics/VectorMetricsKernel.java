@@ -0,0 +1,49 @@
+package com.property_pulse.backend.metrics;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The same arithmetic as {@link ScalarMetricsKernel}, a full SIMD register of listings at a time
+ * via the incubating Vector API. Missing taxes are filled with a masked blend rather than a
+ * branch. Only load this class after {@link MetricsKernels#vectorAvailable()} returned true.
+ */
+final class VectorMetricsKernel implements MetricsKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+
+    @Override
+    public void compute(double[] price, double[] monthlyRent, double[] annualTaxes, double[] sqft, int from, int to,
+                        FinancingAssumptions assumptions, MetricChunk out) {
+        double incomeFactor = assumptions.incomeFactor();
+        double debtServiceFactor = assumptions.debtServiceFactor();
+        double taxRate = assumptions.taxRate();
+
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector p = DoubleVector.fromArray(SPECIES, price, i);
+            DoubleVector annualRent = DoubleVector.fromArray(SPECIES, monthlyRent, i).mul(12);
+            DoubleVector taxes = DoubleVector.fromArray(SPECIES, annualTaxes, i);
+            taxes = taxes.blend(p.mul(taxRate), taxes.test(VectorOperators.IS_NAN));
+            DoubleVector noi = annualRent.mul(incomeFactor).sub(taxes);
+
+            int o = i - from;
+            annualRent.div(p).mul(100).intoArray(out.grossYield, o);
+            noi.div(p).mul(100).intoArray(out.capRate, o);
+            noi.div(12).sub(p.mul(debtServiceFactor)).intoArray(out.cashFlow, o);
+            p.div(DoubleVector.fromArray(SPECIES, sqft, i)).intoArray(out.pricePerSqft, o);
+        }
+
+        ScalarMetricsKernel.computeRange(price, monthlyRent, annualTaxes, sqft, i, to, from,
+                incomeFactor, debtServiceFactor, taxRate, out);
+    }
+}
@@ -0,0 +1,12 @@
+package com.property_pulse.backend.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.property_pulse.backend.Model.PropertyListing;
+
+@Repository
+public interface PropertyListingRepository extends JpaRepository<PropertyListing, UUID>, PropertyListingRepositoryCustom {
+}
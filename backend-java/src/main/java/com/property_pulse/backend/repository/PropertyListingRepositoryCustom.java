@@ -0,0 +1,151 @@
+package com.property_pulse.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.property_pulse.backend.dto.AiPrediction;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySummary;
+
+public interface PropertyListingRepositoryCustom {
+
+    /**
+     * Columns of {@link #streamExport}, in order.
+     */
+    List<String> EXPORT_COLUMNS = List.of(
+            "id", "title", "street_number", "street_name", "city_name", "state_name", "zip_code",
+            "latitude", "longitude", "bedrooms", "bathrooms", "sqft", "year_built", "property_type",
+            "price", "estimated_rent", "property_taxes_annual", "listing_status", "days_on_market",
+            "features", "created_at", "updated_at",
+            "investment_score", "cash_flow_score", "appreciation_score", "risk_score", "predicted_rent",
+            "predicted_appreciation", "predicted_cash_flow", "predicted_cap_rate", "model_version",
+            "confidence_level", "prediction_created_at");
+
+    /**
+     * Published listings matching the criteria, in the criteria's sort order, starting
+     * strictly after the cursor (null for the first page).
+     */
+    List<PropertySummary> search(PropertySearchCriteria criteria, PropertySearchCursor after, int limit);
+
+    /**
+     * Published listings with the given ids, newest first. Unknown or unpublished ids are skipped.
+     */
+    List<PropertySummary> findSummaries(Collection<UUID> ids);
+
+    /**
+     * A published listing with its images and latest AI prediction, in one round trip.
+     */
+    Optional<PropertyDetails> findDetails(UUID id);
+
+    /**
+     * The version of what {@link #findDetails} would return, read without the listing's columns,
+     * images or prediction scores; empty if findDetails would be.
+     */
+    Optional<ListingVersion> findListingVersion(UUID id);
+
+    /**
+     * Validator for {@link #findSummaries} of the same ids: how many of them are published and
+     * the latest updated_at among those, formatted as "count@instant".
+     */
+    String summariesVersion(Collection<UUID> ids);
+
+    /**
+     * Streams listings row by row with the given JDBC fetch size (call inside a transaction so
+     * Postgres uses a cursor). With updatedAfter null only published listings are streamed;
+     * otherwise every listing updated after it, published or not, so callers can drop the rest.
+     */
+    void streamListings(Instant updatedAfter, int fetchSize, ListingRowHandler handler);
+
+    /**
+     * Same selection and cursor behaviour as {@link #streamListings}, but only the searchable text.
+     */
+    void streamListingText(Instant updatedAfter, int fetchSize, ListingTextHandler handler);
+
+    /**
+     * Streams the inputs of the investment metrics with the given fetch size; call inside a
+     * transaction. With updatedAfter null only eligible listings (published, not sold) are
+     * streamed; otherwise every listing updated after it, flagged, so callers can drop the rest.
+     */
+    void streamListingFinancials(Instant updatedAfter, int fetchSize, ListingFinancialsHandler handler);
+
+    /**
+     * Streams published listings matching the criteria, in the criteria's sort order, each with
+     * its latest prediction (null columns if none), through a cursor with the given fetch size;
+     * call inside a transaction. Values follow {@link #EXPORT_COLUMNS}: timestamps as Instant,
+     * features as String[], numbers as the driver returns them.
+     */
+    void streamExport(PropertySearchCriteria criteria, int fetchSize, ExportRowHandler handler);
+
+    /**
+     * Streams each listing's latest prediction scores (latest by created_at) with the given fetch
+     * size; call inside a transaction. With createdAfter set, only listings with a prediction
+     * written after it are streamed.
+     */
+    void streamLatestScores(Instant createdAfter, int fetchSize, PredictionScoreHandler handler);
+
+    /**
+     * Batch-upserts predictions on (property_id, model_version), replacing the scores of an
+     * earlier upload of the same model run. Rows for unknown listings are skipped.
+     *
+     * @return per-row update counts (1 written, 0 unknown listing, or Statement.SUCCESS_NO_INFO)
+     */
+    int[] upsertPredictions(List<AiPrediction> predictions);
+
+    /**
+     * Batch-upserts feed listings on their street address (idx_property_address), updating every
+     * other column of a listing already there. A listing with images gets its property_images
+     * replaced by them, the first one primary; without images they are left alone. Each listing
+     * and its images are written by one statement; the batch runs in one implicit transaction.
+     * Addresses must be distinct within a batch.
+     */
+    void upsertFeedListings(List<FeedListing> listings);
+
+    /**
+     * Ids of the listings at the feed listings' street addresses, matched the way the upsert
+     * matches them (idx_property_address).
+     */
+    List<UUID> findIdsByAddress(Collection<FeedListing> listings);
+
+    @FunctionalInterface
+    interface ListingRowHandler {
+
+        void accept(PropertySummary listing, boolean published, Instant updatedAt);
+    }
+
+    @FunctionalInterface
+    interface ListingTextHandler {
+
+        void accept(UUID id, boolean published, String title, String description, String[] features, Instant updatedAt);
+    }
+
+    @FunctionalInterface
+    interface ListingFinancialsHandler {
+
+        void accept(UUID id, boolean eligible, BigDecimal price, BigDecimal estimatedRent, BigDecimal propertyTaxesAnnual,
+                    Integer sqft, Instant updatedAt);
+    }
+
+    @FunctionalInterface
+    interface ExportRowHandler {
+
+        /**
+         * values is reused for the next row; copy anything kept past the call.
+         */
+        void accept(Object[] values);
+    }
+
+    @FunctionalInterface
+    interface PredictionScoreHandler {
+
+        void accept(UUID propertyId, BigDecimal investmentScore, BigDecimal cashFlowScore, BigDecimal appreciationScore,
+                    BigDecimal riskScore, Instant createdAt);
+    }
+}
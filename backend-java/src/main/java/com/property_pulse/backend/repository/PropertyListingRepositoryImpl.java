@@ -0,0 +1,674 @@
+package com.property_pulse.backend.repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.property_pulse.backend.dto.AiPrediction;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.dto.PropertyImage;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Spring Data picks this up as the implementation of {@link PropertyListingRepositoryCustom}.
+ *
+ * Pages are fetched with keyset (seek) pagination: the WHERE clause resumes after the
+ * (sort key, id) of the previous page's last row, so page 500 costs the same as page 1.
+ * Every filter is a plain comparison on an indexed column so the planner can use
+ * idx_property_price / idx_property_location / idx_property_type / idx_property_status.
+ */
+@RequiredArgsConstructor
+public class PropertyListingRepositoryImpl implements PropertyListingRepositoryCustom {
+
+    private static final String SUMMARY_COLUMNS = """
+            p.id, p.title, p.street_number, p.street_name, p.city_name, p.state_name, p.zip_code,
+            p.latitude, p.longitude, p.bedrooms, p.bathrooms, p.sqft, p.property_type, p.image_url,
+            p.price, p.estimated_rent, p.listing_status, p.days_on_market, p.created_at""";
+
+    private static final String STREAM_LISTINGS = "SELECT " + SUMMARY_COLUMNS + ", p.is_published, p.updated_at FROM property_listings p";
+
+    private static final String STREAM_LISTING_TEXT = """
+            SELECT p.id, p.title, p.property_description, p.features, p.is_published, p.updated_at
+            FROM property_listings p""";
+
+    // Images are folded into parallel arrays and the prediction into one LATERAL row, so the
+    // whole detail page is a single round trip with exactly one result row
+    private static final String FIND_DETAILS = """
+            SELECT p.id, p.title, p.street_number, p.street_name, p.city_name, p.state_name, p.zip_code,
+                   p.latitude, p.longitude, p.bedrooms, p.bathrooms, p.sqft, p.year_built, p.property_type,
+                   p.image_url, p.property_description, p.features, p.price, p.estimated_rent,
+                   p.property_taxes_annual, p.is_published, p.listing_status, p.days_on_market, p.created_by,
+                   p.created_at, p.updated_at,
+                   a.id AS prediction_id, a.investment_score, a.cash_flow_score, a.appreciation_score, a.risk_score,
+                   a.predicted_rent, a.predicted_appreciation, a.predicted_cash_flow, a.predicted_cap_rate,
+                   a.model_version, a.confidence_level, a.prediction_notes, a.created_at AS prediction_created_at,
+                   i.image_ids, i.image_urls, i.image_primary, i.image_uploaded_at
+            FROM property_listings p
+            LEFT JOIN LATERAL (
+                SELECT * FROM ai_predictions ap
+                WHERE ap.property_id = p.id
+                ORDER BY ap.created_at DESC NULLS LAST, ap.id
+                LIMIT 1
+            ) a ON true
+            LEFT JOIN LATERAL (
+                SELECT array_agg(pi.id ORDER BY pi.is_primary DESC NULLS LAST, pi.uploaded_at, pi.id) AS image_ids,
+                       array_agg(pi.image_url ORDER BY pi.is_primary DESC NULLS LAST, pi.uploaded_at, pi.id) AS image_urls,
+                       array_agg(pi.is_primary ORDER BY pi.is_primary DESC NULLS LAST, pi.uploaded_at, pi.id) AS image_primary,
+                       array_agg(pi.uploaded_at ORDER BY pi.is_primary DESC NULLS LAST, pi.uploaded_at, pi.id) AS image_uploaded_at
+                FROM property_images pi
+                WHERE pi.property_id = p.id
+            ) i ON true
+            WHERE p.id = :id AND p.is_published = true""";
+
+    // Same lateral joins as FIND_DETAILS, reading only what ListingVersion needs
+    private static final String FIND_LISTING_VERSION = """
+            SELECT p.updated_at, a.id AS prediction_id, a.created_at AS prediction_created_at, i.image_ids
+            FROM property_listings p
+            LEFT JOIN LATERAL (
+                SELECT ap.id, ap.created_at FROM ai_predictions ap
+                WHERE ap.property_id = p.id
+                ORDER BY ap.created_at DESC NULLS LAST, ap.id
+                LIMIT 1
+            ) a ON true
+            LEFT JOIN LATERAL (
+                SELECT array_agg(pi.id) AS image_ids
+                FROM property_images pi
+                WHERE pi.property_id = p.id
+            ) i ON true
+            WHERE p.id = :id AND p.is_published = true""";
+
+    private static final String STREAM_LISTING_FINANCIALS = """
+            SELECT p.id, p.price, p.estimated_rent, p.property_taxes_annual, p.sqft, p.updated_at,
+                   (p.is_published = true AND p.listing_status IS DISTINCT FROM 'sold') AS eligible
+            FROM property_listings p""";
+
+    private static final String STREAM_LATEST_SCORES = """
+            SELECT DISTINCT ON (a.property_id)
+                   a.property_id, a.investment_score, a.cash_flow_score, a.appreciation_score, a.risk_score, a.created_at
+            FROM ai_predictions a
+            WHERE a.property_id IS NOT NULL%s
+            ORDER BY a.property_id, a.created_at DESC NULLS LAST, a.id""";
+
+    // Latest prediction per listing, as on the detail page; one output row per listing
+    private static final String STREAM_EXPORT = """
+            SELECT p.id, p.title, p.street_number, p.street_name, p.city_name, p.state_name, p.zip_code,
+                   p.latitude, p.longitude, p.bedrooms, p.bathrooms, p.sqft, p.year_built, p.property_type,
+                   p.price, p.estimated_rent, p.property_taxes_annual, p.listing_status, p.days_on_market,
+                   p.features, p.created_at, p.updated_at,
+                   a.investment_score, a.cash_flow_score, a.appreciation_score, a.risk_score, a.predicted_rent,
+                   a.predicted_appreciation, a.predicted_cash_flow, a.predicted_cap_rate, a.model_version,
+                   a.confidence_level, a.created_at AS prediction_created_at
+            FROM property_listings p
+            LEFT JOIN LATERAL (
+                SELECT * FROM ai_predictions ap
+                WHERE ap.property_id = p.id
+                ORDER BY ap.created_at DESC NULLS LAST, ap.id
+                LIMIT 1
+            ) a ON true
+            WHERE p.is_published = true""";
+
+    // The EXISTS guard turns a prediction for a deleted listing into a 0 count instead of an
+    // FK violation that would abort the whole batch
+    private static final String UPSERT_PREDICTION = """
+            INSERT INTO ai_predictions (property_id, investment_score, cash_flow_score, appreciation_score, risk_score,
+                                        predicted_rent, predicted_appreciation, predicted_cash_flow, predicted_cap_rate,
+                                        model_version, confidence_level, prediction_notes)
+            SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM property_listings WHERE id = ?)
+            ON CONFLICT ON CONSTRAINT unique_property_model DO UPDATE SET
+                investment_score = EXCLUDED.investment_score,
+                cash_flow_score = EXCLUDED.cash_flow_score,
+                appreciation_score = EXCLUDED.appreciation_score,
+                risk_score = EXCLUDED.risk_score,
+                predicted_rent = EXCLUDED.predicted_rent,
+                predicted_appreciation = EXCLUDED.predicted_appreciation,
+                predicted_cash_flow = EXCLUDED.predicted_cash_flow,
+                predicted_cap_rate = EXCLUDED.predicted_cap_rate,
+                confidence_level = EXCLUDED.confidence_level,
+                prediction_notes = EXCLUDED.prediction_notes,
+                created_at = CURRENT_TIMESTAMP""";
+
+    // The images CTEs see the listing as it was before this statement, so the DELETE only
+    // removes images from an earlier import and never the ones inserted here
+    private static final String UPSERT_FEED_LISTING = """
+            WITH listing AS (
+                INSERT INTO property_listings (title, street_number, street_name, city_name, state_name, zip_code,
+                                               latitude, longitude, bedrooms, bathrooms, sqft, year_built, property_type,
+                                               image_url, property_description, features, price, estimated_rent,
+                                               property_taxes_annual, is_published, listing_status, days_on_market)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (street_number, lower(street_name), lower(city_name), lower(state_name), coalesce(zip_code, ''))
+                DO UPDATE SET
+                    title = EXCLUDED.title,
+                    street_name = EXCLUDED.street_name,
+                    city_name = EXCLUDED.city_name,
+                    state_name = EXCLUDED.state_name,
+                    latitude = EXCLUDED.latitude,
+                    longitude = EXCLUDED.longitude,
+                    bedrooms = EXCLUDED.bedrooms,
+                    bathrooms = EXCLUDED.bathrooms,
+                    sqft = EXCLUDED.sqft,
+                    year_built = EXCLUDED.year_built,
+                    property_type = EXCLUDED.property_type,
+                    image_url = EXCLUDED.image_url,
+                    property_description = EXCLUDED.property_description,
+                    features = EXCLUDED.features,
+                    price = EXCLUDED.price,
+                    estimated_rent = EXCLUDED.estimated_rent,
+                    property_taxes_annual = EXCLUDED.property_taxes_annual,
+                    is_published = EXCLUDED.is_published,
+                    listing_status = EXCLUDED.listing_status,
+                    days_on_market = EXCLUDED.days_on_market
+                RETURNING id
+            ), replaced AS (
+                DELETE FROM property_images
+                WHERE property_id = (SELECT id FROM listing) AND ?::text[] IS NOT NULL
+            )
+            INSERT INTO property_images (property_id, image_url, is_primary)
+            SELECT listing.id, image.url, image.position = 1
+            FROM listing, unnest(?::text[]) WITH ORDINALITY AS image(url, position)""";
+
+    private static final String FIND_IDS_BY_ADDRESS = """
+            SELECT p.id FROM property_listings p
+            WHERE (p.street_number, lower(p.street_name), lower(p.city_name), lower(p.state_name), coalesce(p.zip_code, ''))
+                IN (SELECT a.street_number, lower(a.street_name), lower(a.city_name), lower(a.state_name), a.zip_code
+                    FROM unnest(?::int[], ?::text[], ?::text[], ?::text[], ?::text[])
+                        AS a(street_number, street_name, city_name, state_name, zip_code))""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PropertySummary> findSummaries(Collection<UUID> ids) {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM property_listings p"
+                + " WHERE p.id IN (:ids) AND p.is_published = true ORDER BY p.created_at DESC, p.id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), (rs, rowNum) -> toSummary(rs));
+    }
+
+    @Override
+    public Optional<PropertyDetails> findDetails(UUID id) {
+        List<PropertyDetails> rows = jdbcTemplate.query(FIND_DETAILS, new MapSqlParameterSource("id", id),
+                (rs, rowNum) -> toDetails(rs));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<ListingVersion> findListingVersion(UUID id) {
+        List<ListingVersion> rows = jdbcTemplate.query(FIND_LISTING_VERSION, new MapSqlParameterSource("id", id),
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    Timestamp predictionCreatedAt = rs.getTimestamp("prediction_created_at");
+                    Array imageIds = rs.getArray("image_ids");
+                    return new ListingVersion(
+                            id,
+                            updatedAt != null ? updatedAt.toInstant() : null,
+                            rs.getObject("prediction_id", UUID.class),
+                            predictionCreatedAt != null ? predictionCreatedAt.toInstant() : null,
+                            imageIds != null ? List.of((UUID[]) imageIds.getArray()) : List.of());
+                });
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public String summariesVersion(Collection<UUID> ids) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*), max(p.updated_at) FROM property_listings p WHERE p.id IN (:ids) AND p.is_published = true",
+                new MapSqlParameterSource("ids", ids),
+                (rs, rowNum) -> {
+                    Timestamp latest = rs.getTimestamp(2);
+                    return rs.getLong(1) + "@" + (latest != null ? latest.toInstant() : "");
+                });
+    }
+
+    @Override
+    public List<PropertySummary> search(PropertySearchCriteria criteria, PropertySearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS)
+                .append(" FROM property_listings p WHERE p.is_published = true");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        appendFilters(sql, params, criteria);
+
+        PropertySort sort = criteria.getSort();
+        switch (sort) {
+            case price_asc -> {
+                appendSeek(sql, params, after, "p.price", ">");
+                sql.append(" ORDER BY p.price ASC, p.id ASC");
+            }
+            case price_desc -> {
+                appendSeek(sql, params, after, "p.price", "<");
+                sql.append(" ORDER BY p.price DESC, p.id DESC");
+            }
+            case newest -> {
+                // Rows inserted with an explicit NULL created_at cannot be placed on this timeline
+                sql.append(" AND p.created_at IS NOT NULL");
+                appendSeek(sql, params, after, "p.created_at", "<");
+                sql.append(" ORDER BY p.created_at DESC, p.id DESC");
+            }
+        }
+
+        sql.append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> toSummary(rs));
+    }
+
+    @Override
+    public void streamListings(Instant updatedAfter, int fetchSize, ListingRowHandler handler) {
+        String sql = updatedAfter == null
+                ? STREAM_LISTINGS + " WHERE p.is_published = true"
+                : STREAM_LISTINGS + " WHERE p.updated_at > ?";
+
+        jdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (updatedAfter != null) {
+                        ps.setObject(1, OffsetDateTime.ofInstant(updatedAfter, ZoneOffset.UTC));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    handler.accept(
+                            toSummary(rs),
+                            rs.getBoolean("is_published"),
+                            updatedAt != null ? updatedAt.toInstant() : null);
+                });
+    }
+
+    @Override
+    public void streamListingText(Instant updatedAfter, int fetchSize, ListingTextHandler handler) {
+        String sql = updatedAfter == null
+                ? STREAM_LISTING_TEXT + " WHERE p.is_published = true"
+                : STREAM_LISTING_TEXT + " WHERE p.updated_at > ?";
+
+        jdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (updatedAfter != null) {
+                        ps.setObject(1, OffsetDateTime.ofInstant(updatedAfter, ZoneOffset.UTC));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> {
+                    Array features = rs.getArray("features");
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    handler.accept(
+                            rs.getObject("id", UUID.class),
+                            rs.getBoolean("is_published"),
+                            rs.getString("title"),
+                            rs.getString("property_description"),
+                            features != null ? (String[]) features.getArray() : null,
+                            updatedAt != null ? updatedAt.toInstant() : null);
+                });
+    }
+
+    @Override
+    public void streamListingFinancials(Instant updatedAfter, int fetchSize, ListingFinancialsHandler handler) {
+        String sql = updatedAfter == null
+                ? STREAM_LISTING_FINANCIALS + " WHERE p.is_published = true AND p.listing_status IS DISTINCT FROM 'sold'"
+                : STREAM_LISTING_FINANCIALS + " WHERE p.updated_at > ?";
+
+        jdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (updatedAfter != null) {
+                        ps.setObject(1, OffsetDateTime.ofInstant(updatedAfter, ZoneOffset.UTC));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    handler.accept(
+                            rs.getObject("id", UUID.class),
+                            rs.getBoolean("eligible"),
+                            rs.getBigDecimal("price"),
+                            rs.getBigDecimal("estimated_rent"),
+                            rs.getBigDecimal("property_taxes_annual"),
+                            rs.getObject("sqft", Integer.class),
+                            updatedAt != null ? updatedAt.toInstant() : null);
+                });
+    }
+
+    @Override
+    public void streamExport(PropertySearchCriteria criteria, int fetchSize, ExportRowHandler handler) {
+        StringBuilder sql = new StringBuilder(STREAM_EXPORT);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        appendFilters(sql, params, criteria);
+        sql.append(switch (criteria.getSort()) {
+            case price_asc -> " ORDER BY p.price ASC, p.id ASC";
+            case price_desc -> " ORDER BY p.price DESC, p.id DESC";
+            case newest -> " ORDER BY p.created_at DESC NULLS LAST, p.id DESC";
+        });
+
+        // The shared template has no fetch size; this one makes the driver use a cursor
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(fetchSize);
+        Object[] row = new Object[EXPORT_COLUMNS.size()];
+
+        new NamedParameterJdbcTemplate(cursor).query(sql.toString(), params, (RowCallbackHandler) rs -> {
+            for (int i = 0; i < row.length; i++) {
+                Object value = rs.getObject(i + 1);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toInstant();
+                } else if (value instanceof Array array) {
+                    value = array.getArray();
+                }
+                row[i] = value;
+            }
+            handler.accept(row);
+        });
+    }
+
+    @Override
+    public void streamLatestScores(Instant createdAfter, int fetchSize, PredictionScoreHandler handler) {
+        // Within the window the newest row per listing is also its newest overall, so the
+        // incremental form returns the same scores as a full read for the listings it covers
+        String sql = STREAM_LATEST_SCORES.formatted(createdAfter == null ? "" : " AND a.created_at > ?");
+
+        jdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (createdAfter != null) {
+                        ps.setObject(1, OffsetDateTime.ofInstant(createdAfter, ZoneOffset.UTC));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    handler.accept(
+                            rs.getObject("property_id", UUID.class),
+                            rs.getBigDecimal("investment_score"),
+                            rs.getBigDecimal("cash_flow_score"),
+                            rs.getBigDecimal("appreciation_score"),
+                            rs.getBigDecimal("risk_score"),
+                            createdAt != null ? createdAt.toInstant() : null);
+                });
+    }
+
+    @Override
+    public int[] upsertPredictions(List<AiPrediction> predictions) {
+        if (predictions.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(
+                UPSERT_PREDICTION,
+                predictions,
+                predictions.size(),
+                (ps, prediction) -> {
+                    ps.setObject(1, prediction.getPropertyId());
+                    ps.setObject(2, prediction.getInvestmentScore(), Types.NUMERIC);
+                    ps.setObject(3, prediction.getCashFlowScore(), Types.NUMERIC);
+                    ps.setObject(4, prediction.getAppreciationScore(), Types.NUMERIC);
+                    ps.setObject(5, prediction.getRiskScore(), Types.NUMERIC);
+                    ps.setObject(6, prediction.getPredictedRent(), Types.NUMERIC);
+                    ps.setObject(7, prediction.getPredictedAppreciation(), Types.NUMERIC);
+                    ps.setObject(8, prediction.getPredictedCashFlow(), Types.NUMERIC);
+                    ps.setObject(9, prediction.getPredictedCapRate(), Types.NUMERIC);
+                    ps.setString(10, prediction.getModelVersion());
+                    ps.setObject(11, prediction.getConfidenceLevel(), Types.NUMERIC);
+                    ps.setString(12, prediction.getPredictionNotes());
+                    ps.setObject(13, prediction.getPropertyId());
+                })[0];
+    }
+
+    @Override
+    public void upsertFeedListings(List<FeedListing> listings) {
+        if (listings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                UPSERT_FEED_LISTING,
+                listings,
+                listings.size(),
+                (ps, listing) -> {
+                    ps.setString(1, listing.getTitle());
+                    ps.setInt(2, listing.getStreetNumber());
+                    ps.setString(3, listing.getStreetName());
+                    ps.setString(4, listing.getCityName());
+                    ps.setString(5, listing.getStateName());
+                    ps.setString(6, listing.getZipCode());
+                    ps.setBigDecimal(7, listing.getLatitude());
+                    ps.setBigDecimal(8, listing.getLongitude());
+                    ps.setInt(9, listing.getBedrooms());
+                    ps.setInt(10, listing.getBathrooms());
+                    ps.setObject(11, listing.getSqft(), Types.INTEGER);
+                    ps.setObject(12, listing.getYearBuilt(), Types.INTEGER);
+                    ps.setString(13, listing.getPropertyType());
+                    ps.setString(14, listing.getImageUrl());
+                    ps.setString(15, listing.getPropertyDescription());
+                    ps.setArray(16, textArray(ps, listing.getFeatures()));
+                    ps.setBigDecimal(17, listing.getPrice());
+                    ps.setObject(18, listing.getEstimatedRent(), Types.NUMERIC);
+                    ps.setObject(19, listing.getPropertyTaxesAnnual(), Types.NUMERIC);
+                    ps.setBoolean(20, listing.getIsPublished());
+                    ps.setString(21, listing.getListingStatus());
+                    ps.setInt(22, listing.getDaysOnMarket());
+                    Array images = textArray(ps, listing.getImages());
+                    ps.setArray(23, images);
+                    ps.setArray(24, images);
+                });
+    }
+
+    @Override
+    public List<UUID> findIdsByAddress(Collection<FeedListing> listings) {
+        if (listings.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().query(FIND_IDS_BY_ADDRESS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("integer",
+                    listings.stream().map(FeedListing::getStreetNumber).toArray()));
+            ps.setArray(2, textArray(ps, listings.stream().map(FeedListing::getStreetName).toList()));
+            ps.setArray(3, textArray(ps, listings.stream().map(FeedListing::getCityName).toList()));
+            ps.setArray(4, textArray(ps, listings.stream().map(FeedListing::getStateName).toList()));
+            ps.setArray(5, textArray(ps, listings.stream()
+                    .map(listing -> listing.getZipCode() != null ? listing.getZipCode() : "").toList()));
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    private static Array textArray(PreparedStatement ps, List<String> values) throws SQLException {
+        return values == null ? null : ps.getConnection().createArrayOf("text", values.toArray());
+    }
+
+    private static void appendFilters(StringBuilder sql, MapSqlParameterSource params, PropertySearchCriteria criteria) {
+        if (criteria.getCityName() != null) {
+            sql.append(" AND p.city_name = :cityName");
+            params.addValue("cityName", criteria.getCityName());
+        }
+        if (criteria.getStateName() != null) {
+            sql.append(" AND p.state_name = :stateName");
+            params.addValue("stateName", criteria.getStateName());
+        }
+        if (criteria.getZipCode() != null) {
+            sql.append(" AND p.zip_code = :zipCode");
+            params.addValue("zipCode", criteria.getZipCode());
+        }
+        if (criteria.getPropertyTypes() != null && !criteria.getPropertyTypes().isEmpty()) {
+            sql.append(" AND p.property_type IN (:propertyTypes)");
+            params.addValue("propertyTypes", criteria.getPropertyTypes().stream().map(Enum::name).toList());
+        }
+        if (criteria.getListingStatuses() != null && !criteria.getListingStatuses().isEmpty()) {
+            sql.append(" AND p.listing_status IN (:listingStatuses)");
+            params.addValue("listingStatuses", criteria.getListingStatuses().stream().map(Enum::name).toList());
+        }
+        if (criteria.getMinPrice() != null) {
+            sql.append(" AND p.price >= :minPrice");
+            params.addValue("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            sql.append(" AND p.price <= :maxPrice");
+            params.addValue("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getMinBedrooms() != null) {
+            sql.append(" AND p.bedrooms >= :minBedrooms");
+            params.addValue("minBedrooms", criteria.getMinBedrooms());
+        }
+        if (criteria.getMinBathrooms() != null) {
+            sql.append(" AND p.bathrooms >= :minBathrooms");
+            params.addValue("minBathrooms", criteria.getMinBathrooms());
+        }
+        if (criteria.getMinSqft() != null) {
+            sql.append(" AND p.sqft >= :minSqft");
+            params.addValue("minSqft", criteria.getMinSqft());
+        }
+        if (criteria.getMaxSqft() != null) {
+            sql.append(" AND p.sqft <= :maxSqft");
+            params.addValue("maxSqft", criteria.getMaxSqft());
+        }
+        if (criteria.getMinInvestmentScore() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM ai_predictions a WHERE a.property_id = p.id AND a.investment_score >= :minInvestmentScore)");
+            params.addValue("minInvestmentScore", criteria.getMinInvestmentScore());
+        }
+    }
+
+    private static void appendSeek(StringBuilder sql, MapSqlParameterSource params, PropertySearchCursor after,
+                                   String sortColumn, String direction) {
+        if (after == null) {
+            return;
+        }
+        // Row comparison resumes after the (sort key, id) pair and is answered from the index
+        sql.append(" AND (").append(sortColumn).append(", p.id) ").append(direction).append(" (:afterKey, :afterId)");
+        Object sortKey = after.sortKey() instanceof Instant instant
+                ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC)
+                : after.sortKey();
+        params.addValue("afterKey", sortKey);
+        params.addValue("afterId", after.id());
+    }
+
+    private static PropertyDetails toDetails(ResultSet rs) throws SQLException {
+        UUID id = rs.getObject("id", UUID.class);
+        Array features = rs.getArray("features");
+
+        return PropertyDetails.builder()
+                .id(id)
+                .title(rs.getString("title"))
+                .streetNumber(rs.getInt("street_number"))
+                .streetName(rs.getString("street_name"))
+                .cityName(rs.getString("city_name"))
+                .stateName(rs.getString("state_name"))
+                .zipCode(rs.getString("zip_code"))
+                .latitude(rs.getBigDecimal("latitude"))
+                .longitude(rs.getBigDecimal("longitude"))
+                .bedrooms(rs.getInt("bedrooms"))
+                .bathrooms(rs.getInt("bathrooms"))
+                .sqft(rs.getObject("sqft", Integer.class))
+                .yearBuilt(rs.getObject("year_built", Integer.class))
+                .propertyType(rs.getString("property_type"))
+                .imageUrl(rs.getString("image_url"))
+                .propertyDescription(rs.getString("property_description"))
+                .features(features != null ? List.of((String[]) features.getArray()) : List.of())
+                .price(rs.getBigDecimal("price"))
+                .estimatedRent(rs.getBigDecimal("estimated_rent"))
+                .propertyTaxesAnnual(rs.getBigDecimal("property_taxes_annual"))
+                .isPublished(rs.getBoolean("is_published"))
+                .listingStatus(rs.getString("listing_status"))
+                .daysOnMarket(rs.getInt("days_on_market"))
+                .createdBy(rs.getObject("created_by", UUID.class))
+                .createdAt(toZoned(rs.getTimestamp("created_at")))
+                .updatedAt(toZoned(rs.getTimestamp("updated_at")))
+                .aiPredictions(toPrediction(rs, id))
+                .propertyImages(toImages(rs, id))
+                .build();
+    }
+
+    private static AiPrediction toPrediction(ResultSet rs, UUID propertyId) throws SQLException {
+        UUID predictionId = rs.getObject("prediction_id", UUID.class);
+        if (predictionId == null) {
+            return null;
+        }
+        return AiPrediction.builder()
+                .id(predictionId)
+                .propertyId(propertyId)
+                .investmentScore(rs.getBigDecimal("investment_score"))
+                .cashFlowScore(rs.getBigDecimal("cash_flow_score"))
+                .appreciationScore(rs.getBigDecimal("appreciation_score"))
+                .riskScore(rs.getBigDecimal("risk_score"))
+                .predictedRent(rs.getBigDecimal("predicted_rent"))
+                .predictedAppreciation(rs.getBigDecimal("predicted_appreciation"))
+                .predictedCashFlow(rs.getBigDecimal("predicted_cash_flow"))
+                .predictedCapRate(rs.getBigDecimal("predicted_cap_rate"))
+                .modelVersion(rs.getString("model_version"))
+                .confidenceLevel(rs.getBigDecimal("confidence_level"))
+                .predictionNotes(rs.getString("prediction_notes"))
+                .createdAt(toZoned(rs.getTimestamp("prediction_created_at")))
+                .build();
+    }
+
+    private static List<PropertyImage> toImages(ResultSet rs, UUID propertyId) throws SQLException {
+        Array ids = rs.getArray("image_ids");
+        if (ids == null) {
+            return List.of();
+        }
+        UUID[] imageIds = (UUID[]) ids.getArray();
+        String[] urls = (String[]) rs.getArray("image_urls").getArray();
+        Boolean[] primary = (Boolean[]) rs.getArray("image_primary").getArray();
+        Timestamp[] uploadedAt = (Timestamp[]) rs.getArray("image_uploaded_at").getArray();
+
+        List<PropertyImage> images = new ArrayList<>(imageIds.length);
+        for (int i = 0; i < imageIds.length; i++) {
+            images.add(PropertyImage.builder()
+                    .id(imageIds[i])
+                    .propertyId(propertyId)
+                    .imageUrl(urls[i])
+                    .isPrimary(Boolean.TRUE.equals(primary[i]))
+                    .uploadedAt(toZoned(uploadedAt[i]))
+                    .build());
+        }
+        return images;
+    }
+
+    private static ZonedDateTime toZoned(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant().atZone(ZoneOffset.UTC) : null;
+    }
+
+    private static PropertySummary toSummary(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return PropertySummary.builder()
+                .id(rs.getObject("id", UUID.class))
+                .title(rs.getString("title"))
+                .streetNumber(rs.getInt("street_number"))
+                .streetName(rs.getString("street_name"))
+                .cityName(rs.getString("city_name"))
+                .stateName(rs.getString("state_name"))
+                .zipCode(rs.getString("zip_code"))
+                .latitude(rs.getBigDecimal("latitude"))
+                .longitude(rs.getBigDecimal("longitude"))
+                .bedrooms(rs.getInt("bedrooms"))
+                .bathrooms(rs.getInt("bathrooms"))
+                .sqft(rs.getObject("sqft", Integer.class))
+                .propertyType(rs.getString("property_type"))
+                .imageUrl(rs.getString("image_url"))
+                .price(rs.getBigDecimal("price"))
+                .estimatedRent(rs.getBigDecimal("estimated_rent"))
+                .listingStatus(rs.getString("listing_status"))
+                .daysOnMarket(rs.getInt("days_on_market"))
+                .createdAt(createdAt != null ? createdAt.toInstant().atZone(ZoneOffset.UTC) : null)
+                .build();
+    }
+}
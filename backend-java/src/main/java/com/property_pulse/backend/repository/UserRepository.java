@@ -1,16 +1,34 @@
 package com.property_pulse.backend.repository;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.property_pulse.backend.Model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select u.id as id, u.securityVersion as securityVersion from User u where u.securityVersion > 0")
+    List<SecurityVersionView> findBumpedSecurityVersions();
+
+    /**
+     * The user's updated_at without loading the entity; empty for an unknown id.
+     */
+    @Query("select u.updatedAt from User u where u.id = :id")
+    Optional<ZonedDateTime> findUpdatedAtById(UUID id);
+
+    interface SecurityVersionView {
+        UUID getId();
+
+        int getSecurityVersion();
+    }
+}
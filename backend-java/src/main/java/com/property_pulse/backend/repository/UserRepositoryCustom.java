@@ -0,0 +1,24 @@
+package com.property_pulse.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.property_pulse.backend.Model.User;
+
+/**
+ * Plain JDBC writes that need Postgres' ON CONFLICT, which JPA can't express.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts the user in a single round trip. Empty when the email is already taken.
+     */
+    Optional<User> insertIfEmailAbsent(User user);
+
+    /**
+     * Batch-inserts users, silently skipping emails that already exist.
+     *
+     * @return per-row update counts (1 inserted, 0 skipped, or Statement.SUCCESS_NO_INFO)
+     */
+    int[] batchInsertIgnoringConflicts(List<User> users);
+}
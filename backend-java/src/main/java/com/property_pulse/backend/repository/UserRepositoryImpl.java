@@ -0,0 +1,70 @@
+package com.property_pulse.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.property_pulse.backend.Model.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Spring Data picks this up as the implementation of {@link UserRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (first_name, last_name, email, phone, password_hash, is_active, role)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<User> insertIfEmailAbsent(User user) {
+        List<User> inserted = jdbcTemplate.query(
+                INSERT_USER + " RETURNING id, created_at",
+                (rs, rowNum) -> {
+                    user.setId(rs.getObject("id", UUID.class));
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    if (createdAt != null) {
+                        user.setCreatedAt(createdAt.toInstant().atZone(ZoneOffset.UTC));
+                    }
+                    return user;
+                },
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getPassword(),
+                user.isActive(),
+                user.getRole().name());
+
+        return inserted.stream().findFirst();
+    }
+
+    @Override
+    public int[] batchInsertIgnoringConflicts(List<User> users) {
+        if (users.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(
+                INSERT_USER,
+                users,
+                users.size(),
+                (ps, user) -> {
+                    ps.setString(1, user.getFirstName());
+                    ps.setString(2, user.getLastName());
+                    ps.setString(3, user.getEmail());
+                    ps.setString(4, user.getPhone());
+                    ps.setString(5, user.getPassword());
+                    ps.setBoolean(6, user.isActive());
+                    ps.setString(7, user.getRole().name());
+                })[0];
+    }
+}
@@ -0,0 +1,68 @@
+package com.property_pulse.backend.search;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * updated_at of the rows an in-memory view applied within its refresh overlap. An incremental
+ * refresh reads every row newer than watermark - overlap, so the newest rows come back each
+ * time; those already applied at the same updated_at are skipped, and a refresh that found
+ * nothing new leaves the view (and its snapshot) untouched.
+ *
+ * Only rows inside the overlap are kept, so the map stays the size of one refresh window.
+ * After a restart from a snapshot it starts empty and the first refresh re-applies the window once.
+ *
+ * Not thread-safe; used by the refresh thread only.
+ */
+public final class AppliedVersions {
+
+    private static final int MIN_PRUNE_SIZE = 1024;
+
+    private final Duration overlap;
+    private final Map<UUID, Instant> applied = new HashMap<>();
+    private Instant newest = Instant.EPOCH;
+    private int pruneAt = MIN_PRUNE_SIZE;
+
+    public AppliedVersions(Duration overlap) {
+        this.overlap = overlap;
+    }
+
+    /**
+     * True when this row version, or a later one, was already applied.
+     */
+    public boolean isApplied(UUID id, Instant updatedAt) {
+        Instant previous = applied.get(id);
+        return previous != null && updatedAt != null && !updatedAt.isAfter(previous);
+    }
+
+    public void record(UUID id, Instant updatedAt) {
+        if (updatedAt == null) {
+            return;
+        }
+        if (updatedAt.isAfter(newest)) {
+            newest = updatedAt;
+        }
+        if (updatedAt.isAfter(newest.minus(overlap))) {
+            applied.put(id, updatedAt);
+        }
+        if (applied.size() >= pruneAt) {
+            // Rows at or before newest - overlap are never read back
+            Instant horizon = newest.minus(overlap);
+            applied.values().removeIf(at -> !at.isAfter(horizon));
+            pruneAt = Math.max(MIN_PRUNE_SIZE, applied.size() * 2);
+        }
+    }
+
+    public void clear() {
+        applied.clear();
+        newest = Instant.EPOCH;
+        pruneAt = MIN_PRUNE_SIZE;
+    }
+
+    int size() {
+        return applied.size();
+    }
+}
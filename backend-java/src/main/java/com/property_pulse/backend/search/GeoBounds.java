@@ -0,0 +1,75 @@
+package com.property_pulse.backend.search;
+
+/**
+ * Map viewport in degrees. minLongitude greater than maxLongitude means the box crosses the antimeridian.
+ */
+public record GeoBounds(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    private static final double EARTH_RADIUS_MILES = 3958.8;
+    private static final double MILES_PER_DEGREE_LATITUDE = 69.0;
+
+    public GeoBounds {
+        if (minLatitude < -90 || maxLatitude > 90 || minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Latitudes must be within [-90, 90] with min_lat <= max_lat");
+        }
+        if (minLongitude < -180 || minLongitude > 180 || maxLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException("Longitudes must be within [-180, 180]");
+        }
+    }
+
+    /**
+     * Smallest box containing the circle, clamped at the poles.
+     */
+    public static GeoBounds around(double latitude, double longitude, double radiusMiles) {
+        double latitudeDelta = radiusMiles / MILES_PER_DEGREE_LATITUDE;
+        double cosine = Math.cos(Math.toRadians(latitude));
+        double longitudeDelta = cosine < 1e-6 ? 180 : radiusMiles / (MILES_PER_DEGREE_LATITUDE * cosine);
+
+        double minLatitude = Math.max(-90, latitude - latitudeDelta);
+        double maxLatitude = Math.min(90, latitude + latitudeDelta);
+        if (longitudeDelta >= 180 || minLatitude == -90 || maxLatitude == 90) {
+            return new GeoBounds(minLatitude, -180, maxLatitude, 180);
+        }
+        return new GeoBounds(minLatitude, wrap(longitude - longitudeDelta), maxLatitude, wrap(longitude + longitudeDelta));
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return minLongitude <= maxLongitude
+                ? longitude >= minLongitude && longitude <= maxLongitude
+                : longitude >= minLongitude || longitude <= maxLongitude;
+    }
+
+    public double centerLatitude() {
+        return (minLatitude + maxLatitude) / 2;
+    }
+
+    public double centerLongitude() {
+        double width = minLongitude <= maxLongitude ? maxLongitude - minLongitude : maxLongitude + 360 - minLongitude;
+        return wrap(minLongitude + width / 2);
+    }
+
+    /**
+     * Great-circle (haversine) distance in miles.
+     */
+    public static double distanceMiles(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,121 @@
+package com.property_pulse.backend.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform latitude/longitude grid over listing slots. Each occupied cell holds the slots
+ * whose coordinates fall inside it; empty cells cost nothing.
+ *
+ * A box query visits only the cells the box overlaps, or every occupied cell when that is
+ * fewer (continent-sized viewports, boxes crossing the antimeridian). Callers still test
+ * the exact coordinates, a cell only narrows the candidates.
+ */
+final class GeoGrid {
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    void add(int slot, double latitude, double longitude) {
+        cells.computeIfAbsent(key(latitude, longitude), k -> new Cell()).add(slot);
+    }
+
+    void remove(int slot, double latitude, double longitude) {
+        long key = key(latitude, longitude);
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(slot) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Feeds every slot in a cell overlapping the box to the consumer. Longitudes may wrap
+     * (minLongitude greater than maxLongitude).
+     */
+    void forEachCandidate(GeoBounds bounds, IntConsumer consumer) {
+        int minRow = row(bounds.minLatitude());
+        int maxRow = row(bounds.maxLatitude());
+        boolean wraps = bounds.minLongitude() > bounds.maxLongitude();
+        int minColumn = column(bounds.minLongitude());
+        int maxColumn = column(bounds.maxLongitude());
+        long boxCells = wraps ? Long.MAX_VALUE : (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+
+        if (boxCells > cells.size()) {
+            cells.forEach((key, cell) -> {
+                int row = (int) (key >> 32);
+                int column = (int) (long) key;
+                boolean inColumns = wraps
+                        ? column >= minColumn || column <= maxColumn
+                        : column >= minColumn && column <= maxColumn;
+                if (row >= minRow && row <= maxRow && inColumns) {
+                    cell.forEach(consumer);
+                }
+            });
+            return;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Cell cell = cells.get(key(row, column));
+                if (cell != null) {
+                    cell.forEach(consumer);
+                }
+            }
+        }
+    }
+
+    int occupiedCells() {
+        return cells.size();
+    }
+
+    private long key(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private static final class Cell {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(slots[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.property_pulse.backend.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over listing title, features and description, ranked with BM25.
+ *
+ * The three fields are folded into one weighted term frequency per listing (a title hit
+ * counts {@value #TITLE_WEIGHT}x, a feature {@value #FEATURE_WEIGHT}x), which is the usual
+ * simplification of BM25F. Terms live in a sorted map so a prefix query is a range scan.
+ * Postings are unsorted and removal is a swap with the last entry, so an update costs the
+ * listing's own terms, not a rebuild.
+ *
+ * Not thread-safe; {@link PropertyTextIndex} guards it with a read/write lock.
+ */
+final class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int FEATURE_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // "PPTI" + format version, checked when a snapshot is read back
+    private static final int MAGIC = 0x50505449;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Postings[] NO_POSTINGS = new Postings[0];
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+
+    private long[] idMsb;
+    private long[] idLsb;
+    private int[] docLength;
+    private Postings[][] docPostings;
+    private int highWater;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private long totalLength;
+
+    InvertedIndex(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        idMsb = new long[capacity];
+        idLsb = new long[capacity];
+        docLength = new int[capacity];
+        docPostings = new Postings[capacity][];
+    }
+
+    record Hit(UUID id, double score) {
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    boolean contains(UUID id) {
+        return slotById.containsKey(id);
+    }
+
+    /**
+     * Weighted term frequencies for one listing. Pure, so callers can tokenize outside any lock.
+     */
+    static Map<String, int[]> analyze(String title, String description, String[] features) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        addField(frequencies, title, TITLE_WEIGHT);
+        addField(frequencies, description, DESCRIPTION_WEIGHT);
+        if (features != null) {
+            for (String feature : features) {
+                addField(frequencies, feature, FEATURE_WEIGHT);
+            }
+        }
+        return frequencies;
+    }
+
+    void upsert(UUID id, String title, String description, String[] features) {
+        upsert(id, analyze(title, description, features));
+    }
+
+    /**
+     * Indexes (or re-indexes) a listing. A listing with no indexable text is simply absent.
+     */
+    void upsert(UUID id, Map<String, int[]> frequencies) {
+        remove(id);
+        if (frequencies.isEmpty()) {
+            return;
+        }
+
+        int slot = allocateSlot();
+        Postings[] postings = new Postings[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            int frequency = entry.getValue()[0];
+            Postings list = terms.computeIfAbsent(entry.getKey(), Postings::new);
+            list.add(slot, frequency);
+            postings[i++] = list;
+            length += frequency;
+        }
+
+        idMsb[slot] = id.getMostSignificantBits();
+        idLsb[slot] = id.getLeastSignificantBits();
+        docLength[slot] = length;
+        docPostings[slot] = postings;
+        totalLength += length;
+        slotById.put(id, slot);
+    }
+
+    void remove(UUID id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (Postings list : docPostings[slot]) {
+            list.remove(slot);
+            if (list.size == 0) {
+                terms.remove(list.term);
+            }
+        }
+        totalLength -= docLength[slot];
+        docPostings[slot] = null;
+        docLength[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Listings containing every term, and, when prefix is non-null, at least one term starting
+     * with it (the word still being typed). Best BM25 score first; accept filters before ranking.
+     */
+    List<Hit> search(List<String> queryTerms, String prefix, Predicate<UUID> accept, int limit) {
+        List<Postings[]> groups = new ArrayList<>();
+        for (String term : queryTerms) {
+            Postings list = terms.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            groups.add(new Postings[] {list});
+        }
+        if (prefix != null) {
+            Postings[] expansions = expand(prefix);
+            if (expansions.length == 0) {
+                return List.of();
+            }
+            groups.add(expansions);
+        }
+        if (groups.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Rarest group first: it bounds the candidate set every later group can only shrink
+        groups.sort(Comparator.comparingLong(InvertedIndex::documentFrequency));
+
+        double averageLength = (double) totalLength / Math.max(1, size());
+        float[] scores = new float[highWater];
+        short[] matchedGroups = new short[highWater];
+        int[] candidates = new int[0];
+        int candidateCount = 0;
+
+        for (int g = 0; g < groups.size(); g++) {
+            for (Postings list : groups.get(g)) {
+                double idf = Math.log(1 + (size() - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.docs[i];
+                    if (matchedGroups[slot] == g) {
+                        // First term of this group seen for the listing
+                        matchedGroups[slot] = (short) (g + 1);
+                        if (g == 0) {
+                            if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, Math.max(16, candidateCount * 2));
+                            }
+                            candidates[candidateCount++] = slot;
+                        }
+                    } else if (matchedGroups[slot] != g + 1) {
+                        continue;
+                    }
+                    double tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * docLength[slot] / averageLength);
+                    scores[slot] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = candidates[i];
+            if (matchedGroups[slot] != groups.size()) {
+                continue;
+            }
+            if (best.size() == limit && scores[slot] <= best.peek().score()) {
+                continue;
+            }
+            UUID id = new UUID(idMsb[slot], idLsb[slot]);
+            if (!accept.test(id)) {
+                continue;
+            }
+            if (best.size() == limit) {
+                best.poll();
+            }
+            best.add(new Hit(id, scores[slot]));
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    /**
+     * Writes the live listings and postings: front-coded sorted terms, varint doc deltas and
+     * frequencies, listing slots renumbered densely. Typically a few bytes per posting.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        int[] ordinal = new int[highWater];
+        Arrays.fill(ordinal, -1);
+        int next = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (docPostings[slot] != null) {
+                ordinal[slot] = next++;
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeVarInt(out, next);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (docPostings[slot] != null) {
+                out.writeLong(idMsb[slot]);
+                out.writeLong(idLsb[slot]);
+                writeVarInt(out, docLength[slot]);
+            }
+        }
+
+        writeVarInt(out, terms.size());
+        byte[] previous = new byte[0];
+        for (Postings list : terms.values()) {
+            byte[] term = list.term.getBytes(StandardCharsets.UTF_8);
+            int shared = 0;
+            while (shared < previous.length && shared < term.length && previous[shared] == term[shared]) {
+                shared++;
+            }
+            writeVarInt(out, shared);
+            writeVarInt(out, term.length - shared);
+            out.write(term, shared, term.length - shared);
+            previous = term;
+
+            long[] entries = new long[list.size];
+            for (int i = 0; i < list.size; i++) {
+                entries[i] = ((long) ordinal[list.docs[i]] << 32) | list.frequencies[i];
+            }
+            Arrays.sort(entries);
+            writeVarInt(out, list.size);
+            int last = 0;
+            for (long entry : entries) {
+                int doc = (int) (entry >>> 32);
+                writeVarInt(out, doc - last);
+                writeVarInt(out, (int) entry);
+                last = doc;
+            }
+        }
+    }
+
+    static InvertedIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported text index snapshot format");
+        }
+
+        int documents = readVarInt(in);
+        InvertedIndex index = new InvertedIndex(documents);
+        int[] termsPerDoc = new int[documents];
+        for (int slot = 0; slot < documents; slot++) {
+            index.idMsb[slot] = in.readLong();
+            index.idLsb[slot] = in.readLong();
+            index.docLength[slot] = readVarInt(in);
+            index.docPostings[slot] = NO_POSTINGS;
+            index.totalLength += index.docLength[slot];
+            index.slotById.put(new UUID(index.idMsb[slot], index.idLsb[slot]), slot);
+        }
+        index.highWater = documents;
+
+        int termCount = readVarInt(in);
+        byte[] previous = new byte[0];
+        for (int t = 0; t < termCount; t++) {
+            int shared = readVarInt(in);
+            int suffix = readVarInt(in);
+            byte[] term = Arrays.copyOf(previous, shared + suffix);
+            in.readFully(term, shared, suffix);
+            previous = term;
+
+            Postings list = new Postings(new String(term, StandardCharsets.UTF_8));
+            int size = readVarInt(in);
+            int doc = 0;
+            for (int i = 0; i < size; i++) {
+                doc += readVarInt(in);
+                list.add(doc, readVarInt(in));
+
+                Postings[] docTerms = index.docPostings[doc];
+                if (termsPerDoc[doc] == docTerms.length) {
+                    docTerms = Arrays.copyOf(docTerms, Math.max(8, docTerms.length * 2));
+                    index.docPostings[doc] = docTerms;
+                }
+                docTerms[termsPerDoc[doc]++] = list;
+            }
+            index.terms.put(list.term, list);
+        }
+
+        for (int slot = 0; slot < documents; slot++) {
+            index.docPostings[slot] = Arrays.copyOf(index.docPostings[slot], termsPerDoc[slot]);
+        }
+        return index;
+    }
+
+    private Postings[] expand(String prefix) {
+        List<Postings> matches = new ArrayList<>();
+        // The stem of a completed word can be shorter than the word itself ("pools" -> "pool")
+        Postings stemmed = terms.get(TextAnalyzer.stem(prefix));
+        if (stemmed != null) {
+            matches.add(stemmed);
+        }
+        for (Postings list : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (list != stemmed) {
+                matches.add(list);
+            }
+        }
+        if (matches.size() > MAX_PREFIX_EXPANSIONS) {
+            // Short prefixes: keep the commonest completions, the rest barely move the ranking
+            matches.sort(Comparator.comparingInt((Postings list) -> list.size).reversed());
+            matches = matches.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        return matches.toArray(NO_POSTINGS);
+    }
+
+    private static long documentFrequency(Postings[] group) {
+        long total = 0;
+        for (Postings list : group) {
+            total += list.size;
+        }
+        return total;
+    }
+
+    private static void addField(Map<String, int[]> frequencies, String text, int weight) {
+        for (String term : TextAnalyzer.terms(text)) {
+            frequencies.computeIfAbsent(term, k -> new int[1])[0] += weight;
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == idMsb.length) {
+            int capacity = idMsb.length * 2;
+            idMsb = Arrays.copyOf(idMsb, capacity);
+            idLsb = Arrays.copyOf(idLsb, capacity);
+            docLength = Arrays.copyOf(docLength, capacity);
+            docPostings = Arrays.copyOf(docPostings, capacity);
+        }
+        return highWater++;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in text index snapshot");
+    }
+
+    private static final class Postings {
+
+        private final String term;
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int slot, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == slot) {
+                    size--;
+                    docs[i] = docs[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
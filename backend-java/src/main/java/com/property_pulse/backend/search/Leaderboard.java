@@ -0,0 +1,99 @@
+package com.property_pulse.backend.search;
+
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Best-ranked listings of one segment for one score, kept exact under inserts, updates and removals.
+ *
+ * The board holds up to {@code capacity} entries (more than the {@code size} it serves) and
+ * remembers the best-ranked entry it ever left out as {@code floor}. Every entry on the board
+ * ranks ahead of everything left out, so the first {@code size} entries are the true top. An
+ * update that falls behind the floor leaves the board; once removals shrink it below
+ * {@code size} the owner refills it from a full scan of the segment, which the slack makes rare.
+ *
+ * Not thread-safe for writes. Readers only touch the array swapped in by {@link #publish}.
+ */
+final class Leaderboard {
+
+    /**
+     * A listing's position: lower key ranks first, ties broken by id.
+     */
+    record Ranked(double key, UUID id) implements Comparable<Ranked> {
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byKey = Double.compare(key, other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+
+    private static final Ranked[] EMPTY = new Ranked[0];
+
+    private final int size;
+    private final int capacity;
+    private final TreeSet<Ranked> entries = new TreeSet<>();
+
+    // Best-ranked entry left out since the last refill; null while the board holds the whole segment
+    private Ranked floor;
+
+    private volatile Ranked[] top = EMPTY;
+
+    Leaderboard(int size, int capacity) {
+        this.size = size;
+        this.capacity = Math.max(size, capacity);
+    }
+
+    void offer(Ranked entry) {
+        if (floor != null && entry.compareTo(floor) > 0) {
+            // Something left out may rank ahead of it, so it cannot be placed exactly
+            return;
+        }
+        entries.add(entry);
+        if (entries.size() > capacity) {
+            Ranked evicted = entries.pollLast();
+            if (floor == null || evicted.compareTo(floor) < 0) {
+                floor = evicted;
+            }
+        }
+    }
+
+    void remove(Ranked entry) {
+        entries.remove(entry);
+    }
+
+    /**
+     * True when removals left fewer than {@code size} entries and the segment has listings the board does not hold.
+     */
+    boolean needsRefill() {
+        return floor != null && entries.size() < size;
+    }
+
+    /**
+     * Forgets everything; the caller offers the whole segment again.
+     */
+    void clear() {
+        entries.clear();
+        floor = null;
+    }
+
+    void publish() {
+        int count = Math.min(size, entries.size());
+        Ranked[] view = new Ranked[count];
+        int i = 0;
+        for (Ranked entry : entries) {
+            if (i == count) {
+                break;
+            }
+            view[i++] = entry;
+        }
+        top = view;
+    }
+
+    /**
+     * The published top, best first. Never modified after publication.
+     */
+    Ranked[] top() {
+        return top;
+    }
+}
@@ -0,0 +1,203 @@
+package com.property_pulse.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.search.Leaderboard.Ranked;
+
+/**
+ * Every leaderboard: one {@link Leaderboard} per (segment, score), where a segment is a market
+ * (state, state + city) optionally narrowed to a property type, or the whole country.
+ *
+ * Listing eligibility and latest scores arrive separately and in any order; a listing is
+ * ranked once it has both, and each change only touches the boards of its own segments.
+ * Writes must come from one thread at a time and end with {@link #publish}; reads of
+ * published boards are safe from any thread.
+ */
+final class LeaderboardSet {
+
+    /**
+     * Where a listing competes. Null fields are wildcards; a city is only ranked within its state.
+     */
+    record Segment(String stateName, String cityName, String propertyType) {
+
+        static final Segment ALL = new Segment(null, null, null);
+
+        boolean contains(Market market) {
+            return (stateName == null || stateName.equals(market.stateName()))
+                    && (cityName == null || cityName.equals(market.cityName()))
+                    && (propertyType == null || propertyType.equals(market.propertyType()));
+        }
+    }
+
+    /**
+     * An eligible listing's location and type.
+     */
+    record Market(String stateName, String cityName, String propertyType) {
+
+        List<Segment> segments() {
+            List<Segment> segments = new ArrayList<>(6);
+            segments.add(Segment.ALL);
+            if (propertyType != null) {
+                segments.add(new Segment(null, null, propertyType));
+            }
+            if (stateName != null) {
+                segments.add(new Segment(stateName, null, null));
+                if (propertyType != null) {
+                    segments.add(new Segment(stateName, null, propertyType));
+                }
+                if (cityName != null) {
+                    segments.add(new Segment(stateName, cityName, null));
+                    if (propertyType != null) {
+                        segments.add(new Segment(stateName, cityName, propertyType));
+                    }
+                }
+            }
+            return segments;
+        }
+    }
+
+    private record BoardKey(Segment segment, LeaderboardScore score) {
+    }
+
+    private static final LeaderboardScore[] SCORES = LeaderboardScore.values();
+
+    private final int size;
+    private final int capacity;
+    private final Map<UUID, Market> markets = new HashMap<>();
+    private final Map<UUID, double[]> scores = new HashMap<>();
+    private final Map<BoardKey, Leaderboard> boards = new ConcurrentHashMap<>();
+    private final Set<BoardKey> dirty = new HashSet<>();
+
+    LeaderboardSet(int size, int capacity) {
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets where the listing competes, or takes it off every board when market is null
+     * (unpublished, sold or deleted).
+     */
+    void updateListing(UUID id, Market market) {
+        Market previous = market == null ? markets.remove(id) : markets.put(id, market);
+        if (Objects.equals(previous, market)) {
+            return;
+        }
+        double[] values = scores.get(id);
+        unrank(id, previous, values);
+        rank(id, market, values);
+    }
+
+    /**
+     * Sets the listing's latest scores, indexed by {@link LeaderboardScore#ordinal()} with NaN
+     * for a missing score, or clears them when values is null.
+     */
+    void updateScores(UUID id, double[] values) {
+        double[] previous = values == null ? scores.remove(id) : scores.put(id, values);
+        if (Arrays.equals(previous, values)) {
+            return;
+        }
+        Market market = markets.get(id);
+        unrank(id, market, previous);
+        rank(id, market, values);
+    }
+
+    /**
+     * Refills boards that removals left short and makes every change since the last call visible to readers.
+     */
+    void publish() {
+        for (BoardKey key : dirty) {
+            Leaderboard board = boards.get(key);
+            if (board.needsRefill()) {
+                refill(key, board);
+            }
+            board.publish();
+        }
+        dirty.clear();
+    }
+
+    /**
+     * The segment's published top for the score, best first; empty for an unknown segment.
+     */
+    Ranked[] top(Segment segment, LeaderboardScore score) {
+        Leaderboard board = boards.get(new BoardKey(segment, score));
+        return board == null ? new Ranked[0] : board.top();
+    }
+
+    /**
+     * Turns a ranking key back into the score it was made from.
+     */
+    static double scoreOf(Ranked entry, LeaderboardScore score) {
+        return score.lowestFirst() ? entry.key() : -entry.key();
+    }
+
+    boolean hasListing(UUID id) {
+        return markets.containsKey(id);
+    }
+
+    int rankedListings() {
+        int ranked = 0;
+        for (UUID id : markets.keySet()) {
+            if (scores.containsKey(id)) {
+                ranked++;
+            }
+        }
+        return ranked;
+    }
+
+    private void rank(UUID id, Market market, double[] values) {
+        if (market == null || values == null) {
+            return;
+        }
+        for (Segment segment : market.segments()) {
+            for (LeaderboardScore score : SCORES) {
+                double value = values[score.ordinal()];
+                if (!Double.isNaN(value)) {
+                    BoardKey key = new BoardKey(segment, score);
+                    boards.computeIfAbsent(key, k -> new Leaderboard(size, capacity)).offer(ranked(id, score, value));
+                    dirty.add(key);
+                }
+            }
+        }
+    }
+
+    private void unrank(UUID id, Market market, double[] values) {
+        if (market == null || values == null) {
+            return;
+        }
+        for (Segment segment : market.segments()) {
+            for (LeaderboardScore score : SCORES) {
+                double value = values[score.ordinal()];
+                BoardKey key = new BoardKey(segment, score);
+                Leaderboard board = boards.get(key);
+                if (!Double.isNaN(value) && board != null) {
+                    board.remove(ranked(id, score, value));
+                    dirty.add(key);
+                }
+            }
+        }
+    }
+
+    private void refill(BoardKey key, Leaderboard board) {
+        board.clear();
+        markets.forEach((id, market) -> {
+            double[] values = scores.get(id);
+            if (values != null && !Double.isNaN(values[key.score().ordinal()]) && key.segment().contains(market)) {
+                board.offer(ranked(id, key.score(), values[key.score().ordinal()]));
+            }
+        });
+    }
+
+    private static Ranked ranked(UUID id, LeaderboardScore score, double value) {
+        return new Ranked(score.lowestFirst() ? value : -value, id);
+    }
+}
@@ -0,0 +1,588 @@
+package com.property_pulse.backend.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.MapCluster;
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+
+/**
+ * Column store of published listings: one primitive array per filter column, indexed by slot,
+ * plus one bitmap per property_type and listing_status value.
+ *
+ * Coordinates are also bucketed in a {@link GeoGrid} for viewport and radius queries.
+ *
+ * Queries walk a presorted slot order (price or newest) from the cursor position and stop
+ * after {@code limit} matches, so a page costs the same wherever it starts. Ordering matches
+ * the database path exactly, including Postgres' unsigned uuid tie-breaker, so cursors are
+ * interchangeable between the two.
+ *
+ * Not thread-safe; {@link PropertySearchIndex} guards it with a read/write lock.
+ */
+final class ListingColumns {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+
+    private int capacity;
+    private int slots;
+
+    private long[] idMsb;
+    private long[] idLsb;
+    private long[] priceCents;
+    private long[] createdMicros;
+    // updated_at of the row version held, so a refresh can skip rows it already applied
+    private long[] updatedMicros;
+    private int[] bedrooms;
+    private int[] bathrooms;
+    private int[] sqft;
+    private int[] cityCode;
+    private int[] stateCode;
+    private double[] latitude;
+    private double[] longitude;
+    private PropertySummary[] rows;
+
+    private final BitSet live = new BitSet();
+    private final Map<PropertyType, BitSet> byType = new EnumMap<>(PropertyType.class);
+    private final Map<ListingStatus, BitSet> byStatus = new EnumMap<>(ListingStatus.class);
+
+    private final GeoGrid grid;
+
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    // Removed since the last reorder(): the sort orders still list them, so they are not reused yet
+    private int[] releasedSlots = new int[16];
+    private int releasedCount;
+
+    // Dictionary encoding: equal strings share one code and one String instance
+    private final Map<String, Integer> cityCodes = new HashMap<>();
+    private final Map<String, Integer> stateCodes = new HashMap<>();
+    private final List<String> cityNames = new ArrayList<>();
+    private final List<String> stateNames = new ArrayList<>();
+
+    // Live slots in ascending (key, id) order; rebuilt by reorder() after a batch of changes
+    private int[] byPrice = new int[0];
+    private int[] byNewest = new int[0];
+    private boolean orderStale;
+
+    ListingColumns(int initialCapacity) {
+        this(initialCapacity, 0.05);
+    }
+
+    ListingColumns(int initialCapacity, double gridCellDegrees) {
+        grid = new GeoGrid(gridCellDegrees);
+        allocate(Math.max(16, initialCapacity));
+        for (PropertyType type : PropertyType.values()) {
+            byType.put(type, new BitSet());
+        }
+        for (ListingStatus status : ListingStatus.values()) {
+            byStatus.put(status, new BitSet());
+        }
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    boolean contains(UUID id) {
+        return slotById.containsKey(id);
+    }
+
+    /**
+     * True when the listing is held at this updated_at or a later one.
+     */
+    boolean isCurrent(UUID id, Instant updatedAt) {
+        Integer slot = slotById.get(id);
+        return slot != null && updatedAt != null && updatedMicros[slot] != NULL_LONG
+                && updatedMicros[slot] >= toMicros(updatedAt);
+    }
+
+    void upsert(PropertySummary listing) {
+        upsert(listing, null);
+    }
+
+    /**
+     * Adds or replaces a published listing. Call {@link #reorder()} once the batch is applied.
+     */
+    void upsert(PropertySummary listing, Instant updatedAt) {
+        Integer existing = slotById.get(listing.getId());
+        int slot = existing != null ? existing : allocateSlot();
+        if (existing != null) {
+            clearBitmaps(slot);
+            grid.remove(slot, latitude[slot], longitude[slot]);
+        }
+
+        UUID id = listing.getId();
+        PropertyType type = PropertyType.valueOf(listing.getPropertyType());
+        ListingStatus status = listing.getListingStatus() != null
+                ? ListingStatus.valueOf(listing.getListingStatus())
+                : ListingStatus.active;
+
+        idMsb[slot] = id.getMostSignificantBits();
+        idLsb[slot] = id.getLeastSignificantBits();
+        priceCents[slot] = toCents(listing.getPrice());
+        createdMicros[slot] = listing.getCreatedAt() != null ? toMicros(listing.getCreatedAt().toInstant()) : NULL_LONG;
+        updatedMicros[slot] = updatedAt != null ? toMicros(updatedAt) : NULL_LONG;
+        bedrooms[slot] = listing.getBedrooms();
+        bathrooms[slot] = listing.getBathrooms();
+        sqft[slot] = listing.getSqft() != null ? listing.getSqft() : NULL_INT;
+        cityCode[slot] = encode(listing.getCityName(), cityCodes, cityNames);
+        stateCode[slot] = encode(listing.getStateName(), stateCodes, stateNames);
+        latitude[slot] = listing.getLatitude().doubleValue();
+        longitude[slot] = listing.getLongitude().doubleValue();
+        grid.add(slot, latitude[slot], longitude[slot]);
+
+        // Share the canonical instances instead of keeping a copy per row
+        listing.setCityName(cityNames.get(cityCode[slot]));
+        listing.setStateName(stateNames.get(stateCode[slot]));
+        listing.setPropertyType(type.name());
+        listing.setListingStatus(status.name());
+        rows[slot] = listing;
+
+        live.set(slot);
+        byType.get(type).set(slot);
+        byStatus.get(status).set(slot);
+        slotById.put(id, slot);
+        orderStale = true;
+    }
+
+    /**
+     * Drops a listing that was unpublished or deleted. No-op for unknown ids. Queries skip the
+     * slot through the live bitmap, so results are correct before the next {@link #reorder()}.
+     */
+    void remove(UUID id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        clearBitmaps(slot);
+        grid.remove(slot, latitude[slot], longitude[slot]);
+        live.clear(slot);
+        rows[slot] = null;
+        if (releasedCount == releasedSlots.length) {
+            releasedSlots = Arrays.copyOf(releasedSlots, releasedCount * 2);
+        }
+        releasedSlots[releasedCount++] = slot;
+        orderStale = true;
+    }
+
+    void reorder() {
+        if (!orderStale) {
+            return;
+        }
+        int[] liveSlots = live.stream().toArray();
+        byPrice = liveSlots.clone();
+        sort(byPrice, priceCents);
+        // Rows without created_at are left out of the newest order, as in the SQL path
+        byNewest = Arrays.stream(liveSlots).filter(slot -> createdMicros[slot] != NULL_LONG).toArray();
+        sort(byNewest, createdMicros);
+        orderStale = false;
+
+        if (freeCount + releasedCount > freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(freeSlots.length * 2, freeCount + releasedCount));
+        }
+        System.arraycopy(releasedSlots, 0, freeSlots, freeCount, releasedCount);
+        freeCount += releasedCount;
+        releasedCount = 0;
+    }
+
+    /**
+     * True when every filter in the criteria is a column held here.
+     */
+    static boolean supports(PropertySearchCriteria criteria) {
+        return criteria.getZipCode() == null && criteria.getMinInvestmentScore() == null;
+    }
+
+    List<PropertySummary> search(PropertySearchCriteria criteria, PropertySearchCursor after, int limit) {
+        List<PropertySummary> page = new ArrayList<>(Math.min(limit, 64));
+        IntPredicate matches = filter(criteria);
+        if (matches == null) {
+            return page;
+        }
+
+        PropertySort sort = criteria.getSort();
+        boolean ascending = sort == PropertySort.price_asc;
+        long[] keys = sort == PropertySort.newest ? createdMicros : priceCents;
+        int[] order = sort == PropertySort.newest ? byNewest : byPrice;
+
+        int position;
+        if (after == null) {
+            position = ascending ? 0 : order.length - 1;
+        } else {
+            long afterKey = after.sortKey() instanceof Instant instant
+                    ? toMicros(instant)
+                    : toCents((BigDecimal) after.sortKey());
+            int firstNotBefore = lowerBound(order, keys, afterKey,
+                    after.id().getMostSignificantBits(), after.id().getLeastSignificantBits());
+            // Ascending resumes after the cursor row, descending just before it
+            position = ascending
+                    ? firstNotBefore + (firstNotBefore < order.length && isAt(order[firstNotBefore], keys, afterKey, after.id()) ? 1 : 0)
+                    : firstNotBefore - 1;
+        }
+
+        int step = ascending ? 1 : -1;
+        for (int i = position; i >= 0 && i < order.length && page.size() < limit; i += step) {
+            int slot = order[i];
+            if (matches.test(slot)) {
+                page.add(rows[slot]);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Compiles the criteria into a per-slot test over the live rows, or null when nothing can match.
+     */
+    IntPredicate filter(PropertySearchCriteria criteria) {
+        BitSet candidates = candidates(criteria);
+        if (candidates == null) {
+            return null;
+        }
+
+        int city = criteria.getCityName() != null ? cityCodes.getOrDefault(criteria.getCityName(), -1) : NULL_INT;
+        int state = criteria.getStateName() != null ? stateCodes.getOrDefault(criteria.getStateName(), -1) : NULL_INT;
+        if (city == -1 || state == -1) {
+            return null;
+        }
+
+        long minPrice = criteria.getMinPrice() != null ? toCents(criteria.getMinPrice()) : Long.MIN_VALUE;
+        long maxPrice = criteria.getMaxPrice() != null ? toCents(criteria.getMaxPrice()) : Long.MAX_VALUE;
+        int minBedrooms = criteria.getMinBedrooms() != null ? criteria.getMinBedrooms() : Integer.MIN_VALUE;
+        int minBathrooms = criteria.getMinBathrooms() != null ? criteria.getMinBathrooms() : Integer.MIN_VALUE;
+        Integer minSqft = criteria.getMinSqft();
+        Integer maxSqft = criteria.getMaxSqft();
+
+        return slot -> candidates.get(slot)
+                && priceCents[slot] >= minPrice && priceCents[slot] <= maxPrice
+                && bedrooms[slot] >= minBedrooms
+                && bathrooms[slot] >= minBathrooms
+                && (city == NULL_INT || cityCode[slot] == city)
+                && (state == NULL_INT || stateCode[slot] == state)
+                && (minSqft == null || (sqft[slot] != NULL_INT && sqft[slot] >= minSqft))
+                && (maxSqft == null || (sqft[slot] != NULL_INT && sqft[slot] <= maxSqft));
+    }
+
+    /**
+     * The indexed listing if it passes the filter from {@link #filter}, else null.
+     */
+    PropertySummary matching(UUID id, IntPredicate matches) {
+        Integer slot = slotById.get(id);
+        return slot != null && matches.test(slot) ? rows[slot] : null;
+    }
+
+    /**
+     * Matching listings within radiusMiles of the point, nearest first.
+     */
+    List<NearbyListing> nearest(PropertySearchCriteria criteria, double centerLatitude, double centerLongitude,
+                                double radiusMiles, int limit) {
+        IntPredicate matches = filter(criteria);
+        if (matches == null || limit <= 0) {
+            return List.of();
+        }
+
+        // Max-heap on distance keeps the closest `limit` seen so far
+        PriorityQueue<NearbyListing> closest = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyListing::getDistanceMiles).reversed());
+        GeoBounds box = GeoBounds.around(centerLatitude, centerLongitude, radiusMiles);
+        grid.forEachCandidate(box, slot -> {
+            if (!box.contains(latitude[slot], longitude[slot]) || !matches.test(slot)) {
+                return;
+            }
+            double distance = GeoBounds.distanceMiles(centerLatitude, centerLongitude, latitude[slot], longitude[slot]);
+            if (distance > radiusMiles) {
+                return;
+            }
+            if (closest.size() < limit) {
+                closest.add(new NearbyListing(rows[slot], distance));
+            } else if (distance < closest.peek().getDistanceMiles()) {
+                closest.poll();
+                closest.add(new NearbyListing(rows[slot], distance));
+            }
+        });
+
+        List<NearbyListing> result = new ArrayList<>(closest);
+        result.sort(Comparator.comparingDouble(NearbyListing::getDistanceMiles));
+        return result;
+    }
+
+    /**
+     * Matching listings inside the viewport. Up to maxPins are returned individually, nearest
+     * to the center first; beyond that they are grouped into a clusterGrid x clusterGrid grid
+     * of pins over the viewport.
+     */
+    MapSearchResponse inBounds(PropertySearchCriteria criteria, GeoBounds bounds, int maxPins, int clusterGrid) {
+        IntPredicate matches = filter(criteria);
+        if (matches == null) {
+            return MapSearchResponse.builder().properties(List.of()).build();
+        }
+
+        SlotList found = new SlotList();
+        grid.forEachCandidate(bounds, slot -> {
+            if (bounds.contains(latitude[slot], longitude[slot]) && matches.test(slot)) {
+                found.add(slot);
+            }
+        });
+
+        if (found.size <= maxPins) {
+            double centerLatitude = bounds.centerLatitude();
+            double centerLongitude = bounds.centerLongitude();
+            List<NearbyListing> properties = new ArrayList<>(found.size);
+            for (int i = 0; i < found.size; i++) {
+                int slot = found.slots[i];
+                properties.add(new NearbyListing(rows[slot],
+                        GeoBounds.distanceMiles(centerLatitude, centerLongitude, latitude[slot], longitude[slot])));
+            }
+            properties.sort(Comparator.comparingDouble(NearbyListing::getDistanceMiles));
+            return MapSearchResponse.builder()
+                    .totalMatches(found.size)
+                    .properties(properties)
+                    .build();
+        }
+
+        return MapSearchResponse.builder()
+                .totalMatches(found.size)
+                .clustered(true)
+                .clusters(cluster(found, bounds, clusterGrid))
+                .build();
+    }
+
+    private List<MapCluster> cluster(SlotList found, GeoBounds bounds, int clusterGrid) {
+        double height = Math.max(bounds.maxLatitude() - bounds.minLatitude(), 1e-9);
+        double width = bounds.minLongitude() <= bounds.maxLongitude()
+                ? bounds.maxLongitude() - bounds.minLongitude()
+                : bounds.maxLongitude() + 360 - bounds.minLongitude();
+        width = Math.max(width, 1e-9);
+
+        int buckets = clusterGrid * clusterGrid;
+        int[] counts = new int[buckets];
+        double[] sumLatitude = new double[buckets];
+        double[] sumLongitude = new double[buckets];
+        long[] minPrice = new long[buckets];
+        int[] anySlot = new int[buckets];
+        Arrays.fill(minPrice, Long.MAX_VALUE);
+
+        for (int i = 0; i < found.size; i++) {
+            int slot = found.slots[i];
+            // Offsets from the west edge, unwrapped across the antimeridian
+            double east = longitude[slot] - bounds.minLongitude();
+            if (east < 0) {
+                east += 360;
+            }
+            int row = Math.min(clusterGrid - 1, (int) ((latitude[slot] - bounds.minLatitude()) / height * clusterGrid));
+            int column = Math.min(clusterGrid - 1, (int) (east / width * clusterGrid));
+            int bucket = row * clusterGrid + column;
+
+            counts[bucket]++;
+            sumLatitude[bucket] += latitude[slot];
+            sumLongitude[bucket] += east;
+            minPrice[bucket] = Math.min(minPrice[bucket], priceCents[slot]);
+            anySlot[bucket] = slot;
+        }
+
+        List<MapCluster> clusters = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            double centroidLongitude = bounds.minLongitude() + sumLongitude[bucket] / counts[bucket];
+            clusters.add(MapCluster.builder()
+                    .latitude(sumLatitude[bucket] / counts[bucket])
+                    .longitude(centroidLongitude > 180 ? centroidLongitude - 360 : centroidLongitude)
+                    .count(counts[bucket])
+                    .minPrice(BigDecimal.valueOf(minPrice[bucket], 2))
+                    .listingId(counts[bucket] == 1 ? rows[anySlot[bucket]].getId() : null)
+                    .build());
+        }
+        return clusters;
+    }
+
+    /**
+     * Approximate heap footprint: the column arrays, bitmaps and sort orders by their capacity,
+     * plus the row objects returned to callers.
+     */
+    long estimatedBytes() {
+        long columns = (long) capacity * (8 * 7 + 4 * 5 + 4);
+        long bitmaps = (long) (live.size() / 8) * (1 + PropertyType.values().length + ListingStatus.values().length);
+        long orders = 4L * (byPrice.length + byNewest.length);
+        long index = slotById.size() * 80L + grid.occupiedCells() * 64L + 4L * slotById.size();
+        long rowObjects = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            rowObjects += estimateRow(rows[slot]);
+        }
+        return columns + bitmaps + orders + index + rowObjects;
+    }
+
+    private BitSet candidates(PropertySearchCriteria criteria) {
+        BitSet result = (BitSet) live.clone();
+        if (criteria.getPropertyTypes() != null && !criteria.getPropertyTypes().isEmpty()) {
+            BitSet types = new BitSet();
+            criteria.getPropertyTypes().forEach(type -> types.or(byType.get(type)));
+            result.and(types);
+        }
+        if (criteria.getListingStatuses() != null && !criteria.getListingStatuses().isEmpty()) {
+            BitSet statuses = new BitSet();
+            criteria.getListingStatuses().forEach(status -> statuses.or(byStatus.get(status)));
+            result.and(statuses);
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    private boolean isAt(int slot, long[] keys, long key, UUID id) {
+        return keys[slot] == key
+                && idMsb[slot] == id.getMostSignificantBits()
+                && idLsb[slot] == id.getLeastSignificantBits();
+    }
+
+    /**
+     * Index of the first slot in order whose (key, id) is not less than the given one.
+     */
+    private int lowerBound(int[] order, long[] keys, long key, long msb, long lsb) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(order[mid], keys, key, msb, lsb) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int slot, long[] keys, long key, long msb, long lsb) {
+        int byKey = Long.compare(keys[slot], key);
+        if (byKey != 0) {
+            return byKey;
+        }
+        // Postgres compares uuids as unsigned bytes; UUID.compareTo is signed
+        int byMsb = Long.compareUnsigned(idMsb[slot], msb);
+        return byMsb != 0 ? byMsb : Long.compareUnsigned(idLsb[slot], lsb);
+    }
+
+    private int compareSlots(int a, int b, long[] keys) {
+        return compare(a, keys, keys[b], idMsb[b], idLsb[b]);
+    }
+
+    /**
+     * Merge sort of slot numbers by (key, id) without boxing them.
+     */
+    private void sort(int[] order, long[] keys) {
+        int[] buffer = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int left = 0; left < order.length; left += 2 * width) {
+                int mid = Math.min(left + width, order.length);
+                int right = Math.min(left + 2 * width, order.length);
+                int i = left;
+                int j = mid;
+                int k = left;
+                while (i < mid && j < right) {
+                    buffer[k++] = compareSlots(order[i], order[j], keys) <= 0 ? order[i++] : order[j++];
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < right) {
+                    buffer[k++] = order[j++];
+                }
+            }
+            System.arraycopy(buffer, 0, order, 0, order.length);
+        }
+    }
+
+    private void clearBitmaps(int slot) {
+        byType.values().forEach(bits -> bits.clear(slot));
+        byStatus.values().forEach(bits -> bits.clear(slot));
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slots == capacity) {
+            allocate(capacity * 2);
+        }
+        return slots++;
+    }
+
+    private void allocate(int newCapacity) {
+        idMsb = idMsb == null ? new long[newCapacity] : Arrays.copyOf(idMsb, newCapacity);
+        idLsb = idLsb == null ? new long[newCapacity] : Arrays.copyOf(idLsb, newCapacity);
+        priceCents = priceCents == null ? new long[newCapacity] : Arrays.copyOf(priceCents, newCapacity);
+        createdMicros = createdMicros == null ? new long[newCapacity] : Arrays.copyOf(createdMicros, newCapacity);
+        updatedMicros = updatedMicros == null ? new long[newCapacity] : Arrays.copyOf(updatedMicros, newCapacity);
+        bedrooms = bedrooms == null ? new int[newCapacity] : Arrays.copyOf(bedrooms, newCapacity);
+        bathrooms = bathrooms == null ? new int[newCapacity] : Arrays.copyOf(bathrooms, newCapacity);
+        sqft = sqft == null ? new int[newCapacity] : Arrays.copyOf(sqft, newCapacity);
+        cityCode = cityCode == null ? new int[newCapacity] : Arrays.copyOf(cityCode, newCapacity);
+        stateCode = stateCode == null ? new int[newCapacity] : Arrays.copyOf(stateCode, newCapacity);
+        latitude = latitude == null ? new double[newCapacity] : Arrays.copyOf(latitude, newCapacity);
+        longitude = longitude == null ? new double[newCapacity] : Arrays.copyOf(longitude, newCapacity);
+        rows = rows == null ? new PropertySummary[newCapacity] : Arrays.copyOf(rows, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> values) {
+        return codes.computeIfAbsent(value, key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    /**
+     * Growable int array for collecting slots without boxing.
+     */
+    private static final class SlotList {
+
+        private int[] slots = new int[64];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    private static long estimateRow(PropertySummary row) {
+        // Object header and fields, UUID, 4 BigDecimals, ZonedDateTime; city/state/type/status are shared
+        long bytes = 96 + 32 + 4 * 40 + 72;
+        bytes += stringBytes(row.getTitle()) + stringBytes(row.getStreetName())
+                + stringBytes(row.getZipCode()) + stringBytes(row.getImageUrl());
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
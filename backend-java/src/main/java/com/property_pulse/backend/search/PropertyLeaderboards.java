@@ -0,0 +1,333 @@
+package com.property_pulse.backend.search;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.dto.AiPrediction;
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.Leaderboard.Ranked;
+import com.property_pulse.backend.search.LeaderboardSet.Market;
+import com.property_pulse.backend.search.LeaderboardSet.Segment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Top listings by each prediction score, per market segment, held in memory as a
+ * {@link LeaderboardSet} so a leaderboard read is an array copy rather than a sort over
+ * ai_predictions joined to property_listings.
+ *
+ * Published listings that are not sold are eligible, ranked by their latest prediction. The
+ * first refresh reads both tables in full; later refreshes apply listings whose updated_at
+ * moved and predictions written since the last one. A listing that is sold, unpublished or
+ * deleted doesn't wait for that: its row change ({@link #listingChanged}) takes it off every
+ * board within properties.leaderboard.changed-listings-ms, and the feed import that delisted
+ * it ({@link #removeListings}) at once. Predictions
+ * uploaded through this instance are applied as soon as they are written
+ * ({@link #recordPredictions}). Like the search index, the boards are rebuilt from scratch
+ * every properties.leaderboard.full-reload-ms.
+ */
+@Slf4j
+@Component
+public class PropertyLeaderboards {
+
+    public record Entry(UUID propertyId, double score) {
+    }
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int size;
+    private final int capacity;
+    private final int fetchSize;
+    private final Duration overlap;
+    private final long fullReloadMs;
+    private final long refreshSeconds;
+
+    private final Timer queryTimer;
+    private final Timer refreshTimer;
+
+    private volatile LeaderboardSet boards;
+    private volatile int rankedListings;
+    private Instant listingWatermark;
+    private Instant scoreWatermark;
+    private volatile long lastFullLoadMillis;
+    // Ranked listings whose row changed since the last applyChangedListings()
+    private final Set<UUID> changedListings = ConcurrentHashMap.newKeySet();
+
+    public PropertyLeaderboards(
+            PropertyListingRepository propertyListingRepository,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.leaderboard.enabled:true}") boolean enabled,
+            @Value("${properties.leaderboard.size:100}") int size,
+            @Value("${properties.leaderboard.fetch-size:1000}") int fetchSize,
+            @Value("${properties.leaderboard.refresh-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.leaderboard.full-reload-ms:3600000}") long fullReloadMs,
+            @Value("${properties.leaderboard.refresh-ms:5000}") long refreshMs) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        this.size = size;
+        // Slack below the served size absorbs removals without rescanning the segment
+        this.capacity = size * 2;
+        this.fetchSize = fetchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.fullReloadMs = fullReloadMs;
+        this.refreshSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(refreshMs));
+
+        this.queryTimer = Timer.builder("leaderboard.query")
+                .description("Leaderboard reads")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("leaderboard.refresh")
+                .description("Full loads and incremental refreshes of the leaderboards")
+                .register(meterRegistry);
+        Gauge.builder("leaderboard.listings", this, leaderboards -> leaderboards.rankedListings)
+                .description("Eligible listings with a prediction")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return boards != null;
+    }
+
+    /**
+     * Largest leaderboard served per segment.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Up to {@link #size()} listings of the segment, best first. Null filters are wildcards; a
+     * city only matches together with its state.
+     *
+     * @throws SearchIndexUnavailableException if the leaderboards have not loaded yet
+     */
+    public List<Entry> top(String stateName, String cityName, String propertyType, LeaderboardScore score) {
+        LeaderboardSet current = boards;
+        if (current == null) {
+            throw new SearchIndexUnavailableException("Leaderboards are starting up. Please try again shortly.", refreshSeconds);
+        }
+
+        long start = System.nanoTime();
+        Ranked[] top = current.top(new Segment(stateName, cityName, propertyType), score);
+        List<Entry> entries = new ArrayList<>(top.length);
+        for (Ranked ranked : top) {
+            entries.add(new Entry(ranked.id(), LeaderboardSet.scoreOf(ranked, score)));
+        }
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return entries;
+    }
+
+    /**
+     * Applies freshly written predictions without waiting for the next refresh.
+     */
+    public synchronized void recordPredictions(Collection<AiPrediction> predictions) {
+        LeaderboardSet current = boards;
+        if (current == null || predictions.isEmpty()) {
+            return;
+        }
+        for (AiPrediction prediction : predictions) {
+            current.updateScores(prediction.getPropertyId(), scores(prediction.getInvestmentScore(),
+                    prediction.getCashFlowScore(), prediction.getAppreciationScore(), prediction.getRiskScore()));
+        }
+        current.publish();
+    }
+
+    /**
+     * Takes listings known to be sold, unpublished or deleted off every board.
+     */
+    public synchronized void removeListings(Collection<UUID> propertyIds) {
+        LeaderboardSet current = boards;
+        if (current == null || propertyIds.isEmpty()) {
+            return;
+        }
+        for (UUID propertyId : propertyIds) {
+            current.updateListing(propertyId, null);
+        }
+        current.publish();
+        rankedListings = current.rankedListings();
+    }
+
+    /**
+     * Notes that a write changed a listing. If it is on the boards, it is re-read together with
+     * the others changed in the same burst ({@link #applyChangedListings}) and dropped when it no
+     * longer qualifies. Listings becoming eligible are left to the next refresh.
+     */
+    public void listingChanged(UUID propertyId) {
+        synchronized (this) {
+            if (boards == null || !boards.hasListing(propertyId)) {
+                return;
+            }
+        }
+        changedListings.add(propertyId);
+    }
+
+    /**
+     * Re-reads the listings changed since the last call, one query per fetch-size ids, and
+     * applies them with one publish.
+     */
+    @Scheduled(fixedDelayString = "${properties.leaderboard.changed-listings-ms:500}")
+    public void applyChangedListings() {
+        if (changedListings.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(changedListings);
+        changedListings.removeAll(ids);
+        LeaderboardSet target = boards;
+
+        // Only published listings come back; absent means unpublished or deleted
+        Map<UUID, Market> markets = new HashMap<>();
+        try {
+            for (int from = 0; from < ids.size(); from += fetchSize) {
+                propertyListingRepository.findSummaries(ids.subList(from, Math.min(ids.size(), from + fetchSize)))
+                        .forEach(listing -> markets.put(listing.getId(), market(listing, true)));
+            }
+        } catch (Exception e) {
+            changedListings.addAll(ids);
+            log.error("Re-reading {} changed listings failed, will retry: {}", ids.size(), e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            // A full load since the read has the current rows already
+            if (boards != target) {
+                return;
+            }
+            ids.forEach(id -> target.updateListing(id, markets.get(id)));
+            target.publish();
+            rankedListings = target.rankedListings();
+        }
+    }
+
+    /**
+     * Changes may have been missed: rebuild the boards on the next refresh.
+     */
+    public void reloadOnNextRefresh() {
+        lastFullLoadMillis = 0;
+    }
+
+    @Scheduled(fixedDelayString = "${properties.leaderboard.refresh-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTimer.record(() -> {
+                if (boards == null || System.currentTimeMillis() - lastFullLoadMillis >= fullReloadMs) {
+                    fullLoad();
+                } else {
+                    applyChanges();
+                }
+            });
+        } catch (Exception e) {
+            // Keep serving the last boards; reads are 503 until the first load succeeds
+            log.error("Leaderboard refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void fullLoad() {
+        long start = System.currentTimeMillis();
+        LeaderboardSet loaded = new LeaderboardSet(size, capacity);
+        Instant[] latest = {Instant.EPOCH, Instant.EPOCH};
+
+        // Listings first so each prediction is ranked as it streams in; both reads use a cursor
+        readOnlyTransaction.executeWithoutResult(status -> {
+            propertyListingRepository.streamListings(null, fetchSize, (listing, published, updatedAt) -> {
+                loaded.updateListing(listing.getId(), market(listing, published));
+                latest[0] = later(latest[0], updatedAt);
+            });
+            propertyListingRepository.streamLatestScores(null, fetchSize,
+                    (propertyId, investment, cashFlow, appreciation, risk, createdAt) -> {
+                        loaded.updateScores(propertyId, scores(investment, cashFlow, appreciation, risk));
+                        latest[1] = later(latest[1], createdAt);
+                    });
+        });
+        loaded.publish();
+
+        synchronized (this) {
+            boards = loaded;
+            listingWatermark = latest[0];
+            scoreWatermark = latest[1];
+        }
+        lastFullLoadMillis = System.currentTimeMillis();
+        rankedListings = loaded.rankedListings();
+
+        log.info("Leaderboards loaded {} ranked listings in {}ms", rankedListings, lastFullLoadMillis - start);
+    }
+
+    private synchronized void applyChanges() {
+        LeaderboardSet current = boards;
+        Instant[] latest = {listingWatermark, scoreWatermark};
+
+        // Rows inside the overlap window are re-applied; both updates are idempotent
+        readOnlyTransaction.executeWithoutResult(status -> {
+            propertyListingRepository.streamListings(listingWatermark.minus(overlap), fetchSize,
+                    (listing, published, updatedAt) -> {
+                        current.updateListing(listing.getId(), market(listing, published));
+                        latest[0] = later(latest[0], updatedAt);
+                    });
+            propertyListingRepository.streamLatestScores(scoreWatermark.minus(overlap), fetchSize,
+                    (propertyId, investment, cashFlow, appreciation, risk, createdAt) -> {
+                        current.updateScores(propertyId, scores(investment, cashFlow, appreciation, risk));
+                        latest[1] = later(latest[1], createdAt);
+                    });
+        });
+        current.publish();
+
+        listingWatermark = latest[0];
+        scoreWatermark = latest[1];
+        rankedListings = current.rankedListings();
+    }
+
+    private static Market market(PropertySummary listing, boolean published) {
+        if (!published || ListingStatus.sold.name().equals(listing.getListingStatus())) {
+            return null;
+        }
+        return new Market(listing.getStateName(), listing.getCityName(), listing.getPropertyType());
+    }
+
+    /**
+     * Scores indexed by LeaderboardScore ordinal, NaN where the prediction has none.
+     */
+    private static double[] scores(BigDecimal investment, BigDecimal cashFlow, BigDecimal appreciation, BigDecimal risk) {
+        double[] values = new double[LeaderboardScore.values().length];
+        values[LeaderboardScore.investment.ordinal()] = toDouble(investment);
+        values[LeaderboardScore.cash_flow.ordinal()] = toDouble(cashFlow);
+        values[LeaderboardScore.appreciation.ordinal()] = toDouble(appreciation);
+        values[LeaderboardScore.risk.ordinal()] = toDouble(risk);
+        return values;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,423 @@
+package com.property_pulse.backend.search;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.dto.RankedListing;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process copy of the published listings, held as {@link ListingColumns}, that answers
+ * property searches without a database round trip.
+ *
+ * The first refresh streams every published row; later refreshes only read rows whose
+ * updated_at moved (maintained by the update_property_listings_updated_at trigger), with a
+ * small overlap so rows committed late are not missed. Hard deletes are not visible to that
+ * query, so the index is rebuilt from scratch every properties.index.full-reload-ms. A listing
+ * whose row change shows it unpublished or deleted is dropped within
+ * properties.index.changed-listings-ms ({@link #listingChanged}).
+ */
+@Slf4j
+@Component
+public class PropertySearchIndex {
+
+    private record ChangedRow(PropertySummary listing, boolean published, Instant updatedAt) {
+    }
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final PropertyTextIndex propertyTextIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final Duration overlap;
+    private final long fullReloadMs;
+    private final double gridCellDegrees;
+    private final long refreshSeconds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer queryTimer;
+    private final Timer refreshTimer;
+
+    private volatile ListingColumns columns;
+    private volatile long bytesPerListing;
+    // Bumped under the write lock whenever the indexed rows change; the nonce keeps generations
+    // of different processes (restarts, other instances) apart
+    private final long nonce = ThreadLocalRandom.current().nextLong();
+    private volatile long generation;
+    private Instant watermark;
+    private volatile long lastFullLoadMillis;
+    // Indexed listings whose row changed since the last applyChangedListings()
+    private final Set<UUID> changedListings = ConcurrentHashMap.newKeySet();
+
+    public PropertySearchIndex(
+            PropertyListingRepository propertyListingRepository,
+            PropertyTextIndex propertyTextIndex,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.index.enabled:true}") boolean enabled,
+            @Value("${properties.index.fetch-size:1000}") int fetchSize,
+            @Value("${properties.index.refresh-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.index.full-reload-ms:3600000}") long fullReloadMs,
+            @Value("${properties.index.refresh-ms:5000}") long refreshMs,
+            @Value("${properties.index.grid-cell-degrees:0.05}") double gridCellDegrees) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.propertyTextIndex = propertyTextIndex;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.fullReloadMs = fullReloadMs;
+        this.refreshSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(refreshMs));
+        this.gridCellDegrees = gridCellDegrees;
+
+        this.queryTimer = Timer.builder("search.index.query")
+                .description("Property searches answered from the in-memory index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("search.index.refresh")
+                .description("Full loads and incremental refreshes of the property index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.listings", this, index -> index.columns == null ? 0 : index.columns.size())
+                .description("Published listings held in the index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes_per_listing", this, index -> index.bytesPerListing)
+                .description("Estimated heap bytes per indexed listing")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return columns != null;
+    }
+
+    /**
+     * Identifies what the index holds: changes whenever a refresh changes the indexed listings.
+     * Null until the first load.
+     */
+    public String version() {
+        return columns == null ? null : Long.toHexString(nonce) + "-" + generation;
+    }
+
+    /**
+     * True when the index is loaded and holds every column the criteria filter on.
+     */
+    public boolean canServe(PropertySearchCriteria criteria) {
+        return columns != null && ListingColumns.supports(criteria);
+    }
+
+    /**
+     * Same contract as PropertyListingRepositoryCustom#search. Only valid when {@link #canServe} is true.
+     */
+    public List<PropertySummary> search(PropertySearchCriteria criteria, PropertySearchCursor after, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return columns.search(criteria, after, limit);
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Matching listings within radiusMiles of the point, nearest first.
+     *
+     * @throws SearchIndexUnavailableException if the index has not loaded yet
+     */
+    public List<NearbyListing> nearest(PropertySearchCriteria criteria, double latitude, double longitude,
+                                       double radiusMiles, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return requireColumns().nearest(criteria, latitude, longitude, radiusMiles, limit);
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Matching listings in the viewport, as listings or clusters (see ListingColumns#inBounds).
+     *
+     * @throws SearchIndexUnavailableException if the index has not loaded yet
+     */
+    public MapSearchResponse inBounds(PropertySearchCriteria criteria, GeoBounds bounds, int maxPins, int clusterGrid) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return requireColumns().inBounds(criteria, bounds, maxPins, clusterGrid);
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Listings matching the criteria whose text contains every word of the query, most relevant first.
+     *
+     * @throws SearchIndexUnavailableException if either index has not loaded yet
+     */
+    public List<RankedListing> searchText(PropertySearchCriteria criteria, String query, boolean prefix, int limit) {
+        if (!propertyTextIndex.isReady()) {
+            throw unavailable();
+        }
+        lock.readLock().lock();
+        try {
+            ListingColumns current = requireColumns();
+            IntPredicate matches = current.filter(criteria);
+            if (matches == null) {
+                return List.of();
+            }
+            // Hits are checked against the columns, which also hides rows the text index has not dropped yet
+            return propertyTextIndex.search(query, prefix, id -> current.matching(id, matches) != null, limit).stream()
+                    .map(hit -> new RankedListing(current.matching(hit.id(), matches), hit.score()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed listings with the given ids, in the given order; ids not in the index are skipped.
+     *
+     * @throws SearchIndexUnavailableException if the index has not loaded yet
+     */
+    public List<PropertySummary> listings(List<UUID> ids) {
+        lock.readLock().lock();
+        try {
+            ListingColumns current = requireColumns();
+            List<PropertySummary> found = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                PropertySummary listing = current.matching(id, slot -> true);
+                if (listing != null) {
+                    found.add(listing);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ListingColumns requireColumns() {
+        ListingColumns current = columns;
+        if (current == null) {
+            throw unavailable();
+        }
+        return current;
+    }
+
+    private SearchIndexUnavailableException unavailable() {
+        return new SearchIndexUnavailableException("Property search is starting up. Please try again shortly.", refreshSeconds);
+    }
+
+    /**
+     * Notes that a write changed an indexed listing. It is re-read together with the others
+     * changed in the same burst ({@link #applyChangedListings}) and dropped if it is no longer
+     * published or was deleted. Other changes are left to the next refresh, which applies them
+     * in one batch and one reorder.
+     */
+    public void listingChanged(UUID propertyId) {
+        lock.readLock().lock();
+        try {
+            if (columns == null || !columns.contains(propertyId)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        changedListings.add(propertyId);
+    }
+
+    /**
+     * Re-reads the listings changed since the last call, one query per fetch-size ids, and drops
+     * the ones that came back unpublished or deleted under one write lock. Removed slots are
+     * skipped through the live bitmap, so the sort orders are left for the next refresh.
+     */
+    @Scheduled(fixedDelayString = "${properties.index.changed-listings-ms:500}")
+    public void applyChangedListings() {
+        if (changedListings.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(changedListings);
+        changedListings.removeAll(ids);
+        ListingColumns target = columns;
+
+        Set<UUID> gone = new HashSet<>(ids);
+        try {
+            for (int from = 0; from < ids.size(); from += fetchSize) {
+                // Only published listings come back
+                propertyListingRepository.findSummaries(ids.subList(from, Math.min(ids.size(), from + fetchSize)))
+                        .forEach(listing -> gone.remove(listing.getId()));
+            }
+        } catch (Exception e) {
+            changedListings.addAll(ids);
+            log.error("Re-reading {} changed listings failed, will retry: {}", ids.size(), e.getMessage());
+            return;
+        }
+
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            // A full load since the read has the current rows already
+            if (columns != target) {
+                return;
+            }
+            for (UUID id : gone) {
+                if (columns.contains(id)) {
+                    columns.remove(id);
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                generation++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Property index re-read {} changed listings and dropped {}", ids.size(), removed);
+    }
+
+    /**
+     * Changes may have been missed: rebuild the index on the next refresh.
+     */
+    public void reloadOnNextRefresh() {
+        lastFullLoadMillis = 0;
+    }
+
+    @Scheduled(fixedDelayString = "${properties.index.refresh-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTimer.record(() -> {
+                if (columns == null || System.currentTimeMillis() - lastFullLoadMillis >= fullReloadMs) {
+                    fullLoad();
+                } else {
+                    applyChanges();
+                }
+            });
+        } catch (Exception e) {
+            // Keep serving the last snapshot; searches fall back to the database until the first load succeeds
+            log.error("Property index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void fullLoad() {
+        long start = System.currentTimeMillis();
+        ListingColumns loaded = new ListingColumns(columns != null ? columns.size() : 1024, gridCellDegrees);
+        Instant[] latest = {Instant.EPOCH};
+
+        // Streamed with a cursor: one row in memory at a time besides the index itself
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListings(null, fetchSize, (listing, published, updatedAt) -> {
+                    loaded.upsert(listing, updatedAt);
+                    if (updatedAt != null && updatedAt.isAfter(latest[0])) {
+                        latest[0] = updatedAt;
+                    }
+                }));
+        loaded.reorder();
+
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            watermark = latest[0];
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastFullLoadMillis = System.currentTimeMillis();
+        updateFootprint();
+
+        log.info("Property index loaded {} listings in {}ms (~{} bytes per listing)",
+                loaded.size(), lastFullLoadMillis - start, bytesPerListing);
+    }
+
+    private void applyChanges() {
+        List<ChangedRow> read = new ArrayList<>();
+        Instant[] latest = {watermark};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListings(watermark.minus(overlap), fetchSize, (listing, published, updatedAt) -> {
+                    read.add(new ChangedRow(listing, published, updatedAt));
+                    if (updatedAt != null && updatedAt.isAfter(latest[0])) {
+                        latest[0] = updatedAt;
+                    }
+                }));
+
+        // The overlap window always re-reads the newest rows; skip the versions already held so an
+        // idle refresh neither re-sorts nor changes version()
+        List<ChangedRow> upserts = new ArrayList<>();
+        List<UUID> removals = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (ChangedRow row : read) {
+                UUID id = row.listing().getId();
+                if (row.published() && !columns.isCurrent(id, row.updatedAt())) {
+                    upserts.add(row);
+                } else if (!row.published() && columns.contains(id)) {
+                    removals.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        watermark = latest[0];
+
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            upserts.forEach(row -> columns.upsert(row.listing(), row.updatedAt()));
+            removals.forEach(columns::remove);
+            columns.reorder();
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        updateFootprint();
+
+        log.debug("Property index applied {} upserts and {} removals", upserts.size(), removals.size());
+    }
+
+    private void updateFootprint() {
+        lock.readLock().lock();
+        try {
+            int size = columns.size();
+            bytesPerListing = size == 0 ? 0 : columns.estimatedBytes() / size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
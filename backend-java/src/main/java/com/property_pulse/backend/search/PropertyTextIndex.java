@@ -0,0 +1,309 @@
+package com.property_pulse.backend.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full-text index over the title, description and features of published listings.
+ *
+ * Kept current the same way as {@link PropertySearchIndex}: an updated_at watermark with a
+ * small overlap, and a periodic full rebuild to drop hard-deleted rows. The index and its
+ * watermark are snapshotted to properties.text-index.snapshot-path, so after a restart only
+ * rows changed since the last snapshot are re-read and re-tokenized.
+ *
+ * It does not follow row-change notifications: hits are checked against the search index,
+ * which drops unpublished and deleted listings within half a second, so only the ranking of
+ * an edited listing lags, by one refresh at most. Re-tokenizing per notification would also
+ * undo the batching a feed import gets from the incremental read.
+ */
+@Slf4j
+@Component
+public class PropertyTextIndex {
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final Duration overlap;
+    private final long fullReloadMs;
+    private final Path snapshotPath;
+    private final long snapshotMs;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer queryTimer;
+    private final Timer refreshTimer;
+
+    private volatile InvertedIndex index;
+    private volatile long snapshotBytes;
+    private Instant watermark;
+    private AppliedVersions appliedVersions;
+    private long lastFullLoadMillis;
+    private long lastSnapshotMillis;
+    private boolean dirty;
+
+    public PropertyTextIndex(
+            PropertyListingRepository propertyListingRepository,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.text-index.enabled:true}") boolean enabled,
+            @Value("${properties.text-index.fetch-size:1000}") int fetchSize,
+            @Value("${properties.text-index.refresh-overlap-ms:5000}") long overlapMs,
+            @Value("${properties.text-index.full-reload-ms:86400000}") long fullReloadMs,
+            @Value("${properties.text-index.snapshot-path:}") String snapshotPath,
+            @Value("${properties.text-index.snapshot-ms:300000}") long snapshotMs) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.appliedVersions = new AppliedVersions(this.overlap);
+        this.fullReloadMs = fullReloadMs;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.snapshotMs = snapshotMs;
+
+        this.queryTimer = Timer.builder("search.text.query")
+                .description("Full-text listing searches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("search.text.refresh")
+                .description("Full and incremental refreshes of the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.text.documents", this, text -> text.index == null ? 0 : text.index.size())
+                .description("Listings held in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.text.terms", this, text -> text.index == null ? 0 : text.index.termCount())
+                .description("Distinct stemmed terms in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.text.snapshot.bytes", this, text -> text.snapshotBytes)
+                .description("Size of the last full-text index snapshot written or read")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Listings containing every word of the query, best BM25 score first. With prefix set the
+     * last word may be incomplete (type-ahead). accept is applied before ranking, so structured
+     * filters never push matches out of the top results.
+     */
+    List<InvertedIndex.Hit> search(String query, boolean prefix, Predicate<UUID> accept, int limit) {
+        List<String> tokens = TextAnalyzer.tokens(query);
+        String partial = prefix && !tokens.isEmpty() ? tokens.remove(tokens.size() - 1) : null;
+        List<String> terms = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            if (!TextAnalyzer.isStopWord(token)) {
+                terms.add(TextAnalyzer.stem(token));
+            }
+        }
+        if (terms.isEmpty() && partial == null) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return index.search(terms, partial, accept, limit);
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PostConstruct
+    void loadSnapshot() {
+        if (!enabled || snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            Instant savedWatermark = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            long savedFullLoadMillis = in.readLong();
+            InvertedIndex loaded = InvertedIndex.readFrom(in);
+
+            index = loaded;
+            watermark = savedWatermark;
+            lastFullLoadMillis = savedFullLoadMillis;
+            lastSnapshotMillis = System.currentTimeMillis();
+            snapshotBytes = Files.size(snapshotPath);
+            log.info("Full-text index restored {} listings from {} in {}ms (watermark {})",
+                    loaded.size(), snapshotPath, lastSnapshotMillis - start, savedWatermark);
+        } catch (IOException | RuntimeException e) {
+            // A stale or corrupt snapshot only costs a rebuild
+            log.warn("Ignoring full-text index snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${properties.text-index.refresh-ms:10000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTimer.record(() -> {
+                if (index == null || System.currentTimeMillis() - lastFullLoadMillis >= fullReloadMs) {
+                    fullLoad();
+                } else {
+                    applyChanges();
+                }
+            });
+            if (dirty && System.currentTimeMillis() - lastSnapshotMillis >= snapshotMs) {
+                writeSnapshot();
+            }
+        } catch (Exception e) {
+            log.error("Full-text index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (enabled && dirty) {
+            try {
+                writeSnapshot();
+            } catch (IOException e) {
+                log.warn("Could not write full-text index snapshot on shutdown: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void fullLoad() {
+        long start = System.currentTimeMillis();
+        InvertedIndex loaded = new InvertedIndex(index != null ? index.size() : 1024);
+        AppliedVersions loadedVersions = new AppliedVersions(overlap);
+        Instant[] latest = {Instant.EPOCH};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListingText(null, fetchSize,
+                        (id, published, title, description, features, updatedAt) -> {
+                            loaded.upsert(id, title, description, features);
+                            loadedVersions.record(id, updatedAt);
+                            if (updatedAt != null && updatedAt.isAfter(latest[0])) {
+                                latest[0] = updatedAt;
+                            }
+                        }));
+
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+            watermark = latest[0];
+            appliedVersions = loadedVersions;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastFullLoadMillis = System.currentTimeMillis();
+
+        log.info("Full-text index built {} listings ({} terms) in {}ms",
+                loaded.size(), loaded.termCount(), lastFullLoadMillis - start);
+    }
+
+    private void applyChanges() {
+        // Latest version of each changed row; null means drop it. Tokenizing happens here, outside the write lock.
+        Map<UUID, Map<String, int[]>> changes = new LinkedHashMap<>();
+        Map<UUID, Instant> versions = new LinkedHashMap<>();
+        Instant[] latest = {watermark};
+
+        // The overlap re-reads the newest rows every time; skip the versions already applied
+        readOnlyTransaction.executeWithoutResult(status ->
+                propertyListingRepository.streamListingText(watermark.minus(overlap), fetchSize,
+                        (id, published, title, description, features, updatedAt) -> {
+                            if (updatedAt != null && updatedAt.isAfter(latest[0])) {
+                                latest[0] = updatedAt;
+                            }
+                            if (appliedVersions.isApplied(id, updatedAt)) {
+                                return;
+                            }
+                            changes.put(id, published ? InvertedIndex.analyze(title, description, features) : null);
+                            versions.put(id, updatedAt);
+                        }));
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changes.forEach((id, frequencies) -> {
+                if (frequencies != null) {
+                    index.upsert(id, frequencies);
+                } else {
+                    index.remove(id);
+                }
+            });
+            watermark = latest[0];
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        versions.forEach(appliedVersions::record);
+
+        log.debug("Full-text index applied {} changes", changes.size());
+    }
+
+    private void writeSnapshot() throws IOException {
+        if (snapshotPath == null || index == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+
+        try {
+            // Readers keep going; only refreshes wait while the snapshot is written
+            lock.readLock().lock();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeLong(watermark.getEpochSecond());
+                out.writeInt(watermark.getNano());
+                out.writeLong(lastFullLoadMillis);
+                index.writeTo(out);
+                dirty = false;
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        lastSnapshotMillis = System.currentTimeMillis();
+        snapshotBytes = Files.size(snapshotPath);
+        log.debug("Full-text index snapshot written to {} ({} bytes) in {}ms",
+                snapshotPath, snapshotBytes, lastSnapshotMillis - start);
+    }
+}
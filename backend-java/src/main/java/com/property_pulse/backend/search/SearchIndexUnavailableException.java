@@ -0,0 +1,19 @@
+package com.property_pulse.backend.search;
+
+/**
+ * Thrown by index-only queries (map, radius and full-text search) before the first load has finished.
+ * Mapped to 503 + Retry-After.
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SearchIndexUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
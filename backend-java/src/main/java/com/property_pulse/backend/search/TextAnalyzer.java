@@ -0,0 +1,111 @@
+package com.property_pulse.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Turns listing text and queries into index terms: lower-cased runs of letters and digits,
+ * stop words dropped, then a light English stemmer so "renovated", "renovation" and
+ * "renovations" all index as "renovat". The stemmer is deliberately simpler than Porter's;
+ * it only has to agree with itself at index and query time.
+ */
+final class TextAnalyzer {
+
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "of", "on", "or", "the", "this", "to", "with");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Stemmed terms in order of appearance (duplicates kept, so callers can count frequencies).
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachToken(text, token -> {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * Lower-cased, unstemmed tokens; stop words are kept because the last one may be a prefix being typed.
+     */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        forEachToken(text, tokens::add);
+        return tokens;
+    }
+
+    static boolean isStopWord(String token) {
+        return STOP_WORDS.contains(token);
+    }
+
+    static String stem(String token) {
+        String word = token;
+        int length = word.length();
+        if (length <= 3 || !Character.isLetter(word.charAt(length - 1))) {
+            return word;
+        }
+
+        // Plurals
+        if (word.endsWith("ies") && length > 4) {
+            word = word.substring(0, length - 3) + "y";
+        } else if (word.endsWith("sses")) {
+            word = word.substring(0, length - 2);
+        } else if (word.endsWith("es") && length > 4 && !word.endsWith("ees")) {
+            word = word.substring(0, length - 2);
+        } else if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            word = word.substring(0, length - 1);
+        }
+
+        // Verb and noun endings
+        if (word.endsWith("ing") && word.length() > 5) {
+            word = undouble(word.substring(0, word.length() - 3));
+        } else if (word.endsWith("ed") && word.length() > 4 && !word.endsWith("eed")) {
+            word = undouble(word.substring(0, word.length() - 2));
+        } else if (word.endsWith("ation") && word.length() > 7) {
+            word = word.substring(0, word.length() - 3);
+        }
+
+        if (word.endsWith("e") && word.length() > 4) {
+            word = word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static String undouble(String word) {
+        int length = word.length();
+        if (length > 3 && word.charAt(length - 1) == word.charAt(length - 2)
+                && "lsz".indexOf(word.charAt(length - 1)) < 0) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    private static void forEachToken(String text, Consumer<String> consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    consumer.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+    }
+}
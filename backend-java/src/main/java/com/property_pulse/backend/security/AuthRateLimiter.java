@@ -0,0 +1,125 @@
+package com.property_pulse.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-IP and per-email token buckets for /api/auth/login and /api/auth/register,
+ * checked by the controller before any database lookup or password hashing.
+ * A request is charged to both buckets only when both admit it. The IP is the client address,
+ * which server.forward-headers-strategy resolves from X-Forwarded-For behind a trusted proxy.
+ * Admitted/rejected counts are published as auth.rate_limit.requests.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    public enum Endpoint {
+        login,
+        register
+    }
+
+    /**
+     * Outcome of a check; retryAfterSeconds is only meaningful when rejected.
+     */
+    public record Decision(boolean admitted, long retryAfterSeconds) {
+
+        static final Decision ADMITTED = new Decision(true, 0);
+    }
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginByIp;
+    private final TokenBucketRateLimiter loginByEmail;
+    private final TokenBucketRateLimiter registerByIp;
+    private final TokenBucketRateLimiter registerByEmail;
+
+    private final Counter loginAdmitted;
+    private final Counter loginRejectedByIp;
+    private final Counter loginRejectedByEmail;
+    private final Counter registerAdmitted;
+    private final Counter registerRejectedByIp;
+    private final Counter registerRejectedByEmail;
+
+    public AuthRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.login.ip.capacity:20}") int loginIpCapacity,
+            @Value("${security.rate-limit.login.ip.refill-per-minute:20}") int loginIpRefill,
+            @Value("${security.rate-limit.login.email.capacity:5}") int loginEmailCapacity,
+            @Value("${security.rate-limit.login.email.refill-per-minute:5}") int loginEmailRefill,
+            @Value("${security.rate-limit.register.ip.capacity:5}") int registerIpCapacity,
+            @Value("${security.rate-limit.register.ip.refill-per-minute:5}") int registerIpRefill,
+            @Value("${security.rate-limit.register.email.capacity:3}") int registerEmailCapacity,
+            @Value("${security.rate-limit.register.email.refill-per-minute:3}") int registerEmailRefill) {
+        this.enabled = enabled;
+        this.loginByIp = new TokenBucketRateLimiter(loginIpCapacity, loginIpRefill);
+        this.loginByEmail = new TokenBucketRateLimiter(loginEmailCapacity, loginEmailRefill);
+        this.registerByIp = new TokenBucketRateLimiter(registerIpCapacity, registerIpRefill);
+        this.registerByEmail = new TokenBucketRateLimiter(registerEmailCapacity, registerEmailRefill);
+
+        this.loginAdmitted = counter(meterRegistry, Endpoint.login, "admitted", "none");
+        this.loginRejectedByIp = counter(meterRegistry, Endpoint.login, "rejected", "ip");
+        this.loginRejectedByEmail = counter(meterRegistry, Endpoint.login, "rejected", "email");
+        this.registerAdmitted = counter(meterRegistry, Endpoint.register, "admitted", "none");
+        this.registerRejectedByIp = counter(meterRegistry, Endpoint.register, "rejected", "ip");
+        this.registerRejectedByEmail = counter(meterRegistry, Endpoint.register, "rejected", "email");
+
+        Gauge.builder("auth.rate_limit.tracked_keys", this,
+                        limiter -> limiter.loginByIp.size() + limiter.loginByEmail.size()
+                                + limiter.registerByIp.size() + limiter.registerByEmail.size())
+                .description("Rate limiter buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    public Decision check(Endpoint endpoint, String ip, String email) {
+        if (!enabled) {
+            return Decision.ADMITTED;
+        }
+
+        boolean login = endpoint == Endpoint.login;
+        TokenBucketRateLimiter byIp = login ? loginByIp : registerByIp;
+        TokenBucketRateLimiter byEmail = login ? loginByEmail : registerByEmail;
+
+        if (ip != null && !byIp.tryAcquire(ip)) {
+            (login ? loginRejectedByIp : registerRejectedByIp).increment();
+            return new Decision(false, byIp.retryAfterSeconds(ip));
+        }
+
+        String normalizedEmail = UserDetailsCache.normalize(email);
+        if (normalizedEmail != null && !normalizedEmail.isEmpty() && !byEmail.tryAcquire(normalizedEmail)) {
+            // A request the email limit turns away must not use up the IP's budget as well:
+            // otherwise hammering one account would lock everyone behind the same NAT out
+            if (ip != null) {
+                byIp.refund(ip);
+            }
+            (login ? loginRejectedByEmail : registerRejectedByEmail).increment();
+            return new Decision(false, byEmail.retryAfterSeconds(normalizedEmail));
+        }
+
+        (login ? loginAdmitted : registerAdmitted).increment();
+        return Decision.ADMITTED;
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-ms:60000}")
+    public void evictIdleKeys() {
+        int evicted = loginByIp.evictIdle() + loginByEmail.evictIdle()
+                + registerByIp.evictIdle() + registerByEmail.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limiter keys", evicted);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, Endpoint endpoint, String outcome, String limitedBy) {
+        return Counter.builder("auth.rate_limit.requests")
+                .tag("endpoint", endpoint.name())
+                .tag("outcome", outcome)
+                .tag("limited_by", limitedBy)
+                .register(registry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.property_pulse.backend.security;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BCrypt encoder whose work factor is chosen at startup by timing this machine
+ * against a target latency, instead of the fixed library default.
+ *
+ * Hashes with a lower cost, or stored with another algorithm ("{id}..." format), report
+ * {@link #upgradeEncoding(String)} so they can be re-hashed on the next login. Higher costs
+ * are left alone: every node calibrates on its own, so nodes can settle on different costs,
+ * and re-hashing downwards would make them undo each other's upgrades on every login. Pin
+ * the cost ({@link #fixed}) to give all nodes the same one.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder bcrypt;
+    private final PasswordEncoder legacyEncoders = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+    public CalibratedPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Uses the given cost as is, without timing anything.
+     */
+    public static CalibratedPasswordEncoder fixed(int strength) {
+        log.info("Password hashing uses pinned bcrypt cost {}", strength);
+        return new CalibratedPasswordEncoder(strength);
+    }
+
+    /**
+     * Picks the highest cost in [minStrength, maxStrength] whose hash time stays within targetMs.
+     * Each BCrypt cost step doubles the work, so one measurement at the minimum is extrapolated.
+     */
+    public static CalibratedPasswordEncoder calibrate(long targetMs, int minStrength, int maxStrength) {
+        double baseMs = measureMs(minStrength);
+
+        int chosen = minStrength;
+        while (chosen < maxStrength && baseMs * (1L << (chosen + 1 - minStrength)) <= targetMs) {
+            chosen++;
+        }
+
+        double chosenMs = chosen == minStrength ? baseMs : measureMs(chosen);
+        log.info("Password hashing calibrated: bcrypt cost {} takes {} ms (target {} ms, allowed {}-{})",
+                chosen, String.format("%.1f", chosenMs), targetMs, minStrength, maxStrength);
+
+        return new CalibratedPasswordEncoder(chosen);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (encodedPassword.startsWith("{")) {
+            return legacyEncoders.matches(rawPassword, encodedPassword);
+        }
+        return bcrypt.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return true; // other algorithm
+        }
+        return Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    private static double measureMs(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration-warmup");
+
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-sample");
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
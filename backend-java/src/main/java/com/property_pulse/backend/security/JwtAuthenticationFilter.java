@@ -1,30 +1,60 @@
 package com.property_pulse.backend.security;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.property_pulse.backend.audit.AuthAuditEventType;
+import com.property_pulse.backend.audit.AuthAuditLog;
+
 import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final AuthAuditLog authAuditLog;
+    private final boolean claimsOnly;
+    private final Meter.MeterProvider<Timer> filterTimers;
+
+    public JwtAuthenticationFilter(
+            MeterRegistry meterRegistry,
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            SecurityVersionRegistry securityVersionRegistry,
+            AuthAuditLog authAuditLog,
+            @Value("${security.jwt.claims-only:false}") boolean claimsOnly) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.authAuditLog = authAuditLog;
+        this.claimsOnly = claimsOnly;
+        this.filterTimers = Timer.builder("auth.filter")
+                .description("Per-request JWT authentication, tagged with the outcome")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -32,6 +62,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
+        // Only the authentication work is timed, not the rest of the chain (see http.server.requests for that)
+        long start = System.nanoTime();
+        String outcome = authenticate(request);
+        filterTimers.withTag("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Populates the SecurityContext when the request carries a valid token.
+     *
+     * @return the auth.filter outcome tag
+     */
+    private String authenticate(HttpServletRequest request) {
         String path = request.getServletPath();
         String method = request.getMethod();
         
@@ -40,59 +84,98 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Skip JWT processing for public endpoints
         if (isPublicEndpoint(path)) {
             log.debug("Skipping JWT processing for public endpoint: {}", path);
-            filterChain.doFilter(request, response);
-            return;
+            return "public";
         }
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final VerifiedToken verifiedToken;
 
         // Check for Authorization header
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.debug("No valid Authorization header found for: {}", path);
-            filterChain.doFilter(request, response);
-            return;
+            return "no_token";
         }
 
         // Extract JWT token
         jwt = authHeader.substring(7);
         
+        // Signature and expiry are checked exactly once here
         try {
-            userEmail = jwtService.extractUsername(jwt);
-            log.debug("Extracted username from JWT: {}", userEmail);
+            verifiedToken = jwtService.verify(jwt);
+            log.debug("Extracted username from JWT: {}", verifiedToken.subject());
         } catch (Exception e) {
-            log.warn("Failed to extract username from JWT: {}", e.getMessage());
-            filterChain.doFilter(request, response);
-            return;
+            log.debug("Failed to verify JWT: {}", e.getMessage());
+            authAuditLog.record(AuthAuditEventType.INVALID_TOKEN, null, request.getRemoteAddr(), e.getClass().getSimpleName());
+            return JwtService.failureOutcome(e);
+        }
+
+        final String userEmail = verifiedToken.subject();
+
+        if (userEmail == null) {
+            return "no_subject";
         }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "already_authenticated";
+        }
+
+        // Claims-only mode: build the principal from the token, no database round trip
+        if (claimsOnly) {
+            Optional<JwtPrincipal> principal = jwtService.toPrincipal(verifiedToken);
+
+            if (principal.isPresent()) {
+                JwtPrincipal jwtPrincipal = principal.get();
 
-        // Process authentication if user is not already authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                log.debug("Loaded user details for: {}", userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("Successfully authenticated user: {}", userEmail);
-                } else {
-                    log.warn("Invalid JWT token for user: {}", userEmail);
+                if (!securityVersionRegistry.isCurrent(jwtPrincipal.getId(), jwtPrincipal.getSecurityVersion())) {
+                    authAuditLog.record(AuthAuditEventType.REVOKED_TOKEN, userEmail, request.getRemoteAddr());
+                    return "revoked";
                 }
-                
-            } catch (Exception e) {
-                log.error("Error during JWT authentication for user: {} - {}", userEmail, e.getMessage());
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        jwtPrincipal,
+                        null,
+                        jwtPrincipal.getAuthorities());
+
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                log.debug("Authenticated user from token claims: {}", userEmail);
+                return "authenticated";
             }
+
+            // Older tokens without identity claims fall through to the database lookup
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            log.debug("Loaded user details for: {}", userEmail);
+
+            if (!jwtService.isTokenValid(verifiedToken, userDetails)) {
+                authAuditLog.record(AuthAuditEventType.INVALID_TOKEN, userEmail, request.getRemoteAddr(), "subject mismatch");
+                return "subject_mismatch";
+            }
+
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities());
+
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            
+            log.debug("Successfully authenticated user: {}", userEmail);
+            return "authenticated";
+
+        } catch (UsernameNotFoundException e) {
+            log.debug("Token subject no longer exists: {}", userEmail);
+            authAuditLog.record(AuthAuditEventType.INVALID_TOKEN, userEmail, request.getRemoteAddr(), e.getClass().getSimpleName());
+            return "user_not_found";
+
+        } catch (Exception e) {
+            log.debug("Error during JWT authentication for user: {} - {}", userEmail, e.getMessage());
+            authAuditLog.record(AuthAuditEventType.INVALID_TOKEN, userEmail, request.getRemoteAddr(), e.getClass().getSimpleName());
+            return "error";
+        }
     }
     
     /**
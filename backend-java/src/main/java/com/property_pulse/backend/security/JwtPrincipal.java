@@ -0,0 +1,36 @@
+package com.property_pulse.backend.security;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.property_pulse.backend.Model.AuthenticatedUser;
+import com.property_pulse.backend.Model.Role;
+
+import lombok.Value;
+
+/**
+ * Lightweight principal rebuilt from token claims alone, used in claims-only mode
+ * so authenticated requests don't need a database round trip.
+ */
+@Value
+public class JwtPrincipal implements AuthenticatedUser, Principal {
+
+    UUID id;
+    String email;
+    Role role;
+    int securityVersion;
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -4,27 +4,128 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.Model.Role;
+import com.property_pulse.backend.Model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class JwtService {
 
-    @Value("${JWT_SECRET}")
-    private String jwtSecret;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
+    private final long jwtExpiration;
+
+    // Built once at startup - decoding the secret and deriving the HMAC key is not free
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    // auth.jwt.verify is tagged with the outcome so failures (expired, bad_signature, ...) show up separately
+    private final Meter.MeterProvider<Timer> verifyTimers;
+    private final Timer verifySuccess;
+    private final Timer generateTimer;
+
+    public JwtService(
+            MeterRegistry meterRegistry,
+            @Value("${JWT_SECRET}") String jwtSecret,
+            @Value("${JWT_EXPIRATION}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
 
-    @Value("${JWT_EXPIRATION}")
-    private long jwtExpiration;
+        this.verifyTimers = Timer.builder("auth.jwt.verify")
+                .description("JWT signature and expiry verification")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.verifySuccess = verifyTimers.withTag("outcome", "success");
+        this.generateTimer = Timer.builder("auth.jwt.generate")
+                .description("JWT signing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the signature and expiry of the token exactly once and returns its contents.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (RuntimeException e) {
+            verifyTimers.withTag("outcome", failureOutcome(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+
+        Map<String, Object> extraClaims = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (value != null
+                    && !Claims.SUBJECT.equals(name)
+                    && !Claims.ISSUED_AT.equals(name)
+                    && !Claims.EXPIRATION.equals(name)) {
+                extraClaims.put(name, value);
+            }
+        });
+
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                extraClaims);
+        verifySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    /**
+     * Metric tag for a failed verification.
+     */
+    static String failureOutcome(Throwable e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SecurityException) {
+            return "bad_signature";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "empty";
+        }
+        return "error";
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -36,85 +137,92 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+
+        // Enough to rebuild the principal without a database lookup (claims-only mode)
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(CLAIM_USER_ID, user.getId().toString());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         long currentTime = System.currentTimeMillis();
         Date issuedAt = new Date(currentTime);
         Date expiresAt = new Date(currentTime + jwtExpiration);
-        
-        log.info("Generating JWT token for user: {} with expiration: {} (duration: {}ms)", 
+
+        log.debug("Generating JWT token for user: {} with expiration: {} (duration: {}ms)",
                  userDetails.getUsername(), expiresAt, jwtExpiration);
-        
-        return Jwts
+
+        return generateTimer.record(() -> Jwts
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(issuedAt)
                 .setExpiration(expiresAt)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact());
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    /**
+     * Rebuilds the caller from the token claims alone.
+     * Empty for tokens issued before the identity claims were added.
+     */
+    public Optional<JwtPrincipal> toPrincipal(VerifiedToken token) {
+        Object userId = token.claim(CLAIM_USER_ID);
+        Object role = token.claim(CLAIM_ROLE);
+        Object securityVersion = token.claim(CLAIM_SECURITY_VERSION);
+
+        if (token.subject() == null || userId == null || role == null || !(securityVersion instanceof Number)) {
+            return Optional.empty();
+        }
+
         try {
-            final String username = extractUsername(token);
-            boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-            
-            if (!isValid) {
-                if (isTokenExpired(token)) {
-                    log.warn("Token is expired for user: {}", username);
-                } else {
-                    log.warn("Token username mismatch. Token: {}, UserDetails: {}", 
-                             username, userDetails.getUsername());
-                }
-            }
-            
-            return isValid;
-        } catch (Exception e) {
-            log.error("Error validating token: {}", e.getMessage());
-            return false;
+            return Optional.of(new JwtPrincipal(
+                    UUID.fromString(userId.toString()),
+                    token.subject(),
+                    Role.valueOf(role.toString()),
+                    ((Number) securityVersion).intValue()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed identity claims for user: {}", token.subject());
+            return Optional.empty();
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            Date now = new Date();
-            boolean expired = expiration.before(now);
-            
-            if (expired) {
-                log.debug("Token expired at: {}, current time: {}", expiration, now);
-            }
-            
-            return expired;
-        } catch (Exception e) {
-            log.error("Error checking token expiration: {}", e.getMessage());
-            return true; // Consider expired if we can't parse
+    /**
+     * Checks an already verified token against the loaded user. No cryptography happens here.
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        boolean isValid = token.subject() != null && token.subject().equals(userDetails.getUsername());
+
+        if (!isValid) {
+            log.debug("Token username mismatch. Token: {}, UserDetails: {}",
+                     token.subject(), userDetails.getUsername());
         }
+
+        return isValid;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        try {
+            return isTokenValid(verify(token), userDetails);
+        } catch (Exception e) {
+            log.debug("Error validating token: {}", e.getMessage());
+            return false;
+        }
     }
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (Exception e) {
-            log.error("Error parsing JWT claims: {}", e.getMessage());
+            log.debug("Error parsing JWT claims: {}", e.getMessage());
             throw e;
         }
     }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
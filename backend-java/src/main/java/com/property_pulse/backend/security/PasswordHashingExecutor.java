@@ -0,0 +1,226 @@
+package com.property_pulse.backend.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password encode/verify on a dedicated pool sized to the number of cores.
+ * The queue is bounded: once it is full, callers get a {@link PasswordHashingRejectedException}
+ * immediately instead of tying up request threads during a login storm.
+ *
+ * Each call is timed end to end as auth.password.hash (tagged with operation and outcome);
+ * auth.password.queue_wait isolates the time spent waiting for a pool thread.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Timer verifyMatch;
+    private final Timer verifyMismatch;
+    private final Timer encodeSuccess;
+
+    public PasswordHashingExecutor(
+            MeterRegistry meterRegistry,
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.pool = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("auth.password.queue_wait")
+                .description("Time a hashing task waited for a pool thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyMatch = hashTimer("verify", "match");
+        this.verifyMismatch = hashTimer("verify", "mismatch");
+        this.encodeSuccess = hashTimer("encode", "success");
+        Gauge.builder("auth.password.queue", pool, executor -> executor.getQueue().size())
+                .description("Hashing tasks waiting for a pool thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks currently running")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool configured: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = run("verify", start, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+        (matches ? verifyMatch : verifyMismatch).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String encoded = run("encode", start, () -> passwordEncoder.encode(rawPassword));
+        encodeSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return encoded;
+    }
+
+    /**
+     * Hashes many passwords in parallel on the same pool (bulk import).
+     * At most one task per pool thread is in flight (running or queued), so bulk work
+     * takes no more queue slots than the pool has threads and leaves the rest to logins.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(pool.getMaximumPoolSize());
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                inFlight.acquire();
+                try {
+                    futures.add(pool.submit(() -> {
+                        try {
+                            return passwordEncoder.encode(rawPassword);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    futures.forEach(future -> future.cancel(true));
+                    throw new PasswordHashingRejectedException("Password hashing is saturated. Please retry the import shortly.", retryAfterSeconds);
+                }
+            }
+
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * True when the stored hash uses an outdated cost or algorithm. Cheap - no hashing involved.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getPoolSize() {
+        return pool.getMaximumPoolSize();
+    }
+
+    public int getQueueSize() {
+        return pool.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    private <T> T run(String operation, long start, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing pool saturated (queue: {})", pool.getQueue().size());
+            recordFailure(operation, "rejected", start);
+            throw new PasswordHashingRejectedException("Too many sign-in requests. Please try again shortly.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {}ms", timeoutMs);
+            recordFailure(operation, "timeout", start);
+            throw new PasswordHashingRejectedException("Too many sign-in requests. Please try again shortly.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            recordFailure(operation, "error", start);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Timer hashTimer(String operation, String outcome) {
+        return Timer.builder("auth.password.hash")
+                .description("Password encode/verify including queue wait")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void recordFailure(String operation, String outcome, long start) {
+        hashTimer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
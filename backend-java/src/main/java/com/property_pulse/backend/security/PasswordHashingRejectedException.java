@@ -0,0 +1,18 @@
+package com.property_pulse.backend.security;
+
+/**
+ * Thrown when the password hashing pool is saturated. Mapped to 503 + Retry-After.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,58 @@
+package com.property_pulse.backend.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.property_pulse.backend.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of every user's security version, used to revoke claims-only tokens.
+ * Only users whose version was ever bumped are kept, so the table stays small.
+ * Revocation takes effect within one refresh interval.
+ */
+@Slf4j
+@Component
+public class SecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean claimsOnly;
+
+    private volatile Map<UUID, Integer> versions = Map.of();
+
+    public SecurityVersionRegistry(
+            UserRepository userRepository,
+            @Value("${security.jwt.claims-only:false}") boolean claimsOnly) {
+        this.userRepository = userRepository;
+        this.claimsOnly = claimsOnly;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.version-refresh-ms:30000}")
+    public void refresh() {
+        if (!claimsOnly) {
+            return;
+        }
+
+        try {
+            Map<UUID, Integer> latest = new HashMap<>();
+            for (UserRepository.SecurityVersionView row : userRepository.findBumpedSecurityVersions()) {
+                latest.put(row.getId(), row.getSecurityVersion());
+            }
+            versions = Map.copyOf(latest);
+            log.debug("Refreshed security versions for {} users", latest.size());
+        } catch (Exception e) {
+            // Keep serving the last known table rather than locking everyone out
+            log.error("Failed to refresh security versions: {}", e.getMessage());
+        }
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+}
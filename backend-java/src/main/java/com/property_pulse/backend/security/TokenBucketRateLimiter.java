@@ -0,0 +1,90 @@
+package com.property_pulse.backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket per key, implemented as GCRA: each key holds a single
+ * "theoretical arrival time" that is advanced with compare-and-set, so admitting a
+ * request is one CAS on one long with no locks and no background refill.
+ *
+ * A bucket whose arrival time is in the past is full again, i.e. idle, and
+ * {@link #evictIdle()} drops it.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute) {
+        this(capacity, refillPerMinute, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and refill must be positive");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(String)}, for a request that another
+     * limit then rejected. An arrival time moved into the past just means a full bucket.
+     */
+    public void refund(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    /**
+     * Seconds until the key would be admitted again (at least 1).
+     */
+    public long retryAfterSeconds(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return 1;
+        }
+        long waitNanos = bucket.get() + emissionIntervalNanos - burstNanos - nanoClock.getAsLong();
+        long oneSecond = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + oneSecond - 1) / oneSecond);
+    }
+
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.property_pulse.backend.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.property_pulse.backend.Model.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded, TTL-evicting cache of users keyed by normalized email.
+ * Sits in front of the UserDetailsService so authenticated requests and logins
+ * for the same few thousand users don't each hit the database.
+ * Holds immutable {@link UserSnapshot}s, never the JPA entity, since every request thread
+ * of a user gets the same cached instance.
+ * Hit/miss/eviction counters are published as cache.* metrics under name "userDetails".
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserSnapshot> cache;
+
+    public UserDetailsCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.user-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-cache.ttl-ms:300000}") long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        log.info("User details cache configured: max size {}, ttl {}ms", maxSize, ttlMs);
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    /**
+     * Returns the cached snapshot or loads the user and snapshots it. Missing users are not cached.
+     *
+     * The loader runs outside the cache's compute lock on purpose: Caffeine computes under
+     * a synchronized map bin, and blocking JDBC inside it would pin a virtual thread's carrier.
+     * Two concurrent misses for the same email may both load; the last put wins.
+     */
+    public Optional<UserSnapshot> get(String email, Function<String, Optional<User>> loader) {
+        String key = normalize(email);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        UserSnapshot cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserSnapshot> loaded = loader.apply(key).map(UserSnapshot::of);
+        loaded.ifPresent(user -> cache.put(key, user));
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        String key = normalize(email);
+        if (key != null) {
+            cache.invalidate(key);
+            log.debug("Invalidated cached user details for: {}", key);
+        }
+    }
+
+    /**
+     * Evicts the user with this id, for callers that know the row but not the email (a row
+     * change notification). Scans the cache, which is fine for how rarely users change.
+     */
+    public void invalidateUser(UUID id) {
+        if (cache.asMap().values().removeIf(user -> id.equals(user.getId()))) {
+            log.debug("Invalidated cached user details for user {}", id);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
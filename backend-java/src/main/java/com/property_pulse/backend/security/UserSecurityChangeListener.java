@@ -0,0 +1,52 @@
+package com.property_pulse.backend.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.property_pulse.backend.Model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts a user from {@link UserDetailsCache} when a save changes anything that
+ * affects authentication (active flag, role, password hash).
+ * Registered on {@link User} via @EntityListeners; Spring Boot wires it as a bean.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecurityChangeListener {
+
+    private final UserDetailsCache userDetailsCache;
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        if (user.hasSecurityRelevantChanges()) {
+            evict(user.getEmail());
+            if (user.getPersistedEmail() != null && !user.getPersistedEmail().equals(user.getEmail())) {
+                evict(user.getPersistedEmail());
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        evict(user.getEmail());
+    }
+
+    private void evict(String email) {
+        userDetailsCache.invalidate(email);
+
+        // Evict again after commit so a concurrent request can't re-cache the pre-commit row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.invalidate(email);
+                }
+            });
+        }
+    }
+}
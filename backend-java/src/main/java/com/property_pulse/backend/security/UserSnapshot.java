@@ -0,0 +1,89 @@
+package com.property_pulse.backend.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.property_pulse.backend.Model.AuthenticatedUser;
+import com.property_pulse.backend.Model.Role;
+import com.property_pulse.backend.Model.User;
+
+/**
+ * Immutable copy of the authentication-relevant fields of a {@link User}, which is what
+ * {@link UserDetailsCache} holds and hands out. One cached principal is shared by every
+ * concurrent request of that user, so it must not be the managed, mutable entity; code that
+ * needs the entity loads it by id.
+ */
+public final class UserSnapshot implements UserDetails, AuthenticatedUser {
+
+    private final UUID id;
+    private final String email;
+    private final String passwordHash;
+    private final Role role;
+    private final boolean active;
+    private final int securityVersion;
+    private final List<GrantedAuthority> authorities;
+
+    private UserSnapshot(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.passwordHash = user.getPassword();
+        this.role = user.getRole();
+        this.active = user.isActive();
+        this.securityVersion = user.getSecurityVersion();
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public Role getRole() {
+        return role;
+    }
+
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+
+    @Override
+    public String toString() {
+        // No password hash in logs
+        return "UserSnapshot[id=" + id + ", email=" + email + ", role=" + role + ", active=" + active + "]";
+    }
+}
@@ -0,0 +1,27 @@
+package com.property_pulse.backend.security;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable result of a single JWT signature + expiry check.
+ * Holds everything the request path needs so the token never has to be parsed twice.
+ */
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims) {
+
+    public VerifiedToken {
+        claims = claims == null ? Map.of() : Map.copyOf(claims);
+    }
+
+    public Object claim(String name) {
+        return claims.get(name);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
@@ -6,50 +6,46 @@ import com.property_pulse.backend.dto.LoginRequest;
 import com.property_pulse.backend.dto.RegisterRequest;
 import com.property_pulse.backend.repository.UserRepository;
 import com.property_pulse.backend.security.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+import com.property_pulse.backend.security.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final Meter.MeterProvider<Timer> loginTimers;
+
+    public AuthenticationService(
+            UserRepository userRepository,
+            PasswordHashingExecutor passwordHashingExecutor,
+            JwtService jwtService,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.jwtService = jwtService;
+        this.loginTimers = Timer.builder("auth.login")
+                .description("Login end to end (lookup, password check, token), tagged with the outcome")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
 
     public AuthResponse register(RegisterRequest request) {
         try {
-            // Validate input
-            if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
-                throw new IllegalArgumentException("Email is required");
-            }
-            
-            if (request.getPassword() == null || request.getPassword().length() < 6) {
-                throw new IllegalArgumentException("Password must be at least 6 characters long");
-            }
-            
-            if (request.getFirstName() == null || request.getFirstName().trim().isEmpty()) {
-                throw new IllegalArgumentException("First name is required");
-            }
-            
-            if (request.getLastName() == null || request.getLastName().trim().isEmpty()) {
-                throw new IllegalArgumentException("Last name is required");
-            }
-
-            // Check if user already exists
-            if (userRepository.existsByEmail(request.getEmail().trim().toLowerCase())) {
-                throw new IllegalArgumentException("An account with this email already exists");
-            }
+            validateRegistration(request);
 
             // Create new user
             var user = new User(
@@ -57,11 +53,13 @@ public class AuthenticationService {
                 request.getLastName().trim(),
                 request.getEmail().trim().toLowerCase(),
                 request.getPhone() != null ? request.getPhone().trim() : null,
-                passwordEncoder.encode(request.getPassword())
+                passwordHashingExecutor.encode(request.getPassword())
             );
 
-            User savedUser = userRepository.save(user);
-            log.info("User successfully registered with ID: {}", savedUser.getId());
+            // Single atomic insert - the unique constraint on users.email decides, no exists() pre-check
+            User savedUser = userRepository.insertIfEmailAbsent(user)
+                .orElseThrow(EmailAlreadyRegisteredException::new);
+            log.debug("User successfully registered with ID: {}", savedUser.getId());
 
             var jwtToken = jwtService.generateToken(savedUser);
 
@@ -71,9 +69,16 @@ public class AuthenticationService {
                 .build();
                 
         } catch (IllegalArgumentException e) {
-            log.warn("Registration validation failed: {}", e.getMessage());
+            log.debug("Registration validation failed: {}", e.getMessage());
             throw e; // Re-throw validation errors as-is
 
+        } catch (EmailAlreadyRegisteredException e) {
+            log.debug("Registration for existing email: {}", request.getEmail());
+            throw e; // Surfaced as 409
+
+        } catch (PasswordHashingRejectedException e) {
+            throw e; // Overloaded - surfaced as 503
+
         } catch (Exception e) {
             log.error("Unexpected error during registration", e);
             throw new RuntimeException("Registration failed. Please try again later.");
@@ -81,14 +86,36 @@ public class AuthenticationService {
 
     }
 
+    static void validateRegistration(RegisterRequest request) {
+        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+            throw new IllegalArgumentException("Email is required");
+        }
+        
+        if (request.getPassword() == null || request.getPassword().length() < 6) {
+            throw new IllegalArgumentException("Password must be at least 6 characters long");
+        }
+        
+        if (request.getFirstName() == null || request.getFirstName().trim().isEmpty()) {
+            throw new IllegalArgumentException("First name is required");
+        }
+        
+        if (request.getLastName() == null || request.getLastName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Last name is required");
+        }
+    }
+
     public AuthResponse authenticate(LoginRequest request) {
+        long start = System.nanoTime();
+        String outcome = "error";
         try {
             // Input validation
             if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+                outcome = "invalid_request";
                 throw new IllegalArgumentException("Email is required");
             }
             
             if (request.getPassword() == null || request.getPassword().isEmpty()) {
+                outcome = "invalid_request";
                 throw new IllegalArgumentException("Password is required");
             }
 
@@ -99,7 +126,8 @@ public class AuthenticationService {
             var userOptional = userRepository.findByEmail(email);
 
             if (userOptional.isEmpty()) {
-                log.warn("Login attempt with non-existent email: {}", email);
+                log.debug("Login attempt with non-existent email: {}", email);
+                outcome = "user_not_found";
                 // Don't reveal that the email doesn't exist - security best practice
                 throw new BadCredentialsException("Invalid email or password");
             }
@@ -108,25 +136,26 @@ public class AuthenticationService {
             
             // Check if account is active
             if (!user.isEnabled()) {
-                log.warn("Login attempt for disabled account: {}", email);
+                log.debug("Login attempt for disabled account: {}", email);
+                outcome = "disabled";
                 throw new DisabledException("Account is disabled. Please contact support.");
             }
 
-            // Now attempt authentication
-            try {
-                authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, request.getPassword())
-                );
-                log.info("Authentication successful for user: {}", email);
-            } catch (BadCredentialsException e) {
-                log.warn("Invalid password for email: {}", email);
+            // Verify the password against the user we already loaded, on the hashing pool
+            if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
+                log.debug("Invalid password for email: {}", email);
+                outcome = "bad_password";
                 // Generic message - don't reveal whether email exists or password is wrong
                 throw new BadCredentialsException("Invalid email or password");
             }
+            log.debug("Authentication successful for user: {}", email);
+
+            rehashIfOutdated(user, request.getPassword());
 
             // Generate JWT token
             var jwtToken = jwtService.generateToken(user);
-            log.info("JWT token generated successfully for user: {}", email);
+            log.debug("JWT token generated successfully for user: {}", email);
+            outcome = "success";
 
             return AuthResponse.builder()
                 .token(jwtToken)
@@ -134,21 +163,25 @@ public class AuthenticationService {
                 .build();
 
         } catch (BadCredentialsException e) {
-            log.warn("Bad credentials: {}", e.getMessage());
+            log.debug("Bad credentials: {}", e.getMessage());
             throw e; // Re-throw with same message
 
         } catch (DisabledException e) {
-            log.warn("Account disabled: {}", e.getMessage());
+            log.debug("Account disabled: {}", e.getMessage());
             throw e; // Re-throw with same message
 
         } catch (LockedException e) {
-            log.warn("Account locked: {}", e.getMessage());
+            log.debug("Account locked: {}", e.getMessage());
             throw new RuntimeException("Account is locked. Please contact support.");
 
         } catch (IllegalArgumentException e) {
-            log.warn("Validation error: {}", e.getMessage());
+            log.debug("Validation error: {}", e.getMessage());
             throw e; // Re-throw validation errors
 
+        } catch (PasswordHashingRejectedException e) {
+            outcome = "rejected";
+            throw e; // Overloaded - surfaced as 503
+
         } catch (AuthenticationException e) {
             log.error("Authentication exception: {}", e.getMessage());
             throw new BadCredentialsException("Authentication failed");
@@ -157,6 +190,26 @@ public class AuthenticationService {
             log.error("Unexpected error during authentication for email: {}", request.getEmail(), e);
             throw new RuntimeException("Login failed. Please try again later.");
 
+        } finally {
+            loginTimers.withTag("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Re-hashes the password with the current cost/algorithm after a successful login.
+     * Best effort - a failure here never fails the login itself.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHashingExecutor.needsRehash(user.getPassword())) {
+            return;
+        }
+
+        try {
+            user.setPasswordHash(passwordHashingExecutor.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Upgraded password hash for user: {}", user.getEmail());
+        } catch (Exception e) {
+            log.warn("Could not upgrade password hash for user: {} - {}", user.getEmail(), e.getMessage());
         }
     }
 }
\ No newline at end of file
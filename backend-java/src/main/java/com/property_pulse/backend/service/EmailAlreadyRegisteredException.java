@@ -0,0 +1,11 @@
+package com.property_pulse.backend.service;
+
+/**
+ * Registration hit the users.email unique constraint. Mapped to 409 Conflict.
+ */
+public class EmailAlreadyRegisteredException extends RuntimeException {
+
+    public EmailAlreadyRegisteredException() {
+        super("An account with this email already exists");
+    }
+}
@@ -0,0 +1,18 @@
+package com.property_pulse.backend.service;
+
+/**
+ * Thrown when the configured number of exports is already streaming. Mapped to 503 + Retry-After.
+ */
+public class ExportCapacityException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportCapacityException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
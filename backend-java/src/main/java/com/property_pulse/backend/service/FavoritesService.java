@@ -0,0 +1,79 @@
+package com.property_pulse.backend.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.favorites.FavoritesStore;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+/**
+ * Favorites for the signed-in user. Membership and changes are answered by the in-memory
+ * {@link FavoritesStore}; only listing the favorited properties reads listings from Postgres.
+ */
+@Service
+public class FavoritesService {
+
+    private final FavoritesStore favoritesStore;
+    private final PropertyListingRepository propertyListingRepository;
+    private final int maxPerUser;
+    private final int maxCheck;
+
+    public FavoritesService(
+            FavoritesStore favoritesStore,
+            PropertyListingRepository propertyListingRepository,
+            @Value("${favorites.max-per-user:1000}") int maxPerUser,
+            @Value("${properties.search.max-limit:100}") int maxCheck) {
+        this.favoritesStore = favoritesStore;
+        this.propertyListingRepository = propertyListingRepository;
+        this.maxPerUser = maxPerUser;
+        this.maxCheck = maxCheck;
+    }
+
+    /**
+     * Sets the favorite to the given state; repeating the call changes nothing.
+     *
+     * @throws IllegalArgumentException if the property does not exist or the user is at the limit
+     */
+    public void setFavorite(UUID userId, UUID propertyId, boolean favorited) {
+        if (favorited && !favoritesStore.isFavorite(userId, propertyId)) {
+            if (favoritesStore.count(userId) >= maxPerUser) {
+                throw new IllegalArgumentException("At most " + maxPerUser + " favorites are allowed");
+            }
+            if (!propertyListingRepository.existsById(propertyId)) {
+                throw new IllegalArgumentException("Unknown property");
+            }
+        }
+        favoritesStore.setFavorite(userId, propertyId, favorited);
+    }
+
+    /**
+     * Which of a result page's listings the user has favorited. No database call once the user's set is loaded.
+     *
+     * @throws IllegalArgumentException for more ids than a search page holds
+     */
+    public List<UUID> favoritedAmong(UUID userId, List<UUID> propertyIds) {
+        if (propertyIds.size() > maxCheck) {
+            throw new IllegalArgumentException("At most " + maxCheck + " property ids per check");
+        }
+        return favoritesStore.favoritesAmong(userId, propertyIds);
+    }
+
+    /**
+     * Changes whenever {@link #favoriteListings} would return something different: the user's
+     * favorite ids plus the count and latest updated_at of the published listings among them,
+     * read with one aggregate query instead of the listings themselves.
+     */
+    public String favoritesVersion(UUID userId) {
+        List<UUID> ids = favoritesStore.favorites(userId).stream().sorted().toList();
+        return ids.isEmpty() ? "none" : ids + "@" + propertyListingRepository.summariesVersion(ids);
+    }
+
+    public List<PropertySummary> favoriteListings(UUID userId) {
+        List<UUID> ids = favoritesStore.favorites(userId);
+        return ids.isEmpty() ? List.of() : propertyListingRepository.findSummaries(ids);
+    }
+}
@@ -0,0 +1,92 @@
+package com.property_pulse.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+import com.property_pulse.backend.dto.FinancingParams;
+import com.property_pulse.backend.dto.InvestmentMetric;
+import com.property_pulse.backend.dto.InvestmentMetricsResponse;
+import com.property_pulse.backend.dto.ListingMetrics;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.metrics.InvestmentMetricsEngine;
+import com.property_pulse.backend.metrics.InvestmentMetricsEngine.ListingResult;
+import com.property_pulse.backend.metrics.InvestmentMetricsEngine.Ranking;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+/**
+ * Ranks the whole catalog by an investment metric under the caller's financing assumptions.
+ * Metrics come from {@link InvestmentMetricsEngine} and the cards from the search index, so
+ * callers get a 503 until both have loaded.
+ */
+@Service
+public class InvestmentMetricsService {
+
+    private final InvestmentMetricsEngine investmentMetricsEngine;
+    private final PropertySearchIndex propertySearchIndex;
+    private final FinancingAssumptions defaults;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public InvestmentMetricsService(
+            InvestmentMetricsEngine investmentMetricsEngine,
+            PropertySearchIndex propertySearchIndex,
+            @Value("${properties.metrics.defaults.interest-rate:7.0}") double interestRate,
+            @Value("${properties.metrics.defaults.down-payment:20}") double downPayment,
+            @Value("${properties.metrics.defaults.loan-term-years:30}") int loanTermYears,
+            @Value("${properties.metrics.defaults.vacancy:5}") double vacancy,
+            @Value("${properties.metrics.defaults.operating-expense:25}") double operatingExpense,
+            @Value("${properties.metrics.defaults.property-tax:1.1}") double propertyTax,
+            @Value("${properties.search.default-limit:20}") int defaultLimit,
+            @Value("${properties.search.max-limit:100}") int maxLimit) {
+        this.investmentMetricsEngine = investmentMetricsEngine;
+        this.propertySearchIndex = propertySearchIndex;
+        this.defaults = new FinancingAssumptions(interestRate, downPayment, loanTermYears, vacancy, operatingExpense, propertyTax);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an assumption outside its range
+     */
+    public InvestmentMetricsResponse rank(FinancingParams params, InvestmentMetric sortBy, Integer limit) {
+        FinancingAssumptions assumptions = params.toAssumptions(defaults);
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+
+        Ranking ranking = investmentMetricsEngine.rank(assumptions, sortBy, pageSize);
+        Map<UUID, PropertySummary> cards = propertySearchIndex.listings(
+                        ranking.top().stream().map(ListingResult::id).toList()).stream()
+                .collect(Collectors.toMap(PropertySummary::getId, Function.identity()));
+
+        // A listing the metrics still hold but the index has already dropped is left out
+        List<ListingMetrics> properties = ranking.top().stream()
+                .filter(result -> cards.containsKey(result.id()))
+                .map(result -> ListingMetrics.builder()
+                        .listing(cards.get(result.id()))
+                        .grossYield(orNull(result.grossYield()))
+                        .capRate(orNull(result.capRate()))
+                        .monthlyCashFlow(orNull(result.monthlyCashFlow()))
+                        .pricePerSqft(orNull(result.pricePerSqft()))
+                        .build())
+                .toList();
+
+        return InvestmentMetricsResponse.builder()
+                .properties(properties)
+                .evaluated(ranking.evaluated())
+                .positiveCashFlow(ranking.positiveCashFlow())
+                .averageCapRate(orNull(ranking.averageCapRate()))
+                .computeMicros(ranking.computeNanos() / 1000)
+                .kernel(investmentMetricsEngine.kernelName())
+                .build();
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.property_pulse.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.export.RowWriter;
+import com.property_pulse.backend.export.RowWriters;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports the filtered catalog with each listing's latest prediction as CSV or NDJSON.
+ *
+ * Rows go from a server-side cursor (properties.export.fetch-size rows at a time) through a
+ * fixed-size buffer, optionally gzip, to the response, so memory use does not grow with the
+ * export. If the client disconnects the next write fails, which aborts the query and closes
+ * the cursor. Each export holds a pooled connection for its whole duration, so at most
+ * properties.export.max-concurrent run at once.
+ */
+@Slf4j
+@Service
+public class ListingExportService {
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+    private final Timer exportTimer;
+
+    public ListingExportService(
+            PropertyListingRepository propertyListingRepository,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransaction,
+            MeterRegistry meterRegistry,
+            @Value("${properties.export.fetch-size:1000}") int fetchSize,
+            @Value("${properties.export.max-concurrent:2}") int maxConcurrent) {
+        this.propertyListingRepository = propertyListingRepository;
+        // A cursor needs a transaction; read-only lets Postgres skip the write bookkeeping
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.fetchSize = fetchSize;
+        this.permits = new Semaphore(maxConcurrent);
+        this.meterRegistry = meterRegistry;
+        this.exportTimer = Timer.builder("export.duration")
+                .description("Listing exports, from first row to last byte")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves an export slot and returns the body that streams it. The slot is released when
+     * the body finishes, fails or the client goes away.
+     *
+     * @throws IllegalArgumentException for an invalid filter range
+     * @throws ExportCapacityException  if max-concurrent exports are already running
+     */
+    public StreamingResponseBody export(PropertySearchCriteria criteria, RowWriters.Format format, boolean gzip) {
+        PropertySearchService.validate(criteria);
+        if (!permits.tryAcquire()) {
+            throw new ExportCapacityException("Too many exports in progress. Please try again shortly.", 30);
+        }
+
+        Counter rowCounter = Counter.builder("export.rows")
+                .description("Rows written by listing exports")
+                .tag("format", format.name().toLowerCase())
+                .register(meterRegistry);
+
+        return out -> {
+            long start = System.nanoTime();
+            long[] rows = {0};
+            try {
+                RowWriter writer = RowWriters.open(format, out, PropertyListingRepository.EXPORT_COLUMNS, gzip);
+                readOnlyTransaction.executeWithoutResult(status ->
+                        propertyListingRepository.streamExport(criteria, fetchSize, values -> {
+                            try {
+                                writer.write(values);
+                            } catch (IOException e) {
+                                // Unwinds through the JDBC callback, which closes the cursor and rolls back
+                                throw new UncheckedIOException(e);
+                            }
+                            rows[0]++;
+                        }));
+                writer.finish();
+                log.info("Listing export wrote {} rows as {}{} in {}ms", rows[0], format, gzip ? " (gzip)" : "",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            } catch (UncheckedIOException | IOException e) {
+                log.info("Listing export stopped after {} rows, client went away: {}", rows[0], e.getMessage());
+
+            } finally {
+                permits.release();
+                rowCounter.increment(rows[0]);
+                exportTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.property_pulse.backend.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.dto.ListingImportStatus;
+import com.property_pulse.backend.feed.ListingImport;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.PropertyLeaderboards;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports MLS-style listing feeds dropped into properties.import.feed-dir, one at a time on a
+ * background thread (see {@link ListingImport} for the pipeline).
+ *
+ * Each feed's progress is checkpointed to properties.import.checkpoint-dir. Starting the same
+ * feed again resumes it, and with properties.import.resume-on-start an import cut short by a
+ * crash or shutdown resumes by itself once the application is up.
+ */
+@Slf4j
+@Service
+public class ListingImportService {
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final PropertyLeaderboards propertyLeaderboards;
+    private final ObjectReader listingReader;
+    private final MeterRegistry meterRegistry;
+    private final Path feedDir;
+    private final Path checkpointDir;
+    private final int batchSize;
+    private final int parseThreads;
+    private final int queueCapacity;
+    private final boolean resumeOnStart;
+
+    private ListingImport current;
+    private Thread runner;
+
+    public ListingImportService(
+            PropertyListingRepository propertyListingRepository,
+            PropertyLeaderboards propertyLeaderboards,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${properties.import.feed-dir:data/feeds}") String feedDir,
+            @Value("${properties.import.checkpoint-dir:data/import-checkpoints}") String checkpointDir,
+            @Value("${properties.import.batch-size:1000}") int batchSize,
+            @Value("${properties.import.parse-threads:0}") int parseThreads,
+            @Value("${properties.import.queue-capacity:16}") int queueCapacity,
+            @Value("${properties.import.resume-on-start:true}") boolean resumeOnStart) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.propertyLeaderboards = propertyLeaderboards;
+        this.listingReader = objectMapper.readerFor(FeedListing.class);
+        this.meterRegistry = meterRegistry;
+        this.feedDir = Path.of(feedDir).toAbsolutePath().normalize();
+        this.checkpointDir = Path.of(checkpointDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        // One core each for the reader and the writer's JDBC work
+        this.parseThreads = parseThreads > 0 ? parseThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+        this.queueCapacity = queueCapacity;
+        this.resumeOnStart = resumeOnStart;
+
+        Gauge.builder("listing.import.queued", this, service -> service.queuedChunks())
+                .description("Chunks of the running listing import waiting between stages")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts importing a feed file, or resumes it from its checkpoint.
+     *
+     * @param file a .csv, .ndjson, .jsonl or .json file name in the feed directory
+     * @throws IllegalArgumentException if the file is not there or a CSV header lacks a required column
+     * @throws IllegalStateException    if an import is already running
+     */
+    public synchronized ListingImportStatus start(String file) throws IOException {
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("A listing import is already running");
+        }
+        if (file == null || file.isBlank() || !Path.of(file).getFileName().toString().equals(file)) {
+            throw new IllegalArgumentException("file must be a file name in the feed directory");
+        }
+        Path feedPath = feedDir.resolve(file);
+        if (!Files.isRegularFile(feedPath)) {
+            throw new IllegalArgumentException("No feed file " + file + " in " + feedDir);
+        }
+
+        Files.createDirectories(checkpointDir);
+        ListingImport listingImport = new ListingImport(propertyListingRepository, listingReader, meterRegistry,
+                feedPath, ListingImport.formatOf(file), checkpointDir.resolve(file + CHECKPOINT_SUFFIX),
+                batchSize, parseThreads, queueCapacity, propertyLeaderboards::removeListings);
+
+        current = listingImport;
+        runner = new Thread(listingImport::run, "listing-import-writer");
+        runner.setDaemon(true);
+        runner.start();
+        return listingImport.status();
+    }
+
+    /**
+     * The running import, or the last one since startup; null if there has been none.
+     */
+    public synchronized ListingImportStatus status() {
+        return current != null ? current.status() : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStart || !Files.isDirectory(checkpointDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> checkpoints = Files.newDirectoryStream(checkpointDir, "*" + CHECKPOINT_SUFFIX)) {
+            for (Path checkpoint : checkpoints) {
+                String name = checkpoint.getFileName().toString();
+                String file = name.substring(0, name.length() - CHECKPOINT_SUFFIX.length());
+                try {
+                    start(file);
+                    // One import at a time; any other interrupted feed resumes when started again
+                    return;
+                } catch (IllegalArgumentException | IOException e) {
+                    log.warn("Could not resume listing import of {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not look for interrupted listing imports in {}: {}", checkpointDir, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void stop() throws InterruptedException {
+        if (current != null && current.isRunning()) {
+            // The checkpoint stays, so the import resumes on the next start
+            current.cancel();
+            runner.join(10_000);
+        }
+    }
+
+    private synchronized int queuedChunks() {
+        return current != null && current.isRunning() ? current.queuedChunks() : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.property_pulse.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.analytics.MarketAnalytics;
+import com.property_pulse.backend.dto.MarketAnalyticsResponse;
+import com.property_pulse.backend.dto.MarketDimension;
+import com.property_pulse.backend.dto.MarketStats;
+
+/**
+ * Market analytics dashboard: statistics of a market and optionally its breakdown by one more
+ * dimension, all served from {@link MarketAnalytics} without touching the database.
+ */
+@Service
+public class MarketAnalyticsService {
+
+    private final MarketAnalytics marketAnalytics;
+
+    public MarketAnalyticsService(MarketAnalytics marketAnalytics) {
+        this.marketAnalytics = marketAnalytics;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a city without its state, a zip code without its
+     *                                  city, or a group_by the filters already fix
+     */
+    public MarketAnalyticsResponse analyze(String stateName, String cityName, String zipCode,
+                                           PropertyType propertyType, MarketDimension groupBy) {
+        if (cityName != null && stateName == null) {
+            throw new IllegalArgumentException("city_name requires state_name");
+        }
+        if (zipCode != null && cityName == null) {
+            throw new IllegalArgumentException("zip_code requires city_name");
+        }
+        if (groupBy != null && switch (groupBy) {
+            case state -> stateName != null;
+            case city -> cityName != null;
+            case zip_code -> zipCode != null;
+            case property_type -> propertyType != null;
+        }) {
+            throw new IllegalArgumentException("Cannot group by " + groupBy + " when filtering on it");
+        }
+
+        String type = propertyType != null ? propertyType.name() : null;
+        MarketStats market = marketAnalytics.stats(stateName, cityName, zipCode, type);
+        List<MarketStats> breakdown = List.of();
+        if (groupBy != null) {
+            breakdown = new ArrayList<>(marketAnalytics.breakdown(stateName, cityName, zipCode, type, groupBy));
+            breakdown.sort(Comparator.comparingLong(MarketStats::getListings).reversed());
+        }
+
+        return MarketAnalyticsResponse.builder()
+                .market(market)
+                .breakdown(breakdown)
+                .build();
+    }
+}
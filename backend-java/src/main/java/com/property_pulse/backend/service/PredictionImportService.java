@@ -0,0 +1,303 @@
+package com.property_pulse.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.property_pulse.backend.dto.AiPrediction;
+import com.property_pulse.backend.dto.PredictionImportResult;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.PropertyLeaderboards;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a model run's predictions (NDJSON or CSV, one prediction per line) into ai_predictions.
+ *
+ * Lines are parsed and validated one at a time and upserted in JDBC batches, so memory stays
+ * bounded by the batch size whatever the upload size. A bad row is rejected on its own: parse and
+ * range errors never reach the database, and if a batch still fails it is replayed row by row so
+ * only the offending rows are lost. Written rows are handed to the leaderboards right away.
+ */
+@Slf4j
+@Service
+public class PredictionImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
+
+    // Largest magnitudes the NUMERIC(p, s) columns accept, so out-of-range values are rejected here
+    // rather than failing a batch
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.TEN.pow(8);       // NUMERIC(10, 2)
+    private static final BigDecimal MAX_CAP_RATE = BigDecimal.valueOf(100);   // NUMERIC(5, 3)
+    private static final BigDecimal MAX_CONFIDENCE = BigDecimal.valueOf(1000); // NUMERIC(5, 2)
+
+    private static final Map<String, BiConsumer<AiPrediction, String>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("property_id", (p, v) -> p.setPropertyId(UUID.fromString(v)));
+        CSV_COLUMNS.put("investment_score", (p, v) -> p.setInvestmentScore(new BigDecimal(v)));
+        CSV_COLUMNS.put("cash_flow_score", (p, v) -> p.setCashFlowScore(new BigDecimal(v)));
+        CSV_COLUMNS.put("appreciation_score", (p, v) -> p.setAppreciationScore(new BigDecimal(v)));
+        CSV_COLUMNS.put("risk_score", (p, v) -> p.setRiskScore(new BigDecimal(v)));
+        CSV_COLUMNS.put("predicted_rent", (p, v) -> p.setPredictedRent(new BigDecimal(v)));
+        CSV_COLUMNS.put("predicted_appreciation", (p, v) -> p.setPredictedAppreciation(new BigDecimal(v)));
+        CSV_COLUMNS.put("predicted_cash_flow", (p, v) -> p.setPredictedCashFlow(new BigDecimal(v)));
+        CSV_COLUMNS.put("predicted_cap_rate", (p, v) -> p.setPredictedCapRate(new BigDecimal(v)));
+        CSV_COLUMNS.put("model_version", AiPrediction::setModelVersion);
+        CSV_COLUMNS.put("confidence_level", (p, v) -> p.setConfidenceLevel(new BigDecimal(v)));
+        CSV_COLUMNS.put("prediction_notes", AiPrediction::setPredictionNotes);
+    }
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final PropertyLeaderboards propertyLeaderboards;
+    private final ObjectReader predictionReader;
+    private final int batchSize;
+
+    public PredictionImportService(
+            PropertyListingRepository propertyListingRepository,
+            PropertyLeaderboards propertyLeaderboards,
+            ObjectMapper objectMapper,
+            @Value("${predictions.import.batch-size:1000}") int batchSize) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.propertyLeaderboards = propertyLeaderboards;
+        this.predictionReader = objectMapper.readerFor(AiPrediction.class);
+        this.batchSize = batchSize;
+    }
+
+    public PredictionImportResult importPredictions(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+        List<AiPrediction> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16);
+        List<BiConsumer<AiPrediction, String>> columns = format == Format.CSV ? readHeader(reader) : null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int row = ++counters.received;
+
+            AiPrediction prediction;
+            try {
+                prediction = columns != null ? parseCsv(line, columns) : parseJson(line);
+                validate(prediction);
+            } catch (IllegalArgumentException e) {
+                counters.reject(row, e.getMessage());
+                continue;
+            }
+
+            batch.add(prediction);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush(batch, batchRows, counters);
+            }
+        }
+
+        flush(batch, batchRows, counters);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long rowsPerSecond = counters.received * 1000L / elapsedMs;
+        log.info("Prediction import finished: {} received, {} upserted, {} rejected in {}ms ({} rows/s)",
+                counters.received, counters.upserted, counters.rejected, elapsedMs, rowsPerSecond);
+
+        return PredictionImportResult.builder()
+                .received(counters.received)
+                .upserted(counters.upserted)
+                .rejected(counters.rejected)
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(counters.errors)
+                .build();
+    }
+
+    private void flush(List<AiPrediction> batch, List<Integer> batchRows, Counters counters) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<AiPrediction> written = new ArrayList<>(batch.size());
+        try {
+            record(propertyListingRepository.upsertPredictions(batch), batch, batchRows, written, counters);
+        } catch (DataAccessException e) {
+            // The batch ran in one implicit transaction, so nothing from it was written. Replay it
+            // row by row to find the rows the database refuses and keep the rest.
+            log.warn("Prediction batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    record(propertyListingRepository.upsertPredictions(List.of(batch.get(i))),
+                            batch.subList(i, i + 1), batchRows.subList(i, i + 1), written, counters);
+                } catch (DataAccessException rowError) {
+                    counters.reject(batchRows.get(i), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        propertyLeaderboards.recordPredictions(written);
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private static void record(int[] counts, List<AiPrediction> predictions, List<Integer> rows,
+                               List<AiPrediction> written, Counters counters) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                counters.upserted++;
+                written.add(predictions.get(i));
+            } else {
+                counters.reject(rows.get(i), "unknown property_id");
+            }
+        }
+    }
+
+    private AiPrediction parseJson(String line) {
+        AiPrediction prediction;
+        try {
+            prediction = predictionReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        }
+        if (prediction == null) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        return prediction;
+    }
+
+    private static List<BiConsumer<AiPrediction, String>> readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null || header.isBlank()) {
+            throw new IllegalArgumentException("Expected a CSV header row");
+        }
+
+        List<BiConsumer<AiPrediction, String>> columns = new ArrayList<>();
+        for (String name : splitCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header)) {
+            BiConsumer<AiPrediction, String> column = CSV_COLUMNS.get(name.trim().toLowerCase());
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static AiPrediction parseCsv(String line, List<BiConsumer<AiPrediction, String>> columns) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns, got " + values.size());
+        }
+
+        AiPrediction prediction = new AiPrediction();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                // NumberFormatException is an IllegalArgumentException, as is a malformed UUID
+                columns.get(i).accept(prediction, value);
+            }
+        }
+        return prediction;
+    }
+
+    /**
+     * Splits one RFC 4180 line. Quoted fields may contain commas and doubled quotes but not line breaks.
+     */
+    public static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    static void validate(AiPrediction prediction) {
+        if (prediction.getPropertyId() == null) {
+            throw new IllegalArgumentException("property_id is required");
+        }
+        if (prediction.getModelVersion() == null || prediction.getModelVersion().isBlank()) {
+            throw new IllegalArgumentException("model_version is required");
+        }
+        prediction.setModelVersion(prediction.getModelVersion().trim());
+
+        requireScore("investment_score", prediction.getInvestmentScore());
+        requireScore("cash_flow_score", prediction.getCashFlowScore());
+        requireScore("appreciation_score", prediction.getAppreciationScore());
+        requireScore("risk_score", prediction.getRiskScore());
+        requireBelow("predicted_rent", prediction.getPredictedRent(), MAX_AMOUNT);
+        requireBelow("predicted_appreciation", prediction.getPredictedAppreciation(), MAX_AMOUNT);
+        requireBelow("predicted_cash_flow", prediction.getPredictedCashFlow(), MAX_AMOUNT);
+        requireBelow("predicted_cap_rate", prediction.getPredictedCapRate(), MAX_CAP_RATE);
+        requireBelow("confidence_level", prediction.getConfidenceLevel(), MAX_CONFIDENCE);
+    }
+
+    private static void requireScore(String field, BigDecimal score) {
+        if (score != null && (score.signum() < 0 || score.compareTo(MAX_SCORE) > 0)) {
+            throw new IllegalArgumentException(field + " must be between 0 and 100");
+        }
+    }
+
+    private static void requireBelow(String field, BigDecimal value, BigDecimal limit) {
+        if (value != null && value.abs().compareTo(limit) >= 0) {
+            throw new IllegalArgumentException(field + " is out of range");
+        }
+    }
+
+    private static final class Counters {
+        int received;
+        int upserted;
+        int rejected;
+        final List<String> errors = new ArrayList<>();
+
+        void reject(int row, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + row + ": " + reason);
+            }
+        }
+    }
+}
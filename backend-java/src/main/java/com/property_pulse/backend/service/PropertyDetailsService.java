@@ -0,0 +1,85 @@
+package com.property_pulse.backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Property detail page: listing, images and latest AI prediction, fetched in one query
+ * (see PropertyListingRepositoryImpl#findDetails) and kept for a few seconds in a
+ * size-bounded cache so a hot listing costs one round trip per TTL, not one per view.
+ * Hit/miss counters are published as cache.* metrics under name "propertyDetails".
+ */
+@Slf4j
+@Service
+public class PropertyDetailsService {
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final Cache<UUID, PropertyDetails> cache;
+
+    public PropertyDetailsService(
+            PropertyListingRepository propertyListingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${properties.details.cache.max-size:5000}") long maxSize,
+            @Value("${properties.details.cache.ttl-ms:30000}") long ttlMs) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "propertyDetails");
+        log.info("Property details cache configured: max size {}, ttl {}ms", maxSize, ttlMs);
+    }
+
+    /**
+     * Published listing details, or empty if the listing does not exist or is unpublished.
+     * Missing listings are not cached. As in UserDetailsCache the query runs outside the
+     * cache's compute lock, so concurrent misses for one id may both load.
+     */
+    public Optional<PropertyDetails> getDetails(UUID id) {
+        PropertyDetails cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<PropertyDetails> loaded = propertyListingRepository.findDetails(id);
+        loaded.ifPresent(details -> cache.put(id, details));
+        return loaded;
+    }
+
+    /**
+     * Version of the details {@link #getDetails} would return right now, for answering a
+     * conditional request without building them: taken from the cache when the details are
+     * there, otherwise read by PropertyListingRepositoryImpl#findListingVersion.
+     */
+    public Optional<ListingVersion> getVersion(UUID id) {
+        PropertyDetails cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(ListingVersion.of(cached));
+        }
+        return propertyListingRepository.findListingVersion(id);
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
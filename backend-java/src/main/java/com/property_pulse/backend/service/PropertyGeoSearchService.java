@@ -0,0 +1,73 @@
+package com.property_pulse.backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.search.GeoBounds;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+/**
+ * Radius and map-viewport searches. These are answered only by the in-memory index
+ * (its {@code GeoGrid}); there is no database fallback, so callers get a 503 until it has loaded.
+ */
+@Service
+public class PropertyGeoSearchService {
+
+    private final PropertySearchIndex propertySearchIndex;
+    private final double maxRadiusMiles;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxPins;
+    private final int clusterGrid;
+
+    public PropertyGeoSearchService(
+            PropertySearchIndex propertySearchIndex,
+            @Value("${properties.geo.max-radius-miles:100}") double maxRadiusMiles,
+            @Value("${properties.search.default-limit:20}") int defaultLimit,
+            @Value("${properties.search.max-limit:100}") int maxLimit,
+            @Value("${properties.geo.max-pins:500}") int maxPins,
+            @Value("${properties.geo.cluster-grid:16}") int clusterGrid) {
+        this.propertySearchIndex = propertySearchIndex;
+        this.maxRadiusMiles = maxRadiusMiles;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxPins = maxPins;
+        this.clusterGrid = clusterGrid;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unsupported filters or an out-of-range point or radius
+     */
+    public List<NearbyListing> nearby(PropertySearchCriteria criteria, double latitude, double longitude,
+                                      double radiusMiles, Integer limit) {
+        requireIndexedFilters(criteria);
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("lat/lng out of range");
+        }
+        if (radiusMiles <= 0 || radiusMiles > maxRadiusMiles) {
+            throw new IllegalArgumentException("radius_miles must be in (0, " + maxRadiusMiles + "]");
+        }
+
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return propertySearchIndex.nearest(criteria, latitude, longitude, radiusMiles, pageSize);
+    }
+
+    /**
+     * @throws IllegalArgumentException for unsupported filters
+     */
+    public MapSearchResponse inViewport(PropertySearchCriteria criteria, GeoBounds bounds) {
+        requireIndexedFilters(criteria);
+        return propertySearchIndex.inBounds(criteria, bounds, maxPins, clusterGrid);
+    }
+
+    private static void requireIndexedFilters(PropertySearchCriteria criteria) {
+        if (criteria.getZipCode() != null || criteria.getMinInvestmentScore() != null) {
+            throw new IllegalArgumentException("zip_code and min_investment_score are not supported on map searches");
+        }
+    }
+}
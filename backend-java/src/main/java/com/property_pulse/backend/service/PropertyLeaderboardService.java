@@ -0,0 +1,73 @@
+package com.property_pulse.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.LeaderboardEntry;
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.search.PropertyLeaderboards;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+/**
+ * "Best investments" leaderboards. Rankings come from {@link PropertyLeaderboards} and the
+ * cards from the search index, so neither touches the database; callers get a 503 until both
+ * have loaded.
+ */
+@Service
+public class PropertyLeaderboardService {
+
+    private final PropertyLeaderboards propertyLeaderboards;
+    private final PropertySearchIndex propertySearchIndex;
+    private final int defaultLimit;
+
+    public PropertyLeaderboardService(
+            PropertyLeaderboards propertyLeaderboards,
+            PropertySearchIndex propertySearchIndex,
+            @Value("${properties.search.default-limit:20}") int defaultLimit) {
+        this.propertyLeaderboards = propertyLeaderboards;
+        this.propertySearchIndex = propertySearchIndex;
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a city without its state
+     */
+    public List<LeaderboardEntry> top(LeaderboardScore score, String stateName, String cityName,
+                                      PropertyType propertyType, Integer limit) {
+        if (cityName != null && stateName == null) {
+            throw new IllegalArgumentException("city_name requires state_name");
+        }
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, propertyLeaderboards.size()));
+
+        List<PropertyLeaderboards.Entry> ranked = propertyLeaderboards.top(
+                stateName, cityName, propertyType != null ? propertyType.name() : null, score);
+        Map<UUID, PropertySummary> cards = propertySearchIndex.listings(
+                        ranked.stream().map(PropertyLeaderboards.Entry::propertyId).toList()).stream()
+                .collect(Collectors.toMap(PropertySummary::getId, Function.identity()));
+
+        // A listing the index already saw unpublished or sold is dropped even if the boards have
+        // not refreshed yet, at the cost of a short page until they do
+        List<LeaderboardEntry> page = new ArrayList<>(pageSize);
+        for (PropertyLeaderboards.Entry entry : ranked) {
+            PropertySummary listing = cards.get(entry.propertyId());
+            if (listing == null || ListingStatus.sold.name().equals(listing.getListingStatus())) {
+                continue;
+            }
+            page.add(new LeaderboardEntry(listing, page.size() + 1, entry.score()));
+            if (page.size() == pageSize) {
+                break;
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,99 @@
+package com.property_pulse.backend.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keyset-paginated listing search. There is deliberately no total count: counting every
+ * match is the full scan that pagination is meant to avoid.
+ *
+ * Served from the in-memory {@link PropertySearchIndex} when it is loaded and covers the
+ * filters, otherwise from Postgres. Both paths order rows identically, so a cursor from one
+ * is valid on the other.
+ */
+@Slf4j
+@Service
+public class PropertySearchService {
+
+    private final PropertyListingRepository propertyListingRepository;
+    private final PropertySearchIndex propertySearchIndex;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public PropertySearchService(
+            PropertyListingRepository propertyListingRepository,
+            PropertySearchIndex propertySearchIndex,
+            @Value("${properties.search.default-limit:20}") int defaultLimit,
+            @Value("${properties.search.max-limit:100}") int maxLimit) {
+        this.propertyListingRepository = propertyListingRepository;
+        this.propertySearchIndex = propertySearchIndex;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an invalid cursor or filter range
+     */
+    public PropertySearchResponse search(PropertySearchCriteria criteria, String cursor, Integer limit) {
+        validate(criteria);
+
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        PropertySearchCursor after = cursor == null || cursor.isBlank()
+                ? null
+                : PropertySearchCursor.decode(cursor, criteria.getSort());
+
+        // One extra row tells us whether another page exists without a COUNT
+        List<PropertySummary> rows = propertySearchIndex.canServe(criteria)
+                ? propertySearchIndex.search(criteria, after, pageSize + 1)
+                : propertyListingRepository.search(criteria, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<PropertySummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore
+                ? PropertySearchCursor.after(page.get(page.size() - 1), criteria.getSort()).encode()
+                : null;
+
+        log.debug("Property search returned {} rows (more: {})", page.size(), hasMore);
+
+        return PropertySearchResponse.builder()
+                .properties(page)
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Version of the data a search with these criteria would be answered from: the index
+     * version when the index can serve them, empty when the search goes to Postgres, which has
+     * no cheap version to offer.
+     */
+    public Optional<String> resultVersion(PropertySearchCriteria criteria) {
+        return propertySearchIndex.canServe(criteria)
+                ? Optional.ofNullable(propertySearchIndex.version())
+                : Optional.empty();
+    }
+
+    static void validate(PropertySearchCriteria criteria) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("min_price must not exceed max_price");
+        }
+        if (criteria.getMinSqft() != null && criteria.getMaxSqft() != null
+                && criteria.getMinSqft() > criteria.getMaxSqft()) {
+            throw new IllegalArgumentException("min_sqft must not exceed max_sqft");
+        }
+    }
+}
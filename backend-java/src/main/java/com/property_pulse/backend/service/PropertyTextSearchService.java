@@ -0,0 +1,55 @@
+package com.property_pulse.backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.RankedListing;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+/**
+ * Keyword search over listing title, description and features, combinable with the usual
+ * filters. Results are ranked by relevance and capped at a limit; there are no cursors,
+ * since relevance order changes as listings are edited.
+ */
+@Service
+public class PropertyTextSearchService {
+
+    private final PropertySearchIndex propertySearchIndex;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxQueryLength;
+
+    public PropertyTextSearchService(
+            PropertySearchIndex propertySearchIndex,
+            @Value("${properties.search.default-limit:20}") int defaultLimit,
+            @Value("${properties.search.max-limit:100}") int maxLimit,
+            @Value("${properties.text-index.max-query-length:200}") int maxQueryLength) {
+        this.propertySearchIndex = propertySearchIndex;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    /**
+     * @param prefix treat the last word as incomplete (type-ahead)
+     * @throws IllegalArgumentException for a blank or oversized query, or unsupported filters
+     */
+    public List<RankedListing> search(PropertySearchCriteria criteria, String query, boolean prefix, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (query.length() > maxQueryLength) {
+            throw new IllegalArgumentException("q must be at most " + maxQueryLength + " characters");
+        }
+        if (criteria.getZipCode() != null || criteria.getMinInvestmentScore() != null) {
+            throw new IllegalArgumentException("zip_code and min_investment_score are not supported on text searches");
+        }
+        PropertySearchService.validate(criteria);
+
+        int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return propertySearchIndex.searchText(criteria, query, prefix, pageSize);
+    }
+}
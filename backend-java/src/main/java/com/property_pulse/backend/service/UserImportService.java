@@ -0,0 +1,202 @@
+package com.property_pulse.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property_pulse.backend.Model.User;
+import com.property_pulse.backend.dto.RegisterRequest;
+import com.property_pulse.backend.dto.UserImportResult;
+import com.property_pulse.backend.repository.UserRepository;
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+import com.property_pulse.backend.security.PasswordHashingRejectedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a JSON array of registrations into the users table.
+ * Rows are read one at a time, validated, hashed in parallel and inserted in JDBC batches,
+ * so memory stays bounded by the batch size whatever the file size. Emails already registered,
+ * or repeated within the file, are counted as duplicates by the insert's ON CONFLICT (email).
+ *
+ * Batches are committed as they go. An element that isn't a valid registration is rejected on
+ * its own; if the input breaks off (invalid JSON) or hashing is saturated part-way, the result
+ * still reports what was written, with the reason the import stopped in {@code failure}.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public UserImportService(
+            UserRepository userRepository,
+            PasswordHashingExecutor passwordHashingExecutor,
+            ObjectMapper objectMapper,
+            @Value("${users.import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not a JSON array; nothing is written then
+     * @throws PasswordHashingRejectedException if hashing is saturated before the first batch is written
+     */
+    public UserImportResult importUsers(InputStream body) throws IOException {
+        long start = System.currentTimeMillis();
+        Counters counters = new Counters();
+        List<RegisterRequest> batch = new ArrayList<>(batchSize);
+        String failure;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of users");
+            }
+
+            try {
+                failure = readRows(parser, batch, counters);
+                flush(batch, counters);
+            } catch (PasswordHashingRejectedException e) {
+                if (counters.writtenThrough == 0) {
+                    throw e;
+                }
+                failure = "Password hashing is saturated; rows after " + counters.writtenThrough
+                        + " were not imported, retry them shortly";
+            }
+        }
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        if (failure != null) {
+            log.warn("User import stopped after {} rows ({} imported): {}", counters.received, counters.imported, failure);
+        }
+        log.info("User import finished: {} received, {} imported, {} duplicates, {} rejected in {}ms",
+                counters.received, counters.imported, counters.duplicates, counters.rejected, elapsedMs);
+
+        return UserImportResult.builder()
+                .received(counters.received)
+                .imported(counters.imported)
+                .duplicates(counters.duplicates)
+                .rejected(counters.rejected)
+                .elapsedMs(elapsedMs)
+                .errors(counters.errors)
+                .failure(failure)
+                .build();
+    }
+
+    /**
+     * Reads the array's elements into the batch, flushing it whenever it fills up.
+     *
+     * @return null once the array is closed, otherwise why reading stopped
+     */
+    private String readRows(JsonParser parser, List<RegisterRequest> batch, Counters counters) throws IOException {
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return "Input ended after row " + counters.received + " before the array was closed";
+                }
+                // Read the whole element first: a field of the wrong type then rejects this row without losing our place
+                JsonNode element = objectMapper.readTree(parser);
+                int row = ++counters.received;
+
+                RegisterRequest request;
+                try {
+                    request = toRegistration(element);
+                    AuthenticationService.validateRegistration(request);
+                } catch (IllegalArgumentException e) {
+                    counters.reject(row, e.getMessage());
+                    continue;
+                }
+
+                batch.add(request);
+                if (batch.size() >= batchSize) {
+                    flush(batch, counters);
+                }
+            }
+            return null;
+        } catch (JsonEOFException e) {
+            return "Input ended after row " + counters.received + " before the array was closed";
+        } catch (JsonParseException e) {
+            // The parser can't resynchronize after a syntax error; rows read before it are still imported
+            return "Invalid JSON after row " + counters.received + ": " + e.getOriginalMessage();
+        }
+    }
+
+    private RegisterRequest toRegistration(JsonNode element) {
+        if (element == null || !element.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        try {
+            return objectMapper.treeToValue(element, RegisterRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid user: " + e.getOriginalMessage());
+        }
+    }
+
+    private void flush(List<RegisterRequest> batch, Counters counters) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHashingExecutor.encodeAll(
+                batch.stream().map(RegisterRequest::getPassword).toList());
+
+        List<User> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            RegisterRequest request = batch.get(i);
+            users.add(new User(
+                    request.getFirstName().trim(),
+                    request.getLastName().trim(),
+                    request.getEmail().trim().toLowerCase(),
+                    request.getPhone() != null ? request.getPhone().trim() : null,
+                    hashes.get(i)));
+        }
+
+        for (int count : userRepository.batchInsertIgnoringConflicts(users)) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                counters.imported++;
+            } else {
+                counters.duplicates++; // email already registered, or earlier in the file
+            }
+        }
+
+        counters.writtenThrough = counters.received;
+        batch.clear();
+    }
+
+    private static final class Counters {
+        int received;
+        int imported;
+        int duplicates;
+        int rejected;
+        // Every row up to this one has been written, skipped as a duplicate or rejected
+        int writtenThrough;
+        final List<String> errors = new ArrayList<>();
+
+        void reject(int row, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + row + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.property_pulse.backend.Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class UserTest {
+
+    @Test
+    void deactivatingBumpsTheSecurityVersion() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+
+        user.setActive(true);
+        assertEquals(0, user.getSecurityVersion(), "no change, no bump");
+
+        user.setActive(false);
+        assertEquals(1, user.getSecurityVersion());
+
+        user.setActive(true);
+        assertEquals(2, user.getSecurityVersion());
+    }
+
+    @Test
+    void changingTheRoleBumpsTheSecurityVersion() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+
+        user.setRole(Role.user);
+        assertEquals(0, user.getSecurityVersion());
+
+        user.setRole(Role.admin);
+        assertEquals(1, user.getSecurityVersion());
+    }
+}
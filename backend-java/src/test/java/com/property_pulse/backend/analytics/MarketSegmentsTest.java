@@ -0,0 +1,181 @@
+package com.property_pulse.backend.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.dto.MarketDimension;
+import com.property_pulse.backend.dto.MarketDistribution;
+import com.property_pulse.backend.dto.MarketStats;
+
+class MarketSegmentsTest {
+
+    private static final MarketSegment AUSTIN_78701_CONDO = new MarketSegment("TX", "Austin", "78701", "condo");
+    private static final MarketSegment AUSTIN_78702_CONDO = new MarketSegment("TX", "Austin", "78702", "condo");
+    private static final MarketSegment AUSTIN_78701_HOUSE = new MarketSegment("TX", "Austin", "78701", "single_family");
+    private static final MarketSegment DALLAS_75201_CONDO = new MarketSegment("TX", "Dallas", "75201", "condo");
+    private static final MarketSegment DENVER_80202_HOUSE = new MarketSegment("CO", "Denver", "80202", "single_family");
+
+    private static final MarketSegment[] FINE = {
+            AUSTIN_78701_CONDO, AUSTIN_78702_CONDO, AUSTIN_78701_HOUSE, DALLAS_75201_CONDO, DENVER_80202_HOUSE};
+
+    @Test
+    void composesCoarseSegmentsFromFineOnes() {
+        MarketSegments segments = new MarketSegments();
+        segments.update(UUID.randomUUID(), AUSTIN_78701_CONDO, values(300_000, 1_000, 10, 2_000));
+        segments.update(UUID.randomUUID(), AUSTIN_78702_CONDO, values(500_000, 1_000, 30, 2_500));
+        segments.update(UUID.randomUUID(), AUSTIN_78701_HOUSE, values(700_000, 2_000, 50, 3_500));
+        segments.update(UUID.randomUUID(), DENVER_80202_HOUSE, values(600_000, 2_000, 20, Double.NaN));
+        segments.publish();
+
+        assertEquals(4, segments.stats(MarketSegment.ALL).getListings());
+        assertEquals(3, segments.stats(new MarketSegment("TX", null, null, null)).getListings());
+        assertEquals(2, segments.stats(new MarketSegment("TX", "Austin", null, "condo")).getListings());
+        assertEquals(2, segments.stats(new MarketSegment(null, null, null, "single_family")).getListings());
+        assertEquals(3, segments.stats(MarketSegment.ALL).getRentToPrice().getCount());
+        assertNull(segments.stats(new MarketSegment("TX", "Dallas", null, null)));
+
+        List<MarketStats> byType = segments.breakdown(new MarketSegment("TX", "Austin", null, null), MarketDimension.property_type);
+        assertEquals(Map.of("condo", 2L, "single_family", 1L), counts(byType, MarketStats::getPropertyType));
+        List<MarketStats> byZip = segments.breakdown(new MarketSegment("TX", null, null, "condo"), MarketDimension.zip_code);
+        assertEquals(Map.of("78701", 1L, "78702", 1L), counts(byZip, MarketStats::getZipCode));
+        List<MarketStats> byCity = segments.breakdown(MarketSegment.ALL, MarketDimension.city);
+        assertEquals(Map.of("Austin", 3L, "Denver", 1L), counts(byCity, MarketStats::getCityName));
+    }
+
+    @Test
+    void matchesDirectAggregationUnderRandomChurn() {
+        MarketSegments segments = new MarketSegments();
+        Map<UUID, MarketSegment> locations = new HashMap<>();
+        Map<UUID, ListingValues> current = new HashMap<>();
+        UUID[] ids = new UUID[300];
+        Arrays.setAll(ids, i -> UUID.randomUUID());
+        Random random = new Random(42);
+
+        for (int step = 0; step < 10_000; step++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            if (random.nextInt(5) == 0) {
+                segments.update(id, null, null);
+                locations.remove(id);
+                current.remove(id);
+            } else {
+                MarketSegment segment = FINE[random.nextInt(FINE.length)];
+                ListingValues values = values(50_000 + random.nextInt(2_000_000), 500 + random.nextInt(4_000),
+                        random.nextInt(200), random.nextInt(8) == 0 ? Double.NaN : 500 + random.nextInt(6_000));
+                segments.update(id, segment, values);
+                locations.put(id, segment);
+                current.put(id, values);
+            }
+
+            if (step % 50 == 0) {
+                segments.publish();
+                for (MarketSegment fine : FINE) {
+                    for (MarketSegment segment : fine.ancestors()) {
+                        assertSameStats(expected(segment, locations, current), segments.stats(segment), step + " " + segment);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void snapshotRestoresEverySegmentAndKeepsUpdating() throws IOException {
+        MarketSegments segments = new MarketSegments();
+        Random random = new Random(7);
+        UUID first = UUID.randomUUID();
+        segments.update(first, AUSTIN_78701_CONDO, values(410_000, 900, 3, 2_100));
+        for (int i = 0; i < 200; i++) {
+            segments.update(UUID.randomUUID(), FINE[random.nextInt(FINE.length)],
+                    values(100_000 + random.nextInt(900_000), 600 + random.nextInt(3_000), random.nextInt(90), 1_500));
+        }
+        segments.publish();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        segments.writeTo(new DataOutputStream(bytes));
+        MarketSegments restored = MarketSegments.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(segments.listings(), restored.listings());
+        assertEquals(segments.segments(), restored.segments());
+        for (MarketSegment fine : FINE) {
+            for (MarketSegment segment : fine.ancestors()) {
+                assertSameStats(segments.stats(segment), restored.stats(segment), segment.toString());
+            }
+        }
+
+        // The restored contributions still know what to take out
+        long before = restored.stats(AUSTIN_78701_CONDO).getListings();
+        restored.update(first, null, null);
+        restored.publish();
+        assertEquals(before - 1, restored.stats(AUSTIN_78701_CONDO).getListings());
+    }
+
+    private static MarketStats expected(MarketSegment segment, Map<UUID, MarketSegment> locations,
+                                        Map<UUID, ListingValues> current) {
+        SegmentStats stats = new SegmentStats();
+        locations.forEach((id, fine) -> {
+            if (contains(segment, fine)) {
+                stats.add(current.get(id));
+            }
+        });
+        return stats.listings() == 0 ? null : MarketSegments.summarize(segment, stats);
+    }
+
+    private static boolean contains(MarketSegment segment, MarketSegment fine) {
+        return (segment.stateName() == null || segment.stateName().equals(fine.stateName()))
+                && (segment.cityName() == null || segment.cityName().equals(fine.cityName()))
+                && (segment.zipCode() == null || segment.zipCode().equals(fine.zipCode()))
+                && (segment.propertyType() == null || segment.propertyType().equals(fine.propertyType()));
+    }
+
+    // Sketches merge exactly, so only the means (sums in a different order) may differ, by rounding
+    private static void assertSameStats(MarketStats expected, MarketStats actual, String message) {
+        if (expected == null) {
+            assertNull(actual, message);
+            return;
+        }
+        assertEquals(expected.getListings(), actual.getListings(), message);
+        assertSameDistribution(expected.getPrice(), actual.getPrice(), message);
+        assertSameDistribution(expected.getPricePerSqft(), actual.getPricePerSqft(), message);
+        assertSameDistribution(expected.getDaysOnMarket(), actual.getDaysOnMarket(), message);
+        assertSameDistribution(expected.getRentToPrice(), actual.getRentToPrice(), message);
+    }
+
+    private static void assertSameDistribution(MarketDistribution expected, MarketDistribution actual, String message) {
+        assertEquals(expected.getCount(), actual.getCount(), message);
+        assertEquals(expected.getP25(), actual.getP25(), message);
+        assertEquals(expected.getMedian(), actual.getMedian(), message);
+        assertEquals(expected.getP75(), actual.getP75(), message);
+        assertEquals(expected.getP90(), actual.getP90(), message);
+        if (expected.getMean() == null) {
+            assertNull(actual.getMean(), message);
+        } else {
+            assertEquals(expected.getMean(), actual.getMean(), 0.011, message);
+        }
+    }
+
+    private static Map<String, Long> counts(List<MarketStats> stats, Function<MarketStats, String> key) {
+        Map<String, Long> counts = new HashMap<>();
+        for (MarketStats segment : stats) {
+            counts.put(key.apply(segment), segment.getListings());
+        }
+        return counts;
+    }
+
+    private static ListingValues values(double price, double sqft, double daysOnMarket, double monthlyRent) {
+        return new ListingValues(price, price / sqft, daysOnMarket, monthlyRent / price * 100);
+    }
+}
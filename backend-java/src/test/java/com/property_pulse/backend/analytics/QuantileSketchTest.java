@@ -0,0 +1,102 @@
+package com.property_pulse.backend.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    void quantilesStayWithinRelativeAccuracy() {
+        Random random = new Random(11);
+        double[] prices = new double[20_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < prices.length; i++) {
+            // Log-normal around $350k, like listing prices
+            prices[i] = Math.exp(Math.log(350_000) + random.nextGaussian() * 0.6);
+            sketch.add(prices[i]);
+        }
+        Arrays.sort(prices);
+
+        for (double q : QUANTILES) {
+            double exact = prices[(int) (q * (prices.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= exact * QuantileSketch.RELATIVE_ACCURACY * 1.0001,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+        assertEquals(Arrays.stream(prices).average().orElseThrow(), sketch.mean(), 1e-6);
+    }
+
+    @Test
+    void mergeAndRemoveAreExact() {
+        Random random = new Random(3);
+        double[] first = random.doubles(500, 0, 365).toArray();
+        double[] second = random.doubles(800, 100, 5_000).toArray();
+
+        QuantileSketch merged = sketchOf(first);
+        merged.merge(sketchOf(second));
+        QuantileSketch together = sketchOf(first);
+        for (double value : second) {
+            together.add(value);
+        }
+        assertSameQuantiles(together, merged);
+
+        for (double value : second) {
+            merged.remove(value);
+        }
+        assertSameQuantiles(sketchOf(first), merged);
+        assertEquals(first.length, merged.count());
+    }
+
+    @Test
+    void countsZerosAndIgnoresMissingValues() {
+        QuantileSketch sketch = sketchOf(new double[] {0, 0, 0, 10, Double.NaN, -5, Double.POSITIVE_INFINITY});
+
+        assertEquals(4, sketch.count());
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(10, sketch.quantile(1), 10 * QuantileSketch.RELATIVE_ACCURACY);
+        // Taking out a value that was never added leaves the sketch alone
+        sketch.remove(42);
+        assertEquals(4, sketch.count());
+        assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+    }
+
+    @Test
+    void snapshotRoundTripKeepsEveryBucket() throws IOException {
+        QuantileSketch sketch = sketchOf(new Random(5).doubles(1_000, 0, 2).toArray());
+        sketch.add(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+        QuantileSketch restored = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertSameQuantiles(sketch, restored);
+        assertEquals(sketch.mean(), restored.mean());
+    }
+
+    private static QuantileSketch sketchOf(double[] values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    private static void assertSameQuantiles(QuantileSketch expected, QuantileSketch actual) {
+        assertEquals(expected.count(), actual.count());
+        for (double q : QUANTILES) {
+            assertEquals(expected.quantile(q), actual.quantile(q), "q=" + q);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.property_pulse.backend.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthAuditLogTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushesBufferedEventsInOneBatchOnShutdown() throws Exception {
+        // Writer thread not started: events stay buffered until stop()
+        AuthAuditLog auditLog = new AuthAuditLog(jdbcTemplate, registry, true, 16, 256, 1000);
+
+        auditLog.record(AuthAuditEventType.LOGIN_SUCCESS, "a@example.com", "10.0.0.1");
+        auditLog.record(AuthAuditEventType.LOGIN_FAILURE, "b@example.com", "10.0.0.2");
+        auditLog.record(AuthAuditEventType.INVALID_TOKEN, null, "10.0.0.3", "ExpiredJwtException");
+        auditLog.stop();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<Collection<AuthAuditEvent>>any(), eq(3),
+                (ParameterizedPreparedStatementSetter<AuthAuditEvent>) any());
+        assertEquals(3.0, registry.get("auth.audit.written").counter().count());
+    }
+
+    @Test
+    void dropsInsteadOfBlockingWhenBufferIsFull() {
+        AuthAuditLog auditLog = new AuthAuditLog(jdbcTemplate, registry, true, 2, 256, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            auditLog.record(AuthAuditEventType.LOGIN_FAILURE, "a@example.com", "10.0.0.1");
+        }
+
+        assertEquals(3.0, registry.get("auth.audit.dropped").counter().count());
+        assertEquals(2.0, registry.get("auth.audit.buffered").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void disabledLogRecordsNothing() throws Exception {
+        AuthAuditLog auditLog = new AuthAuditLog(jdbcTemplate, registry, false, 2, 256, 1000);
+
+        auditLog.record(AuthAuditEventType.LOGIN_SUCCESS, "a@example.com", "10.0.0.1");
+        auditLog.stop();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), ArgumentMatchers.<Collection<AuthAuditEvent>>any(), anyInt(),
+                (ParameterizedPreparedStatementSetter<AuthAuditEvent>) any());
+    }
+}
@@ -0,0 +1,124 @@
+package com.property_pulse.backend.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChangeBusTest {
+
+    private final InMemoryChangeTransport transport = new InMemoryChangeTransport();
+    private final ChangeCatchUp catchUp = mock(ChangeCatchUp.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ChangeBus bus = new ChangeBus(transport, catchUp, registry, true, 5_000, 3);
+
+    private final List<UUID> evictedListings = new ArrayList<>();
+    private final List<UUID> evictedUsers = new ArrayList<>();
+    private final AtomicInteger resets = new AtomicInteger();
+
+    ChangeBusTest() {
+        bus.subscribe(RowChange.PROPERTY_LISTINGS, evictedListings::add, resets::incrementAndGet);
+        bus.subscribe(RowChange.AI_PREDICTIONS, evictedListings::add, resets::incrementAndGet);
+        bus.subscribe(RowChange.USERS, evictedUsers::add, resets::incrementAndGet);
+    }
+
+    @Test
+    void deliversEachChangeToItsTablesSubscribers() {
+        bus.start();
+        UUID listing = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+
+        transport.publish(new RowChange(RowChange.AI_PREDICTIONS, listing));
+        transport.publish(new RowChange(RowChange.USERS, user));
+        transport.publish(new RowChange("user_inquiries", UUID.randomUUID()));
+
+        assertEquals(List.of(listing), evictedListings);
+        assertEquals(List.of(user), evictedUsers);
+        assertEquals(1.0, registry.get("row.changes.received").tag("table", RowChange.USERS).counter().count());
+    }
+
+    @Test
+    void replaysWhatWasMissedWhileDisconnected() {
+        bus.start();
+        UUID missed = UUID.randomUUID();
+        when(catchUp.changedSince(any(), anyInt())).thenReturn(List.of(new RowChange(RowChange.PROPERTY_LISTINGS, missed)));
+
+        transport.disconnect();
+        Instant disconnectedBy = Instant.now();
+        transport.publish(new RowChange(RowChange.PROPERTY_LISTINGS, missed));
+        assertTrue(evictedListings.isEmpty(), "nothing arrives while disconnected");
+        transport.reconnect();
+
+        assertEquals(List.of(missed), evictedListings);
+        assertEquals(0, resets.get());
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(catchUp, times(2)).changedSince(since.capture(), anyInt());
+        // Replays from before the disconnect, less the overlap for transactions still in flight
+        assertFalse(since.getValue().isAfter(disconnectedBy.minus(Duration.ofSeconds(5))));
+    }
+
+    @Test
+    void resetsEverythingWhenTooMuchChangedOrTheReplayFails() {
+        when(catchUp.changedSince(any(), anyInt())).thenReturn(List.of(
+                new RowChange(RowChange.USERS, UUID.randomUUID()),
+                new RowChange(RowChange.USERS, UUID.randomUUID()),
+                new RowChange(RowChange.USERS, UUID.randomUUID()),
+                new RowChange(RowChange.USERS, UUID.randomUUID())));
+        bus.start();
+
+        assertTrue(evictedUsers.isEmpty());
+        assertEquals(3, resets.get(), "one reset per subscriber");
+
+        when(catchUp.changedSince(any(), anyInt())).thenThrow(new DataAccessResourceFailureException("down"));
+        transport.disconnect();
+        transport.reconnect();
+
+        assertEquals(6, resets.get());
+        assertEquals(2.0, registry.get("row.changes.catch_ups").tag("result", "reset").counter().count());
+    }
+
+    @Test
+    void aFailingSubscriberDoesNotStopTheOthers() {
+        bus.subscribe(RowChange.PROPERTY_LISTINGS, id -> {
+            throw new IllegalStateException("boom");
+        }, () -> { });
+        bus.subscribe(RowChange.PROPERTY_LISTINGS, evictedListings::add, () -> { });
+        bus.start();
+        UUID listing = UUID.randomUUID();
+
+        transport.publish(new RowChange(RowChange.PROPERTY_LISTINGS, listing));
+
+        assertEquals(List.of(listing, listing), evictedListings);
+    }
+
+    @Test
+    void parsesNotificationPayloads() {
+        UUID id = UUID.randomUUID();
+        RowChange change = RowChange.parse("property_listings:" + id);
+
+        assertEquals(new RowChange(RowChange.PROPERTY_LISTINGS, id), change);
+        assertEquals(change, RowChange.parse(change.payload()));
+        assertThrows(IllegalArgumentException.class, () -> RowChange.parse("property_listings"));
+        assertThrows(IllegalArgumentException.class, () -> RowChange.parse(":" + id));
+        assertThrows(IllegalArgumentException.class, () -> RowChange.parse("users:not-a-uuid"));
+    }
+}
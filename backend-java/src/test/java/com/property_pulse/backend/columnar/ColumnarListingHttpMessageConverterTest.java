@@ -0,0 +1,158 @@
+package com.property_pulse.backend.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.property_pulse.backend.dto.MapCluster;
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.dto.UserProfile;
+
+class ColumnarListingHttpMessageConverterTest {
+
+    private final ColumnarListingHttpMessageConverter converter = new ColumnarListingHttpMessageConverter();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void writesSearchPagesColumnByColumn() throws IOException {
+        UUID id = UUID.randomUUID();
+        PropertySearchResponse page = PropertySearchResponse.builder()
+                .properties(List.of(
+                        listing(id, "325000.00", null),
+                        listing(UUID.randomUUID(), "410500.50", "78701")))
+                .limit(2)
+                .hasMore(true)
+                .nextCursor("abc")
+                .build();
+
+        JsonNode root = cbor.readTree(write(page, PropertySearchResponse.class));
+
+        assertEquals(2, root.get("limit").asInt());
+        assertTrue(root.get("has_more").asBoolean());
+        assertEquals("abc", root.get("next_cursor").asText());
+        JsonNode columns = root.get("properties");
+        assertEquals(19, columns.size());
+        assertArrayEquals(bytes(id), columns.get("id").get(0).binaryValue());
+        assertTrue(columns.get("price").get(0).isIntegralNumber(), "whole prices go out as integers");
+        assertEquals(410500.50, columns.get("price").get(1).asDouble());
+        assertTrue(columns.get("zip_code").get(0).isNull());
+        assertEquals("78701", columns.get("zip_code").get(1).asText());
+        assertEquals(ZonedDateTime.parse("2025-03-01T10:15:30Z").toInstant().toEpochMilli(),
+                columns.get("created_at").get(0).asLong());
+    }
+
+    @Test
+    void writesMapResponsesWithClustersOrListings() throws IOException {
+        MapSearchResponse clustered = MapSearchResponse.builder()
+                .totalMatches(40)
+                .clustered(true)
+                .clusters(List.of(MapCluster.builder().latitude(30.1).longitude(-97.7).count(40)
+                        .minPrice(new BigDecimal("199000")).build()))
+                .build();
+
+        JsonNode root = cbor.readTree(write(clustered, MapSearchResponse.class));
+
+        assertTrue(root.get("properties").isNull());
+        assertEquals(40, root.get("clusters").get("count").get(0).asInt());
+        assertTrue(root.get("clusters").get("listing_id").get(0).isNull());
+
+        List<NearbyListing> nearby = List.of(NearbyListing.builder()
+                .listing(listing(UUID.randomUUID(), "250000", null))
+                .distanceMiles(1.5)
+                .build());
+        JsonNode columns = cbor.readTree(write(nearby, new ParameterizedTypeReference<List<NearbyListing>>() { }));
+        assertEquals(20, columns.size());
+        assertEquals(1.5, columns.get("distance_miles").get(0).asDouble());
+    }
+
+    @Test
+    void coversOnlyListingBodies() {
+        assertTrue(converter.canWrite(new ParameterizedTypeReference<List<PropertySummary>>() { }.getType(),
+                List.class, ColumnarListingHttpMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<String>>() { }.getType(),
+                List.class, ColumnarListingHttpMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(UserProfile.class, UserProfile.class, ColumnarListingHttpMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(PropertySearchResponse.class, PropertySearchResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(PropertySearchResponse.class, null, ColumnarListingHttpMessageConverter.MEDIA_TYPE));
+    }
+
+    @Test
+    void aFullPageIsAFractionOfItsJson() throws IOException {
+        List<PropertySummary> listings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            listings.add(listing(UUID.randomUUID(), String.valueOf(200_000 + i * 1_000), "787" + (i % 10) + "0"));
+        }
+        PropertySearchResponse page = PropertySearchResponse.builder().properties(listings).limit(100).build();
+
+        ObjectMapper json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        int jsonBytes = json.writeValueAsBytes(page).length;
+        int columnarBytes = write(page, PropertySearchResponse.class).length;
+
+        assertTrue(columnarBytes * 2 < jsonBytes, columnarBytes + " columnar bytes vs " + jsonBytes + " JSON bytes");
+    }
+
+    private byte[] write(Object body, Class<?> type) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(body, type, ColumnarListingHttpMessageConverter.MEDIA_TYPE, message);
+        assertEquals(ColumnarListingHttpMessageConverter.MEDIA_TYPE, message.getHeaders().getContentType());
+        return message.getBodyAsBytes();
+    }
+
+    private byte[] write(Object body, ParameterizedTypeReference<?> type) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(body, type.getType(), ColumnarListingHttpMessageConverter.MEDIA_TYPE, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static PropertySummary listing(UUID id, String price, String zipCode) {
+        return PropertySummary.builder()
+                .id(id)
+                .title("Craftsman bungalow near the park")
+                .streetNumber(1204)
+                .streetName("E 6th St")
+                .cityName("Austin")
+                .stateName("TX")
+                .zipCode(zipCode)
+                .latitude(new BigDecimal("30.26715"))
+                .longitude(new BigDecimal("-97.74306"))
+                .bedrooms(3)
+                .bathrooms(2)
+                .sqft(1650)
+                .propertyType("single_family")
+                .imageUrl("https://images.example.com/listings/" + id + ".jpg")
+                .price(new BigDecimal(price))
+                .estimatedRent(new BigDecimal("2400.00"))
+                .listingStatus("active")
+                .daysOnMarket(12)
+                .createdAt(ZonedDateTime.parse("2025-03-01T10:15:30Z"))
+                .build();
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,151 @@
+package com.property_pulse.backend.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySummary;
+
+/**
+ * Serialization time of one search page as JSON (the default), as CBOR through Jackson (same
+ * document shape) and in the columnar format. Payload sizes, raw and gzipped, are printed at
+ * setup.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     "-Dexec.args=-cp %classpath com.property_pulse.backend.columnar.ListingFormatBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingFormatBenchmark {
+
+    private static final String[] CITIES = {"Austin", "Dallas", "Houston", "San Antonio", "El Paso"};
+
+    @Param({"20", "100", "500"})
+    private int listings;
+
+    private PropertySearchResponse page;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private CBORFactory columnarFactory;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(7);
+        ZonedDateTime base = ZonedDateTime.parse("2025-01-01T00:00:00Z");
+        List<PropertySummary> rows = new ArrayList<>(listings);
+        for (int i = 0; i < listings; i++) {
+            UUID id = UUID.randomUUID();
+            rows.add(PropertySummary.builder()
+                    .id(id)
+                    .title((2 + random.nextInt(4)) + " bed home in " + CITIES[i % CITIES.length])
+                    .streetNumber(100 + random.nextInt(9_900))
+                    .streetName("Oak Hollow Dr")
+                    .cityName(CITIES[random.nextInt(CITIES.length)])
+                    .stateName("TX")
+                    .zipCode(String.valueOf(75_000 + random.nextInt(4_000)))
+                    .latitude(BigDecimal.valueOf(25 + random.nextDouble() * 20).setScale(6, RoundingMode.HALF_UP))
+                    .longitude(BigDecimal.valueOf(-106 + random.nextDouble() * 13).setScale(6, RoundingMode.HALF_UP))
+                    .bedrooms(1 + random.nextInt(5))
+                    .bathrooms(1 + random.nextInt(3))
+                    .sqft(500 + random.nextInt(3_000))
+                    .propertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)].name())
+                    .imageUrl("https://images.propertypulse.example/listings/" + id + "/primary.jpg")
+                    .price(new BigDecimal(50_000 + random.nextInt(2_000_000) / 100 * 100).setScale(2))
+                    .estimatedRent(new BigDecimal(900 + random.nextInt(4_000)).setScale(2))
+                    .listingStatus(ListingStatus.values()[random.nextInt(ListingStatus.values().length)].name())
+                    .daysOnMarket(random.nextInt(200))
+                    .createdAt(base.plusSeconds(random.nextInt(30_000_000)))
+                    .build());
+        }
+        page = PropertySearchResponse.builder()
+                .properties(rows)
+                .limit(listings)
+                .hasMore(true)
+                .nextCursor("bmV3ZXN0fDIwMjUtMDEtMDFUMDA6MDA6MDBafDEyMw")
+                .build();
+
+        // As Spring Boot configures the JSON and CBOR converters
+        json = new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cbor = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        columnarFactory = new CBORFactory();
+        out = new ByteArrayOutputStream(1 << 20);
+
+        System.out.printf("%n%d listings: json %s, cbor %s, columnar %s (raw / gzip bytes)%n", listings,
+                sizes(json()), sizes(cbor()), sizes(columnar()));
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        out.reset();
+        json.writeValue(out, page);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        out.reset();
+        cbor.writeValue(out, page);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] columnar() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = columnarFactory.createGenerator(out)) {
+            new ColumnarListingWriter(generator).write(page, PropertySearchResponse.class);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sizes(byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        return payload.length + " / " + compressed.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListingFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
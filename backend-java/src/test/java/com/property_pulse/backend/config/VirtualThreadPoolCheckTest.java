@@ -0,0 +1,49 @@
+package com.property_pulse.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPoolCheckTest {
+
+    private final PasswordHashingExecutor hashing = new PasswordHashingExecutor(
+            new SimpleMeterRegistry(), mock(PasswordEncoder.class), 4, 8, 5_000, 1);
+
+    @AfterEach
+    void shutdown() {
+        hashing.shutdown();
+    }
+
+    @Test
+    void refusesAConnectionPoolNoLargerThanTheHashingPool() {
+        VirtualThreadPoolCheck check = new VirtualThreadPoolCheck(pool(4), hashing, true);
+
+        assertThrows(IllegalStateException.class, check::check);
+    }
+
+    @Test
+    void acceptsAConnectionPoolWithHeadroom() {
+        assertDoesNotThrow(new VirtualThreadPoolCheck(pool(5), hashing, true)::check);
+    }
+
+    @Test
+    void onlyAppliesToVirtualThreads() {
+        assertDoesNotThrow(new VirtualThreadPoolCheck(pool(1), hashing, false)::check);
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize) {
+        // Never connects: the pool starts lazily on the first getConnection()
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+}
@@ -0,0 +1,86 @@
+package com.property_pulse.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.property_pulse.backend.audit.AuthAuditEventType;
+import com.property_pulse.backend.audit.AuthAuditLog;
+import com.property_pulse.backend.dto.AuthResponse;
+import com.property_pulse.backend.dto.RegisterRequest;
+import com.property_pulse.backend.repository.UserRepository;
+import com.property_pulse.backend.security.AuthRateLimiter;
+import com.property_pulse.backend.security.JwtService;
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+import com.property_pulse.backend.service.AuthenticationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthenticationControllerTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[64]);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingExecutor hashing =
+            new PasswordHashingExecutor(registry, new PrefixEncoder(), 1, 4, 5_000, 1);
+    private final AuthRateLimiter rateLimiter = mock(AuthRateLimiter.class);
+    private final AuthAuditLog auditLog = mock(AuthAuditLog.class);
+    private final AuthenticationController controller = new AuthenticationController(
+            new AuthenticationService(userRepository, hashing, new JwtService(registry, SECRET, 60_000), registry),
+            rateLimiter, auditLog);
+
+    @AfterEach
+    void shutdown() {
+        hashing.shutdown();
+    }
+
+    @Test
+    void registeringATakenEmailIsAConflict() {
+        when(rateLimiter.check(any(), anyString(), anyString())).thenReturn(new AuthRateLimiter.Decision(true, 0));
+        // The insert's ON CONFLICT (email) DO NOTHING returned no row
+        when(userRepository.insertIfEmailAbsent(any())).thenReturn(Optional.empty());
+
+        ResponseEntity<AuthResponse> response = controller.register(registration("Ada@Example.com"), new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNull(response.getBody().getToken());
+        verify(auditLog).record(AuthAuditEventType.REGISTRATION_CONFLICT, "Ada@Example.com", "127.0.0.1");
+    }
+
+    private static RegisterRequest registration(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setFirstName("Ada");
+        request.setLastName("Lovelace");
+        request.setEmail(email);
+        request.setPassword("secret-password");
+        return request;
+    }
+
+    private static final class PrefixEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.property_pulse.backend.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.columnar.ColumnarListingHttpMessageConverter;
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.search.SearchIndexUnavailableException;
+import com.property_pulse.backend.service.InvestmentMetricsService;
+import com.property_pulse.backend.service.MarketAnalyticsService;
+import com.property_pulse.backend.service.PropertyDetailsService;
+import com.property_pulse.backend.service.PropertyGeoSearchService;
+import com.property_pulse.backend.service.PropertyLeaderboardService;
+import com.property_pulse.backend.service.PropertySearchService;
+import com.property_pulse.backend.service.PropertyTextSearchService;
+
+class PropertyControllerTest {
+
+    private final PropertySearchService searchService = mock(PropertySearchService.class);
+    private final PropertyDetailsService detailsService = mock(PropertyDetailsService.class);
+    private final PropertyGeoSearchService geoSearchService = mock(PropertyGeoSearchService.class);
+    private final PropertyTextSearchService textSearchService = mock(PropertyTextSearchService.class);
+    private final PropertyLeaderboardService leaderboardService = mock(PropertyLeaderboardService.class);
+    private final InvestmentMetricsService metricsService = mock(InvestmentMetricsService.class);
+    private final MarketAnalyticsService analyticsService = mock(MarketAnalyticsService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new PropertyController(
+                    searchService, detailsService, geoSearchService, textSearchService, leaderboardService, metricsService,
+                    analyticsService))
+            .build();
+
+    @Test
+    void bindsSnakeCaseFiltersAndRepeatedEnums() throws Exception {
+        when(searchService.search(any(), isNull(), eq(5))).thenReturn(PropertySearchResponse.builder().build());
+
+        mockMvc.perform(get("/api/properties/search")
+                        .param("city_name", "Austin")
+                        .param("property_type", "condo", "townhouse")
+                        .param("listing_status", "active")
+                        .param("min_price", "200000")
+                        .param("bedrooms", "3")
+                        .param("sort", "price_asc")
+                        .param("limit", "5"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<PropertySearchCriteria> criteria = ArgumentCaptor.forClass(PropertySearchCriteria.class);
+        verify(searchService).search(criteria.capture(), isNull(), eq(5));
+        assertEquals("Austin", criteria.getValue().getCityName());
+        assertEquals(List.of(PropertyType.condo, PropertyType.townhouse), criteria.getValue().getPropertyTypes());
+        assertEquals(List.of(ListingStatus.active), criteria.getValue().getListingStatuses());
+        assertEquals(new BigDecimal("200000"), criteria.getValue().getMinPrice());
+        assertEquals(3, criteria.getValue().getMinBedrooms());
+        assertEquals(PropertySort.price_asc, criteria.getValue().getSort());
+    }
+
+    @Test
+    void rejectsInvalidViewport() throws Exception {
+        mockMvc.perform(get("/api/properties/map")
+                        .param("min_lat", "50").param("max_lat", "40")
+                        .param("min_lng", "-100").param("max_lng", "-90"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void nearbyReturns503UntilIndexLoads() throws Exception {
+        when(geoSearchService.nearby(any(), anyDouble(), anyDouble(), anyDouble(), any()))
+                .thenThrow(new SearchIndexUnavailableException("starting", 5));
+
+        mockMvc.perform(get("/api/properties/nearby").param("lat", "30.27").param("lng", "-97.74"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    void detailsAreTaggedAndRevalidatedWithoutLoadingThem() throws Exception {
+        UUID id = UUID.randomUUID();
+        PropertyDetails details = PropertyDetails.builder()
+                .id(id)
+                .title("Pool home")
+                .updatedAt(ZonedDateTime.parse("2025-02-01T12:00:00Z"))
+                .propertyImages(List.of())
+                .build();
+        when(detailsService.getDetails(id)).thenReturn(Optional.of(details));
+
+        String etag = mockMvc.perform(get("/api/properties/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        when(detailsService.getVersion(id)).thenReturn(Optional.of(ListingVersion.of(details)));
+        mockMvc.perform(get("/api/properties/{id}", id).header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(detailsService, times(1)).getDetails(id);
+
+        // A newer version no longer matches, so the full listing is sent again
+        details.setUpdatedAt(ZonedDateTime.parse("2025-02-02T12:00:00Z"));
+        when(detailsService.getVersion(id)).thenReturn(Optional.of(ListingVersion.of(details)));
+        mockMvc.perform(get("/api/properties/{id}", id).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(detailsService, times(2)).getDetails(id);
+    }
+
+    @Test
+    void searchIsTaggedOnlyWhenTheIndexServesIt() throws Exception {
+        when(searchService.search(any(), isNull(), isNull())).thenReturn(PropertySearchResponse.builder().build());
+
+        mockMvc.perform(get("/api/properties/search").param("city_name", "Austin"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        when(searchService.resultVersion(any())).thenReturn(Optional.of("index-7"));
+        String etag = mockMvc.perform(get("/api/properties/search").param("city_name", "Austin"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/properties/search").param("city_name", "Austin").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/properties/search").param("city_name", "Dallas").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(searchService, times(3)).search(any(), isNull(), isNull());
+    }
+
+    @Test
+    void negotiatesTheColumnarFormatUnderItsOwnTag() throws Exception {
+        MockMvc negotiating = MockMvcBuilders
+                .standaloneSetup(new PropertyController(
+                        searchService, detailsService, geoSearchService, textSearchService, leaderboardService, metricsService,
+                        analyticsService))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new ColumnarListingHttpMessageConverter())
+                .build();
+        when(searchService.resultVersion(any())).thenReturn(Optional.of("index-7"));
+        when(searchService.search(any(), isNull(), isNull()))
+                .thenReturn(PropertySearchResponse.builder().properties(List.of()).build());
+
+        String jsonTag = negotiating.perform(get("/api/properties/search"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String columnarTag = negotiating.perform(get("/api/properties/search")
+                        .accept(ColumnarListingHttpMessageConverter.MEDIA_TYPE)
+                        .header("If-None-Match", jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ColumnarListingHttpMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(jsonTag, columnarTag);
+
+        negotiating.perform(get("/api/properties/search")
+                        .accept(ColumnarListingHttpMessageConverter.MEDIA_TYPE)
+                        .header("If-None-Match", columnarTag))
+                .andExpect(status().isNotModified());
+    }
+}
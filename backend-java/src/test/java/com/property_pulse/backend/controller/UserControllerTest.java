@@ -0,0 +1,83 @@
+package com.property_pulse.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.property_pulse.backend.Model.Role;
+import com.property_pulse.backend.Model.User;
+import com.property_pulse.backend.dto.UserProfile;
+import com.property_pulse.backend.repository.UserRepository;
+import com.property_pulse.backend.security.JwtPrincipal;
+import com.property_pulse.backend.security.UserSnapshot;
+
+class UserControllerTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserController controller = new UserController(userRepository);
+
+    @Test
+    void loadsTheProfileForAClaimsOnlyPrincipal() {
+        User user = user();
+        JwtPrincipal principal = new JwtPrincipal(user.getId(), user.getEmail(), Role.user, 0);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        ResponseEntity<UserProfile> response = controller.getUserProfile(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()), null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Ada", response.getBody().getFirstName());
+        verify(userRepository).findById(user.getId());
+    }
+
+    @Test
+    void answersNotFoundWhenTheClaimsOnlyUserIsGone() {
+        JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), "gone@example.com", Role.user, 0);
+        when(userRepository.findById(principal.getId())).thenReturn(Optional.empty());
+
+        ResponseEntity<UserProfile> response = controller.getUserProfile(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()), null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void loadsTheEntityForACachedSnapshot() {
+        User user = user();
+        UserSnapshot principal = UserSnapshot.of(user);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        ResponseEntity<UserProfile> response = controller.getUserProfile(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()), null, null);
+
+        assertEquals("Lovelace", response.getBody().getLastName());
+        verify(userRepository).findById(user.getId());
+    }
+
+    @Test
+    void usesALoadedUserAsIs() {
+        User user = user();
+
+        ResponseEntity<UserProfile> response = controller.getUserProfile(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()), null, null);
+
+        assertEquals(user.getEmail(), response.getBody().getEmail());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static User user() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
@@ -0,0 +1,218 @@
+package com.property_pulse.backend.favorites;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.property_pulse.backend.favorites.FavoritesStore.FavoriteKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FavoritesStoreTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final UUID SAVED = UUID.randomUUID();
+    private static final UUID OTHER = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FavoritesStore store = new FavoritesStore(jdbcTemplate, registry, 100, 60_000, 60_000, 500);
+    private final List<String> batches = new ArrayList<>();
+    private final List<FavoriteKey> writes = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(USER))).thenReturn(List.of(SAVED));
+        doAnswer(invocation -> {
+            batches.add(invocation.getArgument(0));
+            writes.addAll(invocation.<Collection<FavoriteKey>>getArgument(1));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<Collection<FavoriteKey>>any(), anyInt(),
+                (ParameterizedPreparedStatementSetter<FavoriteKey>) any());
+    }
+
+    @Test
+    void answersMembershipForAPageFromOneLoad() {
+        List<UUID> page = List.of(OTHER, SAVED, UUID.randomUUID());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(List.of(SAVED), store.favoritesAmong(USER, page));
+        }
+
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(UUID.class), eq(USER));
+    }
+
+    @Test
+    void coalescesRepeatedChangesIntoOneWrite() {
+        store.setFavorite(USER, OTHER, true);
+        store.setFavorite(USER, OTHER, false);
+        store.setFavorite(USER, OTHER, true);
+        store.setFavorite(USER, SAVED, false);
+
+        assertTrue(store.isFavorite(USER, OTHER));
+        assertFalse(store.isFavorite(USER, SAVED));
+        assertEquals(2, store.pendingCount());
+
+        store.flush();
+
+        assertEquals(0, store.pendingCount());
+        assertEquals(2, batches.size());
+        assertTrue(batches.get(0).contains("ON CONFLICT ON CONSTRAINT unique_favorite DO NOTHING"));
+        assertTrue(batches.get(1).startsWith("DELETE"));
+        assertEquals(List.of(new FavoriteKey(USER, OTHER), new FavoriteKey(USER, SAVED)), writes);
+        assertEquals(2.0, registry.get("favorites.written").counter().count());
+    }
+
+    @Test
+    void writesTheRequestedStateEvenWhenTheCachedSetAgrees() {
+        // Cached as a favorite, but another node may have removed it since: re-adding must still write
+        assertTrue(store.isFavorite(USER, SAVED));
+        store.setFavorite(USER, SAVED, true);
+        store.setFavorite(USER, SAVED, true);
+
+        store.flush();
+
+        assertEquals(List.of(new FavoriteKey(USER, SAVED)), writes);
+        assertTrue(batches.get(0).startsWith("INSERT"));
+    }
+
+    @Test
+    void reloadsAfterAnotherNodesChangeWithoutLosingUnwrittenOnes() {
+        store.setFavorite(USER, OTHER, true);
+        UUID elsewhere = UUID.randomUUID();
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(USER))).thenReturn(List.of(SAVED, elsewhere));
+
+        store.invalidate(USER);
+
+        assertEquals(List.of(SAVED, elsewhere, OTHER).stream().sorted().toList(),
+                store.favorites(USER).stream().sorted().toList());
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(UUID.class), eq(USER));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsChangesPendingWhenTheWriteFails() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("connection refused");
+        }).when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<Collection<FavoriteKey>>any(), anyInt(),
+                (ParameterizedPreparedStatementSetter<FavoriteKey>) any());
+
+        store.setFavorite(USER, OTHER, true);
+        store.flush();
+
+        assertEquals(1, store.pendingCount());
+        assertEquals(1.0, registry.get("favorites.write.failures").counter().count());
+        assertTrue(store.isFavorite(USER, OTHER));
+    }
+
+    @Test
+    void aLoadDuringAFlushSeesTheChangeBeforeItCommits() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        blockWrites(writing, commit);
+        store.setFavorite(USER, OTHER, true);
+        store.invalidate(USER);
+
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = flusher.submit(store::flush);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // No longer pending and not yet in the table, which still reads without it
+            assertEquals(0, store.pendingCount());
+            assertTrue(store.isFavorite(USER, OTHER));
+            commit.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            flusher.shutdownNow();
+        }
+    }
+
+    @Test
+    void aLoadDuringAFlushPrefersAChangeMadeSince() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        blockWrites(writing, commit);
+        store.setFavorite(USER, OTHER, true);
+
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = flusher.submit(store::flush);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // In flight as a favorite, pending as removed: the pending change is the newer one
+            store.setFavorite(USER, OTHER, false);
+            store.invalidate(USER);
+            assertFalse(store.isFavorite(USER, OTHER));
+            commit.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            flusher.shutdownNow();
+        }
+
+        assertEquals(1, store.pendingCount());
+        assertFalse(store.isFavorite(USER, OTHER));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void blockWrites(CountDownLatch writing, CountDownLatch commit) {
+        doAnswer(invocation -> {
+            writing.countDown();
+            commit.await(5, TimeUnit.SECONDS);
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<Collection<FavoriteKey>>any(), anyInt(),
+                (ParameterizedPreparedStatementSetter<FavoriteKey>) any());
+    }
+
+    @Test
+    void flushesOnShutdown() {
+        store.setFavorite(USER, OTHER, true);
+
+        store.stop();
+
+        assertEquals(List.of(new FavoriteKey(USER, OTHER)), writes);
+    }
+
+    @Test
+    void setStaysSortedAndCompact() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        FavoriteSet set = FavoriteSet.of(ids);
+        for (int i = 0; i < 100; i++) {
+            set = set.without(ids.get(i));
+        }
+
+        assertEquals(100, set.size());
+        assertTrue(ids.subList(100, 200).stream().allMatch(set::contains));
+        assertTrue(ids.subList(0, 100).stream().noneMatch(set::contains));
+        assertEquals(set, FavoriteSet.of(set.toList()));
+    }
+}
@@ -0,0 +1,201 @@
+package com.property_pulse.backend.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property_pulse.backend.dto.FeedListing;
+import com.property_pulse.backend.dto.ImportStageThroughput;
+import com.property_pulse.backend.dto.ListingImportStatus;
+import com.property_pulse.backend.feed.ListingImport.Format;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ListingImportTest {
+
+    @TempDir
+    Path dir;
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final List<FeedListing> written = new ArrayList<>();
+    private final List<UUID> delisted = new ArrayList<>();
+
+    @Test
+    void importsCsvInFeedOrderKeepingLastRowPerAddress() throws IOException {
+        recordWrites();
+        List<String> lines = new ArrayList<>();
+        lines.add("title,street_number,street_name,city_name,state_name,zip_code,latitude,longitude,bedrooms,"
+                + "bathrooms,property_type,price,listing_status,features,image_url,mls_id");
+        for (int i = 1; i <= 2_500; i++) {
+            lines.add(csvRow("Listing " + i, i, "condo", "active"));
+        }
+        // Same address as row 3 in another case and spacing, within the same chunk
+        lines.add(4, "\"Listing 3, updated\",3,\" Main  st\",austin,tx,78701,30.2,-97.7,2,1,condo,400000,pending,pool;garage,https://img/3.jpg,x");
+        lines.add("Bad type,9001,Main St,Austin,TX,78701,30.2,-97.7,2,1,castle,400000,active,,https://img/9001.jpg,x");
+        lines.add("Bad status,9002,Main St,Austin,TX,78701,30.2,-97.7,2,1,condo,400000,listed,,https://img/9002.jpg,x");
+        lines.add("");
+        Path feed = Files.write(dir.resolve("feed.csv"), lines);
+
+        ListingImport listingImport = newImport(feed, Format.CSV, 100);
+        listingImport.run();
+        ListingImportStatus status = listingImport.status();
+
+        assertEquals(ListingImportStatus.State.completed, status.getState());
+        assertEquals(2_503, status.getReceived());
+        assertEquals(2_500, status.getUpserted());
+        assertEquals(1, status.getDuplicates());
+        assertEquals(2, status.getRejected());
+        assertEquals(List.of("Line 2503: property_type must be one of [single_family, condo, townhouse, duplex, apartment, commercial, land]",
+                "Line 2504: listing_status must be one of [active, pending, sold, off_market]"), status.getErrors());
+        assertEquals(lines.size(), status.getLines());
+        for (ImportStageThroughput stage : status.getStages()) {
+            assertTrue(stage.getRows() > 0, stage.getStage());
+        }
+        assertFalse(Files.exists(checkpoint(feed)));
+
+        assertEquals(2_500, written.size());
+        assertEquals("Listing 1", written.get(0).getTitle());
+        assertEquals("Listing 3, updated", written.get(2).getTitle());
+        assertEquals("Main st", written.get(2).getStreetName());
+        assertEquals("pending", written.get(2).getListingStatus());
+        assertEquals(List.of("pool", "garage"), written.get(2).getFeatures());
+        for (int i = 3; i < written.size(); i++) {
+            assertEquals("Listing " + (i + 1), written.get(i).getTitle());
+        }
+    }
+
+    @Test
+    void resumesFromCheckpointAfterDatabaseOutage() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 1_000; i++) {
+            lines.add("{\"title\":\"Listing " + i + "\",\"street_number\":" + i + ",\"street_name\":\"Main St\","
+                    + "\"city_name\":\"Austin\",\"state_name\":\"TX\",\"latitude\":30.2,\"longitude\":-97.7,"
+                    + "\"bedrooms\":3,\"bathrooms\":2,\"property_type\":\"single_family\",\"price\":350000,"
+                    + "\"images\":[\"https://img/" + i + "/1.jpg\",\"https://img/" + i + "/2.jpg\"]}");
+        }
+        Path feed = Files.write(dir.resolve("feed.ndjson"), lines);
+
+        AtomicInteger batches = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (batches.incrementAndGet() == 7) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            written.addAll(invocation.getArgument(0));
+            return null;
+        }).when(repository).upsertFeedListings(anyList());
+
+        ListingImport crashed = newImport(feed, Format.NDJSON, 50);
+        crashed.run();
+        assertEquals(ListingImportStatus.State.failed, crashed.status().getState());
+        assertEquals(300, crashed.status().getUpserted());
+        assertTrue(Files.exists(checkpoint(feed)));
+
+        written.clear();
+        recordWrites();
+        ListingImport resumed = newImport(feed, Format.NDJSON, 50);
+        resumed.run();
+        ListingImportStatus status = resumed.status();
+
+        assertEquals(ListingImportStatus.State.completed, status.getState());
+        assertEquals(300, status.getResumedFromLine());
+        assertEquals(1_000, status.getUpserted());
+        assertEquals(700, written.size());
+        assertEquals("Listing 301", written.get(0).getTitle());
+        assertEquals("https://img/301/1.jpg", written.get(0).getImageUrl());
+        assertFalse(Files.exists(checkpoint(feed)));
+    }
+
+    @Test
+    void replaysFailedBatchRowByRow() throws IOException {
+        doAnswer(invocation -> {
+            List<FeedListing> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(listing -> listing.getStreetNumber() == 7)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            written.addAll(batch);
+            return null;
+        }).when(repository).upsertFeedListings(anyList());
+        List<String> lines = new ArrayList<>();
+        lines.add("title,street_number,street_name,city_name,state_name,latitude,longitude,bedrooms,bathrooms,property_type,price,image_url");
+        for (int i = 1; i <= 20; i++) {
+            lines.add("Listing " + i + "," + i + ",Main St,Austin,TX,30.2,-97.7,3,2,land,90000,https://img/" + i + ".jpg");
+        }
+        Path feed = Files.write(dir.resolve("feed.csv"), lines);
+
+        ListingImport listingImport = newImport(feed, Format.CSV, 10);
+        listingImport.run();
+        ListingImportStatus status = listingImport.status();
+
+        assertEquals(ListingImportStatus.State.completed, status.getState());
+        assertEquals(19, status.getUpserted());
+        assertEquals(1, status.getRejected());
+        assertEquals(List.of("Line 8: value too long"), status.getErrors());
+        assertEquals(19, written.size());
+    }
+
+    @Test
+    void announcesListingsTheFeedSoldOrUnpublished() throws IOException {
+        recordWrites();
+        UUID sold = UUID.randomUUID();
+        UUID unpublished = UUID.randomUUID();
+        when(repository.findIdsByAddress(anyCollection())).thenReturn(List.of(sold, unpublished));
+        List<String> lines = new ArrayList<>();
+        lines.add("title,street_number,street_name,city_name,state_name,zip_code,latitude,longitude,bedrooms,"
+                + "bathrooms,property_type,price,listing_status,features,image_url,mls_id,is_published");
+        lines.add(csvRow("Active", 1, "condo", "active") + ",true");
+        lines.add(csvRow("Sold", 2, "condo", "sold") + ",true");
+        lines.add(csvRow("Withdrawn", 3, "condo", "pending") + ",false");
+        Path feed = Files.write(dir.resolve("feed.csv"), lines);
+
+        newImport(feed, Format.CSV, 100).run();
+
+        ArgumentCaptor<Collection<FeedListing>> looked = ArgumentCaptor.captor();
+        verify(repository).findIdsByAddress(looked.capture());
+        assertEquals(List.of("Sold", "Withdrawn"), looked.getValue().stream().map(FeedListing::getTitle).toList());
+        assertEquals(List.of(sold, unpublished), delisted);
+    }
+
+    private ListingImport newImport(Path feed, Format format, int batchSize) throws IOException {
+        return new ListingImport(repository, new ObjectMapper().readerFor(FeedListing.class), new SimpleMeterRegistry(),
+                feed, format, checkpoint(feed), batchSize, 4, 2, delisted::addAll);
+    }
+
+    private Path checkpoint(Path feed) {
+        return dir.resolve(feed.getFileName() + ".checkpoint");
+    }
+
+    private void recordWrites() {
+        doAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return null;
+        }).when(repository).upsertFeedListings(anyList());
+    }
+
+    private static String csvRow(String title, int streetNumber, String propertyType, String listingStatus) {
+        return title + "," + streetNumber + ",Main St,Austin,TX,78701,30.2,-97.7,2,1," + propertyType + ",400000,"
+                + listingStatus + ",,https://img/" + streetNumber + ".jpg,MLS" + streetNumber;
+    }
+}
@@ -0,0 +1,201 @@
+package com.property_pulse.backend.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load scenario for login and profile requests against a running backend.
+ * Run it once against each mode and compare the printed throughput and p99:
+ *
+ * mvn spring-boot:run "-Dspring-boot.run.arguments=--spring.threads.virtual.enabled=false --security.rate-limit.enabled=false"
+ * mvn spring-boot:run "-Dspring-boot.run.arguments=--spring.threads.virtual.enabled=true --security.rate-limit.enabled=false"
+ *
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     "-Dexec.args=-cp %classpath com.property_pulse.backend.load.AuthLoadScenario
+ *      http://localhost:8080 load@example.com secret123 200 30 1000"
+ *
+ * Arguments: base URL, email, password, concurrent clients (default 200), seconds per scenario
+ * (default 30), accounts (default 1000). Logins rotate over the accounts load+0@example.com to
+ * load+999@example.com, registered first if missing, so they spread over the user cache and
+ * the database like real traffic. The rate limiter must be off: every request comes from one
+ * address, and with it on the scenario would mostly measure 429s instead of the hashing pool.
+ */
+public class AuthLoadScenario {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final int accounts;
+    private final AtomicInteger nextAccount = new AtomicInteger();
+
+    AuthLoadScenario(String baseUrl, String email, String password, int accounts) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.accounts = accounts;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: AuthLoadScenario <baseUrl> <email> <password> [clients] [seconds] [accounts]");
+            System.exit(1);
+        }
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        int accounts = args.length > 5 ? Integer.parseInt(args[5]) : 1000;
+
+        AuthLoadScenario scenario = new AuthLoadScenario(args[0], args[1], args[2], accounts);
+        scenario.registerAccounts();
+        String token = scenario.loginForToken();
+
+        scenario.run("login", clients, seconds, scenario::loginRequest);
+        scenario.run("profile", clients, seconds, () -> scenario.profileRequest(token));
+    }
+
+    private void run(String name, int clients, int seconds, Supplier<HttpRequest> requests) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(workers.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                            result.record(System.nanoTime() - start, response.statusCode());
+                        } catch (Exception e) {
+                            result.record(System.nanoTime() - start, -1);
+                        }
+                    }
+                    return result;
+                }));
+            }
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        total.print(name, seconds);
+    }
+
+    private void registerAccounts() throws Exception {
+        for (int i = 0; i < accounts; i++) {
+            String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + account(i)
+                    + "\",\"password\":\"" + password + "\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // 409: registered by an earlier run
+            if (response.statusCode() != 200 && response.statusCode() != 409) {
+                throw new IllegalStateException("Registering " + account(i) + " failed with status "
+                        + response.statusCode() + ": " + response.body());
+            }
+        }
+    }
+
+    private String account(int index) {
+        int at = email.indexOf('@');
+        return email.substring(0, at) + "+" + index + email.substring(at);
+    }
+
+    private String loginForToken() throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private HttpRequest loginRequest() {
+        String account = account(Math.floorMod(nextAccount.getAndIncrement(), accounts));
+        String body = "{\"email\":\"" + account + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest profileRequest(String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/profile"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int ok;
+        private int overloaded;
+        private int failed;
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 200 && status < 300) {
+                ok++;
+            } else if (status == 503 || status == 429) {
+                overloaded++;
+            } else {
+                failed++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            ok += other.ok;
+            overloaded += other.overloaded;
+            failed += other.failed;
+        }
+
+        void print(String name, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-8s requests=%d ok=%d shed=%d failed=%d throughput=%.1f/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    name, count, ok, overloaded, failed, (double) count / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+                    count == 0 ? 0.0 : sorted[count - 1] / 1_000_000.0);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.property_pulse.backend.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+import com.property_pulse.backend.dto.InvestmentMetric;
+import com.property_pulse.backend.metrics.InvestmentMetricsEngine.ListingResult;
+import com.property_pulse.backend.metrics.InvestmentMetricsEngine.Ranking;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.repository.PropertyListingRepositoryCustom.ListingFinancialsHandler;
+import com.property_pulse.backend.search.SearchIndexUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InvestmentMetricsEngineTest {
+
+    private static final FinancingAssumptions ASSUMPTIONS = new FinancingAssumptions(7.0, 20, 30, 5, 25, 1.1);
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final InvestmentMetricsEngine engine = new InvestmentMetricsEngine(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+            true, true, 1000, 5000, 3_600_000, 30_000);
+
+    @Test
+    void ranksWholeCatalogAndSkipsListingsWithoutInputs() {
+        UUID cheapHighRent = UUID.randomUUID();
+        UUID balanced = UUID.randomUUID();
+        UUID noRent = UUID.randomUUID();
+        doAnswer(call -> {
+            ListingFinancialsHandler handler = call.getArgument(2);
+            handler.accept(balanced, true, new BigDecimal("400000"), new BigDecimal("2600"), null, 1800, Instant.now());
+            handler.accept(cheapHighRent, true, new BigDecimal("150000"), new BigDecimal("1900"),
+                    new BigDecimal("1500"), 1100, Instant.now());
+            handler.accept(noRent, true, new BigDecimal("250000"), null, null, 2000, Instant.now());
+            // Thousands more so the pass spans several chunks
+            for (int i = 0; i < 10_000; i++) {
+                handler.accept(UUID.randomUUID(), true, new BigDecimal("500000"), new BigDecimal("1500"), null, 2500,
+                        Instant.now());
+            }
+            return null;
+        }).when(repository).streamListingFinancials(isNull(), anyInt(), any());
+        engine.refresh();
+
+        Ranking byCashFlow = engine.rank(ASSUMPTIONS, InvestmentMetric.cash_flow, 2);
+        assertEquals(List.of(cheapHighRent, balanced), byCashFlow.top().stream().map(ListingResult::id).toList());
+        assertEquals(10_002, byCashFlow.evaluated());
+
+        // Every listing has an area, so price per sqft covers the one without rent too
+        Ranking byPricePerSqft = engine.rank(ASSUMPTIONS, InvestmentMetric.price_per_sqft, 1);
+        assertEquals(noRent, byPricePerSqft.top().get(0).id());
+        assertEquals(10_003, byPricePerSqft.evaluated());
+    }
+
+    @Test
+    void unavailableUntilLoaded() {
+        assertThrows(SearchIndexUnavailableException.class, () -> engine.rank(ASSUMPTIONS, InvestmentMetric.cap_rate, 10));
+    }
+}
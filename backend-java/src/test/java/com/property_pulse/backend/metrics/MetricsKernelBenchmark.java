@@ -0,0 +1,88 @@
+package com.property_pulse.backend.metrics;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+
+/**
+ * One full-catalog metrics pass, scalar against Vector API kernel.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     "-Dexec.args=-cp %classpath com.property_pulse.backend.metrics.MetricsKernelBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MetricsKernelBenchmark {
+
+    @Param({"500000"})
+    private int listings;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    private ListingFinancials financials;
+    private MetricsKernel metricsKernel;
+    private FinancingAssumptions assumptions;
+    private MetricChunk chunk;
+
+    @Setup
+    public void setup() {
+        metricsKernel = kernel.equals("vector") ? MetricsKernels.select(true) : new ScalarMetricsKernel();
+        if (kernel.equals("vector") && !(metricsKernel instanceof VectorMetricsKernel)) {
+            throw new IllegalStateException("Vector API not available in the forked JVM");
+        }
+
+        Random random = new Random(11);
+        financials = new ListingFinancials(listings);
+        for (int i = 0; i < listings; i++) {
+            int price = 60_000 + random.nextInt(1_500_000);
+            financials.upsert(UUID.randomUUID(),
+                    BigDecimal.valueOf(price),
+                    random.nextInt(10) == 0 ? null : BigDecimal.valueOf(700 + random.nextInt(5_000)),
+                    random.nextInt(4) == 0 ? null : BigDecimal.valueOf(price * 0.012),
+                    random.nextInt(10) == 0 ? null : 500 + random.nextInt(3_500));
+        }
+        assumptions = new FinancingAssumptions(6.75, 20, 30, 5, 25, 1.1);
+        chunk = new MetricChunk();
+    }
+
+    @Benchmark
+    public void fullCatalogPass(Blackhole blackhole) {
+        for (int from = 0; from < financials.slots(); from += MetricChunk.SIZE) {
+            int to = Math.min(financials.slots(), from + MetricChunk.SIZE);
+            metricsKernel.compute(financials.price(), financials.monthlyRent(), financials.annualTaxes(),
+                    financials.sqft(), from, to, assumptions, chunk);
+            blackhole.consume(chunk);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsKernelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
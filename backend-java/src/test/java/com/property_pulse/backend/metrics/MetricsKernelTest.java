@@ -0,0 +1,95 @@
+package com.property_pulse.backend.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.dto.FinancingAssumptions;
+
+class MetricsKernelTest {
+
+    private static final FinancingAssumptions ASSUMPTIONS = new FinancingAssumptions(6.0, 25, 30, 5, 30, 1.2);
+
+    @Test
+    void scalarKernelMatchesHandCalculation() {
+        double[] price = {300_000, 200_000, Double.NaN};
+        double[] rent = {2_500, Double.NaN, 1_000};
+        double[] taxes = {4_800, Double.NaN, 1_000};
+        double[] sqft = {1_500, Double.NaN, 900};
+        MetricChunk out = new MetricChunk();
+
+        new ScalarMetricsKernel().compute(price, rent, taxes, sqft, 0, 3, ASSUMPTIONS, out);
+
+        // 30000 gross rent * 0.95 * 0.70 - 4800 taxes = 15150 NOI
+        double noi = 30_000 * 0.95 * 0.70 - 4_800;
+        double monthlyRate = 0.06 / 12;
+        double payment = 225_000 * monthlyRate / (1 - Math.pow(1 + monthlyRate, -360));
+        assertEquals(10.0, out.grossYield[0], 1e-9);
+        assertEquals(noi / 300_000 * 100, out.capRate[0], 1e-9);
+        assertEquals(noi / 12 - payment, out.cashFlow[0], 1e-6);
+        assertEquals(200.0, out.pricePerSqft[0], 1e-9);
+
+        // No rent: no yield, cap rate or cash flow; no area: no price per sqft
+        assertTrue(Double.isNaN(out.grossYield[1]));
+        assertTrue(Double.isNaN(out.cashFlow[1]));
+        assertTrue(Double.isNaN(out.pricePerSqft[1]));
+        // A removed listing (NaN price) yields nothing at all
+        assertTrue(Double.isNaN(out.capRate[2]));
+        assertTrue(Double.isNaN(out.pricePerSqft[2]));
+    }
+
+    @Test
+    void missingTaxesFallBackToAssumedRate() {
+        double[] price = {250_000};
+        double[] rent = {2_000};
+        double[] withTaxes = {250_000 * 0.012};
+        double[] withoutTaxes = {Double.NaN};
+        double[] sqft = {1_000};
+        MetricChunk estimated = new MetricChunk();
+        MetricChunk actual = new MetricChunk();
+
+        new ScalarMetricsKernel().compute(price, rent, withoutTaxes, sqft, 0, 1, ASSUMPTIONS, estimated);
+        new ScalarMetricsKernel().compute(price, rent, withTaxes, sqft, 0, 1, ASSUMPTIONS, actual);
+
+        assertEquals(actual.capRate[0], estimated.capRate[0], 1e-12);
+    }
+
+    @Test
+    void vectorKernelAgreesWithScalarIncludingTailsAndNaN() {
+        assumeTrue(MetricsKernels.vectorAvailable(), "run with --add-modules jdk.incubator.vector");
+        MetricsKernel vector = MetricsKernels.select(true);
+        assertTrue(vector instanceof VectorMetricsKernel);
+
+        int n = 10_000;
+        Random random = new Random(3);
+        double[] price = new double[n];
+        double[] rent = new double[n];
+        double[] taxes = new double[n];
+        double[] sqft = new double[n];
+        for (int i = 0; i < n; i++) {
+            price[i] = random.nextInt(20) == 0 ? Double.NaN : 80_000 + random.nextInt(900_000);
+            rent[i] = random.nextInt(10) == 0 ? Double.NaN : 800 + random.nextInt(4_000);
+            taxes[i] = random.nextInt(3) == 0 ? Double.NaN : price[i] * 0.015;
+            sqft[i] = random.nextInt(10) == 0 ? Double.NaN : 500 + random.nextInt(3_000);
+        }
+
+        // Odd offsets and lengths exercise the scalar tail after the last full vector
+        for (int[] range : new int[][] {{0, 4096}, {7, 4090}, {4096, 8191}, {9_999, 10_000}}) {
+            MetricChunk expected = new MetricChunk();
+            MetricChunk actual = new MetricChunk();
+            new ScalarMetricsKernel().compute(price, rent, taxes, sqft, range[0], range[1], ASSUMPTIONS, expected);
+            vector.compute(price, rent, taxes, sqft, range[0], range[1], ASSUMPTIONS, actual);
+
+            for (int o = 0; o < range[1] - range[0]; o++) {
+                assertEquals(expected.grossYield[o], actual.grossYield[o], 1e-9);
+                assertEquals(expected.capRate[o], actual.capRate[o], 1e-9);
+                assertEquals(expected.cashFlow[o], actual.cashFlow[o], 1e-9);
+                assertEquals(expected.pricePerSqft[o], actual.pricePerSqft[o], 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.property_pulse.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.property_pulse.backend.Model.User;
+
+class UserRepositoryImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserRepositoryImpl repository = new UserRepositoryImpl(jdbcTemplate);
+
+    @Test
+    void insertReturnsTheUserWithItsGeneratedIdAndCreatedAt() throws Exception {
+        UUID id = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-01-02T03:04:05Z");
+        ResultSet returned = mock(ResultSet.class);
+        when(returned.getObject("id", UUID.class)).thenReturn(id);
+        when(returned.getTimestamp("created_at")).thenReturn(Timestamp.from(createdAt));
+        when(jdbcTemplate.query(contains("ON CONFLICT (email) DO NOTHING RETURNING id, created_at"),
+                any(RowMapper.class), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<User>>getArgument(1).mapRow(returned, 0)));
+        User user = user("ada@example.com");
+
+        User inserted = repository.insertIfEmailAbsent(user).orElseThrow();
+
+        assertSame(user, inserted);
+        assertEquals(id, inserted.getId());
+        assertEquals(createdAt, inserted.getCreatedAt().toInstant());
+    }
+
+    @Test
+    void insertIsEmptyWhenTheEmailIsTaken() {
+        // ON CONFLICT DO NOTHING returns no row
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        Optional<User> inserted = repository.insertIfEmailAbsent(user("ada@example.com"));
+
+        assertTrue(inserted.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchInsertReturnsOneCountPerUser() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][] {{1, 0, Statement.SUCCESS_NO_INFO}});
+
+        int[] counts = repository.batchInsertIgnoringConflicts(
+                List.of(user("a@example.com"), user("b@example.com"), user("c@example.com")));
+
+        assertArrayEquals(new int[] {1, 0, Statement.SUCCESS_NO_INFO}, counts);
+    }
+
+    @Test
+    void batchInsertOfNothingSkipsTheDatabase() {
+        assertArrayEquals(new int[0], repository.batchInsertIgnoringConflicts(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static User user(String email) {
+        return new User("Ada", "Lovelace", email, null, "hash");
+    }
+}
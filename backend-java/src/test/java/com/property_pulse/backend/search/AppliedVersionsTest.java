@@ -0,0 +1,43 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class AppliedVersionsTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AppliedVersions versions = new AppliedVersions(Duration.ofSeconds(5));
+
+    @Test
+    void skipsAVersionAlreadyAppliedButNotANewerOne() {
+        UUID id = UUID.randomUUID();
+        assertFalse(versions.isApplied(id, T0));
+
+        versions.record(id, T0);
+
+        assertTrue(versions.isApplied(id, T0));
+        assertTrue(versions.isApplied(id, T0.minusSeconds(1)));
+        assertFalse(versions.isApplied(id, T0.plusMillis(1)));
+        assertFalse(versions.isApplied(id, null));
+    }
+
+    @Test
+    void onlyKeepsRowsTheOverlapReadsBack() {
+        UUID old = UUID.randomUUID();
+        versions.record(old, T0);
+        for (int i = 0; i < 2_000; i++) {
+            versions.record(UUID.randomUUID(), T0.plusSeconds(60));
+        }
+
+        assertFalse(versions.isApplied(old, T0), "older than newest - overlap, so never read back");
+        assertEquals(2_000, versions.size());
+    }
+}
@@ -0,0 +1,119 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private static final UUID POOL_IN_TITLE = UUID.randomUUID();
+    private static final UUID POOL_IN_DESCRIPTION = UUID.randomUUID();
+    private static final UUID KITCHEN = UUID.randomUUID();
+    private static final UUID WATERFRONT = UUID.randomUUID();
+
+    @Test
+    void stemsIndexAndQueryTermsTheSameWay() {
+        assertEquals(TextAnalyzer.stem("renovated"), TextAnalyzer.stem("renovation"));
+        assertEquals(TextAnalyzer.stem("renovations"), TextAnalyzer.stem("renovate"));
+        assertEquals("pool", TextAnalyzer.stem("pools"));
+        assertEquals("swim", TextAnalyzer.stem("swimming"));
+        assertEquals(List.of("renovat", "kitchen"), TextAnalyzer.terms("Renovated the KITCHEN!"));
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        InvertedIndex index = fixture();
+
+        List<UUID> hits = ids(index.search(List.of("pool"), null, id -> true, 10));
+
+        assertEquals(List.of(POOL_IN_TITLE, POOL_IN_DESCRIPTION), hits);
+    }
+
+    @Test
+    void requiresEveryTermAndExpandsTheTypedPrefix() {
+        InvertedIndex index = fixture();
+
+        assertEquals(List.of(KITCHEN), ids(index.search(List.of("renovat", "kitchen"), null, id -> true, 10)));
+        assertEquals(List.of(KITCHEN), ids(index.search(List.of("renovat"), "kit", id -> true, 10)));
+        assertEquals(List.of(WATERFRONT), ids(index.search(List.of(), "waterf", id -> true, 10)));
+        assertTrue(index.search(List.of("pool", "waterfront"), null, id -> true, 10).isEmpty());
+    }
+
+    @Test
+    void acceptFiltersBeforeTheLimitApplies() {
+        InvertedIndex index = fixture();
+
+        List<UUID> hits = ids(index.search(List.of("pool"), null, id -> !id.equals(POOL_IN_TITLE), 1));
+
+        assertEquals(List.of(POOL_IN_DESCRIPTION), hits);
+    }
+
+    @Test
+    void updatesAndRemovalsTakeEffectImmediately() {
+        InvertedIndex index = fixture();
+
+        index.upsert(POOL_IN_TITLE, "Cozy bungalow", null, null);
+        index.remove(WATERFRONT);
+
+        assertEquals(List.of(POOL_IN_DESCRIPTION), ids(index.search(List.of("pool"), null, id -> true, 10)));
+        assertEquals(List.of(POOL_IN_TITLE), ids(index.search(List.of("bungalow"), null, id -> true, 10)));
+        assertTrue(index.search(List.of("waterfront"), null, id -> true, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void snapshotRoundTripsCompactly() throws IOException {
+        InvertedIndex index = new InvertedIndex(16);
+        Random random = new Random(3);
+        String[] words = {"pool", "garage", "renovated", "kitchen", "granite", "hardwood", "floors", "view",
+                "waterfront", "fireplace", "patio", "fenced", "yard", "quiet", "street", "updated"};
+        int postings = 0;
+        UUID first = null;
+        for (int i = 0; i < 1_000; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                description.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            UUID id = UUID.randomUUID();
+            first = first == null ? id : first;
+            index.upsert(id, "Listing " + i, description.toString(), new String[] {"central air"});
+            postings += InvertedIndex.analyze("Listing " + i, description.toString(), new String[] {"central air"}).size();
+        }
+        index.remove(first);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        InvertedIndex restored = InvertedIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(index.size(), restored.size());
+        assertEquals(index.termCount(), restored.termCount());
+        assertEquals(index.search(List.of("granite", "pool"), "hard", id -> true, 50),
+                restored.search(List.of("granite", "pool"), "hard", id -> true, 50));
+        // 16-byte id per listing plus a few bytes per posting
+        assertTrue(bytes.size() < index.size() * 20 + postings * 3, "snapshot was " + bytes.size() + " bytes");
+    }
+
+    private static InvertedIndex fixture() {
+        InvertedIndex index = new InvertedIndex(4);
+        index.upsert(POOL_IN_TITLE, "Pool home with big yard", "Three bedrooms near schools", null);
+        index.upsert(POOL_IN_DESCRIPTION, "Family home", "Large yard, community pool and playground nearby",
+                new String[] {"garage"});
+        index.upsert(KITCHEN, "Starter condo", "Recently renovated kitchen", new String[] {"granite counters"});
+        index.upsert(WATERFRONT, "Waterfront cottage", "Private dock", new String[] {"boat lift"});
+        return index;
+    }
+
+    private static List<UUID> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.search.Leaderboard.Ranked;
+import com.property_pulse.backend.search.LeaderboardSet.Market;
+import com.property_pulse.backend.search.LeaderboardSet.Segment;
+
+class LeaderboardSetTest {
+
+    private static final Market AUSTIN_CONDO = new Market("TX", "Austin", "condo");
+    private static final Market DALLAS_HOUSE = new Market("TX", "Dallas", "single_family");
+    private static final Market DENVER_CONDO = new Market("CO", "Denver", "condo");
+
+    @Test
+    void ranksWithinEachSegmentAndScoreDirection() {
+        LeaderboardSet boards = new LeaderboardSet(10, 20);
+        UUID austin = UUID.randomUUID();
+        UUID dallas = UUID.randomUUID();
+        UUID denver = UUID.randomUUID();
+
+        boards.updateListing(austin, AUSTIN_CONDO);
+        boards.updateScores(austin, scores(90, 40));
+        // Scores may arrive before the listing is known
+        boards.updateScores(dallas, scores(70, 10));
+        boards.updateListing(dallas, DALLAS_HOUSE);
+        boards.updateListing(denver, DENVER_CONDO);
+        boards.updateScores(denver, scores(80, 20));
+        boards.publish();
+
+        assertEquals(List.of(austin, denver, dallas), ids(boards, Segment.ALL, LeaderboardScore.investment));
+        assertEquals(List.of(dallas, denver, austin), ids(boards, Segment.ALL, LeaderboardScore.risk));
+        assertEquals(List.of(austin, dallas), ids(boards, new Segment("TX", null, null), LeaderboardScore.investment));
+        assertEquals(List.of(austin, denver), ids(boards, new Segment(null, null, "condo"), LeaderboardScore.investment));
+        assertEquals(List.of(dallas), ids(boards, new Segment("TX", "Dallas", null), LeaderboardScore.investment));
+        assertEquals(List.of(), ids(boards, Segment.ALL, LeaderboardScore.cash_flow));
+    }
+
+    @Test
+    void soldListingLeavesEveryBoardOnPublish() {
+        LeaderboardSet boards = new LeaderboardSet(10, 20);
+        UUID id = UUID.randomUUID();
+        boards.updateListing(id, AUSTIN_CONDO);
+        boards.updateScores(id, scores(95, 5));
+        boards.publish();
+
+        boards.updateListing(id, null);
+        boards.publish();
+
+        for (Segment segment : AUSTIN_CONDO.segments()) {
+            for (LeaderboardScore score : LeaderboardScore.values()) {
+                assertEquals(0, boards.top(segment, score).length);
+            }
+        }
+    }
+
+    @Test
+    void staysExactUnderRandomChurn() {
+        int size = 5;
+        LeaderboardSet boards = new LeaderboardSet(size, 8);
+        Map<UUID, Market> markets = new HashMap<>();
+        Map<UUID, double[]> scores = new HashMap<>();
+        Market[] choices = {AUSTIN_CONDO, DALLAS_HOUSE, DENVER_CONDO, null};
+        UUID[] ids = new UUID[200];
+        Arrays.setAll(ids, i -> UUID.randomUUID());
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            if (random.nextBoolean()) {
+                Market market = choices[random.nextInt(choices.length)];
+                boards.updateListing(id, market);
+                if (market == null) {
+                    markets.remove(id);
+                } else {
+                    markets.put(id, market);
+                }
+            } else {
+                double[] values = random.nextInt(10) == 0 ? null : scores(random.nextInt(101), random.nextInt(101));
+                boards.updateScores(id, values);
+                if (values == null) {
+                    scores.remove(id);
+                } else {
+                    scores.put(id, values);
+                }
+            }
+
+            if (step % 7 == 0) {
+                boards.publish();
+                for (Segment segment : List.of(Segment.ALL, new Segment("TX", null, null),
+                        new Segment(null, null, "condo"), new Segment("CO", "Denver", "condo"))) {
+                    for (LeaderboardScore score : List.of(LeaderboardScore.investment, LeaderboardScore.risk)) {
+                        assertEquals(expected(markets, scores, segment, score, size), ids(boards, segment, score),
+                                "step " + step + " " + segment + " " + score);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<UUID> expected(Map<UUID, Market> markets, Map<UUID, double[]> scores, Segment segment,
+                                       LeaderboardScore score, int size) {
+        Comparator<UUID> byScore = Comparator.comparingDouble(id -> scores.get(id)[score.ordinal()]);
+        if (!score.lowestFirst()) {
+            byScore = byScore.reversed();
+        }
+        return markets.keySet().stream()
+                .filter(id -> scores.containsKey(id) && segment.contains(markets.get(id)))
+                .sorted(byScore.thenComparing(Comparator.naturalOrder()))
+                .limit(size)
+                .toList();
+    }
+
+    private static List<UUID> ids(LeaderboardSet boards, Segment segment, LeaderboardScore score) {
+        return Arrays.stream(boards.top(segment, score)).map(Ranked::id).toList();
+    }
+
+    private static double[] scores(double investment, double risk) {
+        double[] values = new double[LeaderboardScore.values().length];
+        Arrays.fill(values, Double.NaN);
+        values[LeaderboardScore.investment.ordinal()] = investment;
+        values[LeaderboardScore.risk.ordinal()] = risk;
+        return values;
+    }
+}
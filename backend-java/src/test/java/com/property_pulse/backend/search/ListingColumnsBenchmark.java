@@ -0,0 +1,107 @@
+package com.property_pulse.backend.search;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+
+/**
+ * Latency of one search page against the in-memory column store.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     "-Dexec.args=-cp %classpath com.property_pulse.backend.search.ListingColumnsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingColumnsBenchmark {
+
+    private static final String[] CITIES = {"Austin", "Dallas", "Houston", "San Antonio", "El Paso"};
+
+    @Param({"100000"})
+    private int listings;
+
+    private ListingColumns columns;
+    private PropertySearchCriteria broad;
+    private PropertySearchCriteria selective;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        ZonedDateTime base = ZonedDateTime.parse("2025-01-01T00:00:00Z");
+        columns = new ListingColumns(listings);
+        for (int i = 0; i < listings; i++) {
+            columns.upsert(PropertySummary.builder()
+                    .id(UUID.randomUUID())
+                    .title("Listing " + i)
+                    .cityName(CITIES[random.nextInt(CITIES.length)])
+                    .stateName("TX")
+                    .bedrooms(1 + random.nextInt(5))
+                    .bathrooms(1 + random.nextInt(3))
+                    .sqft(500 + random.nextInt(3_000))
+                    .propertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)].name())
+                    .listingStatus(ListingStatus.values()[random.nextInt(ListingStatus.values().length)].name())
+                    .latitude(BigDecimal.valueOf(25 + random.nextDouble() * 20))
+                    .longitude(BigDecimal.valueOf(-120 + random.nextDouble() * 45))
+                    .price(new BigDecimal(50_000 + random.nextInt(2_000_000)))
+                    .createdAt(base.plusSeconds(random.nextInt(30_000_000)))
+                    .build());
+        }
+        columns.reorder();
+        System.out.printf("%n~%d bytes per listing%n", columns.estimatedBytes() / columns.size());
+
+        broad = PropertySearchCriteria.builder().sort(PropertySort.newest).build();
+        selective = PropertySearchCriteria.builder()
+                .sort(PropertySort.price_asc)
+                .cityName("Austin")
+                .propertyTypes(List.of(PropertyType.condo))
+                .listingStatuses(List.of(ListingStatus.active))
+                .minBedrooms(3)
+                .minPrice(new BigDecimal("400000"))
+                .maxPrice(new BigDecimal("900000"))
+                .build();
+    }
+
+    @Benchmark
+    public List<PropertySummary> firstPageNoFilters() {
+        return columns.search(broad, null, 21);
+    }
+
+    @Benchmark
+    public List<PropertySummary> firstPageSelectiveFilters() {
+        return columns.search(selective, null, 21);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListingColumnsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
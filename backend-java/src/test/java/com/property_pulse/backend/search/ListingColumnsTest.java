@@ -0,0 +1,269 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.Model.ListingStatus;
+import com.property_pulse.backend.Model.PropertyType;
+import com.property_pulse.backend.dto.MapCluster;
+import com.property_pulse.backend.dto.MapSearchResponse;
+import com.property_pulse.backend.dto.NearbyListing;
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+
+class ListingColumnsTest {
+
+    private static final String[] CITIES = {"Austin", "Dallas", "Houston"};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void pagesMatchAFullSortForEveryOrdering() {
+        List<PropertySummary> listings = randomListings(2_000);
+        ListingColumns columns = load(listings);
+
+        for (PropertySort sort : PropertySort.values()) {
+            PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                    .sort(sort)
+                    .propertyTypes(List.of(PropertyType.condo, PropertyType.townhouse))
+                    .minBedrooms(2)
+                    .minPrice(new BigDecimal("150000"))
+                    .cityName("Austin")
+                    .build();
+
+            List<UUID> expected = expected(listings, criteria);
+            assertTrue(expected.size() > 20, "fixture should span several pages");
+            assertEquals(expected, pageThrough(columns, criteria, 7));
+        }
+    }
+
+    @Test
+    void appliesUpdatesAndRemovals() {
+        List<PropertySummary> listings = randomListings(100);
+        ListingColumns columns = load(listings);
+
+        PropertySummary moved = listings.get(0);
+        PropertySummary updated = copy(moved);
+        updated.setPrice(new BigDecimal("1.00"));
+        columns.upsert(updated);
+        columns.remove(listings.get(1).getId());
+        columns.reorder();
+
+        PropertySearchCriteria cheapestFirst = PropertySearchCriteria.builder().sort(PropertySort.price_asc).build();
+        List<PropertySummary> page = columns.search(cheapestFirst, null, 200);
+
+        assertEquals(99, columns.size());
+        assertEquals(99, page.size());
+        assertEquals(moved.getId(), page.get(0).getId());
+        assertTrue(page.stream().noneMatch(row -> row.getId().equals(listings.get(1).getId())));
+    }
+
+    @Test
+    void skipsARemovedRowUntilTheNextReorderReusesItsSlot() {
+        List<PropertySummary> listings = randomListings(10);
+        ListingColumns columns = load(listings);
+        UUID removed = listings.get(3).getId();
+        PropertySearchCriteria cheapestFirst = PropertySearchCriteria.builder().sort(PropertySort.price_asc).build();
+
+        // The sort orders still hold the slot; the live bitmap hides it
+        columns.remove(removed);
+        List<PropertySummary> page = columns.search(cheapestFirst, null, 20);
+        assertEquals(9, page.size());
+        assertTrue(page.stream().noneMatch(row -> row.getId().equals(removed)));
+
+        PropertySummary added = randomListings(1).get(0);
+        columns.upsert(added);
+        columns.reorder();
+
+        page = columns.search(cheapestFirst, null, 20);
+        assertEquals(10, page.size());
+        assertTrue(page.stream().anyMatch(row -> row.getId().equals(added.getId())));
+        assertTrue(page.stream().noneMatch(row -> row.getId().equals(removed)));
+    }
+
+    @Test
+    void filtersOnStatusBitmapAndSqftRange() {
+        List<PropertySummary> listings = randomListings(500);
+        ListingColumns columns = load(listings);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .sort(PropertySort.price_desc)
+                .listingStatuses(List.of(ListingStatus.pending))
+                .minSqft(900)
+                .maxSqft(2_000)
+                .stateName("TX")
+                .build();
+
+        assertEquals(expected(listings, criteria), pageThrough(columns, criteria, 25));
+    }
+
+    @Test
+    void unknownCityMatchesNothing() {
+        ListingColumns columns = load(randomListings(50));
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().cityName("Nowhere").build();
+
+        assertTrue(columns.search(criteria, null, 10).isEmpty());
+    }
+
+    @Test
+    void nearestMatchesBruteForceWithinRadius() {
+        List<PropertySummary> listings = randomListings(2_000);
+        ListingColumns columns = load(listings);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().minBedrooms(2).build();
+
+        List<NearbyListing> nearest = columns.nearest(criteria, 30.27, -97.74, 15, 25);
+
+        List<UUID> expected = listings.stream()
+                .filter(row -> row.getBedrooms() >= 2)
+                .filter(row -> distance(row, 30.27, -97.74) <= 15)
+                .sorted(Comparator.comparingDouble(row -> distance(row, 30.27, -97.74)))
+                .limit(25)
+                .map(PropertySummary::getId)
+                .toList();
+        assertFalse(expected.isEmpty(), "fixture should have listings within the radius");
+        assertEquals(expected, nearest.stream().map(row -> row.getListing().getId()).toList());
+    }
+
+    @Test
+    void viewportClustersOnceTooManyMatch() {
+        List<PropertySummary> listings = randomListings(2_000);
+        ListingColumns columns = load(listings);
+        GeoBounds bounds = new GeoBounds(30.0, -98.0, 30.5, -97.5);
+        long inside = listings.stream()
+                .filter(row -> bounds.contains(row.getLatitude().doubleValue(), row.getLongitude().doubleValue()))
+                .count();
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().build();
+
+        MapSearchResponse pins = columns.inBounds(criteria, bounds, 5_000, 8);
+        assertFalse(pins.isClustered());
+        assertEquals(inside, pins.getProperties().size());
+
+        MapSearchResponse clustered = columns.inBounds(criteria, bounds, 10, 8);
+        assertTrue(clustered.isClustered());
+        assertEquals(inside, clustered.getTotalMatches());
+        assertEquals(inside, clustered.getClusters().stream().mapToInt(MapCluster::getCount).sum());
+        assertTrue(clustered.getClusters().size() <= 64);
+    }
+
+    @Test
+    void viewportAcrossTheAntimeridian() {
+        ListingColumns columns = new ListingColumns(4);
+        PropertySummary fiji = at(-17.7, 178.0);
+        PropertySummary samoa = at(-13.8, -172.1);
+        PropertySummary austin = at(30.27, -97.74);
+        List.of(fiji, samoa, austin).forEach(columns::upsert);
+        columns.reorder();
+
+        MapSearchResponse pacific = columns.inBounds(PropertySearchCriteria.builder().build(),
+                new GeoBounds(-20, 175, -10, -170), 10, 4);
+
+        assertEquals(2, pacific.getTotalMatches());
+        assertTrue(pacific.getProperties().stream()
+                .noneMatch(row -> row.getListing().getId().equals(austin.getId())));
+        assertEquals(1, columns.nearest(PropertySearchCriteria.builder().build(), -17.7, -179.9, 200, 10).size());
+    }
+
+    private static double distance(PropertySummary row, double latitude, double longitude) {
+        return GeoBounds.distanceMiles(latitude, longitude, row.getLatitude().doubleValue(), row.getLongitude().doubleValue());
+    }
+
+    private static PropertySummary at(double latitude, double longitude) {
+        return PropertySummary.builder()
+                .id(UUID.randomUUID())
+                .propertyType(PropertyType.single_family.name())
+                .price(new BigDecimal("250000.00"))
+                .bedrooms(3)
+                .bathrooms(2)
+                .latitude(BigDecimal.valueOf(latitude))
+                .longitude(BigDecimal.valueOf(longitude))
+                .build();
+    }
+
+    private List<UUID> pageThrough(ListingColumns columns, PropertySearchCriteria criteria, int limit) {
+        List<UUID> ids = new ArrayList<>();
+        PropertySearchCursor cursor = null;
+        while (true) {
+            List<PropertySummary> page = columns.search(criteria, cursor, limit);
+            page.forEach(row -> ids.add(row.getId()));
+            if (page.size() < limit) {
+                return ids;
+            }
+            cursor = PropertySearchCursor.after(page.get(page.size() - 1), criteria.getSort());
+        }
+    }
+
+    private static List<UUID> expected(List<PropertySummary> listings, PropertySearchCriteria criteria) {
+        Predicate<PropertySummary> matches = row ->
+                (criteria.getPropertyTypes() == null || criteria.getPropertyTypes().contains(PropertyType.valueOf(row.getPropertyType())))
+                && (criteria.getListingStatuses() == null || criteria.getListingStatuses().contains(ListingStatus.valueOf(row.getListingStatus())))
+                && (criteria.getMinPrice() == null || row.getPrice().compareTo(criteria.getMinPrice()) >= 0)
+                && (criteria.getMinBedrooms() == null || row.getBedrooms() >= criteria.getMinBedrooms())
+                && (criteria.getCityName() == null || criteria.getCityName().equals(row.getCityName()))
+                && (criteria.getStateName() == null || criteria.getStateName().equals(row.getStateName()))
+                && (criteria.getMinSqft() == null || (row.getSqft() != null && row.getSqft() >= criteria.getMinSqft()))
+                && (criteria.getMaxSqft() == null || (row.getSqft() != null && row.getSqft() <= criteria.getMaxSqft()));
+
+        Comparator<UUID> unsignedUuid = Comparator
+                .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+                .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+        Comparator<PropertySummary> order = switch (criteria.getSort()) {
+            case price_asc -> Comparator.comparing(PropertySummary::getPrice)
+                    .thenComparing(PropertySummary::getId, unsignedUuid);
+            case price_desc -> Comparator.comparing(PropertySummary::getPrice)
+                    .thenComparing(PropertySummary::getId, unsignedUuid).reversed();
+            case newest -> Comparator.comparing((PropertySummary row) -> row.getCreatedAt().toInstant())
+                    .thenComparing(PropertySummary::getId, unsignedUuid).reversed();
+        };
+
+        return listings.stream().filter(matches).sorted(order).map(PropertySummary::getId).toList();
+    }
+
+    private static ListingColumns load(List<PropertySummary> listings) {
+        ListingColumns columns = new ListingColumns(16);
+        listings.forEach(listing -> columns.upsert(copy(listing)));
+        columns.reorder();
+        return columns;
+    }
+
+    private List<PropertySummary> randomListings(int count) {
+        List<PropertySummary> listings = new ArrayList<>(count);
+        ZonedDateTime base = ZonedDateTime.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < count; i++) {
+            listings.add(PropertySummary.builder()
+                    .id(UUID.randomUUID())
+                    .title("Listing " + i)
+                    .cityName(CITIES[random.nextInt(CITIES.length)])
+                    .stateName("TX")
+                    .bedrooms(1 + random.nextInt(5))
+                    .bathrooms(1 + random.nextInt(3))
+                    .sqft(random.nextInt(10) == 0 ? null : 500 + random.nextInt(2_500))
+                    .propertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)].name())
+                    .listingStatus(ListingStatus.values()[random.nextInt(ListingStatus.values().length)].name())
+                    // Coarse prices and timestamps so ties exercise the id tie-breaker
+                    // Roughly a 1 x 1 degree box around Austin
+                    .latitude(BigDecimal.valueOf(29.77 + random.nextDouble()))
+                    .longitude(BigDecimal.valueOf(-98.24 + random.nextDouble()))
+                    .price(new BigDecimal(100_000 + random.nextInt(40) * 10_000).setScale(2))
+                    .createdAt(base.plusMinutes(random.nextInt(200)))
+                    .build());
+        }
+        return listings;
+    }
+
+    private static PropertySummary copy(PropertySummary row) {
+        return row.toBuilder().build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.dto.LeaderboardScore;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.repository.PropertyListingRepositoryCustom.ListingRowHandler;
+import com.property_pulse.backend.repository.PropertyListingRepositoryCustom.PredictionScoreHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PropertyLeaderboardsTest {
+
+    private static final UUID BEST = UUID.randomUUID();
+    private static final UUID SECOND = UUID.randomUUID();
+    private static final UUID THIRD = UUID.randomUUID();
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    // A refresh every hour: nothing in these tests waits for one
+    private final PropertyLeaderboards leaderboards = new PropertyLeaderboards(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+            true, 10, 100, 5_000, 3_600_000, 3_600_000);
+
+    @BeforeEach
+    void load() {
+        doAnswer(invocation -> {
+            ListingRowHandler handler = invocation.getArgument(2);
+            for (UUID id : List.of(BEST, SECOND, THIRD)) {
+                handler.accept(listing(id, "active"), true, Instant.now());
+            }
+            return null;
+        }).when(repository).streamListings(any(), anyInt(), any());
+        doAnswer(invocation -> {
+            PredictionScoreHandler handler = invocation.getArgument(2);
+            handler.accept(BEST, score(90), score(50), score(50), score(10), Instant.now());
+            handler.accept(SECOND, score(80), score(50), score(50), score(10), Instant.now());
+            handler.accept(THIRD, score(70), score(50), score(50), score(10), Instant.now());
+            return null;
+        }).when(repository).streamLatestScores(any(), anyInt(), any());
+
+        leaderboards.refresh();
+    }
+
+    @Test
+    void dropsASoldListingAsSoonAsItsRowChanges() {
+        assertEquals(List.of(BEST, SECOND, THIRD), topInvestment());
+        when(repository.findSummaries(List.of(BEST))).thenReturn(List.of(listing(BEST, "sold")));
+
+        leaderboards.listingChanged(BEST);
+        leaderboards.applyChangedListings();
+
+        assertEquals(List.of(SECOND, THIRD), topInvestment());
+    }
+
+    @Test
+    void dropsAnUnpublishedOrDeletedListing() {
+        // Only published listings come back
+        when(repository.findSummaries(List.of(SECOND))).thenReturn(List.of());
+
+        leaderboards.listingChanged(SECOND);
+        leaderboards.applyChangedListings();
+
+        assertEquals(List.of(BEST, THIRD), topInvestment());
+    }
+
+    @Test
+    void keepsAListingThatStillQualifies() {
+        when(repository.findSummaries(List.of(BEST))).thenReturn(List.of(listing(BEST, "pending")));
+
+        leaderboards.listingChanged(BEST);
+        leaderboards.applyChangedListings();
+
+        assertEquals(List.of(BEST, SECOND, THIRD), topInvestment());
+    }
+
+    @Test
+    void ignoresChangesToListingsItDoesNotRank() {
+        UUID unranked = UUID.randomUUID();
+
+        leaderboards.listingChanged(unranked);
+        leaderboards.applyChangedListings();
+
+        verify(repository, never()).findSummaries(List.of(unranked));
+    }
+
+    @Test
+    void reReadsABurstOfChangesInOneQuery() {
+        when(repository.findSummaries(any())).thenReturn(List.of(listing(SECOND, "active")));
+
+        leaderboards.listingChanged(BEST);
+        leaderboards.listingChanged(THIRD);
+        leaderboards.listingChanged(BEST);
+        leaderboards.listingChanged(SECOND);
+        leaderboards.applyChangedListings();
+
+        verify(repository, times(1)).findSummaries(any());
+        assertEquals(List.of(SECOND), topInvestment());
+    }
+
+    @Test
+    void removesListingsTheFeedDelisted() {
+        leaderboards.removeListings(List.of(THIRD, BEST));
+
+        assertEquals(List.of(SECOND), topInvestment());
+    }
+
+    private List<UUID> topInvestment() {
+        return leaderboards.top(null, null, null, LeaderboardScore.investment).stream()
+                .map(PropertyLeaderboards.Entry::propertyId)
+                .toList();
+    }
+
+    private static PropertySummary listing(UUID id, String listingStatus) {
+        return PropertySummary.builder()
+                .id(id)
+                .stateName("TX")
+                .cityName("Austin")
+                .propertyType("condo")
+                .listingStatus(listingStatus)
+                .build();
+    }
+
+    private static BigDecimal score(int value) {
+        return BigDecimal.valueOf(value);
+    }
+}
@@ -0,0 +1,158 @@
+package com.property_pulse.backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.repository.PropertyListingRepositoryCustom.ListingRowHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PropertySearchIndexTest {
+
+    private static final UUID KEPT = UUID.randomUUID();
+    private static final UUID CHANGED = UUID.randomUUID();
+    private static final Instant UPDATED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    // A full reload every hour: nothing in these tests waits for one
+    private final PropertySearchIndex index = new PropertySearchIndex(repository, mock(PropertyTextIndex.class),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+            true, 100, 5_000, 3_600_000, 5_000, 0.05);
+
+    @BeforeEach
+    void load() {
+        doAnswer(invocation -> {
+            ListingRowHandler handler = invocation.getArgument(2);
+            for (UUID id : List.of(KEPT, CHANGED)) {
+                handler.accept(listing(id), true, UPDATED_AT);
+            }
+            return null;
+        }).when(repository).streamListings(any(), anyInt(), any());
+
+        index.refresh();
+    }
+
+    @Test
+    void keepsItsVersionWhenARefreshOnlyReReadsRowsItHolds() {
+        String before = index.version();
+
+        // The overlap window hands back the same rows at the same updated_at
+        index.refresh();
+
+        assertEquals(before, index.version());
+    }
+
+    @Test
+    void appliesARowWhoseUpdatedAtMoved() {
+        String before = index.version();
+        doAnswer(invocation -> {
+            ListingRowHandler handler = invocation.getArgument(2);
+            handler.accept(listing(KEPT), true, UPDATED_AT);
+            PropertySummary repriced = listing(CHANGED);
+            repriced.setPrice(new BigDecimal("199000.00"));
+            handler.accept(repriced, true, UPDATED_AT.plusSeconds(1));
+            return null;
+        }).when(repository).streamListings(any(), anyInt(), any());
+
+        index.refresh();
+
+        assertNotEquals(before, index.version());
+        assertEquals(new BigDecimal("199000.00"), index.listings(List.of(CHANGED)).get(0).getPrice());
+    }
+
+    @Test
+    void dropsAnUnpublishedOrDeletedListingAsSoonAsItsRowChanges() {
+        String before = index.version();
+        // Only published listings come back
+        when(repository.findSummaries(List.of(CHANGED))).thenReturn(List.of());
+
+        index.listingChanged(CHANGED);
+        index.applyChangedListings();
+
+        assertEquals(List.of(KEPT), ids(index.listings(List.of(KEPT, CHANGED))));
+        assertNotEquals(before, index.version());
+    }
+
+    @Test
+    void leavesOtherEditsToTheNextRefresh() {
+        String before = index.version();
+        when(repository.findSummaries(List.of(CHANGED))).thenReturn(List.of(listing(CHANGED)));
+
+        index.listingChanged(CHANGED);
+        index.applyChangedListings();
+
+        assertEquals(List.of(KEPT, CHANGED), ids(index.listings(List.of(KEPT, CHANGED))));
+        assertEquals(before, index.version());
+    }
+
+    @Test
+    void reReadsABurstOfChangesInOneQueryWithoutReusingSlotsBeforeTheNextReorder() {
+        UUID third = UUID.randomUUID();
+        doAnswer(invocation -> {
+            ListingRowHandler handler = invocation.getArgument(2);
+            handler.accept(listing(third), true, UPDATED_AT.plusSeconds(1));
+            return null;
+        }).when(repository).streamListings(any(), anyInt(), any());
+        when(repository.findSummaries(any())).thenReturn(List.of());
+
+        index.listingChanged(KEPT);
+        index.listingChanged(CHANGED);
+        index.applyChangedListings();
+        index.refresh();
+
+        verify(repository, times(1)).findSummaries(any());
+        assertEquals(List.of(third), ids(index.listings(List.of(KEPT, CHANGED, third))));
+        PropertySearchCriteria cheapestFirst = PropertySearchCriteria.builder().sort(PropertySort.price_asc).build();
+        assertEquals(List.of(third), ids(index.search(cheapestFirst, null, 10)));
+    }
+
+    @Test
+    void ignoresChangesToListingsItDoesNotHold() {
+        UUID unindexed = UUID.randomUUID();
+
+        index.listingChanged(unindexed);
+        index.applyChangedListings();
+
+        verify(repository, never()).findSummaries(List.of(unindexed));
+    }
+
+    private static List<UUID> ids(List<PropertySummary> listings) {
+        return listings.stream().map(PropertySummary::getId).toList();
+    }
+
+    private static PropertySummary listing(UUID id) {
+        return PropertySummary.builder()
+                .id(id)
+                .stateName("TX")
+                .cityName("Austin")
+                .propertyType("condo")
+                .price(new BigDecimal("250000.00"))
+                .bedrooms(2)
+                .bathrooms(1)
+                .latitude(new BigDecimal("30.2672"))
+                .longitude(new BigDecimal("-97.7431"))
+                .build();
+    }
+}
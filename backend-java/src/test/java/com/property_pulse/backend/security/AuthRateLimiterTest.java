@@ -0,0 +1,53 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.security.AuthRateLimiter.Endpoint;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Login: 3 per IP, 1 per email; register: 5 per IP, 3 per email
+    private final AuthRateLimiter limiter = new AuthRateLimiter(registry, true, 3, 3, 1, 1, 5, 5, 3, 3);
+
+    @Test
+    void anEmailRejectionDoesNotUseUpTheIpsBudget() {
+        assertTrue(limiter.check(Endpoint.login, "10.0.0.1", "ada@example.com").admitted());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.check(Endpoint.login, "10.0.0.1", "ADA@example.com").admitted());
+        }
+
+        // Other accounts behind the same address still get the two tokens left
+        assertTrue(limiter.check(Endpoint.login, "10.0.0.1", "grace@example.com").admitted());
+        assertTrue(limiter.check(Endpoint.login, "10.0.0.1", "alan@example.com").admitted());
+        assertFalse(limiter.check(Endpoint.login, "10.0.0.1", "edsger@example.com").admitted());
+
+        assertEquals(5.0, rejected("email"));
+        assertEquals(1.0, rejected("ip"));
+    }
+
+    @Test
+    void anIpRejectionDoesNotTouchTheEmailBucket() {
+        for (int i = 0; i < 3; i++) {
+            limiter.check(Endpoint.login, "10.0.0.1", "user" + i + "@example.com");
+        }
+        assertFalse(limiter.check(Endpoint.login, "10.0.0.1", "ada@example.com").admitted());
+
+        assertTrue(limiter.check(Endpoint.login, "10.0.0.2", "ada@example.com").admitted());
+    }
+
+    private double rejected(String limitedBy) {
+        return registry.get("auth.rate_limit.requests")
+                .tag("endpoint", "login")
+                .tag("outcome", "rejected")
+                .tag("limited_by", limitedBy)
+                .counter()
+                .count();
+    }
+}
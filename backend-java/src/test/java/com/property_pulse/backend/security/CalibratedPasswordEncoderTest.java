@@ -0,0 +1,51 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class CalibratedPasswordEncoderTest {
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(0, 4, 6);
+
+        assertEquals(4, encoder.getStrength());
+    }
+
+    @Test
+    void flagsHashesWithALowerCostForUpgrade() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+        String outdated = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", outdated));
+        assertTrue(encoder.upgradeEncoding(outdated));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void keepsHashesWithAHigherCost() {
+        // As written by a node that calibrated to a higher cost than this one
+        String stronger = new BCryptPasswordEncoder(6).encode("secret");
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        assertTrue(encoder.matches("secret", stronger));
+        assertFalse(encoder.upgradeEncoding(stronger));
+    }
+
+    @Test
+    void pinnedCostSkipsCalibration() {
+        assertEquals(7, CalibratedPasswordEncoder.fixed(7).getStrength());
+    }
+
+    @Test
+    void verifiesAndUpgradesOtherAlgorithms() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(4);
+
+        assertTrue(encoder.matches("secret", "{noop}secret"));
+        assertTrue(encoder.upgradeEncoding("{noop}secret"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.property_pulse.backend.Model.Role;
+import com.property_pulse.backend.Model.User;
+import com.property_pulse.backend.audit.AuthAuditEventType;
+import com.property_pulse.backend.audit.AuthAuditLog;
+import com.property_pulse.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[64]);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(registry, SECRET, 60_000);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SecurityVersionRegistry versions = new SecurityVersionRegistry(userRepository, true);
+    private final AuthAuditLog auditLog = mock(AuthAuditLog.class);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsOnlyModeBuildsThePrincipalWithoutTheDatabase() throws Exception {
+        User user = user();
+
+        filter(true).doFilter(request(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, authentication.getPrincipal());
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(Role.admin, principal.getRole());
+        assertEquals("ROLE_admin", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+        assertEquals(1, registry.get("auth.filter").tag("outcome", "authenticated").timer().count());
+    }
+
+    @Test
+    void tokensIssuedBeforeAVersionBumpAreRevoked() throws Exception {
+        User user = user();
+        String token = jwtService.generateToken(user);
+        user.setActive(false);
+        bumped(user);
+
+        filter(true).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(auditLog).record(AuthAuditEventType.REVOKED_TOKEN, user.getEmail(), "127.0.0.1");
+        verifyNoInteractions(userDetailsService);
+        assertEquals(1, registry.get("auth.filter").tag("outcome", "revoked").timer().count());
+    }
+
+    @Test
+    void withoutClaimsOnlyTheUserIsLoaded() throws Exception {
+        User user = user();
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenReturn(user);
+
+        filter(false).doFilter(request(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertInstanceOf(User.class, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userDetailsService).loadUserByUsername(user.getEmail());
+        verify(auditLog, never()).record(any(), any(), any());
+    }
+
+    private JwtAuthenticationFilter filter(boolean claimsOnly) {
+        return new JwtAuthenticationFilter(registry, jwtService, userDetailsService, versions, auditLog, claimsOnly);
+    }
+
+    private void bumped(User user) {
+        UserRepository.SecurityVersionView view = mock(UserRepository.SecurityVersionView.class);
+        when(view.getId()).thenReturn(user.getId());
+        when(view.getSecurityVersion()).thenReturn(user.getSecurityVersion());
+        when(userRepository.findBumpedSecurityVersions()).thenReturn(List.of(view));
+        versions.refresh();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+        request.setServletPath("/api/user/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static User user() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        user.setId(UUID.randomUUID());
+        user.setRole(Role.admin);
+        user.setSecurityVersion(0);
+        return user;
+    }
+}
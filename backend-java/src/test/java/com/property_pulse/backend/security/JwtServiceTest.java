@@ -0,0 +1,64 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[64]);
+    private static final UserDetails USER = User.withUsername("a@example.com").password("x").roles("user").build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsSuccessfulVerification() {
+        JwtService jwtService = new JwtService(registry, SECRET, 60_000);
+
+        jwtService.verify(jwtService.generateToken(USER));
+
+        assertEquals(1, registry.get("auth.jwt.generate").timer().count());
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void tagsExpiredTokens() {
+        JwtService jwtService = new JwtService(registry, SECRET, -1_000);
+        String token = jwtService.generateToken(USER);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "expired").timer().count());
+    }
+
+    @Test
+    void tagsTokensSignedWithAnotherKey() {
+        byte[] otherKey = new byte[64];
+        otherKey[0] = 1;
+        String token = new JwtService(new SimpleMeterRegistry(), Base64.getEncoder().encodeToString(otherKey), 60_000)
+                .generateToken(USER);
+        JwtService jwtService = new JwtService(registry, SECRET, 60_000);
+
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "bad_signature").timer().count());
+    }
+
+    @Test
+    void tagsMalformedTokens() {
+        JwtService jwtService = new JwtService(registry, SECRET, 60_000);
+
+        assertThrows(JwtException.class, () -> jwtService.verify("not-a-jwt"));
+
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "malformed").timer().count());
+    }
+}
@@ -0,0 +1,157 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), blockingEncoder, 1, 1, 5_000, 7);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One running, one queued
+            callers.submit(() -> executor.encode("a"));
+            callers.submit(() -> executor.encode("b"));
+            waitUntil(() -> executor.getActiveCount() == 1 && executor.getQueueSize() == 1);
+
+            PasswordHashingRejectedException rejected =
+                    assertThrows(PasswordHashingRejectedException.class, () -> executor.encode("c"));
+            assertEquals(7, rejected.getRetryAfterSeconds());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void returnsEncoderResult() {
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), encoder, 2, 4, 5_000, 1);
+        try {
+            assertEquals("hashed:secret", executor.encode("secret"));
+            assertTrue(executor.matches("secret", "hashed:secret"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAllKeepsInputOrderAndStaysWithinThePool() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        PasswordEncoder unevenEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    // Later passwords often finish first
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        List<String> passwords = IntStream.range(0, 50).mapToObj(i -> "password-" + i).toList();
+
+        // At most one bulk task per thread is running or queued, so a queue the size of the pool never overflows
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), unevenEncoder, 3, 3, 5_000, 1);
+        try {
+            List<String> hashes = executor.encodeAll(passwords);
+
+            assertEquals(passwords.stream().map(password -> "hashed:" + password).toList(), hashes);
+            assertTrue(mostRunning.get() <= 3, "at most one task per pool thread, was " + mostRunning.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAllReportsAFailedHash() {
+        PasswordEncoder failingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("bad".contentEquals(rawPassword)) {
+                    throw new IllegalStateException("encoder failed");
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), failingEncoder, 2, 1, 5_000, 1);
+        try {
+            IllegalStateException failed =
+                    assertThrows(IllegalStateException.class, () -> executor.encodeAll(List.of("a", "bad", "c")));
+            assertEquals("encoder failed", failed.getCause().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.repository.UserRepository;
+
+class SecurityVersionRegistryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void rejectsTokensOlderThanTheBumpedVersion() {
+        SecurityVersionRegistry registry = new SecurityVersionRegistry(userRepository, true);
+        UUID bumped = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        assertTrue(registry.isCurrent(bumped, 0), "nothing is revoked before the first refresh");
+
+        when(userRepository.findBumpedSecurityVersions()).thenReturn(List.of(version(bumped, 2)));
+        registry.refresh();
+
+        assertFalse(registry.isCurrent(bumped, 0));
+        assertFalse(registry.isCurrent(bumped, 1));
+        assertTrue(registry.isCurrent(bumped, 2));
+        assertTrue(registry.isCurrent(untouched, 0));
+    }
+
+    @Test
+    void keepsTheLastTableWhenARefreshFails() {
+        SecurityVersionRegistry registry = new SecurityVersionRegistry(userRepository, true);
+        UUID bumped = UUID.randomUUID();
+        when(userRepository.findBumpedSecurityVersions()).thenReturn(List.of(version(bumped, 1)));
+        registry.refresh();
+
+        when(userRepository.findBumpedSecurityVersions()).thenThrow(new IllegalStateException("database down"));
+        registry.refresh();
+
+        assertFalse(registry.isCurrent(bumped, 0));
+    }
+
+    @Test
+    void doesNotQueryUnlessClaimsOnly() {
+        new SecurityVersionRegistry(userRepository, false).refresh();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private record Version(UUID getId, int getSecurityVersion) implements UserRepository.SecurityVersionView {
+    }
+
+    private static UserRepository.SecurityVersionView version(UUID id, int securityVersion) {
+        return new Version(id, securityVersion);
+    }
+}
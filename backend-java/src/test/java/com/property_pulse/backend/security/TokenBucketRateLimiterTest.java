@@ -0,0 +1,68 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, clock::get);
+
+    @Test
+    void admitsBurstThenRejects() {
+        assertTrue(limiter.tryAcquire("1.2.3.4"));
+        assertTrue(limiter.tryAcquire("1.2.3.4"));
+        assertTrue(limiter.tryAcquire("1.2.3.4"));
+        assertFalse(limiter.tryAcquire("1.2.3.4"));
+
+        // Other keys have their own bucket
+        assertTrue(limiter.tryAcquire("5.6.7.8"));
+    }
+
+    @Test
+    void refillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a@example.com");
+        }
+        assertFalse(limiter.tryAcquire("a@example.com"));
+        assertEquals(1, limiter.retryAfterSeconds("a@example.com"));
+
+        // 60 per minute = one token per second
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("a@example.com"));
+        assertFalse(limiter.tryAcquire("a@example.com"));
+    }
+
+    @Test
+    void refundGivesBackOneToken() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("1.2.3.4");
+        }
+        limiter.refund("1.2.3.4");
+
+        assertTrue(limiter.tryAcquire("1.2.3.4"));
+        assertFalse(limiter.tryAcquire("1.2.3.4"));
+
+        // Nothing to refund for a key never seen
+        limiter.refund("5.6.7.8");
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void evictsOnlyIdleKeys() {
+        limiter.tryAcquire("idle");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
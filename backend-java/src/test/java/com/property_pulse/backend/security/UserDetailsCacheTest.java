@@ -0,0 +1,116 @@
+package com.property_pulse.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.Model.Role;
+import com.property_pulse.backend.Model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserDetailsCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserDetailsCache cache = new UserDetailsCache(registry, 100, 60_000);
+
+    @Test
+    void loadsOncePerNormalizedEmail() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        AtomicInteger loads = new AtomicInteger();
+
+        UserSnapshot first = cache.get(" Ada@Example.com ", email -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        }).orElseThrow();
+        UserSnapshot second = cache.get("ada@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        }).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void doesNotCacheMissingUsers() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("ghost@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<UserSnapshot> again = cache.get("ghost@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertTrue(again.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("ada@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        cache.invalidate("ADA@example.com");
+        cache.get("ada@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateUserEvictsByIdWithoutKnowingTheEmail() {
+        User ada = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        ada.setId(UUID.randomUUID());
+        User grace = new User("Grace", "Hopper", "grace@example.com", null, "hash");
+        grace.setId(UUID.randomUUID());
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("ada@example.com", email -> Optional.of(ada));
+        cache.get("grace@example.com", email -> Optional.of(grace));
+        cache.invalidateUser(ada.getId());
+        cache.get("ada@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.of(ada);
+        });
+        cache.get("grace@example.com", email -> {
+            loads.incrementAndGet();
+            return Optional.of(grace);
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void handsOutADetachedSnapshotOfTheEntity() {
+        User user = new User("Ada", "Lovelace", "ada@example.com", null, "hash");
+        user.setId(UUID.randomUUID());
+
+        UserSnapshot cached = cache.get("ada@example.com", email -> Optional.of(user)).orElseThrow();
+        user.setRole(Role.admin);
+        user.setActive(false);
+
+        UserSnapshot again = cache.get("ada@example.com", email -> Optional.of(user)).orElseThrow();
+        assertSame(cached, again);
+        assertEquals(Role.user, again.getRole());
+        assertTrue(again.isEnabled());
+        assertEquals(user.getId(), again.getId());
+        assertEquals("hash", again.getPassword());
+    }
+}
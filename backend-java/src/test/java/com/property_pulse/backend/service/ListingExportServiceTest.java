@@ -0,0 +1,173 @@
+package com.property_pulse.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.export.RowWriters.Format;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.repository.PropertyListingRepositoryCustom.ExportRowHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ListingExportServiceTest {
+
+    private static final int COLUMNS = PropertyListingRepository.EXPORT_COLUMNS.size();
+    private static final Instant CREATED = Instant.parse("2025-03-01T12:00:00Z");
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ListingExportService service = new ListingExportService(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry, 1000, 1);
+
+    private final long[] generated = {0};
+
+    @Test
+    void heapStaysFlatWhileExportingMillionsOfRows() throws IOException {
+        long[] peak = {0};
+        streamRows(2_000_000, () -> peak[0] = Math.max(peak[0], usedHeapAfterGc()));
+
+        long baseline = usedHeapAfterGc();
+        service.export(criteria(), Format.CSV, true).writeTo(OutputStream.nullOutputStream());
+
+        assertEquals(2_000_000, generated[0]);
+        assertEquals(2_000_000, meterRegistry.get("export.rows").counter().count());
+        long growth = peak[0] - baseline;
+        assertTrue(growth < 32L << 20, "heap grew by " + (growth >> 20) + "MB during the export");
+    }
+
+    @Test
+    void stopsReadingAndReleasesSlotWhenClientGoesAway() throws IOException {
+        streamRows(1_000_000, () -> { });
+        OutputStream disconnecting = new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written += len;
+                if (written > 1 << 20) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        StreamingResponseBody body = service.export(criteria(), Format.NDJSON, false);
+        // The only slot is taken until the body runs
+        assertThrows(ExportCapacityException.class, () -> service.export(criteria(), Format.CSV, false));
+        body.writeTo(disconnecting);
+
+        assertTrue(generated[0] < 100_000, "kept reading " + generated[0] + " rows after the disconnect");
+        service.export(criteria(), Format.CSV, false);
+    }
+
+    @Test
+    void writesQuotedCsvAndNdjsonRows() throws IOException {
+        doAnswer(invocation -> {
+            ExportRowHandler handler = invocation.getArgument(2);
+            Object[] row = new Object[COLUMNS];
+            row[0] = new UUID(0, 1);
+            row[1] = "=HYPERLINK(\"x\"), \"cozy\"";
+            row[14] = new BigDecimal("1E+5");
+            row[19] = new String[] {"pool", "garage"};
+            row[20] = CREATED;
+            handler.accept(row);
+            return null;
+        }).when(repository).streamExport(any(), anyInt(), any());
+
+        String[] csv = export(Format.CSV, true).split("\r\n");
+        assertEquals(String.join(",", PropertyListingRepository.EXPORT_COLUMNS), csv[0]);
+        assertEquals(2, csv.length);
+        assertEquals("00000000-0000-0000-0000-000000000001,\"'=HYPERLINK(\"\"x\"\"), \"\"cozy\"\"\"" + ",".repeat(13)
+                + "100000" + ",".repeat(5) + "pool; garage,2025-03-01T12:00:00Z" + ",".repeat(12), csv[1]);
+
+        String ndjson = export(Format.NDJSON, false);
+        assertTrue(ndjson.endsWith("}\n") && ndjson.indexOf('\n') == ndjson.length() - 1, ndjson);
+        assertTrue(ndjson.startsWith("{\"id\":\"00000000-0000-0000-0000-000000000001\",\"title\":\"=HYPERLINK(\\\"x\\\"), \\\"cozy\\\"\","), ndjson);
+        assertTrue(ndjson.contains("\"price\":100000,"), ndjson);
+        assertTrue(ndjson.contains("\"features\":[\"pool\",\"garage\"],\"created_at\":\"2025-03-01T12:00:00Z\",\"updated_at\":null,"), ndjson);
+    }
+
+    @Test
+    void rejectsInvalidRangeBeforeTakingSlot() {
+        PropertySearchCriteria invalid = PropertySearchCriteria.builder()
+                .minPrice(new BigDecimal("500000")).maxPrice(new BigDecimal("100000"))
+                .sort(PropertySort.newest).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.export(invalid, Format.CSV, false));
+        service.export(criteria(), Format.CSV, false);
+    }
+
+    /**
+     * Makes the repository hand out rows like a cursor would, a fresh array each time, running
+     * the probe every 250k rows.
+     */
+    private void streamRows(long count, Runnable probe) {
+        doAnswer(invocation -> {
+            ExportRowHandler handler = invocation.getArgument(2);
+            for (long i = 0; i < count; i++) {
+                Object[] row = new Object[COLUMNS];
+                row[0] = new UUID(0, i);
+                row[1] = "Listing " + i;
+                row[4] = "Austin";
+                row[5] = "TX";
+                row[14] = BigDecimal.valueOf(250_000 + i % 1000, 2);
+                row[19] = new String[] {"pool", "garage"};
+                row[20] = CREATED;
+                generated[0]++;
+                handler.accept(row);
+                if (i % 250_000 == 0) {
+                    probe.run();
+                }
+            }
+            return null;
+        }).when(repository).streamExport(any(), anyInt(), any());
+    }
+
+    private String export(Format format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(criteria(), format, gzip).writeTo(out);
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static PropertySearchCriteria criteria() {
+        return PropertySearchCriteria.builder().sort(PropertySort.newest).build();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
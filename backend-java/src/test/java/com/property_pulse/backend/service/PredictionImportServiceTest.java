@@ -0,0 +1,124 @@
+package com.property_pulse.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property_pulse.backend.dto.AiPrediction;
+import com.property_pulse.backend.dto.PredictionImportResult;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.PropertyLeaderboards;
+import com.property_pulse.backend.service.PredictionImportService.Format;
+
+class PredictionImportServiceTest {
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final PropertyLeaderboards leaderboards = mock(PropertyLeaderboards.class);
+    private final PredictionImportService service = new PredictionImportService(repository, leaderboards, new ObjectMapper(), 2);
+
+    @Test
+    void rejectsBadNdjsonRowsWithoutAbortingTheRest() throws Exception {
+        when(repository.upsertPredictions(anyList())).thenAnswer(call -> ones(((List<?>) call.getArgument(0)).size()));
+        UUID id = UUID.randomUUID();
+        String body = String.join("\n",
+                "{\"property_id\":\"" + id + "\",\"model_version\":\"v1\",\"investment_score\":81.5}",
+                "{not json",
+                "{\"property_id\":\"" + id + "\",\"model_version\":\"v1\",\"risk_score\":140}",
+                "",
+                "{\"property_id\":\"" + id + "\",\"model_version\":\"v2\"}",
+                "{\"model_version\":\"v1\"}");
+
+        PredictionImportResult result = service.importPredictions(stream(body), Format.NDJSON);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getUpserted());
+        assertEquals(3, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("Row 2: invalid JSON"));
+        assertEquals("Row 3: risk_score must be between 0 and 100", result.getErrors().get(1));
+        assertEquals("Row 5: property_id is required", result.getErrors().get(2));
+        // Both valid rows fill exactly one batch of two
+        verify(repository, times(1)).upsertPredictions(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void parsesCsvWithQuotedFields() throws Exception {
+        List<AiPrediction>[] written = new List[1];
+        when(repository.upsertPredictions(anyList())).thenAnswer(call -> {
+            written[0] = List.copyOf(call.getArgument(0));
+            return ones(written[0].size());
+        });
+        UUID id = UUID.randomUUID();
+        String body = "property_id,model_version,investment_score,prediction_notes\r\n"
+                + id + ",v3,72.25,\"Strong rent, \"\"low\"\" vacancy\"\r\n";
+
+        PredictionImportResult result = service.importPredictions(stream(body), Format.CSV);
+
+        assertEquals(1, result.getUpserted());
+        AiPrediction prediction = written[0].get(0);
+        assertEquals(id, prediction.getPropertyId());
+        assertEquals("v3", prediction.getModelVersion());
+        assertEquals(new BigDecimal("72.25"), prediction.getInvestmentScore());
+        assertEquals("Strong rent, \"low\" vacancy", prediction.getPredictionNotes());
+    }
+
+    @Test
+    void unknownCsvColumnRejectsTheUpload() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importPredictions(stream("property_id,model,score\n"), Format.CSV));
+    }
+
+    @Test
+    void failedBatchIsReplayedRowByRow() throws Exception {
+        AiPrediction[] rows = new AiPrediction[1];
+        when(repository.upsertPredictions(anyList())).thenAnswer(call -> {
+            List<?> batch = call.getArgument(0);
+            if (batch.size() > 1) {
+                throw new DataIntegrityViolationException("batch failed");
+            }
+            rows[0] = (AiPrediction) batch.get(0);
+            if ("bad".equals(rows[0].getModelVersion())) {
+                throw new DataIntegrityViolationException("check constraint violated");
+            }
+            // "gone" targets a listing that no longer exists
+            return new int[] {"gone".equals(rows[0].getModelVersion()) ? 0 : 1};
+        });
+        String body = String.join("\n",
+                "property_id,model_version",
+                UUID.randomUUID() + ",bad",
+                UUID.randomUUID() + ",good",
+                UUID.randomUUID() + ",gone");
+
+        PredictionImportResult result = service.importPredictions(stream(body), Format.CSV);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getUpserted());
+        assertEquals(List.of("Row 1: check constraint violated", "Row 3: unknown property_id"), result.getErrors());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int[] ones(int size) {
+        int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+}
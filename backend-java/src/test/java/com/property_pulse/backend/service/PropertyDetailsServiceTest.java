@@ -0,0 +1,155 @@
+package com.property_pulse.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.property_pulse.backend.dto.ListingVersion;
+import com.property_pulse.backend.dto.PropertyDetails;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.repository.PropertyListingRepositoryImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PropertyDetailsServiceTest {
+
+    private static final UUID LISTING = UUID.randomUUID();
+    private static final UUID PREDICTION = UUID.randomUUID();
+
+    // Every statement the repository prepares, i.e. every round trip to Postgres
+    private final List<String> statements = new ArrayList<>();
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final PropertyDetailsService service =
+            new PropertyDetailsService(repository, new SimpleMeterRegistry(), 100, 60_000);
+
+    @Test
+    void loadsListingImagesAndPredictionInOneQuery() throws SQLException {
+        wireRepository(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+        PropertyDetails details = service.getDetails(LISTING).orElseThrow();
+
+        assertEquals(1, statements.size(), "detail page must be a single round trip: " + statements);
+        assertEquals(3, details.getPropertyImages().size());
+        assertTrue(details.getPropertyImages().get(0).getIsPrimary());
+        assertEquals(PREDICTION, details.getAiPredictions().getId());
+        assertEquals(new BigDecimal("87.50"), details.getAiPredictions().getInvestmentScore());
+        assertEquals(List.of("pool", "garage"), details.getFeatures());
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithImages() throws SQLException {
+        List<UUID> images = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            images.add(UUID.randomUUID());
+        }
+        wireRepository(images);
+
+        assertEquals(40, service.getDetails(LISTING).orElseThrow().getPropertyImages().size());
+        assertEquals(1, statements.size());
+    }
+
+    @Test
+    void repeatViewsAreServedFromTheCache() throws SQLException {
+        wireRepository(List.of());
+
+        for (int i = 0; i < 10; i++) {
+            service.getDetails(LISTING).orElseThrow();
+        }
+
+        assertEquals(1, statements.size());
+    }
+
+    @Test
+    void versionFromTheQueryMatchesVersionOfCachedDetails() throws SQLException {
+        wireRepository(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+        ListingVersion queried = service.getVersion(LISTING).orElseThrow();
+        service.getDetails(LISTING).orElseThrow();
+        ListingVersion cached = service.getVersion(LISTING).orElseThrow();
+
+        assertEquals(queried, cached);
+        assertEquals(PREDICTION, cached.predictionId());
+        // The version query, then the details; the second version comes from the cache
+        assertEquals(2, statements.size());
+    }
+
+    private void wireRepository(List<UUID> imageIds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            PreparedStatement statement = mock(PreparedStatement.class);
+            ResultSet row = detailRow(imageIds);
+            when(statement.executeQuery()).thenReturn(row);
+            return statement;
+        });
+
+        PropertyListingRepositoryImpl impl = new PropertyListingRepositoryImpl(new NamedParameterJdbcTemplate(dataSource));
+        when(repository.findDetails(any())).thenAnswer(invocation -> impl.findDetails(invocation.getArgument(0)));
+        when(repository.findListingVersion(any())).thenAnswer(invocation -> impl.findListingVersion(invocation.getArgument(0)));
+    }
+
+    private static ResultSet detailRow(List<UUID> imageIds) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getObject("id", UUID.class)).thenReturn(LISTING);
+        when(rs.getObject("prediction_id", UUID.class)).thenReturn(PREDICTION);
+        when(rs.getString("title")).thenReturn("Pool home");
+        when(rs.getBigDecimal("investment_score")).thenReturn(new BigDecimal("87.50"));
+        when(rs.getBoolean("is_published")).thenReturn(true);
+        when(rs.getTimestamp("updated_at")).thenReturn(Timestamp.from(Instant.parse("2025-02-01T12:00:00.123456Z")));
+        when(rs.getTimestamp("prediction_created_at")).thenReturn(Timestamp.from(Instant.parse("2025-02-02T08:30:00Z")));
+
+        Array features = array(new String[] {"pool", "garage"});
+        when(rs.getArray("features")).thenReturn(features);
+
+        if (!imageIds.isEmpty()) {
+            int count = imageIds.size();
+            String[] urls = new String[count];
+            Boolean[] primary = new Boolean[count];
+            Timestamp[] uploaded = new Timestamp[count];
+            for (int i = 0; i < count; i++) {
+                urls[i] = "https://images.example.com/" + i + ".jpg";
+                primary[i] = i == 0;
+                uploaded[i] = Timestamp.from(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i));
+            }
+            Array ids = array(imageIds.toArray(new UUID[0]));
+            Array imageUrls = array(urls);
+            Array imagePrimary = array(primary);
+            Array imageUploaded = array(uploaded);
+            when(rs.getArray("image_ids")).thenReturn(ids);
+            when(rs.getArray("image_urls")).thenReturn(imageUrls);
+            when(rs.getArray("image_primary")).thenReturn(imagePrimary);
+            when(rs.getArray("image_uploaded_at")).thenReturn(imageUploaded);
+        }
+        return rs;
+    }
+
+    private static Array array(Object values) throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(values);
+        return array;
+    }
+}
@@ -0,0 +1,118 @@
+package com.property_pulse.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.property_pulse.backend.dto.PropertySearchCriteria;
+import com.property_pulse.backend.dto.PropertySearchCursor;
+import com.property_pulse.backend.dto.PropertySearchResponse;
+import com.property_pulse.backend.dto.PropertySort;
+import com.property_pulse.backend.dto.PropertySummary;
+import com.property_pulse.backend.repository.PropertyListingRepository;
+import com.property_pulse.backend.search.PropertySearchIndex;
+
+class PropertySearchServiceTest {
+
+    private final PropertyListingRepository repository = mock(PropertyListingRepository.class);
+    private final PropertySearchIndex index = mock(PropertySearchIndex.class);
+    private final PropertySearchService service = new PropertySearchService(repository, index, 20, 100);
+
+    @Test
+    void fetchesOneExtraRowToDetectNextPage() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().sort(PropertySort.price_asc).build();
+        when(repository.search(eq(criteria), isNull(), eq(3))).thenReturn(listings(3));
+
+        PropertySearchResponse response = service.search(criteria, null, 2);
+
+        assertEquals(2, response.getProperties().size());
+        assertTrue(response.isHasMore());
+
+        PropertySearchCursor cursor = PropertySearchCursor.decode(response.getNextCursor(), PropertySort.price_asc);
+        PropertySummary last = response.getProperties().get(1);
+        assertEquals(last.getId(), cursor.id());
+        assertEquals(last.getPrice(), cursor.sortKey());
+    }
+
+    @Test
+    void usesIndexWhenItCoversTheFilters() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().build();
+        when(index.canServe(criteria)).thenReturn(true);
+        when(index.search(eq(criteria), isNull(), eq(21))).thenReturn(listings(1));
+
+        assertEquals(1, service.search(criteria, null, null).getProperties().size());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().build();
+        when(repository.search(eq(criteria), isNull(), eq(21))).thenReturn(listings(5));
+
+        PropertySearchResponse response = service.search(criteria, null, null);
+
+        assertEquals(5, response.getProperties().size());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void newestCursorRoundTripsCreationInstant() {
+        PropertySummary last = listings(1).get(0);
+        String encoded = PropertySearchCursor.after(last, PropertySort.newest).encode();
+
+        PropertySearchCursor decoded = PropertySearchCursor.decode(encoded, PropertySort.newest);
+
+        assertEquals(last.getCreatedAt().toInstant(), decoded.sortKey());
+        assertEquals(last.getId(), decoded.id());
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSortOrGarbage() {
+        String priceCursor = PropertySearchCursor.after(listings(1).get(0), PropertySort.price_asc).encode();
+        PropertySearchCriteria newest = PropertySearchCriteria.builder().sort(PropertySort.newest).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.search(newest, priceCursor, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.search(newest, "%%%", 10));
+    }
+
+    @Test
+    void clampsLimitAndRejectsInvertedRanges() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().build();
+        when(repository.search(any(), isNull(), eq(101))).thenReturn(List.of());
+
+        assertEquals(100, service.search(criteria, null, 10_000).getLimit());
+
+        PropertySearchCriteria inverted = PropertySearchCriteria.builder()
+                .minPrice(new BigDecimal("500000"))
+                .maxPrice(new BigDecimal("100000"))
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> service.search(inverted, null, 10));
+    }
+
+    private static List<PropertySummary> listings(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> PropertySummary.builder()
+                        .id(UUID.randomUUID())
+                        .price(new BigDecimal(100_000 + i * 1_000).setScale(2))
+                        .createdAt(ZonedDateTime.parse("2025-01-01T00:00:00.123456Z").minusMinutes(i))
+                        .build())
+                .toList();
+    }
+}
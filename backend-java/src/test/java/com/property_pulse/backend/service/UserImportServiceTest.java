@@ -0,0 +1,166 @@
+package com.property_pulse.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property_pulse.backend.Model.User;
+import com.property_pulse.backend.dto.UserImportResult;
+import com.property_pulse.backend.repository.UserRepository;
+import com.property_pulse.backend.security.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserImportServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingExecutor hashing =
+            new PasswordHashingExecutor(new SimpleMeterRegistry(), new PrefixEncoder(), 2, 4, 5_000, 1);
+    private final UserImportService service = new UserImportService(userRepository, hashing, new ObjectMapper(), 2);
+
+    // Stands in for the users table and its unique email index
+    private final Set<String> registeredEmails = new HashSet<>();
+    private final List<List<User>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void insertIgnoringConflicts() {
+        when(userRepository.batchInsertIgnoringConflicts(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            batches.add(List.copyOf(users));
+            return users.stream().mapToInt(user -> registeredEmails.add(user.getEmail()) ? 1 : 0).toArray();
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        hashing.shutdown();
+    }
+
+    @Test
+    void importsValidRowsInBatches() throws Exception {
+        UserImportResult result = importUsers("""
+                [%s, %s, %s]
+                """.formatted(
+                        user("  Ada@Example.com ", "secret-1"),
+                        user("grace@example.com", "secret-2"),
+                        user("alan@example.com", "secret-3")));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getDuplicates());
+        assertNull(result.getFailure());
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        User first = batches.get(0).get(0);
+        assertEquals("ada@example.com", first.getEmail());
+        assertEquals("Ada", first.getFirstName());
+        assertEquals("hashed:secret-1", first.getPassword());
+    }
+
+    @Test
+    void countsRegisteredAndRepeatedEmailsAsDuplicates() throws Exception {
+        registeredEmails.add("ada@example.com");
+
+        UserImportResult result = importUsers("""
+                [%s, %s, %s, %s]
+                """.formatted(
+                        user("ada@example.com", "secret-1"),
+                        user("grace@example.com", "secret-2"),
+                        user("alan@example.com", "secret-3"),
+                        user("GRACE@example.com", "secret-4")));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(0, result.getRejected());
+    }
+
+    @Test
+    void rejectsInvalidRowsAndKeepsGoing() throws Exception {
+        UserImportResult result = importUsers("""
+                [%s, {"firstName": "Ada", "lastName": "Lovelace", "password": "secret-2"},
+                 %s, "not a user", {"firstName": ["Ada"], "lastName": "Lovelace", "email": "a@example.com", "password": "secret-5"},
+                 %s]
+                """.formatted(
+                        user("grace@example.com", "secret-1"),
+                        user("alan@example.com", "short"),
+                        user("ada@example.com", "secret-6")));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertNull(result.getFailure());
+        assertEquals(4, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Row 2: "), result.getErrors().get(0));
+        assertTrue(result.getErrors().get(1).startsWith("Row 3: "), result.getErrors().get(1));
+        assertEquals("Row 4: Expected a JSON object", result.getErrors().get(2));
+        assertTrue(result.getErrors().get(3).startsWith("Row 5: Invalid user: "), result.getErrors().get(3));
+    }
+
+    @Test
+    void reportsWhatWasWrittenWhenTheJsonBreaksOff() throws Exception {
+        UserImportResult result = importUsers("""
+                [%s, %s, %s, {"email": oops}]
+                """.formatted(
+                        user("ada@example.com", "secret-1"),
+                        user("grace@example.com", "secret-2"),
+                        user("alan@example.com", "secret-3")));
+
+        assertEquals(3, result.getImported());
+        assertTrue(result.getFailure().startsWith("Invalid JSON after row 3: "), result.getFailure());
+        assertEquals(Set.of("ada@example.com", "grace@example.com", "alan@example.com"), registeredEmails);
+    }
+
+    @Test
+    void reportsAnArrayThatIsNeverClosed() throws Exception {
+        UserImportResult result = importUsers("[" + user("ada@example.com", "secret-1"));
+
+        assertEquals(1, result.getImported());
+        assertEquals("Input ended after row 1 before the array was closed", result.getFailure());
+    }
+
+    @Test
+    void rejectsABodyThatIsNotAnArray() {
+        assertThrows(IllegalArgumentException.class, () -> importUsers(user("ada@example.com", "secret-1")));
+        verifyNoInteractions(userRepository);
+    }
+
+    private UserImportResult importUsers(String json) throws Exception {
+        return service.importUsers(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String user(String email, String password) {
+        return """
+                {"firstName": " Ada ", "lastName": "Lovelace", "email": "%s", "password": "%s"}""".formatted(email, password);
+    }
+
+    private static final class PrefixEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
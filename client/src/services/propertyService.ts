@@ -1,94 +1,138 @@
-import { PropertyListing, PropertyDetails, PropertySearchFilters, PropertySearchResponse, CreateInquiryRequest } from "../types/property.types";
+import { PropertyDetails, PropertySearchFilters, PropertySearchResponse, PropertySort, PropertySummary, FavoriteStatus, CreateInquiryRequest } from "../types/property.types";
 
 const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080'
 
+async function authorizedFetch<T>(path: string, method: string, failureMessage: string): Promise<T> {
+    try {
+        const token = localStorage.getItem('token');
+
+        if (!token) {
+            throw { message: 'Authentication required', status: 401 };
+        }
+
+        const response = await fetch(`${API_URL}${path}`, {
+            method,
+            headers: {
+                'Authorization': `Bearer ${token}`,
+                'Accept': 'application/json',
+            },
+        });
+
+        // Handle token expiration
+        if (response.status === 401) {
+            localStorage.removeItem('token');
+            throw { message: 'Session expired. Please login again.', status: 401 };
+        }
+
+        if (!response.ok) {
+            throw { message: failureMessage, status: response.status };
+        }
+
+        return await response.json();
+    } catch (error: any) {
+        if (error.status) {
+            throw error;
+        }
+        throw { message: 'Network error. Please check your connection.', status: 0 };
+    }
+}
+
 export const propertyService = {
     /**
-     * Search properties with filters
+     * Search properties with filters. Pass the previous response's next_cursor to get the next page.
      */
-    searchProperties: async (filters: PropertySearchFilters, page = 1, limit = 20) : Promise<PropertySearchResponse> => {
-        //TODO: Complete implementation of searchProperties
-        return Promise.resolve({
-            properties: [],
-            total_count: 0,
-            page: page,
-            limit: limit,
-            has_more: false
+    searchProperties: async (filters: PropertySearchFilters, cursor?: string | null, limit = 20, sort: PropertySort = 'newest') : Promise<PropertySearchResponse> => {
+        const params = new URLSearchParams();
+
+        Object.entries(filters).forEach(([key, value]) => {
+            if (value === undefined || value === null || value === '') {
+                return;
+            }
+            if (Array.isArray(value)) {
+                value.forEach((item) => params.append(key, String(item)));
+            } else {
+                params.append(key, String(value));
+            }
         });
+        params.append('sort', sort);
+        params.append('limit', String(limit));
+        if (cursor) {
+            params.append('cursor', cursor);
+        }
+
+        try {
+            const response = await fetch(`${API_URL}/api/properties/search?${params.toString()}`, {
+                method: 'GET',
+                headers: {
+                    'Accept': 'application/json',
+                },
+            });
+
+            if (!response.ok) {
+                throw {
+                    message: response.status === 400 ? 'Invalid search filters' : 'Property search failed',
+                    status: response.status
+                };
+            }
+
+            return await response.json();
+        } catch (error: any) {
+            if (error.status) {
+                throw error;
+            }
+            throw { message: 'Network error. Please check your connection.', status: 0 };
+        }
     },
 
     /**
      * Get single property with all details (including AI predictions and images)
      */
     getPropertyById: async (id: string): Promise<PropertyDetails> => {
-        //TODO: Complete implementation of getPropertyById
-        return Promise.resolve({
-            id: id,
-            title: "",
-            street_number: 0,
-            street_name: "",
-            city_name: "",
-            state_name: "",
-            zip_code: "",
-            latitude: 0,
-            longitude: 0,
-            bedrooms: 0,
-            bathrooms: 0,
-            sqft: 0,
-            year_built: 0,
-            property_type: "single_family",
-            image_url: "",
-            property_description: "",
-            features: [""],
-            price: 0,
-            estimated_rent: 0,
-            property_taxes_annual: 0,
-            is_published: true,
-            listing_status: "active",
-            days_on_market: 0,
-            created_by: "",
-            created_at: "",
-            updated_at: "", 
-        });
+        try {
+            const response = await fetch(`${API_URL}/api/properties/${encodeURIComponent(id)}`, {
+                method: 'GET',
+                headers: {
+                    'Accept': 'application/json',
+                },
+            });
+
+            if (!response.ok) {
+                throw {
+                    message: response.status === 404 ? 'Property not found' : 'Failed to load property',
+                    status: response.status
+                };
+            }
+
+            return await response.json();
+        } catch (error: any) {
+            if (error.status) {
+                throw error;
+            }
+            throw { message: 'Network error. Please check your connection.', status: 0 };
+        }
     },
 
-    toggleFavorite: async (propertyId: string): Promise<void> => {
-        //TODO: Complete implementation of toggleFavorite
-        return Promise.resolve();
+    /**
+     * Add or remove a favorite for the signed-in user. Idempotent, so retrying is safe.
+     */
+    setFavorite: async (propertyId: string, favorited: boolean): Promise<FavoriteStatus> => {
+        return authorizedFetch(`/api/favorites/${encodeURIComponent(propertyId)}`, favorited ? 'PUT' : 'DELETE', 'Failed to update favorite');
     },
 
-    getUserFavorites: async (): Promise<PropertyListing[]> => {
-        // TODO: Complete implementation of getUserFavorites
-        return Promise.resolve([
-            {
-                id: "1",
-                title: "Sample Property",
-                street_number: 123,
-                street_name: "Main St",
-                city_name: "Sample City",
-                state_name: "Sample State",
-                zip_code: "12345",
-                latitude: 40.7128,
-                longitude: -74.0060,
-                bedrooms: 3,
-                bathrooms: 2,
-                sqft: 1500,
-                year_built: 2000,
-                property_type: "single_family",
-                image_url: "https://example.com/image.jpg",
-                property_description: "A beautiful sample property.",
-                features: ["Garage", "Garden"],
-                price: 300000,
-                estimated_rent: 2000,
-                property_taxes_annual: 3000,
-                is_published: true,
-                listing_status: "active",
-                days_on_market: 10,
-                created_by: "user123",
-                created_at: "2023-01-01T00:00:00Z",
-                updated_at: "2023-01-02T00:00:00Z"
-            }
-        ]);
+    getUserFavorites: async (): Promise<PropertySummary[]> => {
+        return authorizedFetch('/api/favorites', 'GET', 'Failed to load favorites');
+    },
+
+    /**
+     * Which of the given properties (e.g. one page of search results) the signed-in user has favorited.
+     */
+    checkFavorites: async (propertyIds: string[]): Promise<string[]> => {
+        if (propertyIds.length === 0) {
+            return [];
+        }
+        const params = new URLSearchParams();
+        propertyIds.forEach((id) => params.append('property_id', id));
+        return authorizedFetch(`/api/favorites/check?${params.toString()}`, 'GET', 'Failed to load favorites');
     },
 
     /**
@@ -125,12 +125,26 @@ export interface PropertySearchFilters {
     min_investment_score?: number;
 }
 
+export type PropertySort = 'newest' | 'price_asc' | 'price_desc';
+
+// Slim listing returned by search (no description, features or audit columns)
+export type PropertySummary = Pick<PropertyListing,
+    | 'id' | 'title' | 'street_number' | 'street_name' | 'city_name' | 'state_name' | 'zip_code'
+    | 'latitude' | 'longitude' | 'bedrooms' | 'bathrooms' | 'sqft' | 'property_type' | 'image_url'
+    | 'price' | 'estimated_rent' | 'listing_status' | 'days_on_market' | 'created_at'>;
+
+// Keyset pagination: pass next_cursor back to fetch the following page
 export interface PropertySearchResponse {
-    properties: PropertyListing[];
-    total_count: number;
-    page: number;
+    properties: PropertySummary[];
     limit: number;
     has_more: boolean;
+    next_cursor: string | null;
+}
+
+// Result of PUT and DELETE /api/favorites/{id}
+export interface FavoriteStatus {
+    property_id: string;
+    favorited: boolean;
 }
 
 // Request interfaces for API calls
@@ -0,0 +1,3 @@
+-- Per-user security version, bumped on deactivation or role change.
+-- Claims-only JWTs carrying an older version are rejected.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version INTEGER NOT NULL DEFAULT 0;
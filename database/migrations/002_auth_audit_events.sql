@@ -0,0 +1,12 @@
+-- Append-only audit trail of authentication events, written in batches by AuthAuditLog.
+CREATE TABLE IF NOT EXISTS auth_audit_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type TEXT NOT NULL,
+    email TEXT,
+    ip_address TEXT,
+    detail TEXT,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_auth_audit_occurred ON auth_audit_events (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_auth_audit_email ON auth_audit_events (email);
@@ -0,0 +1,4 @@
+-- Composite (sort key, id) indexes for keyset pagination of GET /api/properties/search.
+-- The trailing id matches the tie-breaker in the row comparison, so every page is an index range scan.
+CREATE INDEX IF NOT EXISTS idx_property_price_id ON property_listings (price, id);
+CREATE INDEX IF NOT EXISTS idx_property_created_id ON property_listings (created_at, id);
@@ -0,0 +1,3 @@
+-- Latest prediction per listing for GET /api/properties/{id}: the LATERAL ... ORDER BY created_at DESC LIMIT 1
+-- becomes a single index probe instead of sorting every prediction for the listing.
+CREATE INDEX IF NOT EXISTS idx_ai_predictions_property_created ON ai_predictions (property_id, created_at DESC);
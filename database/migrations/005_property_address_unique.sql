@@ -0,0 +1,7 @@
+-- One listing per street address, the key feed imports upsert on (ON CONFLICT must name this exact expression list).
+-- Case-insensitive on the text parts; a missing zip code counts as its own value.
+-- Fails if the table already holds duplicate addresses; merge those listings first:
+--   SELECT street_number, lower(street_name), lower(city_name), lower(state_name), coalesce(zip_code, ''), count(*)
+--   FROM property_listings GROUP BY 1, 2, 3, 4, 5 HAVING count(*) > 1;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_property_address ON property_listings (
+    street_number, lower(street_name), lower(city_name), lower(state_name), coalesce(zip_code, ''));
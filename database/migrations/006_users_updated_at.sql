@@ -0,0 +1,9 @@
+-- Last change to a user row, maintained by trigger like property_listings.updated_at.
+-- The profile endpoint derives its ETag from it; existing rows start at the time of the migration.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP;
+
+DROP TRIGGER IF EXISTS update_users_updated_at ON users;
+CREATE TRIGGER update_users_updated_at
+    BEFORE UPDATE ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
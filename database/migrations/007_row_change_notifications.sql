@@ -0,0 +1,46 @@
+-- Announces committed changes to the tables backends cache, so every node can evict its copy.
+-- Payload is 'table:id' on channel row_changes; ai_predictions rows go out under their property_id,
+-- the key the listing caches use. Notifications are sent at commit, and Postgres folds identical
+-- ones within a transaction. Inserts of users and listings are not announced: no cache holds a row
+-- before it exists.
+CREATE OR REPLACE FUNCTION notify_row_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    row_id UUID;
+BEGIN
+    IF TG_TABLE_NAME = 'ai_predictions' THEN
+        IF TG_OP = 'DELETE' THEN
+            row_id := OLD.property_id;
+        ELSE
+            row_id := NEW.property_id;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        row_id := OLD.id;
+    ELSE
+        row_id := NEW.id;
+    END IF;
+
+    IF row_id IS NOT NULL THEN
+        PERFORM pg_notify('row_changes', TG_TABLE_NAME || ':' || row_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS notify_users_change ON users;
+CREATE TRIGGER notify_users_change
+    AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
+DROP TRIGGER IF EXISTS notify_property_listings_change ON property_listings;
+CREATE TRIGGER notify_property_listings_change
+    AFTER UPDATE OR DELETE ON property_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
+DROP TRIGGER IF EXISTS notify_ai_predictions_change ON ai_predictions;
+CREATE TRIGGER notify_ai_predictions_change
+    AFTER INSERT OR UPDATE OR DELETE ON ai_predictions
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
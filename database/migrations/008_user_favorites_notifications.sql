@@ -0,0 +1,38 @@
+-- Announces favorite changes too, so a node drops its cached copy of a user's favorites when
+-- another node writes them. Rows go out under their user_id, the key the favorites cache uses;
+-- unlike users and listings, inserts are announced as well.
+CREATE OR REPLACE FUNCTION notify_row_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    row_id UUID;
+BEGIN
+    IF TG_TABLE_NAME = 'ai_predictions' THEN
+        IF TG_OP = 'DELETE' THEN
+            row_id := OLD.property_id;
+        ELSE
+            row_id := NEW.property_id;
+        END IF;
+    ELSIF TG_TABLE_NAME = 'user_favorites' THEN
+        IF TG_OP = 'DELETE' THEN
+            row_id := OLD.user_id;
+        ELSE
+            row_id := NEW.user_id;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        row_id := OLD.id;
+    ELSE
+        row_id := NEW.id;
+    END IF;
+
+    IF row_id IS NOT NULL THEN
+        PERFORM pg_notify('row_changes', TG_TABLE_NAME || ':' || row_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS notify_user_favorites_change ON user_favorites;
+CREATE TRIGGER notify_user_favorites_change
+    AFTER INSERT OR UPDATE OR DELETE ON user_favorites
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
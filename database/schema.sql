@@ -10,6 +10,38 @@ BEGIN
 END;
 $$ language 'plpgsql';
 
+-- Function to announce committed changes to cached tables as 'table:id' on channel row_changes;
+-- ai_predictions rows are announced under their property_id, user_favorites rows under their user_id
+CREATE OR REPLACE FUNCTION notify_row_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    row_id UUID;
+BEGIN
+    IF TG_TABLE_NAME = 'ai_predictions' THEN
+        IF TG_OP = 'DELETE' THEN
+            row_id := OLD.property_id;
+        ELSE
+            row_id := NEW.property_id;
+        END IF;
+    ELSIF TG_TABLE_NAME = 'user_favorites' THEN
+        IF TG_OP = 'DELETE' THEN
+            row_id := OLD.user_id;
+        ELSE
+            row_id := NEW.user_id;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        row_id := OLD.id;
+    ELSE
+        row_id := NEW.id;
+    END IF;
+
+    IF row_id IS NOT NULL THEN
+        PERFORM pg_notify('row_changes', TG_TABLE_NAME || ':' || row_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
 -- Users and Authentication
 CREATE TABLE users (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -20,7 +52,9 @@ CREATE TABLE users (
     is_active BOOLEAN DEFAULT true,
     password_hash TEXT NOT NULL,
     role TEXT NOT NULL DEFAULT 'user' CHECK (role IN ('user', 'admin')),
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+    security_version INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Property listings - property data
@@ -124,6 +158,16 @@ CREATE TABLE property_images (
     uploaded_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Append-only audit trail of authentication events
+CREATE TABLE auth_audit_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type TEXT NOT NULL,
+    email TEXT,
+    ip_address TEXT,
+    detail TEXT,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
 -- Create triggers for tables with updated_at columns
 -- Trigger for property_listings table
 CREATE TRIGGER update_property_listings_updated_at
@@ -131,12 +175,39 @@ CREATE TRIGGER update_property_listings_updated_at
     FOR EACH ROW
     EXECUTE FUNCTION update_updated_at_column();
 
+-- Trigger for users table
+CREATE TRIGGER update_users_updated_at
+    BEFORE UPDATE ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
 -- Trigger for user_inquiries table
 CREATE TRIGGER update_user_inquiries_updated_at
     BEFORE UPDATE ON user_inquiries
     FOR EACH ROW
     EXECUTE FUNCTION update_updated_at_column();
 
+-- Change notifications for the tables backends cache (inserts of users and listings need none)
+CREATE TRIGGER notify_users_change
+    AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
+CREATE TRIGGER notify_property_listings_change
+    AFTER UPDATE OR DELETE ON property_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
+CREATE TRIGGER notify_ai_predictions_change
+    AFTER INSERT OR UPDATE OR DELETE ON ai_predictions
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
+CREATE TRIGGER notify_user_favorites_change
+    AFTER INSERT OR UPDATE OR DELETE ON user_favorites
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_row_change();
+
 -- Indexes for performance
 CREATE INDEX idx_property_location ON property_listings (city_name, state_name, zip_code);
 CREATE INDEX idx_property_type ON property_listings (property_type);
@@ -144,7 +215,13 @@ CREATE INDEX idx_user_email ON users (email);
 CREATE INDEX idx_user_favorites ON user_favorites (user_id, property_id);
 CREATE INDEX idx_ai_predictions_property ON ai_predictions (property_id);
 CREATE INDEX idx_ai_predictions_model ON ai_predictions (model_version);
+CREATE INDEX idx_ai_predictions_property_created ON ai_predictions (property_id, created_at DESC);
 CREATE INDEX idx_property_price ON property_listings (price);
+CREATE INDEX idx_property_price_id ON property_listings (price, id);
+CREATE INDEX idx_property_created_id ON property_listings (created_at, id);
 CREATE INDEX idx_property_status ON property_listings (listing_status, is_published);
 CREATE INDEX idx_investment_score ON ai_predictions (investment_score DESC);
-CREATE INDEX idx_images_property ON property_images (property_id);
\ No newline at end of file
+CREATE INDEX idx_images_property ON property_images (property_id);
+CREATE UNIQUE INDEX idx_property_address ON property_listings (street_number, lower(street_name), lower(city_name), lower(state_name), coalesce(zip_code, ''));
+CREATE INDEX idx_auth_audit_occurred ON auth_audit_events (occurred_at);
+CREATE INDEX idx_auth_audit_email ON auth_audit_events (email);
\ No newline at end of file